@@ -18,6 +18,11 @@ import java.util.Objects;
  */
 public class ApplicationMain extends Application {
 
+    /**
+     * The controller of the user interface, shut down when the application stops.
+     */
+    private UserInterfaceController controller;
+
     /**
      * Creating the stage and showing it. This is where the initial size and the
      * title of the window are set.
@@ -30,6 +35,7 @@ public class ApplicationMain extends Application {
 
         FXMLLoader fxmlLoader = new FXMLLoader(ApplicationMain.class.getResource("UserInterface.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 1200, 800);
+        controller = fxmlLoader.getController();
         stage.setMinHeight(800);
         stage.setMinWidth(1200);
         stage.setTitle(Specification.APPLICATION_TITLE + " " + Specification.APPLICATION_VERSION + " | " + Specification.APPLICATION_AUTHOR);
@@ -41,6 +47,17 @@ public class ApplicationMain extends Application {
 
     }
 
+    /**
+     * Shutting down the controller when the application stops, no matter if it was exited via
+     * the menu or the window was closed.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     /**
      * Main method
      *
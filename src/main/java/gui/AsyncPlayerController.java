@@ -0,0 +1,582 @@
+package gui;
+
+import gui.data.Error;
+import javafx.application.Platform;
+import logic.GUIConnector;
+import logic.GameLogic;
+import logic.HeadlessGame;
+import logic.Player;
+import logic.Token;
+import logic.data.Move;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Schicht zwischen Oberfläche und Spiellogik, welche die Entscheidungen von Computerspielern
+ * asynchron berechnet, damit die Oberfläche während des Rechnens nicht blockiert.
+ * <p>
+ * Der Controller wird der GameLogic als GUIConnector übergeben und leitet alle Aufrufe an die
+ * eigentliche Oberfläche weiter. Ist ein Computerspieler am Zug, werden dessen Auswahldialoge
+ * nicht angezeigt, stattdessen entscheidet seine Strategie auf einer Kopie des Spiels in einem
+ * Hintergrundthread. Das Ergebnis wird über den Oberflächenthread (Platform.runLater)
+ * zurückgegeben und nur angewandt, falls sich das Spiel inzwischen nicht verändert hat.
+ * Überschreitet die Berechnung die feste Frist, wird sie abgebrochen und eine schnelle
+ * Ersatzstrategie entscheidet. Während ein menschlicher Spieler am Zug ist, denkt der nächste
+ * Computerspieler auf dem aktuellen Spielstand voraus (Pondering), z.B. um die
+ * Transpositionstabelle einer Suche zu füllen.
+ * <p>
+ * Bis auf die Hintergrundberechnung werden alle Methoden nur im Oberflächenthread aufgerufen.
+ *
+ * @author github.com/batscs
+ */
+public class AsyncPlayerController implements GUIConnector {
+
+    /**
+     * Standardwert für die Frist einer Entscheidung in Millisekunden.
+     */
+    public static final long DEFAULT_DEADLINE_MILLIS = 3000;
+
+    /**
+     * Attribut für die eigentliche Oberfläche.
+     */
+    private final GUIConnector gui;
+
+    /**
+     * Strategien der Computerspieler, Index entspricht dem Spieler-Index, null für Menschen.
+     */
+    private final DecisionPolicy[] bots;
+
+    /**
+     * Strategien für Entscheidungen nach Ablauf der Frist.
+     */
+    private final DecisionPolicy[] fallback;
+
+    /**
+     * Attribut für die Frist einer Entscheidung in Millisekunden.
+     */
+    private final long deadlineMillis;
+
+    /**
+     * Attribut für die Ausführung im Oberflächenthread.
+     */
+    private final Executor fxExecutor;
+
+    /**
+     * Hintergrundthread für Berechnungen, welche so nacheinander ausgeführt werden.
+     */
+    private final ExecutorService worker;
+
+    /**
+     * Hintergrundthread für die Fristen der Berechnungen.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Attribut für die gesteuerte Spiellogik.
+     */
+    private GameLogic game;
+
+    /**
+     * Anzahl der Callbacks der Oberfläche, welche noch nicht ausgeführt wurden, z.B. während
+     * einer Animation. Solange welche ausstehen, wird keine Entscheidung angewandt.
+     */
+    private int pendingEvents;
+
+    /**
+     * Nummer der aktuellen Anfrage, ältere Ergebnisse werden verworfen.
+     */
+    private int request;
+
+    /**
+     * Aktuelle Berechnung einer Entscheidung, null falls keine läuft.
+     */
+    private Future<?> computation;
+
+    /**
+     * Frist der aktuellen Berechnung.
+     */
+    private Future<?> deadline;
+
+    /**
+     * Aktuelles Vorausdenken, null falls keines läuft.
+     */
+    private Future<?> ponder;
+
+    /**
+     * Suchschlüssel des Spielstandes, auf welchem vorausgedacht wird.
+     */
+    private long ponderKey;
+
+    /**
+     * Attribut, ob auf der Zeit menschlicher Spieler vorausgedacht wird.
+     */
+    private boolean pondering = true;
+
+    /**
+     * Attribut, ob der Controller beendet wurde.
+     */
+    private boolean closed;
+
+    /**
+     * Konstruktor für einen Controller im JavaFX Oberflächenthread.
+     *
+     * @param gui  Die eigentliche Oberfläche
+     * @param bots Strategien der Computerspieler, Index entspricht dem Spieler-Index, null für
+     *             menschliche Spieler
+     */
+    public AsyncPlayerController(GUIConnector gui, DecisionPolicy[] bots) {
+        this(gui, bots, DEFAULT_DEADLINE_MILLIS, Platform::runLater);
+    }
+
+    /**
+     * Konstruktor für einen Controller.
+     *
+     * @param gui            Die eigentliche Oberfläche
+     * @param bots           Strategien der Computerspieler, Index entspricht dem Spieler-Index,
+     *                       null für menschliche Spieler
+     * @param deadlineMillis Frist einer Entscheidung in Millisekunden
+     * @param fxExecutor     Führt Aufgaben im Oberflächenthread aus
+     */
+    public AsyncPlayerController(GUIConnector gui, DecisionPolicy[] bots, long deadlineMillis,
+                                 Executor fxExecutor) {
+        this.gui = gui;
+        this.bots = bots.clone();
+        this.fallback = new DecisionPolicy[bots.length];
+        this.deadlineMillis = deadlineMillis;
+        this.fxExecutor = fxExecutor;
+
+        Arrays.fill(fallback, new GreedyPolicy());
+
+        worker = Executors.newSingleThreadExecutor(runnable ->
+                createThread(runnable, "bot-worker"));
+        timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+                createThread(runnable, "bot-deadline"));
+    }
+
+    /**
+     * Erstellt einen Hintergrundthread, welcher das Beenden des Programms nicht verhindert.
+     *
+     * @param runnable Die Aufgabe des Threads
+     * @param name     Name des Threads
+     * @return Der Thread
+     */
+    private static Thread createThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+    /**
+     * Verbindet den Controller mit der Spiellogik, welche mit diesem Controller als Oberfläche
+     * erstellt wurde, und startet ggf. die erste Entscheidung eines Computerspielers.
+     *
+     * @param game Die Spiellogik
+     */
+    public void attach(GameLogic game) {
+        this.game = game;
+        scheduleDecision();
+    }
+
+    /**
+     * Legt fest, ob auf der Zeit menschlicher Spieler vorausgedacht wird.
+     *
+     * @param pondering True, falls vorausgedacht werden soll
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+
+        if (!pondering) {
+            cancelPonder();
+        }
+    }
+
+    /**
+     * Ermittelt, ob ein menschlicher Spieler am Zug ist und Eingaben machen darf.
+     *
+     * @return True, falls ein Mensch am Zug ist
+     */
+    public boolean isHumanTurn() {
+        return game != null && !closed && !game.isGameFinished()
+                && bots[game.getProtagonistID()] == null;
+    }
+
+    /**
+     * Ermittelt, ob gerade eine Entscheidung eines Computerspielers berechnet wird.
+     *
+     * @return True, falls eine Berechnung läuft
+     */
+    public boolean isComputing() {
+        return computation != null;
+    }
+
+    /**
+     * Zug eines menschlichen Spielers auf ein Feld, wird während eines Computerzuges ignoriert.
+     *
+     * @param position Die Position des Feldes
+     * @return True, falls der Zug an die Spiellogik weitergegeben wurde
+     */
+    public boolean move(int position) {
+        if (!isHumanTurn()) {
+            Log.write(LogLevel.WARN, LogModule.USER, "Ignored input, a computer player is moving");
+            return false;
+        }
+
+        cancelPonder();
+        game.move(position);
+        scheduleDecision();
+
+        return true;
+    }
+
+    /**
+     * Versuch eines menschlichen Spielers, das Ziel zu betreten, wird während eines
+     * Computerzuges ignoriert.
+     *
+     * @return True, falls der Versuch an die Spiellogik weitergegeben wurde
+     */
+    public boolean attemptToFinish() {
+        if (!isHumanTurn()) {
+            Log.write(LogLevel.WARN, LogModule.USER, "Ignored input, a computer player is moving");
+            return false;
+        }
+
+        cancelPonder();
+        game.attemptToFinish();
+        scheduleDecision();
+
+        return true;
+    }
+
+    /**
+     * Beendet alle Berechnungen und die Hintergrundthreads. Spätere Ergebnisse werden verworfen.
+     */
+    public void close() {
+        closed = true;
+        cancelComputation();
+        cancelPonder();
+
+        worker.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Plant die Prüfung auf eine Entscheidung eines Computerspielers im Oberflächenthread, damit
+     * der aktuelle Aufruf der Spiellogik zuerst abgeschlossen wird.
+     */
+    private void scheduleDecision() {
+        if (!closed) {
+            fxExecutor.execute(this::requestDecision);
+        }
+    }
+
+    /**
+     * Startet die Berechnung einer Entscheidung, falls ein Computerspieler am Zug ist und die
+     * Spiellogik auf eine Entscheidung wartet. Ist ein Mensch am Zug, wird vorausgedacht.
+     */
+    private void requestDecision() {
+        if (closed || game == null || game.isGameFinished() || pendingEvents > 0
+                || computation != null) {
+            return;
+        }
+
+        int mover = game.getProtagonistID();
+
+        if (bots[mover] == null) {
+            startPonder(mover);
+            return;
+        }
+
+        cancelPonder();
+
+        int current = ++request;
+        long key = game.getSearchKey();
+        HeadlessGame copy = new HeadlessGame(bots, game);
+
+        computation = worker.submit(() -> {
+            int move;
+
+            try {
+                move = copy.decide();
+            } catch (RuntimeException e) {
+                Log.write(LogLevel.ERROR, LogModule.GAME,
+                        "Computer player failed to decide: " + e.getMessage());
+                move = -1;
+            }
+
+            int decision = move;
+            fxExecutor.execute(() -> complete(current, key, decision));
+        });
+
+        deadline = timer.schedule(() -> fxExecutor.execute(() -> expire(current)),
+                deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wendet das Ergebnis einer Berechnung an, falls es noch aktuell ist.
+     *
+     * @param current Nummer der Anfrage
+     * @param key     Suchschlüssel des Spiels zu Beginn der Berechnung
+     * @param move    Die Entscheidung als kodierter Zug oder -1
+     */
+    private void complete(int current, long key, int move) {
+        if (closed || current != request || computation == null) {
+            return;
+        }
+
+        computation = null;
+        deadline.cancel(false);
+
+        if (pendingEvents > 0 || game.getSearchKey() != key) {
+            Log.write(LogLevel.DEBUG, LogModule.GAME, "Discarded outdated computer decision");
+            scheduleDecision();
+            return;
+        }
+
+        perform(move < 0 ? new HeadlessGame(fallback, game).decide() : move);
+    }
+
+    /**
+     * Bricht eine Berechnung nach Ablauf der Frist ab und lässt die Ersatzstrategie entscheiden.
+     *
+     * @param current Nummer der Anfrage
+     */
+    private void expire(int current) {
+        if (closed || current != request || computation == null) {
+            return;
+        }
+
+        Log.write(LogLevel.WARN, LogModule.GAME,
+                "Computer player exceeded its deadline of " + deadlineMillis + "ms");
+
+        cancelComputation();
+
+        if (pendingEvents == 0) {
+            perform(new HeadlessGame(fallback, game).decide());
+        } else {
+            scheduleDecision();
+        }
+    }
+
+    /**
+     * Führt eine Entscheidung in der Spiellogik aus.
+     *
+     * @param move Die Entscheidung als kodierter Zug
+     */
+    private void perform(int move) {
+        if (move < 0) {
+            Log.write(LogLevel.WARN, LogModule.GAME, "Computer player has no possible decision");
+            return;
+        }
+
+        Log.write(LogLevel.INFO, LogModule.GAME, "Computer player decided " + Move.toString(move));
+
+        if (Move.isCarrotsChoice(move)) {
+            game.carrotsChoice(Move.getCarrotsChoice(move));
+        } else if (Move.isMoveAgainChoice(move)) {
+            game.moveAgainChoice(Move.isMoveAgainConfirmed(move));
+        } else {
+            game.move(Move.getDestination(move));
+        }
+
+        scheduleDecision();
+    }
+
+    /**
+     * Denkt mit dem nächsten Computerspieler auf dem aktuellen Spielstand voraus, solange ein
+     * Mensch am Zug ist.
+     *
+     * @param mover Index des menschlichen Spielers am Zug
+     */
+    private void startPonder(int mover) {
+        long key = game.getSearchKey();
+
+        if (!pondering || ponder != null && ponderKey == key) {
+            return;
+        }
+
+        cancelPonder();
+
+        DecisionPolicy next = null;
+        for (int i = 1; i < bots.length && next == null; i++) {
+            next = bots[(mover + i) % bots.length];
+        }
+
+        if (next == null) {
+            return;
+        }
+
+        DecisionPolicy[] policies = new DecisionPolicy[bots.length];
+        Arrays.fill(policies, next);
+        HeadlessGame copy = new HeadlessGame(policies, game);
+
+        ponderKey = key;
+        ponder = worker.submit(() -> {
+            try {
+                copy.decide();
+            } catch (RuntimeException e) {
+                Log.write(LogLevel.DEBUG, LogModule.GAME, "Pondering stopped: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Bricht das Vorausdenken ab.
+     */
+    private void cancelPonder() {
+        if (ponder != null) {
+            ponder.cancel(true);
+            ponder = null;
+        }
+    }
+
+    /**
+     * Bricht die aktuelle Berechnung ab, ihr Ergebnis wird verworfen.
+     */
+    private void cancelComputation() {
+        request++;
+
+        if (computation != null) {
+            computation.cancel(true);
+            deadline.cancel(false);
+            computation = null;
+        }
+    }
+
+    /**
+     * Ermittelt, ob ein Computerspieler die anstehende Entscheidung trifft.
+     *
+     * @return True, falls ein Computerspieler am Zug ist
+     */
+    private boolean isBotTurn() {
+        return game != null && !game.isGameFinished() && bots[game.getProtagonistID()] != null;
+    }
+
+    /**
+     * Umhüllt einen Callback der Oberfläche, damit bis zu dessen Ausführung keine Entscheidung
+     * angewandt wird.
+     *
+     * @param event Der Callback
+     * @return Der umhüllte Callback
+     */
+    private Runnable track(Runnable event) {
+        pendingEvents++;
+
+        return () -> {
+            pendingEvents--;
+            event.run();
+
+            if (pendingEvents == 0) {
+                scheduleDecision();
+            }
+        };
+    }
+
+    @Override
+    public void initializePlayer(int playerIdx, Player player) {
+        gui.initializePlayer(playerIdx, player);
+    }
+
+    @Override
+    public void alignPlayer(int playerIdx, int position) {
+        gui.alignPlayer(playerIdx, position);
+    }
+
+    @Override
+    public void movePlayer(int playerIdx, int start, int destination, Runnable afterMoveEvent) {
+        gui.movePlayer(playerIdx, start, destination, track(afterMoveEvent));
+    }
+
+    @Override
+    public void updateStats(int playerIdx, String username, int carrots, int salads) {
+        gui.updateStats(playerIdx, username, carrots, salads);
+    }
+
+    @Override
+    public void setOnTarget(List<Integer> onTarget) {
+        gui.setOnTarget(onTarget);
+    }
+
+    @Override
+    public void changeFieldBackgroundColor(int index, boolean reachable) {
+        gui.changeFieldBackgroundColor(index, reachable);
+    }
+
+    @Override
+    public void highlightPlayer(int playerIdx) {
+        gui.highlightPlayer(playerIdx);
+        scheduleDecision();
+    }
+
+    @Override
+    public void unhighlightPlayer(int playerIdx) {
+        gui.unhighlightPlayer(playerIdx);
+    }
+
+    @Override
+    public void gameStop() {
+        cancelComputation();
+        cancelPonder();
+        gui.gameStop();
+    }
+
+    @Override
+    public void gameStart(int amountPlayers) {
+        pendingEvents = 0;
+        gui.gameStart(amountPlayers);
+    }
+
+    @Override
+    public void gameWin(int winnerIdx) {
+        cancelPonder();
+        gui.gameWin(winnerIdx);
+    }
+
+    @Override
+    public void alertError(Error error) {
+        gui.alertError(error);
+    }
+
+    @Override
+    public void alertInfo(Token header, Token description, Object... args) {
+        gui.alertInfo(header, description, args);
+    }
+
+    @Override
+    public void alertEvent(Token msg, Player player, Runnable event) {
+        gui.alertEvent(msg, player, track(event));
+    }
+
+    @Override
+    public void alertConfirm(Token message, Consumer<Boolean> func, Object... args) {
+        // Entscheidungen von Computerspielern erfolgen über GameLogic.moveAgainChoice
+        if (isBotTurn()) {
+            scheduleDecision();
+        } else {
+            gui.alertConfirm(message, func, args);
+        }
+    }
+
+    @Override
+    public void alertMultipleChoice(Token msg, Consumer<Integer> func, Token... options) {
+        // Entscheidungen von Computerspielern erfolgen über GameLogic.carrotsChoice
+        if (isBotTurn()) {
+            scheduleDecision();
+        } else {
+            gui.alertMultipleChoice(msg, func, options);
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package gui;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import gui.data.Error;
 import gui.data.*;
 import gui.language.JSONTranslator;
 import gui.language.Translator;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -17,18 +16,21 @@ import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import logic.*;
+import logic.simulation.DecisionPolicy;
 import util.log.Log;
 import util.log.LogLevel;
 import util.log.LogModule;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedList;
 import java.util.ResourceBundle;
 
 /**
@@ -43,6 +45,7 @@ public class UserInterfaceController implements Initializable {
     @FXML private MenuItem menuItemNew;
     @FXML private MenuItem menuItemSave;
     @FXML private MenuItem menuItemLoad;
+    @FXML private MenuItem menuItemReplay;
     @FXML private MenuItem menuItemExit;
     @FXML private Menu menuHeaderView;
     @FXML private MenuItem menuItemLangImport;
@@ -71,6 +74,9 @@ public class UserInterfaceController implements Initializable {
     @FXML private Slider sldrPlayerCount;
     @FXML private Label lblPlayerCountValue;
     @FXML private VBox vbxWinMessage;
+    @FXML private VBox vbxReplay;
+    @FXML private Label lblReplayTurn;
+    @FXML private Slider sldrReplay;
 
     @FXML
     private ImageView imgBoard;
@@ -99,6 +105,11 @@ public class UserInterfaceController implements Initializable {
      * Konstante der Maximalanzahl an Spielern.
      */
     public static final int MAX_PLAYERS = 6;
+    /**
+     * Konstante für das Format der Dateinamen von Spielprotokollen.
+     */
+    private static final DateTimeFormatter JOURNAL_FILE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
     /**
      * Attribut für die Spielernamen.
      */
@@ -107,6 +118,31 @@ public class UserInterfaceController implements Initializable {
      * Attribut für die SpielLogik.
      */
     private GameLogic game;
+    /**
+     * Attribut für die asynchrone Steuerung der Spieler zwischen Oberfläche und SpielLogik.
+     */
+    private AsyncPlayerController controller;
+    /**
+     * Attribut für das Spielprotokoll des laufenden Spiels, null falls keines geschrieben wird.
+     */
+    private GameJournal journal;
+    /**
+     * Attribut für das automatische Speichern im Hintergrund.
+     */
+    private AutoSaver autoSaver;
+    /**
+     * Attribut für den Index des abgespielten Spielprotokolls, null außerhalb der Wiedergabe.
+     */
+    private JournalIndex replay;
+    /**
+     * Attribut für die Spieler der Wiedergabe, deren Position je Zwischenstand gesetzt wird.
+     */
+    private Player[] replayPlayers;
+    /**
+     * Attribut für die Anzahl der Entscheidungen bis zum angezeigten Zwischenstand der
+     * Wiedergabe.
+     */
+    private int replayTurn;
     /**
      * Attribut für die aktuelle Anzahl an teilnehmenden Spielern.
      */
@@ -332,6 +368,18 @@ public class UserInterfaceController implements Initializable {
 
         setPlayerCount((int) sldrPlayerCount.getValue());
 
+        sldrReplay.setMin(0);
+        sldrReplay.setBlockIncrement(1);
+        sldrReplay.setFocusTraversable(false);
+
+        sldrReplay.valueProperty().addListener((observableValue, number, t1) -> {
+            int turn = (int) Math.round(sldrReplay.getValue());
+
+            if (gamestate == GameState.REPLAY && turn != replayTurn) {
+                showReplayTurn(turn);
+            }
+        });
+
         updateFrontEndLanguage();
 
         currDir = null;
@@ -345,6 +393,9 @@ public class UserInterfaceController implements Initializable {
                     "Could not locate current working Dir.");
         }
 
+        autoSaver = new AutoSaver(new File(Filepath.DIRECTORY_AUTOSAVE.toString()),
+                AutoSaver.DEFAULT_KEEP, AutoSaver.DEFAULT_INTERVAL_MILLIS, Platform::runLater);
+
         Log.write(LogLevel.INFO, LogModule.APPLICATION, "Finished Initializing");
         Log.write(LogLevel.INFO, LogModule.APPLICATION,
                 "********************************************************************");
@@ -441,6 +492,120 @@ public class UserInterfaceController implements Initializable {
 
     }
 
+    /**
+     * Erstellt die asynchrone Steuerung der Spieler für ein neues Spiel, eine vorherige Steuerung
+     * wird beendet. Alle Spieler werden von Menschen gesteuert.
+     *
+     * @param participants Anzahl der Spieler
+     */
+    private void createController(int participants) {
+        if (controller != null) {
+            controller.close();
+        }
+
+        controller = new AsyncPlayerController(gui, new DecisionPolicy[participants]);
+    }
+
+    /**
+     * Öffnet ein neues Spielprotokoll im Anwendungsverzeichnis, ein vorheriges wird geschlossen.
+     * Schlägt das Öffnen fehl, wird das Spiel ohne Protokoll gespielt.
+     *
+     * @param start Der Spielstand, aus dem das Spiel erzeugt wird
+     */
+    private void openJournal(GameData start) {
+        closeJournal();
+
+        String name = LocalDateTime.now().format(JOURNAL_FILE_FORMAT) + "." + GameJournal.EXTENSION;
+        journal = GameJournal.open(new File(Filepath.DIRECTORY_JOURNAL.toString(), name), start);
+    }
+
+    /**
+     * Verbindet das laufende Spiel mit dem automatischen Speichern, nach jedem Spielerwechsel und
+     * in festen Abständen wird gespeichert.
+     */
+    private void attachAutoSaver() {
+        game.setAutoSaver(autoSaver);
+        autoSaver.setSource(game::getConfig);
+        autoSaver.submit(game.getConfig());
+    }
+
+    /**
+     * Schließt das Spielprotokoll des laufenden Spiels, falls vorhanden.
+     */
+    private void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Beendet alle Hintergrundaufgaben beim Beenden der Anwendung, auch wenn das Fenster direkt
+     * geschlossen wird. Das Spielprotokoll wird geschlossen und ausstehende automatische
+     * Spielstände werden noch geschrieben.
+     */
+    public void shutdown() {
+        if (controller != null) {
+            controller.close();
+        }
+
+        closeJournal();
+        autoSaver.close();
+    }
+
+    /**
+     * Zeigt den Zwischenstand der Wiedergabe nach der übergebenen Anzahl an Entscheidungen an.
+     * Schlägt das Nachspielen fehl, wird die Wiedergabe beendet.
+     *
+     * @param turn Anzahl der Entscheidungen
+     */
+    private void showReplayTurn(int turn) {
+        GameData data;
+
+        try {
+            data = replay.seek(turn);
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not replay game journal: " + e.getMessage());
+            gui.alertError(Error.ERROR_FILE_IMPORT_READ);
+            stopReplay();
+            return;
+        }
+
+        replayTurn = turn;
+        Player[] players = data.getPlayers();
+        gui.setOnTarget(new LinkedList<>(data.getOnTarget()));
+
+        for (int i = 0; i < players.length; i++) {
+            replayPlayers[i].moveTo(players[i].getPosition());
+            gui.unhighlightPlayer(i);
+            gui.alignPlayer(i, players[i].getPosition());
+        }
+
+        Player protagonist = players[data.getProtagonist()];
+        gui.updateStats(data.getProtagonist(), protagonist.getName(), protagonist.getCarrots(),
+                protagonist.getSalads());
+        gui.highlightPlayer(data.getProtagonist());
+
+        lblReplayTurn.setText(translator.translate(Token.GUI_LABEL_REPLAY_TURN) + turn + " / "
+                + replay.getDecisionCount());
+    }
+
+    /**
+     * Beendet die Wiedergabe eines Spielprotokolls und kehrt in das Menü zurück.
+     */
+    private void stopReplay() {
+        Log.write(LogLevel.INFO, LogModule.APPLICATION, "Replay of game journal has been stopped");
+
+        gamestate = GameState.MENU;
+        replay = null;
+        replayPlayers = null;
+
+        gui.gameStop();
+        updateFrontEndAccessibility();
+        setPlayerCount(amountPlayers);
+    }
+
     /**
      * Aktualisiert die Oberflächentexte und übersetzt die entsprechend.
      */
@@ -458,6 +623,7 @@ public class UserInterfaceController implements Initializable {
         menuItemNew.setText(translator.translate(Token.GUI_MENU_ITEM_NEW));
         menuItemExit.setText(translator.translate(Token.GUI_MENU_ITEM_EXIT));
         menuItemLoad.setText(translator.translate(Token.GUI_MENU_ITEM_LOAD));
+        menuItemReplay.setText(translator.translate(Token.GUI_MENU_ITEM_REPLAY));
         menuItemSave.setText(translator.translate(Token.GUI_MENU_ITEM_SAVE));
         menuItemStart.setText(translator.translate(Token.GUI_MENU_ITEM_START));
 
@@ -472,6 +638,8 @@ public class UserInterfaceController implements Initializable {
 
         if (gamestate == GameState.IN_GAME) {
             game.redraw();
+        } else if (gamestate == GameState.REPLAY) {
+            showReplayTurn(replayTurn);
         }
 
     }
@@ -481,16 +649,18 @@ public class UserInterfaceController implements Initializable {
      * GameState.
      */
     private void updateFrontEndAccessibility() {
-        menuItemStart.setDisable(gamestate == GameState.IN_GAME);
+        menuItemStart.setDisable(gamestate != GameState.MENU);
         menuItemNew.setDisable(gamestate == GameState.MENU);
-        menuItemSave.setDisable(gamestate == GameState.MENU);
-        menuItemLoad.setDisable(gamestate == GameState.IN_GAME);
+        menuItemSave.setDisable(gamestate != GameState.IN_GAME);
+        menuItemLoad.setDisable(gamestate != GameState.MENU);
+        menuItemReplay.setDisable(gamestate != GameState.MENU);
         menuItemLangReset.setDisable(!customLanguageExists());
 
         btnStart.setVisible(gamestate == GameState.MENU);
-        vbxStats.setVisible(gamestate == GameState.IN_GAME);
+        vbxStats.setVisible(gamestate != GameState.MENU);
         vbxConfiguration.setVisible(gamestate == GameState.MENU);
-        paneInteractiveContainer.setVisible(gamestate == GameState.IN_GAME);
+        vbxReplay.setVisible(gamestate == GameState.REPLAY);
+        paneInteractiveContainer.setVisible(gamestate != GameState.MENU);
 
         imgBoardApplyFilter(gamestate == GameState.MENU);
 
@@ -562,7 +732,12 @@ public class UserInterfaceController implements Initializable {
         if (gamestate == GameState.MENU) {
             gui = new JavaFXGUI(translator, buttons, icons, paneGameContainer, menuItemSave,
                     lblPlayerTurn, lblPlayerCarrots, lblPlayerSalads);
-            game = new GameLogic(gui, getActiveUsernames());
+            createController(getActiveUsernames().length);
+            game = new GameLogic(controller, getActiveUsernames());
+            openJournal(game.getConfig());
+            game.setJournal(journal);
+            attachAutoSaver();
+            controller.attach(game);
             prepareStartGame();
         }
     }
@@ -575,7 +750,9 @@ public class UserInterfaceController implements Initializable {
     @FXML
     private void onAbortButtonClick(ActionEvent actionEvent) {
         Log.write(LogLevel.INFO, LogModule.USER, "Attempting to create a new game");
-        if (gamestate == GameState.IN_GAME) {
+        if (gamestate == GameState.REPLAY) {
+            stopReplay();
+        } else if (gamestate == GameState.IN_GAME) {
 
             gui.alertConfirm(Token.GAME_CONFIRMATION_ABORT_MATCH_AND_RESET, confirmed -> {
 
@@ -588,6 +765,10 @@ public class UserInterfaceController implements Initializable {
                     updateFrontEndAccessibility();
 
                     game.forceGameEnd();
+                    game.setAutoSaver(null);
+                    autoSaver.setSource(null);
+                    controller.close();
+                    closeJournal();
 
                     setPlayerCount(amountPlayers);
                 }
@@ -610,6 +791,7 @@ public class UserInterfaceController implements Initializable {
         gui.alertConfirm(Token.GAME_CONFIRMATION_EXIT, confirmed -> {
             if (confirmed) {
                 Log.write(LogLevel.INFO, LogModule.APPLICATION, "Exiting program");
+                // Spielprotokoll und automatisches Speichern schließt ApplicationMain.stop()
                 Stage stage = (Stage) paneGameContainer.getScene().getWindow();
                 stage.close();
             } else {
@@ -631,12 +813,15 @@ public class UserInterfaceController implements Initializable {
         GameData config = game.getConfig();
 
         FileChooser fileChooser = new FileChooser();
-        FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter(
-                translator.translate(Token.GUI_FILE_CHOOSER_EXTENSION_GAME_FILE) + " (*.json)",
-                "*.json");
+
+        for (GameDataFormat format : GameDataFormat.values()) {
+            String pattern = "*." + format.getExtension();
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                    translator.translate(Token.GUI_FILE_CHOOSER_EXTENSION_GAME_FILE) + " (" + pattern + ")",
+                    pattern));
+        }
 
         fileChooser.setTitle(translator.translate(Token.GUI_MENU_ITEM_SAVE));
-        fileChooser.getExtensionFilters().add(extFilter);
 
         if (currDir != null) {
             fileChooser.setInitialDirectory(currDir.getParentFile());
@@ -651,19 +836,16 @@ public class UserInterfaceController implements Initializable {
             return;
         }
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().excludeFieldsWithoutExposeAnnotation().create();
-
-        String json = gson.toJson(config);
-
-        try (FileWriter writer = new FileWriter(file.getAbsolutePath())) {
-            writer.write(json);
-            Log.write(LogLevel.INFO, LogModule.APPLICATION, "Game has been successfully saved");
-            Log.write(LogLevel.DEBUG, LogModule.APPLICATION, "Gamefile saved at " + file.getAbsolutePath());
-        } catch (IOException e) {
-            Log.write(LogLevel.ERROR, LogModule.APPLICATION, "Game file could not be written");
-            Log.write(LogLevel.DEBUG, LogModule.APPLICATION, "Game file write error: " + e.getMessage());
-            gui.alertError(Error.ERROR_FILE_IMPORT_WRITE);
-        }
+        // Geschrieben wird im Hintergrund, die Oberfläche wartet nicht auf den Datenträger
+        autoSaver.save(config, file, saved -> {
+            if (saved) {
+                Log.write(LogLevel.INFO, LogModule.APPLICATION, "Game has been successfully saved");
+                Log.write(LogLevel.DEBUG, LogModule.APPLICATION, "Gamefile saved at " + file.getAbsolutePath());
+            } else {
+                Log.write(LogLevel.ERROR, LogModule.APPLICATION, "Game file could not be written");
+                gui.alertError(Error.ERROR_FILE_IMPORT_WRITE);
+            }
+        });
 
 
     }
@@ -680,8 +862,8 @@ public class UserInterfaceController implements Initializable {
         // --------------------------------------------------------- File Chooser
         FileChooser fileChooser = new FileChooser();
         FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter(
-                translator.translate(Token.GUI_FILE_CHOOSER_EXTENSION_GAME_FILE) + " (*.json)",
-                "*.json");
+                translator.translate(Token.GUI_FILE_CHOOSER_EXTENSION_GAME_FILE) + " (*.json, *.hug)",
+                "*.json", "*.hug");
 
         fileChooser.getExtensionFilters().add(extFilter);
         if (currDir != null) {
@@ -734,7 +916,12 @@ public class UserInterfaceController implements Initializable {
                 }
 
                 Log.write(LogLevel.INFO, LogModule.APPLICATION, "Game-file successfully loaded");
-                game = new GameLogic(gui, config);
+                createController(importedPlayers.length);
+                openJournal(config);
+                game = new GameLogic(controller, config);
+                game.setJournal(journal);
+                attachAutoSaver();
+                controller.attach(game);
                 prepareStartGame();
             } else {
                 Log.write(LogLevel.INFO, LogModule.USER, "Cancelled to import game");
@@ -742,6 +929,81 @@ public class UserInterfaceController implements Initializable {
         }, config.getParticipants());
     }
 
+    /**
+     * Methode zum Abspielen eines Spielprotokolls. Jeder Zwischenstand kann über den Schieberegler
+     * angezeigt werden, der Index des Protokolls wird dafür bei Bedarf angelegt.
+     *
+     * @param actionEvent actionEvent
+     */
+    @FXML
+    private void onReplayButtonClick(ActionEvent actionEvent) {
+        Log.write(LogLevel.INFO, LogModule.USER, "Attempting to replay game journal");
+
+        String pattern = "*." + GameJournal.EXTENSION;
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                translator.translate(Token.GUI_FILE_CHOOSER_EXTENSION_JOURNAL_FILE) + " (" + pattern + ")",
+                pattern));
+
+        File directory = new File(Filepath.DIRECTORY_JOURNAL.toString());
+        if (directory.isDirectory()) {
+            fileChooser.setInitialDirectory(directory);
+        }
+        fileChooser.setTitle(translator.translate(Token.GUI_MENU_ITEM_REPLAY));
+
+        File file = fileChooser.showOpenDialog(paneGameContainer.getScene().getWindow());
+
+        if (file == null) {
+            Log.write(LogLevel.WARN, LogModule.USER, "Game journal selection has been cancelled or could not read");
+            gui.alertError(Error.ERROR_FILE_NO_FILE_SELECTED);
+            return;
+        }
+
+        JournalIndex index = JournalIndex.open(file);
+        GameData start = null;
+
+        if (index != null) {
+            try {
+                start = index.seek(0);
+            } catch (IOException e) {
+                Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                        "Could not replay game journal: " + e.getMessage());
+            }
+        }
+
+        if (start == null) {
+            gui.alertError(Error.ERROR_FILE_IMPORT_READ);
+            return;
+        }
+
+        Log.write(LogLevel.DEBUG, LogModule.APPLICATION, "Replaying game journal from path "
+                + file.getAbsolutePath() + " with " + index.getDecisionCount() + " decisions");
+
+        for (ImageView icon : icons) {
+            icon.setVisible(false);
+        }
+
+        gui = new JavaFXGUI(translator, buttons, icons, paneGameContainer, menuItemSave,
+                lblPlayerTurn, lblPlayerCarrots, lblPlayerSalads);
+
+        Player[] players = start.getPlayers();
+        replayPlayers = new Player[players.length];
+        gui.gameStart(players.length);
+
+        for (int i = 0; i < players.length; i++) {
+            replayPlayers[i] = new Player(players[i].getName());
+            gui.initializePlayer(i, replayPlayers[i]);
+        }
+
+        replay = index;
+        sldrReplay.setMax(index.getDecisionCount());
+        sldrReplay.setValue(0);
+
+        gamestate = GameState.REPLAY;
+        updateFrontEndAccessibility();
+        showReplayTurn(0);
+    }
+
     /**
      * Methode für das Interagieren mit einem Feldbutton.
      *
@@ -750,6 +1012,10 @@ public class UserInterfaceController implements Initializable {
     @FXML
     private void onFieldButtonClick(ActionEvent actionEvent) {
 
+        if (gamestate != GameState.IN_GAME) {
+            return;
+        }
+
         // Index Ermitteln vom gedrückten Button
         int index = -1;
         for (int i = 0; i < buttons.length; i++) {
@@ -763,7 +1029,7 @@ public class UserInterfaceController implements Initializable {
                     "User tried to interact with an unknown field");
         } else {
             Log.write(LogLevel.INFO, LogModule.USER, "Attempting to move to position " + index);
-            game.move(index);
+            controller.move(index);
         }
 
     }
@@ -775,8 +1041,12 @@ public class UserInterfaceController implements Initializable {
      */
     @FXML
     private void onFinalFieldButtonClick(ActionEvent actionEvent) {
+        if (gamestate != GameState.IN_GAME) {
+            return;
+        }
+
         Log.write(LogLevel.INFO, LogModule.USER, "Attempting to move to final field (goal)");
-        game.attemptToFinish();
+        controller.attemptToFinish();
     }
 
     /**
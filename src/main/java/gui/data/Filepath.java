@@ -13,6 +13,10 @@ public enum Filepath {
             String.join(File.separator, System.getProperty("user.home"), ".HaseUndIgel_Cwik")),
     FILE_LANGUAGE_IMPORTED(
             String.join(File.separator, DIRECTORY_APPDATA.toString(), "user", "language.json")),
+    DIRECTORY_JOURNAL(
+            String.join(File.separator, DIRECTORY_APPDATA.toString(), "journal")),
+    DIRECTORY_AUTOSAVE(
+            String.join(File.separator, DIRECTORY_APPDATA.toString(), "autosave")),
     FILE_LANGUAGE_DEFAULT("gui/language/de_DE.json"),
     FILE_APPLICATION_ICON("/gui/img/Icon.png"),
     FILE_APPLICATION_LOG("log.txt"),
@@ -6,5 +6,5 @@ package gui.data;
  * @author github.com/batscs
  */
 public enum GameState {
-    MENU, IN_GAME
+    MENU, IN_GAME, REPLAY
 }
@@ -0,0 +1,311 @@
+package logic;
+
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.Closeable;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Speichert den Spielstand automatisch in einem Hintergrundthread, damit die Oberfläche nie auf
+ * den Datenträger warten muss.
+ * <p>
+ * Gespeichert wird nach jedem Spielerwechsel (siehe GameLogic.setAutoSaver()) und zusätzlich in
+ * festen Abständen. Der Spielstand wird im Thread des Spiels kopiert, der Hintergrundthread
+ * arbeitet nur auf dieser unveränderlichen Kopie. Stehen mehrere Kopien aus, wird nur die
+ * neueste geschrieben, unveränderte Spielstände werden nicht erneut geschrieben. Jede Datei wird
+ * atomar geschrieben (siehe GameData.save()), es bleiben die neuesten Spielstände erhalten.
+ *
+ * @author github.com/batscs
+ */
+public class AutoSaver implements Closeable {
+
+    /**
+     * Standardwert für die Anzahl der aufbewahrten automatischen Spielstände.
+     */
+    public static final int DEFAULT_KEEP = 5;
+
+    /**
+     * Standardwert für den Abstand der regelmäßigen Speicherungen in Millisekunden.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 60_000;
+
+    /**
+     * Konstante für die maximale Wartezeit beim Beenden auf ausstehende Speicherungen in
+     * Millisekunden.
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Konstante für den Anfang der Dateinamen automatischer Spielstände.
+     */
+    public static final String PREFIX = "autosave_";
+
+    /**
+     * Konstante für das Format der Dateinamen, sortiert nach Namen zugleich chronologisch.
+     */
+    private static final DateTimeFormatter FILE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+
+    /**
+     * Attribut für das Verzeichnis der automatischen Spielstände.
+     */
+    private final File directory;
+
+    /**
+     * Attribut für die Anzahl der aufbewahrten automatischen Spielstände.
+     */
+    private final int keep;
+
+    /**
+     * Attribut für die Ausführung im Thread des Spiels.
+     */
+    private final Executor gameExecutor;
+
+    /**
+     * Hintergrundthread für das Schreiben, Speicherungen werden so nacheinander ausgeführt.
+     */
+    private final ScheduledExecutorService worker;
+
+    /**
+     * Neueste noch nicht geschriebene Kopie des Spielstands, null falls keine aussteht.
+     */
+    private final AtomicReference<GameData> pending = new AtomicReference<>();
+
+    /**
+     * Liefert im Thread des Spiels den aktuellen Spielstand für die regelmäßige Speicherung,
+     * null falls kein Spiel läuft.
+     */
+    private volatile Supplier<GameData> source;
+
+    /**
+     * Attribut, ob das automatische Speichern beendet wurde.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Inhalt des zuletzt geschriebenen Spielstands, nur im Hintergrundthread verwendet.
+     */
+    private byte[] lastContent;
+
+    /**
+     * Anzahl der geschriebenen Spielstände, unterscheidet Dateien mit gleichem Zeitstempel.
+     */
+    private int sequence;
+
+    /**
+     * Konstruktor für das automatische Speichern.
+     *
+     * @param directory      Verzeichnis der automatischen Spielstände, wird bei Bedarf angelegt
+     * @param keep           Anzahl der aufbewahrten automatischen Spielstände
+     * @param intervalMillis Abstand der regelmäßigen Speicherungen in Millisekunden
+     * @param gameExecutor   Führt Aufgaben im Thread des Spiels aus, z.B. Platform::runLater
+     */
+    public AutoSaver(File directory, int keep, long intervalMillis, Executor gameExecutor) {
+        if (keep < 1) {
+            throw new IllegalArgumentException("At least one autosave must be kept");
+        }
+
+        this.directory = directory;
+        this.keep = keep;
+        this.gameExecutor = gameExecutor;
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            // Ein abgebrochener Schreibvorgang hinterlässt nur eine temporäre Datei
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        worker.scheduleWithFixedDelay(this::requestSnapshot, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Legt fest, woher der Spielstand für die regelmäßige Speicherung stammt.
+     *
+     * @param source Liefert im Thread des Spiels den aktuellen Spielstand, null falls kein Spiel
+     *               läuft
+     */
+    public void setSource(Supplier<GameData> source) {
+        this.source = source;
+    }
+
+    /**
+     * Übergibt einen Spielstand zum Speichern. Der Spielstand wird sofort kopiert, das Schreiben
+     * erfolgt im Hintergrundthread.
+     *
+     * @param config Der Spielstand, darf danach weiter verändert werden
+     */
+    public void submit(GameData config) {
+        if (closed) {
+            return;
+        }
+
+        // Eine bereits ausstehende Kopie wird ersetzt und ihr Auftrag schreibt die neueste
+        if (pending.getAndSet(config.copy()) == null) {
+            worker.execute(this::flush);
+        }
+    }
+
+    /**
+     * Speichert einen Spielstand im Hintergrundthread in eine Datei, z.B. beim manuellen
+     * Speichern. Das Ergebnis wird im Thread des Spiels übergeben.
+     *
+     * @param config   Der Spielstand, wird sofort kopiert
+     * @param file     Die Datei, das Format wird anhand der Dateiendung gewählt
+     * @param callback Erhält true, falls die Datei geschrieben wurde
+     */
+    public void save(GameData config, File file, Consumer<Boolean> callback) {
+        if (closed) {
+            callback.accept(false);
+            return;
+        }
+
+        GameData copy = config.copy();
+        worker.execute(() -> {
+            boolean saved = copy.save(file);
+            gameExecutor.execute(() -> callback.accept(saved));
+        });
+    }
+
+    /**
+     * Fordert im Thread des Spiels eine Kopie des aktuellen Spielstands für die regelmäßige
+     * Speicherung an.
+     */
+    private void requestSnapshot() {
+        if (source == null) {
+            return;
+        }
+
+        gameExecutor.execute(() -> {
+            Supplier<GameData> current = source;
+
+            if (current != null) {
+                submit(current.get());
+            }
+        });
+    }
+
+    /**
+     * Schreibt die neueste ausstehende Kopie, falls sie sich vom zuletzt geschriebenen
+     * Spielstand unterscheidet, und entfernt ältere automatische Spielstände.
+     */
+    private void flush() {
+        GameData config = pending.getAndSet(null);
+
+        if (config == null) {
+            return;
+        }
+
+        byte[] content = config.encode(GameDataFormat.BINARY);
+
+        if (Arrays.equals(content, lastContent)) {
+            return;
+        }
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not create directory for autosaves " + directory);
+            return;
+        }
+
+        String name = PREFIX + LocalDateTime.now().format(FILE_FORMAT)
+                + String.format("_%03d", sequence++ % 1000) + "."
+                + GameDataFormat.BINARY.getExtension();
+
+        if (GameData.write(new File(directory, name), content)) {
+            lastContent = content;
+            Log.write(LogLevel.DEBUG, LogModule.APPLICATION, "Autosaved game as " + name);
+            prune();
+        }
+    }
+
+    /**
+     * Löscht alle automatischen Spielstände bis auf die neuesten sowie verbliebene temporäre
+     * Dateien, z.B. nach einem Stromausfall.
+     */
+    private void prune() {
+        File[] saves = listAutosaves(directory);
+
+        for (int i = 0; i < saves.length - keep; i++) {
+            delete(saves[i]);
+        }
+
+        File[] temps = directory.listFiles((dir, name) -> name.startsWith(PREFIX)
+                && name.endsWith(GameData.TEMP_SUFFIX));
+
+        if (temps != null) {
+            for (File temp : temps) {
+                delete(temp);
+            }
+        }
+    }
+
+    /**
+     * Löscht eine Datei, Fehler werden protokolliert.
+     *
+     * @param file Die Datei
+     */
+    private static void delete(File file) {
+        if (!file.delete()) {
+            Log.write(LogLevel.WARN, LogModule.APPLICATION,
+                    "Could not delete old autosave " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Liefert alle automatischen Spielstände eines Verzeichnisses.
+     *
+     * @param directory Das Verzeichnis
+     * @return Die Spielstände, vom ältesten zum neuesten
+     */
+    public static File[] listAutosaves(File directory) {
+        String suffix = "." + GameDataFormat.BINARY.getExtension();
+        File[] saves = directory.listFiles((dir, name) -> name.startsWith(PREFIX)
+                && name.endsWith(suffix));
+
+        if (saves == null) {
+            return new File[0];
+        }
+
+        Arrays.sort(saves);
+
+        return saves;
+    }
+
+    /**
+     * Beendet das automatische Speichern. Bereits übergebene Spielstände werden noch
+     * geschrieben, es wird gewartet bis sie auf dem Datenträger liegen, z.B. beim Beenden der
+     * Anwendung.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        source = null;
+        worker.shutdown();
+
+        try {
+            if (!worker.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                Log.write(LogLevel.WARN, LogModule.APPLICATION,
+                        "Pending autosaves could not be written in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Log.write(LogLevel.WARN, LogModule.APPLICATION,
+                    "Interrupted while waiting for pending autosaves");
+        }
+    }
+}
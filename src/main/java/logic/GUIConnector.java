@@ -41,6 +41,17 @@ public interface GUIConnector {
      */
     void movePlayer(int playerIdx, int start, int destination, Runnable afterMoveEvent);
 
+    /**
+     * Ermittelt, ob die Oberfläche das Spiel darstellt. Ohne Darstellung überspringt das Spiel
+     * das Aktualisieren von Feldern und Statistiken sowie Dialoge, deren Entscheidung direkt über
+     * das Spiel getroffen wird, z.B. damit Suchverfahren keine Callbacks erzeugen.
+     *
+     * @return True, falls das Spiel dargestellt wird
+     */
+    default boolean isDisplayed() {
+        return true;
+    }
+
     /**
      * Methode zum Anzeigen des aktuellen Spielers im GUI, dabei wird der Name sowie die Anzahl der
      * Karotten und Salate
@@ -0,0 +1,394 @@
+package logic;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liest ein mit dem GameArchiveWriter geschriebenes Archiv speicherabgebildet. Die Datensätze
+ * werden über einen Cursor ohne Objekterzeugung je Datensatz durchlaufen, jeder Datensatz kann
+ * wieder in einen ladbaren Spielstand umgewandelt werden.
+ * <p>
+ * Da ein MappedByteBuffer höchstens 2 GB abbildet, wird das Archiv in Abschnitten aus ganzen
+ * Datensätzen abgebildet. Ein unvollständiger Datensatz am Ende, z.B. nach einem Absturz beim
+ * Schreiben, wird ignoriert.
+ *
+ * @author github.com/batscs
+ */
+public class GameArchiveReader implements Closeable {
+
+    /**
+     * Attribut für den Kanal der Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Attribut für die abgebildeten Abschnitte der Datensätze.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Attribut für die Anzahl der Datensätze je Abschnitt.
+     */
+    private final int recordsPerSegment;
+
+    /**
+     * Attribut für die Anzahl der longs je Datensatz.
+     */
+    private final int stride;
+
+    /**
+     * Attribut, ob die Datensätze den Startwert des Kartendecks enthalten (ab Version 2).
+     */
+    private final boolean seeded;
+
+    /**
+     * Attribut für die Anzahl der Datensätze.
+     */
+    private final long recordCount;
+
+    /**
+     * Attribut für die teilnehmenden Spielernamen.
+     */
+    private final String[] names;
+
+    /**
+     * Konstruktor, welcher den Kopf liest und die Datensätze abbildet.
+     *
+     * @param file Die Datei
+     * @throws IOException falls nicht gelesen werden kann oder das Format nicht passt
+     */
+    public GameArchiveReader(File file) throws IOException {
+        this(file, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Konstruktor mit begrenzter Größe der Abschnitte, z.B. zum Testen.
+     *
+     * @param file        Die Datei
+     * @param segmentSize Maximale Größe eines Abschnitts in Byte
+     * @throws IOException falls nicht gelesen werden kann oder das Format nicht passt
+     */
+    GameArchiveReader(File file, int segmentSize) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            readFully(header, 0);
+
+            if (header.getInt() != GameArchiveWriter.MAGIC) {
+                throw new IOException("Not a game archive");
+            }
+
+            int version = header.get();
+            if (version < 1 || version > GameArchiveWriter.VERSION) {
+                throw new IOException("Unsupported game archive version " + version);
+            }
+
+            int participants = header.get();
+            if (participants < 2 || participants > GameData.GAME_MAX_PLAYERS) {
+                throw new IOException("Invalid amount of players " + participants);
+            }
+
+            header.getShort();
+            int dataOffset = header.getInt();
+            if (dataOffset < header.capacity() || dataOffset > channel.size()) {
+                throw new IOException("Invalid game archive header");
+            }
+
+            names = readNames(participants, dataOffset);
+            seeded = version >= 2;
+            stride = seeded ? GameArchiveWriter.getStride(participants) : participants + 2;
+
+            int recordSize = stride * Long.BYTES;
+            recordCount = (channel.size() - dataOffset) / recordSize;
+            recordsPerSegment = Math.max(1, segmentSize / recordSize);
+
+            int count = (int) ((recordCount + recordsPerSegment - 1) / recordsPerSegment);
+            segments = new MappedByteBuffer[count];
+
+            for (int i = 0; i < count; i++) {
+                long first = (long) i * recordsPerSegment;
+                long records = Math.min(recordsPerSegment, recordCount - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        dataOffset + first * recordSize, records * recordSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liest die Spielernamen aus dem Kopf.
+     *
+     * @param participants Anzahl der Spieler
+     * @param dataOffset   Beginn der Datensätze
+     * @return Die Spielernamen
+     * @throws IOException falls nicht gelesen werden kann
+     */
+    private String[] readNames(int participants, int dataOffset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(dataOffset - 12);
+        readFully(buffer, 12);
+
+        String[] result = new String[participants];
+
+        for (int i = 0; i < participants; i++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            result[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        return result;
+    }
+
+    /**
+     * Füllt einen Puffer vollständig ab einer Position der Datei.
+     *
+     * @param buffer   Der Puffer, danach zum Lesen bereit
+     * @param position Position in der Datei
+     * @throws IOException falls nicht genug Daten vorhanden sind
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of game archive");
+            }
+        }
+
+        buffer.flip();
+    }
+
+    /**
+     * Liefert die Anzahl der Datensätze.
+     *
+     * @return Anzahl der Datensätze
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Liefert die Anzahl der teilnehmenden Spieler.
+     *
+     * @return Anzahl der Spieler
+     */
+    public int getParticipants() {
+        return names.length;
+    }
+
+    /**
+     * Liefert die teilnehmenden Spielernamen.
+     *
+     * @return Kopie der Spielernamen
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * Erstellt einen Cursor vor dem ersten Datensatz. Mehrere Cursor können das Archiv
+     * gleichzeitig lesen.
+     *
+     * @return Der Cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Wandelt einen Datensatz in einen ladbaren Spielstand um.
+     *
+     * @param record Index des Datensatzes
+     * @return Der Spielstand
+     */
+    public GameData toGameData(long record) {
+        Cursor cursor = cursor();
+        cursor.seek(record);
+
+        return cursor.toGameData();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Cursor über die Datensätze des Archivs. Der Cursor liest direkt aus dem abgebildeten
+     * Speicher, das Weiterschalten erzeugt keine Objekte.
+     */
+    public class Cursor {
+
+        /**
+         * Index des aktuellen Datensatzes, -1 vor dem ersten Datensatz.
+         */
+        private long index = -1;
+
+        /**
+         * Abschnitt des aktuellen Datensatzes.
+         */
+        private ByteBuffer segment;
+
+        /**
+         * Position des aktuellen Datensatzes im Abschnitt in Byte.
+         */
+        private int base;
+
+        /**
+         * Konstruktor, nur über cursor().
+         */
+        private Cursor() {
+        }
+
+        /**
+         * Schaltet auf den nächsten Datensatz weiter.
+         *
+         * @return False, falls kein weiterer Datensatz vorhanden ist
+         */
+        public boolean next() {
+            if (index + 1 >= recordCount) {
+                index = recordCount;
+                return false;
+            }
+
+            seek(index + 1);
+
+            return true;
+        }
+
+        /**
+         * Positioniert den Cursor auf einem Datensatz.
+         *
+         * @param record Index des Datensatzes
+         */
+        public void seek(long record) {
+            if (record < 0 || record >= recordCount) {
+                throw new IndexOutOfBoundsException("No record " + record + " in game archive");
+            }
+
+            index = record;
+            segment = segments[(int) (record / recordsPerSegment)];
+            base = (int) (record % recordsPerSegment) * stride * Long.BYTES;
+        }
+
+        /**
+         * Liefert den Index des aktuellen Datensatzes.
+         *
+         * @return Index des Datensatzes
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Liefert die Nummer des Spiels des aktuellen Datensatzes.
+         *
+         * @return Nummer des Spiels
+         */
+        public int getGame() {
+            return (int) (get(0) >>> 32 & 0x7FFFFFFFL);
+        }
+
+        /**
+         * Liefert die Anzahl der Entscheidungen bis zum aktuellen Zwischenstand.
+         *
+         * @return Anzahl der Entscheidungen
+         */
+        public int getDecision() {
+            return (int) get(0);
+        }
+
+        /**
+         * Ermittelt, ob das Spiel zum aktuellen Zwischenstand beendet ist.
+         *
+         * @return True, falls beendet
+         */
+        public boolean isFinished() {
+            return (get(0) & GameArchiveWriter.FINISHED_BIT) != 0;
+        }
+
+        /**
+         * Liefert den gepackten Header des aktuellen Zwischenstands, siehe PackedGameState.
+         *
+         * @return Der gepackte Header
+         */
+        public long getHeader() {
+            return get(1);
+        }
+
+        /**
+         * Liefert einen gepackten Spieler des aktuellen Zwischenstands, siehe PackedGameState.
+         *
+         * @param idx Index des Spielers
+         * @return Der gepackte Spieler
+         */
+        public long getPlayer(int idx) {
+            return get(2 + idx);
+        }
+
+        /**
+         * Kopiert den gepackten Zwischenstand im Aufbau von PackedGameState.toArray() in ein
+         * bestehendes Array.
+         *
+         * @param dest   Das Zielarray, mindestens participants + 1 ab offset
+         * @param offset Startindex im Zielarray
+         */
+        public void copyPackedState(long[] dest, int offset) {
+            for (int i = 0; i <= names.length; i++) {
+                dest[offset + i] = get(1 + i);
+            }
+        }
+
+        /**
+         * Ermittelt, ob der aktuelle Datensatz den Startwert des Kartendecks enthält.
+         *
+         * @return True, falls enthalten (ab Version 2 des Archivs)
+         */
+        public boolean hasSeed() {
+            return seeded;
+        }
+
+        /**
+         * Liefert den Startwert des Kartendecks des aktuellen Zwischenstands.
+         *
+         * @return Der Startwert, oder 0 falls das Archiv keinen enthält
+         */
+        public long getSeed() {
+            return seeded ? get(names.length + 2) : 0L;
+        }
+
+        /**
+         * Wandelt den aktuellen Datensatz in einen ladbaren Spielstand um. Enthält das Archiv
+         * den Startwert, wird das Kartendeck mit der nächsten Karte fortgesetzt.
+         *
+         * @return Der Spielstand
+         */
+        public GameData toGameData() {
+            long[] data = new long[names.length + 1];
+            copyPackedState(data, 0);
+            PackedGameState state = PackedGameState.fromArray(data);
+
+            return seeded ? state.toGameData(names, getSeed()) : state.toGameData(names);
+        }
+
+        /**
+         * Liest ein long des aktuellen Datensatzes.
+         *
+         * @param i Index des longs im Datensatz
+         * @return Der Wert
+         */
+        private long get(int i) {
+            if (segment == null || index >= recordCount) {
+                throw new IllegalStateException("Cursor is not positioned on a record");
+            }
+
+            return segment.getLong(base + i * Long.BYTES);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package logic;
+
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt die Verläufe vieler simulierter Spiele in ein Archiv mit Datensätzen fester Länge,
+ * welches mit dem GameArchiveReader speicherabgebildet gelesen wird.
+ * <p>
+ * Aufbau: Magic (4 Byte), Version (1 Byte), Anzahl der Spieler (1 Byte), 2 Byte reserviert, der
+ * Beginn der Datensätze (4 Byte) und die Spielernamen als UTF-8 mit vorangestellter Länge
+ * (2 Byte), aufgefüllt auf ein Vielfaches von 8 Byte. Danach folgen die Datensätze, einer je
+ * Zwischenstand eines Spiels. Ein Datensatz besteht aus participants + 3 longs: Der Kennung
+ * (siehe pack()), dem gepackten Spielstand im Aufbau von PackedGameState.toArray() und dem
+ * Startwert des Kartendecks, damit jeder Zwischenstand mit seinem Kartendeck geladen werden kann.
+ * Die Datensätze eines Spiels liegen stets zusammenhängend im Archiv. Archive der Version 1
+ * enthalten keinen Startwert.
+ *
+ * @author github.com/batscs
+ */
+public class GameArchiveWriter implements Closeable {
+
+    /**
+     * Konstante für die Kennung am Anfang eines Archivs ("HUGA").
+     */
+    public static final int MAGIC = 0x48554741;
+
+    /**
+     * Konstante für die aktuelle Version des Archivs.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Konstante für die Dateiendung eines Archivs ohne Punkt.
+     */
+    public static final String EXTENSION = "huga";
+
+    /**
+     * Bit der Kennung eines Datensatzes, falls das Spiel zu diesem Zeitpunkt beendet ist.
+     */
+    static final long FINISHED_BIT = 1L << 63;
+
+    /**
+     * Anzahl der Datensätze, welche gepuffert werden, bevor sie in die Datei geschrieben werden.
+     */
+    private static final int BUFFERED_RECORDS = 4096;
+
+    /**
+     * Attribut für den Kanal der Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Attribut für den Puffer der noch nicht geschriebenen Datensätze.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Attribut für die Anzahl der longs je Datensatz.
+     */
+    private final int stride;
+
+    /**
+     * Attribut für die Anzahl der geschriebenen Datensätze.
+     */
+    private long records;
+
+    /**
+     * Attribut, ob das Schreiben fehlgeschlagen ist. Danach werden keine Datensätze mehr
+     * geschrieben.
+     */
+    private boolean failed;
+
+    /**
+     * Konstruktor, welcher das Archiv anlegt bzw. überschreibt und den Kopf schreibt.
+     *
+     * @param file  Die Datei
+     * @param names Teilnehmende Spielernamen, gelten für alle Spiele des Archivs
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    public GameArchiveWriter(File file, String... names) throws IOException {
+        if (names.length < 2 || names.length > GameData.GAME_MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid amount of players: " + names.length);
+        }
+
+        this.stride = getStride(names.length);
+        this.buffer = ByteBuffer.allocateDirect(BUFFERED_RECORDS * stride * Long.BYTES);
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            writeHeader(names);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Schreibt den Kopf des Archivs.
+     *
+     * @param names Teilnehmende Spielernamen
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    private void writeHeader(String[] names) throws IOException {
+        byte[][] encoded = new byte[names.length][];
+        int size = 12;
+
+        for (int i = 0; i < names.length; i++) {
+            encoded[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            size += 2 + encoded[i].length;
+        }
+
+        // Datensätze beginnen an einer durch 8 teilbaren Position
+        int dataOffset = (size + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+        ByteBuffer header = ByteBuffer.allocate(dataOffset);
+
+        header.putInt(MAGIC);
+        header.put((byte) VERSION);
+        header.put((byte) names.length);
+        header.putShort((short) 0);
+        header.putInt(dataOffset);
+
+        for (byte[] name : encoded) {
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+
+        header.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der longs je Datensatz.
+     *
+     * @param participants Anzahl der Spieler
+     * @return Kennung, gepackter Spielstand und Startwert des Kartendecks
+     */
+    public static int getStride(int participants) {
+        return participants + 3;
+    }
+
+    /**
+     * Schreibt den aktuellen Zwischenstand eines Spiels als Datensatz ohne Objekterzeugung in ein
+     * bestehendes Array, z.B. um den Verlauf eines Spiels vor dem Schreiben zu sammeln.
+     * <p>
+     * Die Kennung enthält die Nummer des Spiels (Bit 32 - 62), die Anzahl der Entscheidungen bis
+     * zum Zwischenstand (Bit 0 - 31) und ob das Spiel beendet ist (Bit 63).
+     *
+     * @param game     Das Spiel
+     * @param number   Nummer des Spiels im Archiv
+     * @param decision Anzahl der Entscheidungen bis zum Zwischenstand
+     * @param dest     Das Zielarray, mindestens getStride() longs ab offset
+     * @param offset   Startindex im Zielarray
+     */
+    public static void pack(GameLogic game, int number, int decision, long[] dest, int offset) {
+        dest[offset] = (long) number << 32 | decision & 0xFFFFFFFFL
+                | (game.isGameFinished() ? FINISHED_BIT : 0L);
+        game.copyPackedState(dest, offset + 1);
+        dest[offset + game.getParticipants() + 2] = game.getSeed();
+    }
+
+    /**
+     * Hängt zusammenhängende Datensätze an das Archiv an, z.B. den gesamten Verlauf eines Spiels.
+     * Kann von mehreren Threads aufgerufen werden, die Datensätze eines Aufrufs bleiben dabei
+     * zusammenhängend. Fehler beim Schreiben werden protokolliert und beenden das Archiv.
+     *
+     * @param data  Die Datensätze, je getStride() longs
+     * @param count Anzahl der Datensätze
+     */
+    public synchronized void write(long[] data, int count) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            int length = count * stride;
+
+            for (int i = 0; i < length; i++) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+
+                buffer.putLong(data[i]);
+            }
+
+            records += count;
+        } catch (IOException e) {
+            failed = true;
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not write to game archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Schreibt alle gepufferten Datensätze in die Datei.
+     *
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Liefert die Anzahl der geschriebenen Datensätze.
+     *
+     * @return Anzahl der Datensätze
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Ermittelt, ob das Schreiben des Archivs fehlgeschlagen ist.
+     *
+     * @return True, falls fehlgeschlagen
+     */
+    public synchronized boolean hasFailed() {
+        return failed;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (!failed) {
+                drain();
+            }
+        } catch (IOException e) {
+            failed = true;
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not write to game archive: " + e.getMessage());
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not close game archive: " + e.getMessage());
+        }
+    }
+}
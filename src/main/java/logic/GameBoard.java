@@ -2,11 +2,13 @@ package logic;
 
 import logic.data.CardDeck;
 import logic.data.GamePosition;
+import logic.data.HaseUndIgelException;
+import logic.data.Move;
 import logic.data.NummerFlag;
 import logic.fields.*;
-import util.ArrayUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,17 +40,336 @@ public class GameBoard {
      */
     private final CardDeck cardDeck;
 
+    /**
+     * Tabelle der Preise in Karotten, Index entspricht der zu überquerenden Distanz.
+     */
+    private static final int[] PRICE_BY_DISTANCE = new int[GameLogic.FINAL_FIELD_POSITION + 1];
+
+    /**
+     * Tabelle der maximalen Distanz, welche sich mit einer bestimmten Anzahl an Karotten bezahlen
+     * lässt. Index entspricht der Anzahl an Karotten, darüber hinaus ist jede Distanz bezahlbar.
+     */
+    private static final int[] MAX_DISTANCE_BY_CARROTS;
+
+    static {
+        for (int distance = 1; distance < PRICE_BY_DISTANCE.length; distance++) {
+            // Gaußsche Summenformel
+            PRICE_BY_DISTANCE[distance] = PRICE_BY_DISTANCE[distance - 1] + distance;
+        }
+
+        MAX_DISTANCE_BY_CARROTS = new int[PRICE_BY_DISTANCE[PRICE_BY_DISTANCE.length - 1] + 1];
+
+        int distance = 0;
+        for (int carrots = 0; carrots < MAX_DISTANCE_BY_CARROTS.length; carrots++) {
+            while (distance + 1 < PRICE_BY_DISTANCE.length && PRICE_BY_DISTANCE[distance + 1] <= carrots) {
+                distance++;
+            }
+            MAX_DISTANCE_BY_CARROTS[carrots] = distance;
+        }
+    }
+
+    /**
+     * Feldtypen des offiziellen Spielplans je Position, inklusive Zielfeld.
+     */
+    private static final FieldType[] FIELD_TYPES = new FieldType[GameLogic.FINAL_FIELD_POSITION + 1];
+
+    /**
+     * Zahl bzw. Flagge der Nummernfelder des offiziellen Spielplans je Position, sonst null.
+     */
+    private static final NummerFlag[] NUMMER_FLAGS = new NummerFlag[GameLogic.FINAL_FIELD_POSITION + 1];
+
+    /**
+     * Bitmasken der einzelnen Feldtypen. Bit i ist gesetzt, falls das Feld an Position i vom
+     * jeweiligen Typ ist. Das Zielfeld (Position 64) passt nicht mehr in einen long und wird
+     * daher stets gesondert betrachtet. Der Spielplan ist für alle Spiele gleich.
+     */
+    private static final long IGEL_MASK, SALAT_MASK, KAROTTE_MASK, HASE_MASK, NUMMER_MASK;
+
+    static {
+        // Die Felder des Spielplans ohne Kartendeck dienen nur zum Auslesen
+        Field[] layout = presetField(null);
+
+        long igel = 0L, salat = 0L, karotte = 0L, hase = 0L, nummer = 0L;
+
+        for (int i = 0; i < layout.length; i++) {
+            FIELD_TYPES[i] = layout[i].getType();
+
+            if (FIELD_TYPES[i] == FieldType.NUMMER) {
+                NUMMER_FLAGS[i] = ((FieldNummer) layout[i]).getDesiredPlace();
+            }
+
+            if (i == GameLogic.FINAL_FIELD_POSITION) {
+                continue;
+            }
+
+            long bit = 1L << i;
+
+            switch (FIELD_TYPES[i]) {
+                case IGEL -> igel |= bit;
+                case SALAT -> salat |= bit;
+                case KAROTTE -> karotte |= bit;
+                case HASE -> hase |= bit;
+                case NUMMER -> nummer |= bit;
+                default -> {
+                }
+            }
+        }
+
+        IGEL_MASK = igel;
+        SALAT_MASK = salat;
+        KAROTTE_MASK = karotte;
+        HASE_MASK = hase;
+        NUMMER_MASK = nummer;
+    }
+
+    /**
+     * Konstante für ein unbesetztes Feld im Besetzungsindex.
+     */
+    static final int FREE = -1;
+
+    /**
+     * Besetzungsindex: Index des Spielers, welcher auf der jeweiligen Position steht, oder FREE.
+     * Auf dem Start- und Zielfeld können mehrere Spieler stehen, dort wird einer davon geführt.
+     */
+    private final int[] occupantIds;
+
+    /**
+     * Anzahl der Spieler auf der jeweiligen Position.
+     */
+    private final int[] occupantCount;
+
+    /**
+     * Bitmaske aller besetzten Felder, ohne das Zielfeld. Wird bei jeder Bewegung aktualisiert.
+     */
+    private long occupiedMask;
+
+    /**
+     * Rangfolge der Spieler als Spieler-Indizes, absteigend nach Position sortiert. Bei gleicher
+     * Position steht der Spieler mit dem kleineren Index vorne. Wird bei jeder Bewegung
+     * aktualisiert.
+     */
+    private final int[] ranking;
+
+    /**
+     * Platz in der Rangfolge je Spieler-Index, Umkehrung von ranking.
+     */
+    private final int[] places;
+
+    /**
+     * Zobrist-Hash aller Spieler und der Spieler im Ziel. Wird bei jeder Änderung eines Spielers
+     * inkrementell aktualisiert, siehe ZobristHash.
+     */
+    private long hash;
+
+    /**
+     * Alle Hasenfelder des Spielbretts, aufsteigend nach Position.
+     */
+    private final FieldHase[] haseFields;
+
     /**
      * Konstruktor zum Initialisieren eines Spielfeldes anhand von teilnehmenden Spielern.
      *
      * @param players Die Daten der teilnehmenden Spieler
+     * @throws HaseUndIgelException falls mehr als die maximale Anzahl an Spielern teilnehmen
      */
     public GameBoard(Player[] players) {
+        this(players, CardDeck.createSeed());
+    }
+
+    /**
+     * Konstruktor zum Initialisieren eines Spielfeldes mit reproduzierbar gemischtem Kartendeck.
+     *
+     * @param players Die Daten der teilnehmenden Spieler
+     * @param seed    Startwert des Kartendecks
+     * @throws HaseUndIgelException falls mehr als die maximale Anzahl an Spielern teilnehmen
+     */
+    public GameBoard(Player[] players, long seed) {
+        if (players.length > GameData.GAME_MAX_PLAYERS) {
+            throw new HaseUndIgelException("Too many players for GameBoard");
+        }
+
         this.players = players;
         this.onTarget = new ArrayList<>();
-        this.cardDeck = new CardDeck();
+        this.cardDeck = new CardDeck(seed);
+
+        this.fields = presetField(cardDeck);
+
+        this.haseFields = new FieldHase[Long.bitCount(HASE_MASK)];
+        for (int i = 0, position = 0; i < haseFields.length; i++, position++) {
+            position += Long.numberOfTrailingZeros(HASE_MASK >>> position);
+            haseFields[i] = (FieldHase) fields[position];
+        }
+
+        this.occupantIds = new int[fields.length];
+        this.occupantCount = new int[fields.length];
+        Arrays.fill(occupantIds, FREE);
+
+        this.ranking = new int[players.length];
+        this.places = new int[players.length];
+
+        for (int i = 0; i < players.length; i++) {
+            players[i].attachBoard(this, i);
+            occupy(i, players[i].getPosition());
+            hash ^= ZobristHash.player(i, players[i]);
+
+            ranking[i] = i;
+            places[i] = i;
+        }
 
-        this.fields = presetField();
+        // Insertion Sort für die anfängliche Rangfolge
+        for (int i = 1; i < ranking.length; i++) {
+            for (int j = i; j > 0 && isAhead(ranking[j], ranking[j - 1]); j--) {
+                swapPlaces(j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Methode, welche von einem Spieler bei jeder Bewegung aufgerufen wird, um den
+     * Besetzungsindex zu aktualisieren.
+     *
+     * @param id       Index des Spielers
+     * @param previous Vorherige Position
+     * @param position Neue Position
+     */
+    void onPlayerMove(int id, int previous, int position) {
+        vacate(id, previous);
+        occupy(id, position);
+        updateRanking(id);
+
+        hash ^= ZobristHash.position(id, previous) ^ ZobristHash.position(id, position);
+    }
+
+    /**
+     * Methode, welche von einem Spieler bei jeder Änderung seiner Werte aufgerufen wird, um den
+     * Hash aktuell zu halten.
+     *
+     * @param keys XOR-Verknüpfung des alten und neuen Schlüssels des geänderten Wertes
+     */
+    void onPlayerChange(long keys) {
+        hash ^= keys;
+    }
+
+    /**
+     * Liefert den Zobrist-Hash aller Spieler und der Spieler im Ziel, ohne aktuellen Spieler und
+     * Kartendeck.
+     *
+     * @return Der Hash
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Verschiebt einen Spieler nach einer Bewegung an seinen neuen Platz in der Rangfolge.
+     * Alle anderen Spieler bleiben untereinander sortiert, daher genügt ein Einsortieren.
+     *
+     * @param id Index des bewegten Spielers
+     */
+    private void updateRanking(int id) {
+        int place = places[id];
+
+        while (place > 0 && isAhead(id, ranking[place - 1])) {
+            swapPlaces(place, place - 1);
+            place--;
+        }
+
+        while (place < ranking.length - 1 && isAhead(ranking[place + 1], id)) {
+            swapPlaces(place, place + 1);
+            place++;
+        }
+    }
+
+    /**
+     * Ermittelt, ob ein Spieler in der Rangfolge vor einem anderen Spieler steht.
+     *
+     * @param a Index des ersten Spielers
+     * @param b Index des zweiten Spielers
+     * @return True, falls a vor b steht
+     */
+    private boolean isAhead(int a, int b) {
+        int positionA = players[a].getPosition();
+        int positionB = players[b].getPosition();
+
+        return positionA > positionB || (positionA == positionB && a < b);
+    }
+
+    /**
+     * Tauscht zwei Plätze in der Rangfolge.
+     *
+     * @param placeA Erster Platz
+     * @param placeB Zweiter Platz
+     */
+    private void swapPlaces(int placeA, int placeB) {
+        int idA = ranking[placeA];
+        int idB = ranking[placeB];
+
+        ranking[placeA] = idB;
+        ranking[placeB] = idA;
+        places[idB] = placeA;
+        places[idA] = placeB;
+    }
+
+    /**
+     * Trägt einen Spieler auf einer Position im Besetzungsindex ein.
+     *
+     * @param id       Index des Spielers
+     * @param position Die Position
+     */
+    private void occupy(int id, int position) {
+        if (position < 0 || position >= fields.length) {
+            return;
+        }
+
+        occupantCount[position]++;
+        occupantIds[position] = id;
+
+        if (position < GameLogic.FINAL_FIELD_POSITION) {
+            occupiedMask |= 1L << position;
+        }
+    }
+
+    /**
+     * Entfernt einen Spieler von einer Position im Besetzungsindex.
+     *
+     * @param id       Index des Spielers
+     * @param position Die Position
+     */
+    private void vacate(int id, int position) {
+        if (position < 0 || position >= fields.length || occupantCount[position] == 0) {
+            return;
+        }
+
+        occupantCount[position]--;
+
+        if (occupantCount[position] == 0) {
+            occupantIds[position] = FREE;
+
+            if (position < GameLogic.FINAL_FIELD_POSITION) {
+                occupiedMask &= ~(1L << position);
+            }
+        } else if (occupantIds[position] == id) {
+            // Nur auf Start- und Zielfeld möglich, dort einen verbleibenden Spieler eintragen
+            for (int i = 0; i < players.length; i++) {
+                if (i != id && players[i].getPosition() == position) {
+                    occupantIds[position] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert den Index des Spielers, welcher auf einer Position steht.
+     *
+     * @param position Die Position
+     * @return Index des Spielers, oder FREE falls unbesetzt
+     */
+    int getOccupant(int position) {
+        if (position < 0 || position >= fields.length) {
+            return FREE;
+        }
+
+        return occupantIds[position];
     }
 
     /**
@@ -64,6 +385,10 @@ public class GameBoard {
             return 0;
         }
 
+        if (distance < PRICE_BY_DISTANCE.length) {
+            return PRICE_BY_DISTANCE[distance];
+        }
+
         // Gaußsche Summenformel
         return (distance * (distance + 1)) / 2;
     }
@@ -87,6 +412,45 @@ public class GameBoard {
         return onTarget;
     }
 
+    /**
+     * Liefert die Bitmaske eines Feldtyps. Bit i ist gesetzt, falls das Feld an Position i vom
+     * übergebenen Typ ist. Das Zielfeld ist nicht enthalten.
+     *
+     * @param type Der Feldtyp
+     * @return Bitmaske der Felder des Typs
+     */
+    static long getFieldTypeMask(FieldType type) {
+        return switch (type) {
+            case IGEL -> IGEL_MASK;
+            case SALAT -> SALAT_MASK;
+            case KAROTTE -> KAROTTE_MASK;
+            case HASE -> HASE_MASK;
+            case NUMMER -> NUMMER_MASK;
+            default -> 0L;
+        };
+    }
+
+    /**
+     * Liefert den Feldtyp einer Position des offiziellen Spielplans, ohne ein Spiel zu erzeugen.
+     *
+     * @param position Die Position, inklusive Zielfeld
+     * @return Der Feldtyp
+     */
+    public static FieldType getPresetFieldType(int position) {
+        return FIELD_TYPES[position];
+    }
+
+    /**
+     * Liefert die Zahl bzw. Flagge eines Nummernfeldes des offiziellen Spielplans, ohne ein Spiel
+     * zu erzeugen.
+     *
+     * @param position Die Position, inklusive Zielfeld
+     * @return Die Zahl bzw. Flagge, oder null falls die Position kein Nummernfeld ist
+     */
+    public static NummerFlag getPresetNummerFlag(int position) {
+        return NUMMER_FLAGS[position];
+    }
+
     /**
      * Ermittelt, ob ein Feld bereits besetzt ist.
      *
@@ -94,25 +458,17 @@ public class GameBoard {
      * @return True, wenn das Feld besetzt ist.
      */
     boolean isOccupied(int position) {
-
-        boolean occupied = false;
-
-        for (Player player : players) {
-            if (player.getPosition() == position) {
-                occupied = true;
-            }
-        }
-
-        return occupied;
+        return getOccupant(position) != FREE;
     }
 
     /**
      * Methode, welche eine neue Instanz auf das Feld dem offiziellen Spielplan entsprechend
      * zurückgibt.
      *
+     * @param cardDeck Das Kartendeck der Hasenfelder
      * @return Das Spielfeld
      */
-    private Field[] presetField() {
+    private static Field[] presetField(CardDeck cardDeck) {
 
         return new Field[] {
                 new FieldEmpty(0), new FieldHase(1, cardDeck), new FieldKarotte(2), new FieldHase(3, cardDeck),
@@ -155,23 +511,14 @@ public class GameBoard {
      * @return Index des gefundenen Feldes, oder Ursprungsposition, falls keines gefunden.
      */
     int getNextCarrotFieldPositionForProtagonist(Player protagonist) {
-        int index = protagonist.getPosition();
-        boolean found = false;
-
-        for (int i = index; i < fields.length && !found; i++) {
-            if (fields[i].getType().equals(FieldType.KAROTTE)) {
-                if (!isOccupied(i)) {
-                    found = true;
-                    index = i;
-                }
-            }
-        }
+        int position = protagonist.getPosition();
+        long candidates = KAROTTE_MASK & ~occupiedMask & ~maskBelow(position);
 
-        if (!found) {
-            return protagonist.getPosition();
+        if (candidates == 0) {
+            return position;
         }
 
-        return index;
+        return Long.numberOfTrailingZeros(candidates);
     }
 
     /**
@@ -181,19 +528,14 @@ public class GameBoard {
      * @return Index des gefundenen Feldes, oder Ursprungsposition, falls keines gefunden.
      */
     int getPreviousCarrotFieldPositionForProtagonist(Player protagonist) {
-        int index = protagonist.getPosition();
-        boolean found = false;
+        int position = protagonist.getPosition();
+        long candidates = KAROTTE_MASK & ~occupiedMask & maskBelow(position + 1);
 
-        for (int i = index; i >= 0 && !found; i--) {
-            if (fields[i].getType().equals(FieldType.KAROTTE)) {
-                if (!isOccupied(i)) {
-                    index = i;
-                    found = true;
-                }
-            }
+        if (candidates == 0) {
+            return position;
         }
 
-        return index;
+        return Long.numberOfTrailingZeros(Long.highestOneBit(candidates));
     }
 
     /**
@@ -216,7 +558,9 @@ public class GameBoard {
                 return protagonist.getPosition();
             }
 
-            if (isReachableIgnorePrice(protagonist, desiredPosition)) {
+            long reachable = getReachableMask(protagonist, true);
+
+            if (isReachable(reachable, protagonist, desiredPosition)) {
                 return desiredPosition;
             }
 
@@ -224,7 +568,7 @@ public class GameBoard {
 
             // desiredPosition wird so lange angepasst, bis dies eine gültige Position ist
             for (int i = adjustedPosition; i < fields.length - 1 && adjustedPosition == desiredPosition; i++) {
-                if (isReachableIgnorePrice(protagonist, i) && !isOccupied(i)) {
+                if (isReachable(reachable, protagonist, i)) {
                     adjustedPosition = i;
                 }
             }
@@ -329,12 +673,11 @@ public class GameBoard {
      * @return Der Spieler
      */
     Player getPlayerOnPlace(int place) {
-        Player[] list = getSortedPlayers();
-        if (place >= list.length || place < 0) {
+        if (place >= ranking.length || place < 0) {
             return null;
         }
 
-        return list[place];
+        return players[ranking[place]];
     }
 
     /**
@@ -344,103 +687,95 @@ public class GameBoard {
      * @return Der Platz, 0-indiziert.
      */
     int getPlaceOfPlayer(Player player) {
-        Player[] list = getSortedPlayers();
+        int id = player.getBoardId();
 
-        int place = -1;
-
-        for (int i = 0; i < list.length; i++) {
-            if (player == list[i]) {
-                place = i;
-            }
+        if (id < 0 || id >= players.length || players[id] != player) {
+            return -1;
         }
 
-        return place;
+        return places[id];
     }
 
     /**
-     * Gibt die Spieler in sortierter Reihenfolge (anhand der Position auf dem Feld) zurück.
-     * Reihenfolge ist absteigend und beachtet nicht die Reihenfolge des Betretens in das Zielfeld.
+     * Liefert die Bitmaske aller Felder, welche aktuell von mindestens einem Spieler besetzt
+     * sind. Das Zielfeld ist nicht enthalten.
      *
-     * @return sortierter Spieler Array
+     * @return Bitmaske der besetzten Felder
      */
-    private Player[] getSortedPlayers() {
-        int participants = players.length;
-        Player[] result = new Player[participants];
+    long getOccupiedMask() {
+        return occupiedMask;
+    }
 
-        // deep copy jedoch nicht für die Player-Instanzen
-        System.arraycopy(players, 0, result, 0, participants);
+    /**
+     * Liefert die Bitmaske aller Felder mit einer Position kleiner als die übergebene Position.
+     *
+     * @param position Die Position (exklusiv)
+     * @return Bitmaske der Felder hinter der Position
+     */
+    private static long maskBelow(int position) {
+        if (position >= Long.SIZE) {
+            return -1L;
+        }
 
-        // Selection Sort
-        for (int i = 0; i < participants; i++) {
-            int maxIndex = i;
-            int maxPosition = result[maxIndex].getPosition();
+        return (1L << position) - 1;
+    }
 
-            for (int j = i; j < participants; j++) {
-                if (maxPosition < result[j].getPosition()) {
-                    maxIndex = j;
-                    maxPosition = result[maxIndex].getPosition();
-                }
-            }
+    /**
+     * Ermittelt die maximale Distanz, welche mit einer bestimmten Anzahl an Karotten bezahlt
+     * werden kann. Umkehrung der Gaußschen Summenformel aus calculatePrice.
+     *
+     * @param carrots Anzahl der verfügbaren Karotten
+     * @return Die maximale Distanz
+     */
+    static int getMaxDistance(int carrots) {
+        if (carrots <= 0) {
+            return 0;
+        }
 
-            ArrayUtils.swapElementsInArray(result, i, maxIndex);
+        if (carrots >= MAX_DISTANCE_BY_CARROTS.length) {
+            return GameLogic.FINAL_FIELD_POSITION;
         }
 
-        return result;
+        return MAX_DISTANCE_BY_CARROTS[carrots];
     }
 
     /**
-     * Ermittelt, ob eine Position für den Spieler erreichbar ist, ohne dabei den Preis für die
-     * Distanz zu betrachten.
+     * Ermittelt alle Felder, welche für den Spieler erreichbar sind, als Bitmaske. Bit i ist
+     * gesetzt, falls das Feld an Position i erreichbar ist. Das Zielfeld ist nicht enthalten und
+     * wird über canReachFinish gesondert ermittelt.
      *
      * @param protagonist Der zu betrachtende Spieler
-     * @param destination Die Zielposition
-     * @return True, falls erreichbar, sonst false
+     * @param ignorePrice True, falls der Preis für die Distanz nicht betrachtet werden soll
+     * @return Bitmaske der erreichbaren Felder
      */
-    private boolean isReachableIgnorePrice(Player protagonist, int destination) {
-        int distance = destination - protagonist.getPosition();
+    long getReachableMask(Player protagonist, boolean ignorePrice) {
 
         // Suspended darf nichts
         if (protagonist.isSuspended()) {
-            return false;
+            return 0L;
         }
 
-        // Auf das Startfeld lässt sich nicht zurückziehen
-        if (destination == 0) {
-            return false;
-        }
+        int position = protagonist.getPosition();
 
-        // Alle Felder dürfen nicht besetzt sein
-        if (isOccupied(destination)) {
-            return false;
-        }
+        // Besetzte Felder sowie das Startfeld lassen sich nicht erreichen
+        long free = ~(getOccupiedMask() | 1L);
 
-        // Igel Felder kann man nicht beim Vorwärtsziehen erreichen
-        if (distance > 0 && fields[destination].getType().equals(FieldType.IGEL)) {
-            return false;
-        }
+        // Vorwärts: alle Felder vor dem Spieler, welche bezahlt werden können
+        int limit = ignorePrice ? Long.SIZE : position + getMaxDistance(protagonist.getCarrots()) + 1;
+        long forward = maskBelow(limit) & ~maskBelow(position + 1);
 
-        // Nur das erste hinterlegene unbesetzte Igelfeld darf besucht werden
-        if (distance < 0 && fields[destination].getType().equals(FieldType.IGEL) && isIgelBetween(
-                protagonist, destination)) {
-            return false;
-        }
-
-        // Nach hinten darf man nur auf Igel Felder
-        if (distance < 0 && !(fields[destination].getType().equals(FieldType.IGEL))) {
-            return false;
-        }
+        // Igel Felder kann man nicht beim Vorwärtsziehen erreichen
+        forward &= free & ~IGEL_MASK;
 
         // Salat Felder dürfen nur betreten werden, wenn man noch Salat essen kann
-        if (fields[destination].getType().equals(FieldType.SALAT) && protagonist.getSalads() <= 0) {
-            return false;
+        if (protagonist.getSalads() <= 0) {
+            forward &= ~SALAT_MASK;
         }
 
-        // Das letzte Feld ist das Ziel, dafür gibt es spezielle Konditionen
-        if (destination == fields.length - 1 && !canReachFinish(protagonist)) {
-            return false;
-        }
+        // Nach hinten darf man nur auf das erste hinterlegene unbesetzte Igelfeld
+        long backward = Long.highestOneBit(IGEL_MASK & free & maskBelow(position));
 
-        return true;
+        return forward | backward;
     }
 
     /**
@@ -451,39 +786,53 @@ public class GameBoard {
      * @return True, falls erreichbar, sonst false
      */
     boolean isReachable(Player protagonist, int destination) {
+        return isReachable(getReachableMask(protagonist, false), protagonist, destination);
+    }
 
-        int distance = destination - protagonist.getPosition();
-        int price = calculatePrice(distance);
+    /**
+     * Zuggenerator: Schreibt alle erreichbaren Positionen eines Spielers aufsteigend als kodierte
+     * Züge (siehe Move) in ein wiederverwendbares Array, inklusive Igel-Rückzug und Ziel. Das
+     * Ziel ist auch dann erreichbar, wenn dort bereits Spieler stehen.
+     *
+     * @param player Der zu betrachtende Spieler
+     * @param moves  Das Array, mindestens Move.MAX_MOVES groß
+     * @return Anzahl der geschriebenen Züge
+     */
+    int generateDestinations(Player player, int[] moves) {
+        long reachable = getReachableMask(player, false);
+        int count = 0;
 
-        // Prüft Regeln des Spieles ab
-        if (!isReachableIgnorePrice(protagonist, destination)) {
-            return false;
+        while (reachable != 0) {
+            moves[count++] = Move.destination(Long.numberOfTrailingZeros(reachable));
+            reachable &= reachable - 1;
         }
 
-        // Preis der Karotten zum bewegen darf nicht zu hoch sein
-        return protagonist.getCarrots() >= price;
+        if (canReachFinish(player)) {
+            moves[count++] = Move.destination(GameLogic.FINAL_FIELD_POSITION);
+        }
+
+        return count;
     }
 
     /**
-     * Methode, welche überprüft, ob zwischen dem Spieler und einem Feld ein IgelFeld zwischen ist.
-     * Benötigt, da laut Regeln nur auf das nächste zurückliegende freie Igelfeld gezogen werden darf.
+     * Ermittelt anhand einer bereits berechneten Bitmaske, ob eine Position für den Spieler
+     * erreichbar ist. Für das Zielfeld gelten spezielle Konditionen.
      *
-     * @param protagonist Der zuüberprüfende Spieler
-     * @param destination position BEHIND (!!!!!!!) the protagonist
-     * @return False, wenn kein benutzbares Igelfeld dazwischen ist.
+     * @param reachable   Bitmaske der erreichbaren Felder aus getReachableMask
+     * @param protagonist Der zu betrachtende Spieler
+     * @param destination Die Zielposition
+     * @return True, falls erreichbar, sonst false
      */
-    private boolean isIgelBetween(Player protagonist, int destination) {
-
-        int protagonistPosition = protagonist.getPosition();
-        boolean between = false;
+    boolean isReachable(long reachable, Player protagonist, int destination) {
+        if (destination < 0 || destination > GameLogic.FINAL_FIELD_POSITION) {
+            return false;
+        }
 
-        for (int i = protagonistPosition - 1; i > destination && !between; i--) {
-            if (fields[i].getType().equals(FieldType.IGEL) && !isOccupied(i)) {
-                between = true;
-            }
+        if (destination == GameLogic.FINAL_FIELD_POSITION) {
+            return !isOccupied(destination) && canReachFinish(protagonist);
         }
 
-        return between;
+        return (reachable & (1L << destination)) != 0;
     }
 
     /**
@@ -492,17 +841,14 @@ public class GameBoard {
      * @return True, wenn der Spieler das Ziel erreichen kann, ansonsten False.
      */
     boolean canReachFinish(Player protagonist) {
-        int finishPosition = fields.length - 1;
-
-        int price = calculatePrice(finishPosition - protagonist.getPosition());
-        int maxCarrots = 10 + onTarget.size() * 10;
-        int maxSalads = 0;
+        int price = calculatePrice(GameLogic.FINAL_FIELD_POSITION - protagonist.getPosition());
+        int maxCarrots = GameLogic.FINISH_MAX_CARROTS * (onTarget.size() + 1);
 
         if (protagonist.getCarrots() - price > maxCarrots) {
             return false;
         }
 
-        if (protagonist.getSalads() > maxSalads) {
+        if (protagonist.getSalads() > GameLogic.FINISH_MAX_SALADS) {
             return false;
         }
 
@@ -524,12 +870,10 @@ public class GameBoard {
      * @return Anzahl der Felder
      */
     int getReachableFields(Player target) {
-        int sum = 0;
+        int sum = Long.bitCount(getReachableMask(target, false));
 
-        for (int i = 0; i < fields.length; i++) {
-            if (isReachable(target, i)) {
-                sum++;
-            }
+        if (isReachable(0L, target, GameLogic.FINAL_FIELD_POSITION)) {
+            sum++;
         }
 
         return sum;
@@ -545,12 +889,34 @@ public class GameBoard {
         return player.getPosition() == GameLogic.FINAL_FIELD_POSITION;
     }
 
+    /**
+     * Entfernt die zuletzt ins Ziel gekommenen Spieler, bis nur noch die angegebene Anzahl an
+     * Spielern im Ziel ist. Wird zum Rückgängigmachen von Spielzügen verwendet.
+     *
+     * @param size Anzahl der Spieler, welche im Ziel bleiben
+     */
+    void restoreOnTarget(int size) {
+        for (int place = onTarget.size() - 1; place >= size; place--) {
+            hash ^= ZobristHash.onTarget(place, onTarget.remove(place).getBoardId());
+        }
+    }
+
+    /**
+     * Liefert alle Hasenfelder des Spielbretts, z.B. um deren Zustand zu speichern.
+     *
+     * @return Die Hasenfelder, aufsteigend nach Position
+     */
+    FieldHase[] getHaseFields() {
+        return haseFields;
+    }
+
     /**
      * Methode, welche beim Betreten des Ziels ausgeführt wird.
      *
      * @param curr Der aktuelle Spieler
      */
     void playerFinishEvent(Player curr) {
+        hash ^= ZobristHash.onTarget(onTarget.size(), curr.getBoardId());
         onTarget.add(curr);
     }
 
@@ -4,15 +4,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.annotations.Expose;
+import logic.data.CardDeck;
+import logic.data.CardEvent;
 import logic.data.Validation;
 import util.log.Log;
 import util.log.LogLevel;
 import util.log.LogModule;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,11 +55,45 @@ public class GameData {
     @Expose
     private Player[] players;
 
+    /**
+     * Attribut für den Startwert, mit dem das Kartendeck gemischt wurde. Fehlt in älteren
+     * Spielständen (null), dann wird beim Laden ein zufälliger Startwert gewählt.
+     */
+    @Expose
+    private Long seed;
+
+    /**
+     * Attribut für die Anzahl der gezogenen Karten modulo der Größe des Kartendecks. Fehlt in
+     * älteren Spielständen (null), dann beginnt das Kartendeck bei der ersten Karte.
+     */
+    @Expose
+    private Integer deckCursor;
+
+    /**
+     * Attribut, ob bereits ein vollständiger Durchlauf des Kartendecks gezogen wurde, ab dann ist
+     * die Reihenfolge der Karten bekannt. Fehlt in älteren Spielständen (null).
+     */
+    @Expose
+    private Boolean deckCycled;
+
+    /**
+     * Attribut für die geschummelten Karten, welche vor dem Kartendeck gezogen werden, die zuerst
+     * gezogene Karte vorne. Fehlt in älteren Spielständen (null).
+     */
+    @Expose
+    private List<CardEvent> forcedCards;
+
     /**
      * Attribut für maximale Anzahl von teilnehmenden Spielern
      */
     public static final int GAME_MAX_PLAYERS = 6;
 
+    /**
+     * Konstante für die Endung der temporären Datei, in welche vor dem Umbenennen geschrieben
+     * wird.
+     */
+    static final String TEMP_SUFFIX = ".tmp";
+
 
     /**
      * Konstruktor zum Erstellen des Spielstandes durch bereits bekannte Attribute.
@@ -64,6 +108,40 @@ public class GameData {
         this.onTarget = onTarget;
     }
 
+    /**
+     * Konstruktor zum Erstellen des Spielstandes inklusive des Startwerts des Kartendecks, damit
+     * das Spiel reproduzierbar ist.
+     *
+     * @param players Die teilnehmenden Spieler
+     * @param protagonist Der aktuelle Spieler, welcher am Zug ist
+     * @param onTarget Die Spieler welche bereits auf dem Zielfeld sind
+     * @param seed Startwert des Kartendecks
+     */
+    public GameData(Player[] players, int protagonist, List<Integer> onTarget, long seed) {
+        this(players, protagonist, onTarget);
+        this.seed = seed;
+    }
+
+    /**
+     * Konstruktor zum Erstellen des Spielstandes inklusive des vollständigen Zustands des
+     * Kartendecks, damit ein geladenes Spiel mit der nächsten Karte fortgesetzt wird.
+     *
+     * @param players Die teilnehmenden Spieler
+     * @param protagonist Der aktuelle Spieler, welcher am Zug ist
+     * @param onTarget Die Spieler welche bereits auf dem Zielfeld sind
+     * @param seed Startwert des Kartendecks
+     * @param deckCursor Anzahl der gezogenen Karten modulo der Größe des Kartendecks
+     * @param deckCycled Ob bereits ein vollständiger Durchlauf des Kartendecks gezogen wurde
+     * @param forcedCards Die geschummelten Karten, die zuerst gezogene Karte vorne
+     */
+    public GameData(Player[] players, int protagonist, List<Integer> onTarget, long seed,
+                    int deckCursor, boolean deckCycled, List<CardEvent> forcedCards) {
+        this(players, protagonist, onTarget, seed);
+        this.deckCursor = deckCursor;
+        this.deckCycled = deckCycled;
+        this.forcedCards = forcedCards;
+    }
+
     /**
      * Gibt das Array der teilnehmenden Spieler zurück.
      *
@@ -79,6 +157,22 @@ public class GameData {
         return copy;
     }
 
+    /**
+     * Erstellt eine tiefe Kopie des Spielstandes, welche unabhängig vom laufenden Spiel ist, z.B.
+     * zum Speichern in einem Hintergrundthread.
+     *
+     * @return Die Kopie
+     */
+    public GameData copy() {
+        GameData copy = new GameData(getPlayers(), currPlayer, getOnTarget());
+        copy.seed = seed;
+        copy.deckCursor = deckCursor;
+        copy.deckCycled = deckCycled;
+        copy.forcedCards = forcedCards == null ? null : new ArrayList<>(forcedCards);
+
+        return copy;
+    }
+
     /**
      * Gibt den Index des aktuellen Spielers, der am Zug ist, zurück.
      *
@@ -88,6 +182,51 @@ public class GameData {
         return currPlayer;
     }
 
+    /**
+     * Ermittelt, ob der Spielstand einen Startwert für das Kartendeck enthält.
+     *
+     * @return True, falls ein Startwert enthalten ist.
+     */
+    public boolean hasSeed() {
+        return seed != null;
+    }
+
+    /**
+     * Gibt den Startwert des Kartendecks zurück.
+     *
+     * @return Der Startwert, oder 0 falls keiner enthalten ist.
+     */
+    public long getSeed() {
+        return seed == null ? 0L : seed;
+    }
+
+    /**
+     * Gibt die Anzahl der gezogenen Karten modulo der Größe des Kartendecks zurück.
+     *
+     * @return Der Zeiger des Kartendecks, oder 0 falls keiner enthalten ist.
+     */
+    public int getDeckCursor() {
+        return deckCursor == null ? 0 : deckCursor;
+    }
+
+    /**
+     * Gibt zurück, ob bereits ein vollständiger Durchlauf des Kartendecks gezogen wurde.
+     *
+     * @return True, falls die Reihenfolge der Karten bekannt ist, false falls nicht enthalten.
+     */
+    public boolean isDeckCycled() {
+        return deckCycled != null && deckCycled;
+    }
+
+    /**
+     * Gibt die geschummelten Karten zurück, welche vor dem Kartendeck gezogen werden.
+     *
+     * @return Kopie der Karten, die zuerst gezogene Karte vorne
+     */
+    public List<CardEvent> getForcedCards() {
+        return forcedCards == null ? new ArrayList<>() : new ArrayList<>(forcedCards);
+    }
+
     /**
      * Gibt die Anzahl der teilnehmenden Spieler zurück.
      *
@@ -131,6 +270,16 @@ public class GameData {
             return null;
         }
 
+        if (config.deckCursor != null && (config.deckCursor < 0 || config.deckCursor >= CardDeck.DECK_SIZE)) {
+            Log.write(LogLevel.ERROR, LogModule.GAME, "Invalid GameData.deckCursor, out of range");
+            return null;
+        }
+
+        if (config.forcedCards != null && config.forcedCards.contains(null)) {
+            Log.write(LogLevel.ERROR, LogModule.GAME, "Invalid GameData.forcedCards, unknown card");
+            return null;
+        }
+
         HashSet<Integer> positions = new HashSet<>();
 
         for (Player player : config.players) {
@@ -203,13 +352,16 @@ public class GameData {
      */
     public static GameData validate(File file) {
 
+        if (GameDataFormat.of(file) == GameDataFormat.BINARY) {
+            return GameDataReader.read(file);
+        }
+
         GameData config;
         Gson gson = new GsonBuilder().setPrettyPrinting().excludeFieldsWithoutExposeAnnotation()
                 .create();
 
-        try {
-            String fileContent = Files.readString(Path.of(file.getAbsolutePath()));
-            config = gson.fromJson(fileContent, GameData.class);
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            config = gson.fromJson(reader, GameData.class);
             Log.write(LogLevel.INFO, LogModule.APPLICATION, "Successfully loaded ");
         } catch (IOException e) {
             Log.write(LogLevel.ERROR, LogModule.APPLICATION,
@@ -225,4 +377,101 @@ public class GameData {
 
     }
 
+    /**
+     * Methode zum Speichern der Spielkonfiguration. Das Format wird anhand der Dateiendung
+     * gewählt, siehe {@link GameDataFormat}. Die Datei wird atomar ersetzt, siehe write().
+     *
+     * @param file Die Datei
+     * @return true, falls die Datei geschrieben wurde
+     */
+    public boolean save(File file) {
+        return write(file, encode(GameDataFormat.of(file)));
+    }
+
+    /**
+     * Kodiert die Spielkonfiguration im übergebenen Format.
+     *
+     * @param format Das Format
+     * @return Der Inhalt einer Spielstand-Datei
+     */
+    byte[] encode(GameDataFormat format) {
+
+        if (format == GameDataFormat.BINARY) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (GameDataWriter writer = new GameDataWriter(bytes)) {
+                writer.write(this);
+            } catch (IOException e) {
+                // ByteArrayOutputStream wirft keine IOException
+                throw new IllegalStateException(e);
+            }
+
+            return bytes.toByteArray();
+        }
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().excludeFieldsWithoutExposeAnnotation()
+                .create();
+
+        return gson.toJson(this).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Schreibt eine Datei absturzsicher: Der Inhalt wird zuerst vollständig in eine temporäre
+     * Datei im selben Verzeichnis geschrieben und auf den Datenträger synchronisiert, danach
+     * ersetzt die temporäre Datei das Ziel durch atomares Umbenennen. Zuletzt wird das
+     * Verzeichnis synchronisiert, damit auch das Umbenennen auf dem Datenträger liegt. Bei einem
+     * Absturz bleibt so stets die vorherige oder die neue Datei vollständig erhalten.
+     *
+     * @param file    Die Datei
+     * @param content Der Inhalt
+     * @return true, falls die Datei geschrieben wurde
+     */
+    static boolean write(File file, byte[] content) {
+        File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + TEMP_SUFFIX);
+
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                out.write(content);
+                out.getFD().sync();
+            }
+
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            syncDirectory(temp.getParentFile());
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not write Game-file: " + e.getMessage());
+
+            if (temp.exists() && !temp.delete()) {
+                Log.write(LogLevel.WARN, LogModule.APPLICATION,
+                        "Could not delete temporary Game-file " + temp.getAbsolutePath());
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Synchronisiert einen Verzeichniseintrag auf den Datenträger, z.B. nach dem Umbenennen einer
+     * Datei. Nicht alle Plattformen erlauben das Öffnen eines Verzeichnisses (z.B. Windows), dort
+     * wird das Synchronisieren übersprungen.
+     *
+     * @param directory Das Verzeichnis
+     */
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            Log.write(LogLevel.DEBUG, LogModule.APPLICATION,
+                    "Could not sync directory " + directory + ": " + e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,58 @@
+package logic;
+
+import java.io.File;
+
+/**
+ * Formate, in denen ein Spielstand gespeichert werden kann. Das Format wird anhand der
+ * Dateiendung gewählt.
+ *
+ * @author github.com/batscs
+ */
+public enum GameDataFormat {
+
+    /**
+     * Lesbares JSON, z.B. zum Austausch mit anderen Programmen.
+     */
+    JSON("json"),
+
+    /**
+     * Kompaktes Binärformat, siehe GameDataWriter, z.B. zum Archivieren vieler Spielstände.
+     */
+    BINARY("hug");
+
+    /**
+     * Attribut für die Dateiendung ohne Punkt.
+     */
+    private final String extension;
+
+    /**
+     * Konstruktor für ein Format.
+     *
+     * @param extension Dateiendung ohne Punkt
+     */
+    GameDataFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Liefert die Dateiendung des Formats.
+     *
+     * @return Dateiendung ohne Punkt
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Ermittelt das Format einer Datei anhand ihrer Endung. Unbekannte Endungen werden als JSON
+     * behandelt.
+     *
+     * @param file Die Datei
+     * @return Das Format
+     */
+    public static GameDataFormat of(File file) {
+        String name = file.getName().toLowerCase();
+
+        return name.endsWith("." + BINARY.extension) ? BINARY : JSON;
+    }
+}
@@ -0,0 +1,310 @@
+package logic;
+
+import logic.data.CardDeck;
+import logic.data.CardEvent;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Liest Spielstände fortlaufend aus einem Datenstrom im Binärformat des GameDataWriter. Es wird
+ * immer nur ein Datensatz im Speicher gehalten.
+ *
+ * @author github.com/batscs
+ */
+public class GameDataReader implements Closeable {
+
+    /**
+     * Konstante für die maximale Länge eines Datensatzes, schützt vor beschädigten Dateien.
+     */
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+
+    /**
+     * Attribut für den Datenstrom.
+     */
+    private final DataInputStream in;
+
+    /**
+     * Attribut für die Prüfsumme, wird je Datensatz zurückgesetzt.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Attribut für die Version der gelesenen Daten.
+     */
+    private final int version;
+
+    /**
+     * Wiederverwendeter Puffer für die Daten eines Datensatzes.
+     */
+    private byte[] buffer = new byte[256];
+
+    /**
+     * Anzahl der gültigen Bytes und Leseposition im Puffer.
+     */
+    private int size;
+    private int offset;
+
+    /**
+     * Konstruktor, welcher den Kopf des Binärformats aus dem Datenstrom liest und prüft.
+     *
+     * @param in Der Datenstrom, wird beim Schließen mit geschlossen
+     * @throws IOException falls nicht gelesen werden kann oder das Format nicht passt
+     */
+    public GameDataReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+
+        if (this.in.readInt() != GameDataWriter.MAGIC) {
+            throw new IOException("Not a binary Game-file");
+        }
+
+        version = this.in.readUnsignedByte();
+
+        if (version < 1 || version > GameDataWriter.VERSION) {
+            throw new IOException("Unsupported binary Game-file version " + version);
+        }
+    }
+
+    /**
+     * Liefert die Version der gelesenen Daten.
+     *
+     * @return Die Version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Liest den nächsten Datensatz. Der Spielstand wird nicht validiert.
+     *
+     * @return Der Spielstand, oder null am Ende des Datenstroms
+     * @throws IOException falls nicht gelesen werden kann oder der Datensatz beschädigt ist
+     */
+    public GameData read() throws IOException {
+        int first = in.read();
+
+        if (first < 0) {
+            return null;
+        }
+
+        int length = readVarint(first);
+
+        if (length < 0 || length > MAX_RECORD_BYTES) {
+            throw new IOException("Invalid record length " + length);
+        }
+
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+
+        in.readFully(buffer, 0, length);
+        int checksum = in.readInt();
+
+        crc.reset();
+        crc.update(buffer, 0, length);
+
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in binary Game-file");
+        }
+
+        size = length;
+        offset = 0;
+
+        int flags = getByte();
+        int participants = getInt();
+
+        if (participants < 2 || participants > GameData.GAME_MAX_PLAYERS) {
+            throw new IOException("Invalid amount of players " + participants);
+        }
+
+        Player[] players = new Player[participants];
+
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(getString());
+            players[i].moveTo(getInt());
+            players[i].setCarrots(getInt());
+            players[i].setSalads(getInt());
+
+            int playerFlags = getByte();
+            players[i].setSuspended((playerFlags & GameDataWriter.FLAG_SUSPENDED) != 0);
+            players[i].setEatsSalad((playerFlags & GameDataWriter.FLAG_EATS_SALAD) != 0);
+        }
+
+        int protagonist = getInt();
+        int count = getInt();
+        List<Integer> onTarget = new ArrayList<>(Math.max(0, Math.min(count, players.length)));
+
+        for (int i = 0; i < count; i++) {
+            onTarget.add(getInt());
+        }
+
+        if ((flags & GameDataWriter.FLAG_SEED) == 0) {
+            return new GameData(players, protagonist, onTarget);
+        }
+
+        long seed = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            seed = seed << Byte.SIZE | getByte();
+        }
+
+        if ((flags & GameDataWriter.FLAG_DECK) == 0) {
+            return new GameData(players, protagonist, onTarget, seed);
+        }
+
+        int deckCursor = getInt();
+        int forced = getInt();
+
+        // Jede erzwungene Karte belegt ein Byte, größere Anzahlen sind beschädigt
+        if (forced < 0 || forced > size - offset) {
+            throw new IOException("Invalid amount of forced cards " + forced);
+        }
+
+        List<CardEvent> forcedCards = new ArrayList<>(forced);
+
+        for (int i = 0; i < forced; i++) {
+            int ordinal = getByte();
+
+            if (ordinal >= CardDeck.CARD_TYPES) {
+                throw new IOException("Invalid card " + ordinal + " in binary Game-file");
+            }
+
+            forcedCards.add(CardDeck.getCard(ordinal));
+        }
+
+        return new GameData(players, protagonist, onTarget, seed, deckCursor,
+                (flags & GameDataWriter.FLAG_DECK_CYCLED) != 0, forcedCards);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Liest den ersten Spielstand einer Binärdatei und validiert ihn.
+     *
+     * @param file Die Datei
+     * @return Der Spielstand, oder null falls die Datei nicht gelesen werden kann oder ungültig
+     * ist
+     */
+    public static GameData read(File file) {
+        GameData config;
+
+        try (GameDataReader reader = new GameDataReader(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            config = reader.read();
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not read binary Game-file: " + e.getMessage());
+            return null;
+        }
+
+        if (config == null) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION, "Binary Game-file contains no game");
+            return null;
+        }
+
+        return GameData.validate(config);
+    }
+
+    /**
+     * Liest den Rest eines Varints aus dem Datenstrom.
+     *
+     * @param first Das bereits gelesene erste Byte
+     * @return Die vorzeichenlose Zahl
+     * @throws IOException falls der Datenstrom vorzeitig endet oder der Varint zu lang ist
+     */
+    private int readVarint(int first) throws IOException {
+        int value = first & 0x7F;
+        int current = first;
+
+        for (int shift = 7; (current & 0x80) != 0; shift += 7) {
+            if (shift > 28) {
+                throw new IOException("Varint too long");
+            }
+
+            current = in.read();
+            if (current < 0) {
+                throw new EOFException();
+            }
+
+            value |= (current & 0x7F) << shift;
+        }
+
+        return value;
+    }
+
+    /**
+     * Liest ein Byte aus dem Puffer.
+     *
+     * @return Das Byte, vorzeichenlos
+     * @throws IOException falls der Datensatz zu kurz ist
+     */
+    private int getByte() throws IOException {
+        if (offset >= size) {
+            throw new IOException("Truncated record in binary Game-file");
+        }
+
+        return buffer[offset++] & 0xFF;
+    }
+
+    /**
+     * Liest eine ZigZag-kodierte Ganzzahl aus dem Puffer.
+     *
+     * @return Die Zahl
+     * @throws IOException falls der Datensatz zu kurz oder der Varint zu lang ist
+     */
+    private int getInt() throws IOException {
+        int zigzag = 0;
+        int current;
+        int shift = 0;
+
+        do {
+            if (shift > 28) {
+                throw new IOException("Varint too long");
+            }
+
+            current = getByte();
+            zigzag |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    /**
+     * Liest einen Text mit vorangestellter Länge aus dem Puffer.
+     *
+     * @return Der Text, oder null
+     * @throws IOException falls der Datensatz zu kurz ist
+     */
+    private String getString() throws IOException {
+        int length = getInt() - 1;
+
+        if (length < 0) {
+            return null;
+        }
+
+        if (length > size - offset) {
+            throw new IOException("Truncated record in binary Game-file");
+        }
+
+        String value = new String(buffer, offset, length, StandardCharsets.UTF_8);
+        offset += length;
+
+        return value;
+    }
+}
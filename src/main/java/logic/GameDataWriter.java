@@ -0,0 +1,243 @@
+package logic;
+
+import logic.data.CardEvent;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Schreibt Spielstände fortlaufend im kompakten Binärformat in einen Datenstrom.
+ * <p>
+ * Aufbau: Magic (4 Byte) und Version (1 Byte), danach beliebig viele Datensätze. Jeder Datensatz
+ * besteht aus seiner Länge als Varint, den Daten und der CRC32-Prüfsumme der Daten (4 Byte).
+ * Ganzzahlen in den Daten sind ZigZag-kodierte Varints, Namen UTF-8 mit vorangestellter Länge.
+ * Eine Datei mit einem Datensatz ist ein gewöhnlicher Spielstand, mehrere Datensätze dienen z.B.
+ * zum Archivieren von Simulationen.
+ *
+ * @author github.com/batscs
+ */
+public class GameDataWriter implements Closeable {
+
+    /**
+     * Konstante für die Kennung am Anfang des Binärformats ("HUGS").
+     */
+    public static final int MAGIC = 0x48554753;
+
+    /**
+     * Konstante für die aktuelle Version des Binärformats.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Bit im Flag-Byte eines Datensatzes, falls ein Startwert des Kartendecks folgt.
+     */
+    static final int FLAG_SEED = 1;
+
+    /**
+     * Bit im Flag-Byte eines Datensatzes, falls nach dem Startwert der Zeiger des Kartendecks und
+     * die geschummelten Karten folgen.
+     */
+    static final int FLAG_DECK = 2;
+
+    /**
+     * Bit im Flag-Byte eines Datensatzes, falls das Kartendeck bereits einmal vollständig gezogen
+     * wurde.
+     */
+    static final int FLAG_DECK_CYCLED = 4;
+
+    /**
+     * Bits im Flag-Byte eines Spielers.
+     */
+    static final int FLAG_SUSPENDED = 1;
+    static final int FLAG_EATS_SALAD = 2;
+
+    /**
+     * Attribut für den Datenstrom.
+     */
+    private final DataOutputStream out;
+
+    /**
+     * Attribut für die Prüfsumme, wird je Datensatz zurückgesetzt.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Wiederverwendeter Puffer für die Daten eines Datensatzes.
+     */
+    private byte[] buffer = new byte[256];
+
+    /**
+     * Anzahl der belegten Bytes im Puffer.
+     */
+    private int size;
+
+    /**
+     * Konstruktor, welcher den Kopf des Binärformats in den Datenstrom schreibt.
+     *
+     * @param out Der Datenstrom, wird beim Schließen mit geschlossen
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    public GameDataWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    /**
+     * Schreibt einen Spielstand als Datensatz.
+     *
+     * @param config Der Spielstand
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    public void write(GameData config) throws IOException {
+        size = 0;
+
+        putByte(config.hasSeed()
+                ? FLAG_SEED | FLAG_DECK | (config.isDeckCycled() ? FLAG_DECK_CYCLED : 0)
+                : 0);
+
+        Player[] players = config.getPlayers();
+        putInt(players.length);
+
+        for (Player player : players) {
+            putString(player.getName());
+            putInt(player.getPosition());
+            putInt(player.getCarrots());
+            putInt(player.getSalads());
+            putByte((player.isSuspended() ? FLAG_SUSPENDED : 0)
+                    | (player.eatsSalad() ? FLAG_EATS_SALAD : 0));
+        }
+
+        putInt(config.getProtagonist());
+
+        List<Integer> onTarget = config.getOnTarget();
+        putInt(onTarget.size());
+
+        for (int finished : onTarget) {
+            putInt(finished);
+        }
+
+        if (config.hasSeed()) {
+            long seed = config.getSeed();
+
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                putByte((int) (seed >>> shift));
+            }
+
+            putInt(config.getDeckCursor());
+
+            List<CardEvent> forcedCards = config.getForcedCards();
+            putInt(forcedCards.size());
+
+            for (CardEvent card : forcedCards) {
+                putByte(card.ordinal());
+            }
+        }
+
+        crc.reset();
+        crc.update(buffer, 0, size);
+
+        writeVarint(out, size);
+        out.write(buffer, 0, size);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Schreibt alle gepufferten Daten in den Datenstrom.
+     *
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Speichert einen Spielstand unabhängig von der Dateiendung als Binärdatei, die Datei wird
+     * atomar ersetzt.
+     *
+     * @param config Der Spielstand
+     * @param file   Die Datei
+     * @return True, falls die Datei geschrieben wurde
+     */
+    public static boolean write(GameData config, File file) {
+        return GameData.write(file, config.encode(GameDataFormat.BINARY));
+    }
+
+    /**
+     * Schreibt eine vorzeichenlose Ganzzahl als Varint, 7 Bit je Byte, niedrigste Bits zuerst.
+     *
+     * @param out   Der Datenstrom
+     * @param value Die Zahl
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        out.write(value);
+    }
+
+    /**
+     * Hängt ein Byte an den Puffer an.
+     *
+     * @param value Das Byte in den unteren 8 Bit
+     */
+    private void putByte(int value) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Hängt eine Ganzzahl als ZigZag-kodierten Varint an den Puffer an.
+     *
+     * @param value Die Zahl
+     */
+    private void putInt(int value) {
+        int zigzag = value << 1 ^ value >> 31;
+
+        while ((zigzag & ~0x7F) != 0) {
+            putByte(zigzag & 0x7F | 0x80);
+            zigzag >>>= 7;
+        }
+
+        putByte(zigzag);
+    }
+
+    /**
+     * Hängt einen Text als UTF-8 mit vorangestellter Länge an den Puffer an, die Länge 0 steht
+     * für null, sonst ist sie um eins erhöht.
+     *
+     * @param value Der Text
+     */
+    private void putString(String value) {
+        if (value == null) {
+            putInt(0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length + 1);
+
+        for (byte b : bytes) {
+            putByte(b);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package logic;
+
+import logic.data.JournalEvent;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Fortlaufendes Spielprotokoll, in welches die GameLogic jeden Zustandsübergang als kompaktes
+ * Ereignis anhängt. Mit dem JournalReplayer lässt sich daraus jeder Zwischenstand rekonstruieren.
+ * <p>
+ * Aufbau: Magic (4 Byte) und Version (1 Byte), dann der Spielstand zu Beginn im Binärformat des
+ * GameDataWriter, danach die Ereignisse. Ein Ereignis besteht aus einem Byte mit Ereignistyp und
+ * Spieler sowie einem ZigZag-kodierten Varint als Wert. Das Protokoll wird nur angehängt, die
+ * GameLogic schreibt die Ereignisse am Ende jedes Spielzugs und bei Spielende in die Datei
+ * (siehe flush()). Beim Beenden der Anwendung muss das Protokoll geschlossen werden.
+ *
+ * @author github.com/batscs
+ */
+public class GameJournal implements Closeable {
+
+    /**
+     * Konstante für die Kennung am Anfang eines Spielprotokolls ("HUGJ").
+     */
+    public static final int MAGIC = 0x4855474A;
+
+    /**
+     * Konstante für die aktuelle Version des Spielprotokolls.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Konstante für die Dateiendung eines Spielprotokolls ohne Punkt.
+     */
+    public static final String EXTENSION = "hugj";
+
+    /**
+     * Anzahl der Bits für den Spieler im Kopf eines Ereignisses.
+     */
+    static final int PLAYER_BITS = 3;
+
+    /**
+     * Alle Ereignistypen, zum Dekodieren.
+     */
+    private static final JournalEvent[] EVENTS = JournalEvent.values();
+
+    /**
+     * Attribut für den Datenstrom.
+     */
+    private final DataOutputStream out;
+
+    /**
+     * Attribut, ob das Schreiben fehlgeschlagen ist. Danach werden keine Ereignisse mehr
+     * geschrieben.
+     */
+    private boolean failed;
+
+    /**
+     * Konstruktor, welcher den Kopf und den Spielstand zu Beginn in den Datenstrom schreibt.
+     * <p>
+     * Der Spielstand muss derjenige sein, aus dem die GameLogic erzeugt wurde, und muss vor dem
+     * Erzeugen geschrieben werden, da die GameLogic die Spieler des Spielstands übernimmt.
+     *
+     * @param out   Der Datenstrom, wird beim Schließen mit geschlossen
+     * @param start Der Spielstand zu Beginn
+     * @throws IOException falls nicht geschrieben werden kann
+     */
+    public GameJournal(OutputStream out, GameData start) throws IOException {
+        this(out);
+
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+        new GameDataWriter(this.out).write(start);
+    }
+
+    /**
+     * Konstruktor für ein Protokoll ohne Kopf, welches nur Ereignisse enthält, z.B. zum
+     * Vergleichen beim Nachspielen.
+     *
+     * @param out Der Datenstrom
+     */
+    GameJournal(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    /**
+     * Hängt ein Ereignis an das Protokoll an. Fehler beim Schreiben werden protokolliert und
+     * beenden das Spielprotokoll, das Spiel läuft weiter.
+     *
+     * @param event  Der Ereignistyp
+     * @param player Index des betroffenen Spielers
+     * @param value  Der Wert, z.B. der kodierte Zug oder die gezogene Karte
+     */
+    public void record(JournalEvent event, int player, int value) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            out.writeByte(event.ordinal() << PLAYER_BITS | player);
+            GameDataWriter.writeVarint(out, value << 1 ^ value >> 31);
+        } catch (IOException e) {
+            failed = true;
+            Log.write(LogLevel.ERROR, LogModule.GAME,
+                    "Could not write to game journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ermittelt, ob das Schreiben des Protokolls fehlgeschlagen ist.
+     *
+     * @return True, falls fehlgeschlagen
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    /**
+     * Schreibt alle gepufferten Ereignisse in den Datenstrom.
+     */
+    public void flush() {
+        if (failed) {
+            return;
+        }
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            failed = true;
+            Log.write(LogLevel.ERROR, LogModule.GAME,
+                    "Could not write to game journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.GAME,
+                    "Could not close game journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Öffnet ein neues Spielprotokoll als Datei, fehlende Verzeichnisse werden angelegt.
+     *
+     * @param file  Die Datei
+     * @param start Der Spielstand zu Beginn, siehe Konstruktor
+     * @return Das Spielprotokoll, oder null falls die Datei nicht geschrieben werden kann
+     */
+    public static GameJournal open(File file, GameData start) {
+        File parent = file.getAbsoluteFile().getParentFile();
+
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not create directory for game journal " + parent);
+            return null;
+        }
+
+        OutputStream stream = null;
+
+        try {
+            stream = new BufferedOutputStream(new FileOutputStream(file));
+            return new GameJournal(stream, start);
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not create game journal: " + e.getMessage());
+
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // Fehler wurde bereits protokolliert
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Dekodiert den Ereignistyp aus dem Kopf eines Ereignisses.
+     *
+     * @param header Das Kopfbyte
+     * @return Der Ereignistyp, oder null falls ungültig
+     */
+    static JournalEvent getEvent(int header) {
+        int ordinal = header >>> PLAYER_BITS;
+
+        return ordinal < EVENTS.length ? EVENTS[ordinal] : null;
+    }
+
+    /**
+     * Dekodiert den Spieler aus dem Kopf eines Ereignisses.
+     *
+     * @param header Das Kopfbyte
+     * @return Index des Spielers
+     */
+    static int getPlayer(int header) {
+        return header & ((1 << PLAYER_BITS) - 1);
+    }
+}
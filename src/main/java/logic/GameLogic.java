@@ -1,14 +1,22 @@
 package logic;
 
+import logic.data.CardDeck;
 import logic.data.CardEvent;
 import logic.data.GamePosition;
 import logic.data.HaseUndIgelException;
+import logic.data.JournalEvent;
 import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.data.NummerFlag;
 import logic.fields.Field;
+import logic.fields.FieldHase;
+import logic.fields.FieldNummer;
+import logic.fields.FieldType;
 import util.log.Log;
 import util.log.LogLevel;
 import util.log.LogModule;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -22,17 +30,31 @@ public class GameLogic {
     /**
      * Konstante für die Anzahl an Felder und gleichzeitig Index des finalen Feldes
      */
-    public static int FINAL_FIELD_POSITION = 64;
+    public static final int FINAL_FIELD_POSITION = 64;
 
     /**
      * Konstante für die Bedingung das Ziel zu betreten, entsprechendes Maximum an Salaten.
      */
-    public static int FINISH_MAX_SALADS = 0;
+    public static final int FINISH_MAX_SALADS = 0;
 
     /**
      * Konstante für die Bedingung das Ziel zu betreten, entsprechendes Maximum an Karotten.
      */
-    public static int FINISH_MAX_CARROTS = 10;
+    public static final int FINISH_MAX_CARROTS = 10;
+
+    /**
+     * Konstanten für den Aufbau des Headers eines gespeicherten Zustandes in history.
+     */
+    private static final int HISTORY_ON_TARGET_SHIFT = 3;
+    private static final int HISTORY_FINISHED_BIT = 6;
+    private static final int HISTORY_CHOOSING_CARROTS_BIT = 7;
+    private static final int HISTORY_CHOOSING_MOVE_AGAIN_BIT = 8;
+    private static final int HISTORY_TURN_BLOCKED_BIT = 9;
+
+    /**
+     * Konstante für die Anzahl an Hasenfeldern je long in history.
+     */
+    private static final int HISTORY_HASE_PER_WORD = 8;
 
     /**
      * Attribut für die teilnehmenden Spieler.
@@ -65,6 +87,13 @@ public class GameLogic {
      */
     private final GUIConnector gui;
 
+    /**
+     * Attribut, ob dieses Spiel ins Log schreibt. Kopien und Spiele ohne Darstellung, z.B. die
+     * eines Suchverfahrens, schreiben nicht ins Log, da sonst jeder Zug formatiert und in die
+     * Logdatei geschrieben wird.
+     */
+    private final boolean logging;
+
     /**
      * Attribut für die Anzahl an Karotten zu Beginn eines Spiels, hängt von der Anzahl der
      * teilnehmenden Spieler ab. Ab 5 Spieler beträgt diese 98, ansonsten sind es 68 Karotten.
@@ -86,6 +115,47 @@ public class GameLogic {
      */
     private boolean choosingCarrots = false;
 
+    /**
+     * Attribut, ob der aktuelle Spieler entscheiden muss, ob er durch eine "Ziehe noch einmal!"
+     * Hasenkarte einen weiteren Zug macht.
+     */
+    private boolean choosingMoveAgain = false;
+
+    /**
+     * Stapel der mit makeMove() etc. gespeicherten Zustände, je Zustand: Header, Kartendeck,
+     * Hasenfelder und gepackte Spieler. Wächst nur, wenn eine neue maximale Tiefe erreicht wird.
+     */
+    private long[] history = new long[0];
+
+    /**
+     * Anzahl der gespeicherten Zustände in history.
+     */
+    private int historyDepth;
+
+    /**
+     * Wiederverwendeter Puffer für die Zusammensetzung der verbleibenden Karten in getSearchKey().
+     */
+    private final int[] searchKeyCards = new int[CardDeck.CARD_TYPES];
+
+    /**
+     * Attribut für das Spielprotokoll, null falls nicht protokolliert wird.
+     */
+    private GameJournal journal;
+
+    /**
+     * Attribut für das automatische Speichern, null falls nicht automatisch gespeichert wird.
+     */
+    private AutoSaver autoSaver;
+
+    /**
+     * Wiederverwendete Callbacks für die Oberfläche, damit ein Spielzug keine Objekte erzeugt.
+     */
+    private final Runnable afterMoveEvent = this::afterMove;
+    private final Runnable nextPlayerTurnEvent = this::nextPlayerTurn;
+    private final Runnable redrawEvent = this::redraw;
+    private final Runnable finishMoveEvent = this::afterFinishMove;
+    private final Runnable finishEvent = this::afterFinish;
+
     /**
      * Initialisiert alle Spieler entsprechend dem übergebenen Namen und einheitlichen Standard-
      * werten für alle.
@@ -94,6 +164,18 @@ public class GameLogic {
      * @param names Teilnehmende Spielernamen
      */
     public GameLogic(GUIConnector gui, String... names) {
+        this(gui, CardDeck.createSeed(), names);
+    }
+
+    /**
+     * Initialisiert ein reproduzierbares Spiel, das Kartendeck wird anhand des Startwerts
+     * gemischt.
+     *
+     * @param gui Referenz auf die Benutzeroberfläche
+     * @param seed Startwert des Kartendecks
+     * @param names Teilnehmende Spielernamen
+     */
+    public GameLogic(GUIConnector gui, long seed, String... names) {
 
         int amountPlayers = names.length;
 
@@ -104,9 +186,11 @@ public class GameLogic {
         }
 
         this.gui = gui;
+        this.logging = gui.isDisplayed();
 
-        this.board = new GameBoard(players);
+        this.board = new GameBoard(players, seed);
         this.fields = board.getFields();
+        setFieldLogging();
 
         this.protagonist = 0;
         this.participants = players.length;
@@ -152,6 +236,20 @@ public class GameLogic {
      * @param config Die eingelesene Config
      */
     public GameLogic(GUIConnector gui, GameData config) {
+        this(gui, config, true);
+    }
+
+    /**
+     * Konstruiert ein Spiel mitten im Geschehen mithilfe einer GameData config. Ohne
+     * Feldinteraktion wird der Spielstand unverändert übernommen, z.B. für einen Zwischenstand
+     * aus einem Spielprotokoll, bei dem die Interaktionen des aktuellen Feldes bereits
+     * stattgefunden haben.
+     *
+     * @param gui      Die Benutzeroberfläche
+     * @param config   Die eingelesene Config
+     * @param interact True, falls das Feld des aktuellen Spielers wie beim Laden interagiert
+     */
+    GameLogic(GUIConnector gui, GameData config, boolean interact) {
         this.protagonist = config.getProtagonist();
         this.participants = config.getParticipants();
         this.players = config.getPlayers();
@@ -159,8 +257,17 @@ public class GameLogic {
         int amountPlayers = players.length;
         PRESET_CARROTS = participants < 5 ? 68 : 98;
 
-        this.board = new GameBoard(players);
+        this.logging = gui.isDisplayed();
+        this.board = new GameBoard(players,
+                config.hasSeed() ? config.getSeed() : CardDeck.createSeed());
         this.fields = board.getFields();
+        setFieldLogging();
+
+        // Ohne Startwert ist die Mischung neu, die gezogenen Karten passen dann nicht dazu
+        if (config.hasSeed()) {
+            board.getCardDeck().restoreDraws(config.getDeckCursor(), config.isDeckCycled(),
+                    config.getForcedCards());
+        }
 
         List<Integer> configOnTarget = config.getOnTarget();
         gui.setOnTarget(configOnTarget);
@@ -186,7 +293,140 @@ public class GameLogic {
         this.gui = gui;
 
         selfValidate();
-        calculateLoadedPosition();
+
+        if (interact) {
+            calculateLoadedPosition();
+        } else {
+            finished = board.getOnTarget().size() >= participants - 1;
+        }
+    }
+
+    /**
+     * Konstruiert eine exakte Kopie eines laufenden Spiels, inklusive Kartendeck, Hasenfeldern und
+     * offenen Entscheidungen. Die Oberfläche wird dabei nicht benachrichtigt und keine
+     * Feldinteraktion ausgelöst, z.B. für Suchverfahren auf einer HeadlessGUI.
+     *
+     * @param gui   Die Benutzeroberfläche der Kopie
+     * @param other Das zu kopierende Spiel
+     */
+    private GameLogic(GUIConnector gui, GameLogic other) {
+        this.gui = gui;
+        this.participants = other.participants;
+        this.PRESET_CARROTS = other.PRESET_CARROTS;
+
+        this.players = new Player[participants];
+        for (int i = 0; i < participants; i++) {
+            players[i] = other.players[i].copy();
+        }
+
+        this.logging = false;
+        this.board = new GameBoard(players, other.getSeed());
+        this.fields = board.getFields();
+        setFieldLogging();
+
+        for (Player targetPlayer : other.board.getOnTarget()) {
+            board.playerFinishEvent(players[targetPlayer.getBoardId()]);
+        }
+
+        this.protagonist = other.protagonist;
+        this.finished = other.finished;
+        this.turnBlocked = other.turnBlocked;
+        this.choosingCarrots = other.choosingCarrots;
+        this.choosingMoveAgain = other.choosingMoveAgain;
+
+        board.getCardDeck().restoreState(other.board.getCardDeck().saveState());
+
+        FieldHase[] haseFields = board.getHaseFields();
+        FieldHase[] otherHaseFields = other.board.getHaseFields();
+        for (int i = 0; i < haseFields.length; i++) {
+            haseFields[i].restoreState(otherHaseFields[i].saveState());
+        }
+    }
+
+    /**
+     * Überträgt, ob dieses Spiel ins Log schreibt, auf die Hasenfelder, da diese beim Ziehen einer
+     * Karte ohne Zugriff auf das Spiel ins Log schreiben.
+     */
+    private void setFieldLogging() {
+        for (FieldHase field : board.getHaseFields()) {
+            field.setLogging(logging);
+        }
+    }
+
+    /**
+     * Ermittelt, ob dieses Spiel einen Eintrag mit dem Log-Level ins Log schreiben würde. Kopien
+     * und Spiele ohne Darstellung schreiben nie ins Log.
+     *
+     * @param level Das Log-Level
+     * @return True, falls der Eintrag geschrieben werden soll
+     */
+    public boolean isLogging(LogLevel level) {
+        return logging && Log.isEnabled(level);
+    }
+
+    /**
+     * Erstellt eine exakte Kopie dieses Spiels mit einer anderen Oberfläche. Die Kopie ist
+     * unabhängig vom Original und kann z.B. in einem anderen Thread durchsucht werden. Die Kopie
+     * schreibt nicht ins Log.
+     *
+     * @param gui Die Benutzeroberfläche der Kopie
+     * @return Die Kopie
+     */
+    public GameLogic copy(GUIConnector gui) {
+        return new GameLogic(gui, this);
+    }
+
+    /**
+     * Setzt das Spielprotokoll, in welches ab jetzt jeder Zustandsübergang angehängt wird. Kopien
+     * dieses Spiels werden nicht protokolliert. Mit unmake() zurückgenommene Schritte bleiben im
+     * Protokoll, daher sollte ein protokolliertes Spiel nicht durchsucht werden.
+     *
+     * @param journal Das Spielprotokoll, oder null zum Beenden der Protokollierung
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Liefert das Spielprotokoll.
+     *
+     * @return Das Spielprotokoll, oder null falls nicht protokolliert wird
+     */
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Setzt das automatische Speichern, welchem ab jetzt nach jedem Spielerwechsel der
+     * Spielstand übergeben wird. Kopien dieses Spiels werden nicht gespeichert.
+     *
+     * @param autoSaver Das automatische Speichern, oder null zum Beenden
+     */
+    public void setAutoSaver(AutoSaver autoSaver) {
+        this.autoSaver = autoSaver;
+    }
+
+    /**
+     * Hängt ein Ereignis an das Spielprotokoll an, falls protokolliert wird.
+     *
+     * @param event  Der Ereignistyp
+     * @param player Index des betroffenen Spielers
+     * @param value  Der Wert des Ereignisses
+     */
+    private void journal(JournalEvent event, int player, int value) {
+        if (journal != null) {
+            journal.record(event, player, value);
+        }
+    }
+
+    /**
+     * Schreibt die Ereignisse eines abgeschlossenen Zustandsübergangs in das Spielprotokoll,
+     * falls protokolliert wird. Bricht die Anwendung danach ab, bleibt der Übergang erhalten.
+     */
+    private void flushJournal() {
+        if (journal != null) {
+            journal.flush();
+        }
     }
 
     /**
@@ -211,7 +451,280 @@ public class GameLogic {
      * @return GameConfig Objekt mit allen Spielbrett Informationen
      */
     public GameData getConfig() {
-        return new GameData(players, protagonist, transformOnTargetToIndices());
+        CardDeck deck = board.getCardDeck();
+
+        return new GameData(players, protagonist, transformOnTargetToIndices(), getSeed(),
+                deck.getCursor(), deck.isCycled(), deck.getForcedCards());
+    }
+
+    /**
+     * Liefert den Startwert, mit dem das Kartendeck dieses Spiels gemischt wurde.
+     *
+     * @return Der Startwert
+     */
+    public long getSeed() {
+        return board.getCardDeck().getSeed();
+    }
+
+    /**
+     * Liefert den Zobrist-Hash des aktuellen Spielstandes. Der Hash wird bei jeder Änderung
+     * inkrementell aktualisiert, der Aufruf ist daher günstig. Entspricht
+     * ZobristHash.of(getPackedState()).
+     *
+     * @return Der Hash
+     */
+    public long getPositionHash() {
+        CardDeck deck = board.getCardDeck();
+
+        return board.getHash() ^ ZobristHash.protagonist(protagonist)
+                ^ ZobristHash.deckCursor(deck.getCursor()) ^ ZobristHash.deckCycled(deck.isCycled());
+    }
+
+    /**
+     * Liefert einen Schlüssel für Suchverfahren, z.B. für Transpositionstabellen. Zusätzlich zum
+     * Hash des Spielstandes fließen die offenen Entscheidungen, die Zusammensetzung der im
+     * aktuellen Durchlauf verbleibenden Karten und die Zustände der Hasenfelder ein.
+     *
+     * @return Der Schlüssel
+     */
+    public long getSearchKey() {
+        int flags = (choosingCarrots ? 1 : 0) | (choosingMoveAgain ? 2 : 0)
+                | (turnBlocked ? 4 : 0) | (finished ? 8 : 0);
+        long key = getPositionHash() ^ ZobristHash.decision(flags);
+
+        board.getCardDeck().getRemainingComposition(searchKeyCards);
+        for (int i = 0; i < searchKeyCards.length; i++) {
+            key ^= ZobristHash.remainingCards(i, searchKeyCards[i]);
+        }
+
+        FieldHase[] haseFields = board.getHaseFields();
+        for (int i = 0; i < haseFields.length; i++) {
+            key ^= ZobristHash.haseField(i, haseFields[i].saveState());
+        }
+
+        return key;
+    }
+
+    /**
+     * Führt einen Spielzug wie move() aus und speichert zuvor den Zustand, sodass der Spielzug
+     * mit unmake() exakt rückgängig gemacht werden kann. Ausstehende Callbacks der Oberfläche
+     * (z.B. HeadlessGUI) müssen vor unmake() abgearbeitet werden.
+     *
+     * @param position Die Position des Feldes
+     */
+    public void makeMove(int position) {
+        pushState();
+        move(position);
+    }
+
+    /**
+     * Trifft eine Karottenauswahl wie carrotsChoice() und speichert zuvor den Zustand, sodass
+     * die Auswahl mit unmake() exakt rückgängig gemacht werden kann.
+     *
+     * @param choice Die Wahl des aktuellen Spielers
+     */
+    public void makeCarrotsChoice(KarotteChoice choice) {
+        pushState();
+        carrotsChoice(choice);
+    }
+
+    /**
+     * Trifft die Entscheidung zu einer "Ziehe noch einmal!" Hasenkarte wie moveAgainChoice() und
+     * speichert zuvor den Zustand, sodass die Entscheidung mit unmake() exakt rückgängig gemacht
+     * werden kann.
+     *
+     * @param confirmed True, falls der Spieler noch einmal ziehen möchte.
+     */
+    public void makeMoveAgainChoice(boolean confirmed) {
+        pushState();
+        moveAgainChoice(confirmed);
+    }
+
+    /**
+     * Zuggenerator: Schreibt alle gültigen Entscheidungen des aktuellen Spielers als kodierte Züge
+     * (siehe Move) in ein wiederverwendbares Array. Je nach Zustand sind das Spielzüge, eine
+     * Karottenauswahl oder die Entscheidung zu "Ziehe noch einmal!".
+     * <p>
+     * Abgeben von Karotten ist nur mit mindestens 10 Karotten möglich, Weiterziehen auf einem
+     * Karottenfeld nur, wenn danach ein Feld erreichbar ist.
+     *
+     * @param moves Das Array, mindestens Move.MAX_MOVES groß
+     * @return Anzahl der geschriebenen Züge, 0 falls das Spiel beendet ist
+     */
+    public int generateMoves(int[] moves) {
+        Player curr = getProtagonist();
+        int count = 0;
+
+        if (finished) {
+            return 0;
+        }
+
+        if (choosingCarrots) {
+            KarotteChoice continueChoice = getContinueChoice();
+
+            if (continueChoice == KarotteChoice.CONTINUE_HASENFELD
+                    || board.getReachableFields(curr) > 0) {
+                moves[count++] = Move.carrotsChoice(continueChoice);
+            }
+
+            moves[count++] = Move.carrotsChoice(KarotteChoice.ADD);
+
+            if (curr.getCarrots() >= 10) {
+                moves[count++] = Move.carrotsChoice(KarotteChoice.REMOVE);
+            }
+
+            return count;
+        }
+
+        if (choosingMoveAgain) {
+            moves[count++] = Move.moveAgainChoice(true);
+            moves[count++] = Move.moveAgainChoice(false);
+
+            return count;
+        }
+
+        return board.generateDestinations(curr, moves);
+    }
+
+    /**
+     * Führt einen kodierten Zug (siehe Move) rückgängig machbar aus.
+     *
+     * @param move Der kodierte Zug
+     */
+    public void make(int move) {
+        if (Move.isDestination(move)) {
+            makeMove(Move.getDestination(move));
+        } else if (Move.isCarrotsChoice(move)) {
+            makeCarrotsChoice(Move.getCarrotsChoice(move));
+        } else if (Move.isMoveAgainChoice(move)) {
+            makeMoveAgainChoice(Move.isMoveAgainConfirmed(move));
+        } else {
+            throw new HaseUndIgelException("Invalid encoded move " + move);
+        }
+    }
+
+    /**
+     * Macht den letzten mit makeMove(), makeCarrotsChoice() oder makeMoveAgainChoice()
+     * ausgeführten Schritt rückgängig. Die Oberfläche wird dabei nicht benachrichtigt.
+     *
+     * @throws HaseUndIgelException falls kein Schritt rückgängig gemacht werden kann
+     */
+    public void unmake() {
+        if (historyDepth == 0) {
+            throw new HaseUndIgelException("Nothing to unmake");
+        }
+
+        historyDepth--;
+        restoreState(historyDepth * getHistoryStride());
+    }
+
+    /**
+     * Liefert die Anzahl der Schritte, welche mit unmake() rückgängig gemacht werden können.
+     *
+     * @return Anzahl der gespeicherten Zustände
+     */
+    public int getHistoryDepth() {
+        return historyDepth;
+    }
+
+    /**
+     * Liefert die Anzahl an longs je gespeichertem Zustand in history.
+     *
+     * @return Header, Kartendeck, Hasenfelder und Spieler
+     */
+    private int getHistoryStride() {
+        int haseWords = (board.getHaseFields().length + HISTORY_HASE_PER_WORD - 1)
+                / HISTORY_HASE_PER_WORD;
+
+        return 2 + haseWords + players.length;
+    }
+
+    /**
+     * Speichert den aktuellen Zustand auf dem Stapel history.
+     */
+    private void pushState() {
+        int stride = getHistoryStride();
+        int offset = historyDepth * stride;
+
+        if (offset + stride > history.length) {
+            history = Arrays.copyOf(history, Math.max(16 * stride, history.length * 2));
+        }
+
+        history[offset++] = protagonist
+                | (long) board.getOnTarget().size() << HISTORY_ON_TARGET_SHIFT
+                | (finished ? 1L : 0L) << HISTORY_FINISHED_BIT
+                | (choosingCarrots ? 1L : 0L) << HISTORY_CHOOSING_CARROTS_BIT
+                | (choosingMoveAgain ? 1L : 0L) << HISTORY_CHOOSING_MOVE_AGAIN_BIT
+                | (turnBlocked ? 1L : 0L) << HISTORY_TURN_BLOCKED_BIT;
+
+        history[offset++] = board.getCardDeck().saveState();
+
+        FieldHase[] haseFields = board.getHaseFields();
+        for (int i = 0; i < haseFields.length; i += HISTORY_HASE_PER_WORD) {
+            long word = 0L;
+
+            for (int j = 0; j < HISTORY_HASE_PER_WORD && i + j < haseFields.length; j++) {
+                word |= (long) haseFields[i + j].saveState() << (j * Byte.SIZE);
+            }
+
+            history[offset++] = word;
+        }
+
+        for (Player player : players) {
+            history[offset++] = PackedGameState.packPlayer(player);
+        }
+
+        historyDepth++;
+    }
+
+    /**
+     * Stellt einen gespeicherten Zustand aus dem Stapel history wieder her.
+     *
+     * @param offset Startindex des Zustandes in history
+     */
+    private void restoreState(int offset) {
+        long header = history[offset++];
+
+        protagonist = (int) (header & 0b111);
+        board.restoreOnTarget((int) (header >>> HISTORY_ON_TARGET_SHIFT & 0b111));
+        finished = (header >>> HISTORY_FINISHED_BIT & 1L) != 0;
+        choosingCarrots = (header >>> HISTORY_CHOOSING_CARROTS_BIT & 1L) != 0;
+        choosingMoveAgain = (header >>> HISTORY_CHOOSING_MOVE_AGAIN_BIT & 1L) != 0;
+        turnBlocked = (header >>> HISTORY_TURN_BLOCKED_BIT & 1L) != 0;
+
+        board.getCardDeck().restoreState(history[offset++]);
+
+        FieldHase[] haseFields = board.getHaseFields();
+        for (int i = 0; i < haseFields.length; i += HISTORY_HASE_PER_WORD) {
+            long word = history[offset++];
+
+            for (int j = 0; j < HISTORY_HASE_PER_WORD && i + j < haseFields.length; j++) {
+                haseFields[i + j].restoreState((int) (word >>> (j * Byte.SIZE) & 0xFF));
+            }
+        }
+
+        for (Player player : players) {
+            long packed = history[offset++];
+
+            player.setCarrots(PackedGameState.getCarrots(packed));
+            player.setSalads(PackedGameState.getSalads(packed));
+            player.setSuspended(PackedGameState.isSuspended(packed));
+            player.setEatsSalad(PackedGameState.eatsSalad(packed));
+
+            if (player.getPosition() != PackedGameState.getPosition(packed)) {
+                player.moveTo(PackedGameState.getPosition(packed));
+            }
+        }
+    }
+
+    /**
+     * Liefert den Spielstand in gepackter Form, inklusive des Zeigers des Kartendecks.
+     *
+     * @return Der gepackte Spielstand
+     */
+    public PackedGameState getPackedState() {
+        return PackedGameState.of(players, protagonist, transformOnTargetToIndices(),
+                board.getCardDeck().getCursor(), board.getCardDeck().isCycled());
     }
 
     /**
@@ -274,25 +787,52 @@ public class GameLogic {
             return;
         }
 
-        int finishPosition = fields.length;
-        int price = GameBoard.calculatePrice(finishPosition - curr.getPosition());
+        int price = GameBoard.calculatePrice(FINAL_FIELD_POSITION - curr.getPosition());
+
+        journal(JournalEvent.DECISION, protagonist, Move.destination(FINAL_FIELD_POSITION));
 
         curr.setCarrots(curr.getCarrots() - price);
-        board.playerFinishEvent(curr);
+        onPlayerFinish(curr);
 
-        gui.movePlayer(getPlayerID(curr), curr.getPosition(), fields.length - 1, () -> {
-            gui.alertEvent(Token.GAME_REACH_FINISH_SUCCESSFUL, curr, () -> {
-                curr.moveTo(FINAL_FIELD_POSITION);
-                if (!checkForGameEnd()) {
-                    afterMove();
-                }
-            });
-        });
+        gui.movePlayer(getPlayerID(curr), curr.getPosition(), fields.length - 1, finishMoveEvent);
 
     }
 
+    /**
+     * Methode nach der Bewegung des aktuellen Spielers ins Ziel, zeigt das Erreichen des Ziels an.
+     */
+    private void afterFinishMove() {
+        gui.alertEvent(Token.GAME_REACH_FINISH_SUCCESSFUL, getProtagonist(), finishEvent);
+    }
+
+    /**
+     * Methode nach dem Anzeigen des Erreichens des Ziels, setzt den aktuellen Spieler ins Ziel.
+     */
+    private void afterFinish() {
+        getProtagonist().moveTo(FINAL_FIELD_POSITION);
+        if (!checkForGameEnd()) {
+            afterMove();
+        }
+    }
+
+    /**
+     * Methode für das Erreichen des Zielfeldes eines Spielers.
+     *
+     * @param curr Der Spieler
+     */
     public void onPlayerFinish(Player curr) {
         board.playerFinishEvent(curr);
+        // Reihenfolge des Zieleinlaufs, beginnend bei 0 (siehe JournalEvent)
+        journal(JournalEvent.FINISH, getPlayerID(curr), board.getOnTarget().size() - 1);
+    }
+
+    /**
+     * Methode für das Essen eines Salats, wird von den Feldern aufgerufen.
+     *
+     * @param curr Der Spieler
+     */
+    public void onSaladEaten(Player curr) {
+        journal(JournalEvent.SALAD, getPlayerID(curr), curr.getSalads());
     }
 
     /**
@@ -310,11 +850,14 @@ public class GameLogic {
             Player winner = onTarget.get(0);
             protagonist = getPlayerID(winner);
 
-            gui.alertInfo(Token.GAME_PLAYER_HAS_WON_TITLE, Token.GAME_PLAYER_HAS_WON_CONTENT,
-                    winner.getName());
+            if (gui.isDisplayed()) {
+                gui.alertInfo(Token.GAME_PLAYER_HAS_WON_TITLE, Token.GAME_PLAYER_HAS_WON_CONTENT,
+                        winner.getName());
+            }
             gui.gameWin(protagonist);
             gui.updateStats(protagonist, winner.getName(), winner.getCarrots(), winner.getSalads());
             finished = true;
+            flushJournal();
         }
 
         return finished;
@@ -364,6 +907,15 @@ public class GameLogic {
         int price = GameBoard.calculatePrice(distance);
 
         if (board.isReachable(getProtagonist(), position)) {
+            // Ein weiterer Zug nimmt eine offene "Ziehe noch einmal!" Karte an
+            choosingMoveAgain = false;
+
+            journal(JournalEvent.DECISION, protagonist, Move.destination(position));
+
+            if (fields[position].getType() == FieldType.HASE) {
+                journal(JournalEvent.CARD, protagonist, board.getCardDeck().peek().ordinal());
+            }
+
             // Logik für das Durchführen des Spielzuges
             curr.setCarrots(curr.getCarrots() - price);
             curr.setEatsSalad(false);
@@ -376,13 +928,17 @@ public class GameLogic {
             curr.moveTo(position);
 
             // after-move Logik
-            gui.movePlayer(getPlayerID(curr), oldPosition, position, this::afterMove);
+            gui.movePlayer(getPlayerID(curr), oldPosition, position, afterMoveEvent);
             redrawStats();
 
 
-            Log.write(LogLevel.TRACE, LogModule.GAME, String.format("Player '%s' moved to position %d", curr.getName(), position));
-            Log.write(LogLevel.DEBUG, LogModule.GAME,
-                    "Player moved to fieldtype " + fields[position].getType());
+            if (isLogging(LogLevel.TRACE)) {
+                Log.write(LogLevel.TRACE, LogModule.GAME, String.format("Player '%s' moved to position %d", curr.getName(), position));
+            }
+            if (isLogging(LogLevel.DEBUG)) {
+                Log.write(LogLevel.DEBUG, LogModule.GAME,
+                        "Player moved to fieldtype " + fields[position].getType());
+            }
 
             redrawReachableFields();
 
@@ -414,8 +970,12 @@ public class GameLogic {
      */
     public void nextPlayerTurn() {
 
+        choosingMoveAgain = false;
+
         if (isNextTurnBlocked()) {
-            Log.write(LogLevel.DEBUG, LogModule.GAME, "Switching player was blocked this turn");
+            if (isLogging(LogLevel.DEBUG)) {
+                Log.write(LogLevel.DEBUG, LogModule.GAME, "Switching player was blocked this turn");
+            }
             turnBlocked = false;
             checkForIdleInteraction(); // Könnte eventuell Katastrophal sein
             return;
@@ -429,11 +989,18 @@ public class GameLogic {
             protagonist = (protagonist + 1) % participants;
         } while (board.hasReachedFinish(getProtagonist()) && !isGameFinished());
 
-        Log.write(LogLevel.INFO, LogModule.GAME,
-                String.format("Switching currentPlayer to %s", getProtagonist().getName()));
+        if (isLogging(LogLevel.INFO)) {
+            Log.write(LogLevel.INFO, LogModule.GAME,
+                    String.format("Switching currentPlayer to %s", getProtagonist().getName()));
+        }
 
         gui.highlightPlayer(getPlayerID(getProtagonist()));
 
+        // Spielstand zu Beginn des Zuges, wie beim manuellen Speichern
+        if (autoSaver != null) {
+            autoSaver.submit(getConfig());
+        }
+
         // Logik für nach dem Spielzug
         redrawStats();
         redrawReachableFields();
@@ -443,6 +1010,8 @@ public class GameLogic {
 
         checkForPlayerLose();
 
+        flushJournal();
+
     }
 
     /**
@@ -463,12 +1032,16 @@ public class GameLogic {
             return;
         }
 
+        // Der Spieler wird festgehalten, da bis zum Callback ein Spielerwechsel ausstehen kann
         gui.alertEvent(Token.GAME_PLAYER_FORCE_RESET, curr, () -> {
             gui.movePlayer(getPlayerID(curr), curr.getPosition(), 0, () -> {
-                Log.write(LogLevel.INFO, LogModule.GAME,
-                        "currentPlayer has been reset for having no legal moves");
+                if (isLogging(LogLevel.INFO)) {
+                    Log.write(LogLevel.INFO, LogModule.GAME,
+                            "currentPlayer has been reset for having no legal moves");
+                }
                 curr.setCarrots(PRESET_CARROTS);
                 curr.moveTo(0);
+                journal(JournalEvent.RESET, getPlayerID(curr), PRESET_CARROTS);
                 redrawReachableFields();
                 redrawStats();
                 nextPlayerTurn();;
@@ -525,6 +1098,8 @@ public class GameLogic {
     public void carrotsChoice(KarotteChoice choice) {
 
         if (choosingCarrots) {
+            journal(JournalEvent.DECISION, protagonist, Move.carrotsChoice(choice));
+
             switch (choice) {
                 case ADD -> giveCarrots(10);
                 case REMOVE -> giveCarrots(-10);
@@ -543,10 +1118,74 @@ public class GameLogic {
         choosingCarrots = true;
     }
 
+    /**
+     * Ermittelt, ob der aktuelle Spieler eine Karottenauswahl tätigen muss.
+     *
+     * @return True, falls eine Karottenauswahl offen ist.
+     */
+    public boolean isChoosingCarrots() {
+        return choosingCarrots;
+    }
+
+    /**
+     * Liefert die Auswahl zum Weiterziehen, welche zum Feld des aktuellen Spielers passt.
+     * Auf einem Hasenfeld beendet diese den Zug, auf einem Karottenfeld darf weitergezogen werden.
+     *
+     * @return Die passende Auswahl zum Weiterziehen
+     */
+    public KarotteChoice getContinueChoice() {
+        int position = getProtagonist().getPosition();
+
+        if (position < fields.length && fields[position].getType() == FieldType.HASE) {
+            return KarotteChoice.CONTINUE_HASENFELD;
+        }
+
+        return KarotteChoice.CONTINUE_KAROTTENFELD;
+    }
+
+    /**
+     * Methode, dass der aktuelle Spieler entscheiden muss, ob er noch einmal ziehen möchte.
+     */
+    public void enableMoveAgainChoosing() {
+        choosingMoveAgain = true;
+    }
+
+    /**
+     * Ermittelt, ob der aktuelle Spieler entscheiden muss, ob er noch einmal ziehen möchte.
+     *
+     * @return True, falls die Entscheidung offen ist.
+     */
+    public boolean isChoosingMoveAgain() {
+        return choosingMoveAgain;
+    }
+
+    /**
+     * Methode zur Verarbeitung der Entscheidung zu einer "Ziehe noch einmal!" Hasenkarte.
+     * Lehnt der Spieler ab, ist der nächste Spieler am Zug.
+     *
+     * @param confirmed True, falls der Spieler noch einmal ziehen möchte.
+     */
+    public void moveAgainChoice(boolean confirmed) {
+
+        if (choosingMoveAgain) {
+            journal(JournalEvent.DECISION, protagonist, Move.moveAgainChoice(confirmed));
+            choosingMoveAgain = false;
+
+            if (!confirmed) {
+                nextPlayerTurn();
+            }
+        }
+
+    }
+
     /**
      * Methode, welche die Statistiken auf der Benutzeroberfläche aktualisiert.
      */
     private void redrawStats() {
+        if (!gui.isDisplayed()) {
+            return;
+        }
+
         Player curr = getProtagonist();
         gui.updateStats(getPlayerID(getProtagonist()), curr.getName(), curr.getCarrots(), curr.getSalads());
     }
@@ -556,8 +1195,15 @@ public class GameLogic {
      * aktualisiert.
      */
     private void redrawReachableFields() {
+        if (!gui.isDisplayed()) {
+            return;
+        }
+
+        Player curr = getProtagonist();
+        long reachable = board.getReachableMask(curr, false);
+
         for (int i = 0; i < fields.length; i++) {
-            gui.changeFieldBackgroundColor(i, board.isReachable(getProtagonist(), i));
+            gui.changeFieldBackgroundColor(i, board.isReachable(reachable, curr, i));
         }
     }
 
@@ -569,6 +1215,26 @@ public class GameLogic {
         redrawReachableFields();
     }
 
+    /**
+     * Liefert einen wiederverwendeten Callback für nextPlayerTurn(), z.B. für Felder, damit ein
+     * Spielzug keine Objekte erzeugt.
+     *
+     * @return Der Callback
+     */
+    public Runnable getNextPlayerTurnEvent() {
+        return nextPlayerTurnEvent;
+    }
+
+    /**
+     * Liefert einen wiederverwendeten Callback für redraw(), z.B. für Felder, damit ein Spielzug
+     * keine Objekte erzeugt.
+     *
+     * @return Der Callback
+     */
+    public Runnable getRedrawEvent() {
+        return redrawEvent;
+    }
+
     /**
      * Methode, welche den aktuellen Spieler / Protagonisten ermittelt.
      *
@@ -597,6 +1263,141 @@ public class GameLogic {
         return id;
     }
 
+    /**
+     * Liefert den Index des aktuellen Spielers / Protagonisten.
+     *
+     * @return Index / ID des aktuellen Spielers
+     */
+    public int getProtagonistID() {
+        return protagonist;
+    }
+
+    /**
+     * Liefert den Feldtyp einer Position auf dem Spielbrett.
+     *
+     * @param position Die Position des Feldes
+     * @return Der Feldtyp
+     */
+    public FieldType getFieldType(int position) {
+        return fields[position].getType();
+    }
+
+    /**
+     * Liefert die Anzahl der Spieler, welche sich bereits im Ziel befinden.
+     *
+     * @return Anzahl der Spieler im Ziel
+     */
+    public int getOnTargetCount() {
+        return board.getOnTarget().size();
+    }
+
+    /**
+     * Liefert den Index des Spielers, welcher das Ziel als n-ter betreten hat.
+     *
+     * @param place Platzierung im Ziel, beginnend bei 0
+     * @return Index des Spielers
+     */
+    public int getOnTarget(int place) {
+        return board.getOnTarget().get(place).getBoardId();
+    }
+
+    /**
+     * Liefert die Anzahl der teilnehmenden Spieler.
+     *
+     * @return Anzahl der Spieler
+     */
+    public int getParticipants() {
+        return participants;
+    }
+
+    /**
+     * Liefert die Werte eines Spielers in gepackter Form (siehe PackedGameState), ohne Objekte
+     * zu erzeugen.
+     *
+     * @param idx Index des Spielers
+     * @return Der gepackte Spieler
+     */
+    public long getPackedPlayer(int idx) {
+        return PackedGameState.packPlayer(players[idx]);
+    }
+
+    /**
+     * Schreibt den gepackten Spielstand ohne Objekterzeugung in ein bestehendes Array, im selben
+     * Aufbau wie PackedGameState.toArray(): Header gefolgt von den gepackten Spielern.
+     *
+     * @param dest   Das Zielarray, mindestens participants + 1 ab offset
+     * @param offset Startindex im Zielarray
+     */
+    public void copyPackedState(long[] dest, int offset) {
+        int onTargetCount = getOnTargetCount();
+        long header = PackedGameState.packHeader(participants, protagonist, onTargetCount,
+                board.getCardDeck().getCursor(), board.getCardDeck().isCycled());
+
+        for (int place = 0; place < onTargetCount; place++) {
+            header |= PackedGameState.packOnTarget(place, getOnTarget(place));
+        }
+
+        dest[offset] = header;
+
+        for (int i = 0; i < participants; i++) {
+            dest[offset + 1 + i] = PackedGameState.packPlayer(players[i]);
+        }
+    }
+
+    /**
+     * Liefert die Zahl bzw. Flagge eines Nummernfeldes.
+     *
+     * @param position Die Position des Feldes
+     * @return Die Zahl bzw. Flagge, oder null falls kein Nummernfeld
+     */
+    public NummerFlag getNummerFlag(int position) {
+        if (fields[position].getType() != FieldType.NUMMER) {
+            return null;
+        }
+
+        return ((FieldNummer) fields[position]).getDesiredPlace();
+    }
+
+    /**
+     * Ermittelt für jedes Hasenfeld vor dem aktuellen Spieler die erwartete Veränderung seiner
+     * Karotten durch die nächste Karte (siehe CardDeck.getExpectedCarrotDelta()). Die Verteilung
+     * der nächsten Karte wird dabei nur einmal berechnet, z.B. einmal je Zug statt je Suchknoten.
+     *
+     * @param out Erwartete Veränderung je Position, mindestens FINAL_FIELD_POSITION groß, 0 für
+     *            alle anderen Felder
+     */
+    public void getExpectedHaseCarrots(double[] out) {
+        double[] distribution = new double[CardDeck.CARD_TYPES];
+        board.getCardDeck().getNextCardDistribution(distribution);
+
+        int from = getProtagonist().getPosition();
+
+        for (int i = 0; i < FINAL_FIELD_POSITION; i++) {
+            out[i] = i > from && fields[i].getType() == FieldType.HASE
+                    ? CardDeck.getExpectedCarrotDelta(distribution, from, i)
+                    : 0;
+        }
+    }
+
+    /**
+     * Liefert das Kartendeck des Spiels, z.B. um die verbleibenden Karten zu betrachten.
+     *
+     * @return Das Kartendeck
+     */
+    public CardDeck getCardDeck() {
+        return board.getCardDeck();
+    }
+
+    /**
+     * Ermittelt, ob der aktuelle Spieler eine Position mit seinem nächsten Zug erreichen kann.
+     *
+     * @param position Die Position des Feldes
+     * @return True, falls erreichbar
+     */
+    public boolean isReachable(int position) {
+        return board.isReachable(getProtagonist(), position);
+    }
+
     /**
      * Methode zum Ermitteln einer Liste der teilnehmenden Spieler-Indize, sortiert nach ihrer
      * Rangfolge im Zielfeld.
@@ -629,7 +1430,7 @@ public class GameLogic {
      *
      * @return True, falls der nächste Spielerwechsel blockiert ist.
      */
-    private boolean isNextTurnBlocked() {
+    boolean isNextTurnBlocked() {
         return turnBlocked;
     }
 
@@ -643,6 +1444,42 @@ public class GameLogic {
         return board.getAvailablePosition(targetPosition, getProtagonist());
     }
 
+    /**
+     * Liefert die Anzahl der Hasenfelder auf dem Spielbrett.
+     *
+     * @return Die Anzahl
+     */
+    int getHaseFieldCount() {
+        return board.getHaseFields().length;
+    }
+
+    /**
+     * Speichert die Zustände aller Hasenfelder (zuletzt gezogene Karte und ausstehende
+     * Zielposition), welche nicht Teil der GameData sind.
+     *
+     * @param states Array mit einem Eintrag je Hasenfeld
+     */
+    void saveHaseStates(byte[] states) {
+        FieldHase[] haseFields = board.getHaseFields();
+
+        for (int i = 0; i < haseFields.length; i++) {
+            states[i] = (byte) haseFields[i].saveState();
+        }
+    }
+
+    /**
+     * Stellt die zuvor mit saveHaseStates() gespeicherten Zustände aller Hasenfelder wieder her.
+     *
+     * @param states Array mit einem Eintrag je Hasenfeld
+     */
+    void restoreHaseStates(byte[] states) {
+        FieldHase[] haseFields = board.getHaseFields();
+
+        for (int i = 0; i < haseFields.length; i++) {
+            haseFields[i].restoreState(states[i] & 0xFF);
+        }
+    }
+
     /**
      * Methode zum Testen mit JUnit.
      * Erzwingt eine bestimmte Karte auf die erste Position des Kartendecks.
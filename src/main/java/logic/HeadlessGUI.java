@@ -0,0 +1,157 @@
+package logic;
+
+import gui.data.Error;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementation des GUIConnectors ohne Benutzeroberfläche, z.B. für Simulationen.
+ * <p>
+ * Alle Callbacks (Animationen und Alerts) werden wie in der JavaFX-Oberfläche nicht sofort,
+ * sondern nacheinander in einer Warteschlange ausgeführt, sobald processEvents() aufgerufen wird.
+ * Dadurch entsteht keine Rekursion über nextPlayerTurn() und die Reihenfolge der Ereignisse
+ * entspricht der Reihenfolge in der Oberfläche.
+ * <p>
+ * Entscheidungen (Karottenauswahl, "Ziehe noch einmal!") werden hier nicht beantwortet, sondern
+ * über die entsprechenden Methoden der GameLogic getroffen.
+ *
+ * @author github.com/batscs
+ */
+public class HeadlessGUI implements GUIConnector {
+
+    /**
+     * Warteschlange der noch auszuführenden Callbacks.
+     */
+    private final ArrayDeque<Runnable> events = new ArrayDeque<>();
+
+    /**
+     * Index des Siegers, oder -1 falls das Spiel noch nicht gewonnen wurde.
+     */
+    private int winner = -1;
+
+    /**
+     * Führt alle ausstehenden Callbacks aus, auch solche, welche währenddessen neu eingereiht
+     * werden. Muss nach jedem Aufruf an die GameLogic aufgerufen werden.
+     */
+    public void processEvents() {
+        Runnable event = events.poll();
+
+        while (event != null) {
+            event.run();
+            event = events.poll();
+        }
+    }
+
+    /**
+     * Ermittelt, ob noch Callbacks ausstehen.
+     *
+     * @return True, falls noch Callbacks ausstehen.
+     */
+    public boolean hasPendingEvents() {
+        return !events.isEmpty();
+    }
+
+    /**
+     * Verwirft alle ausstehenden Callbacks.
+     */
+    public void clearEvents() {
+        events.clear();
+    }
+
+    /**
+     * Liefert den Index des Siegers.
+     *
+     * @return Index des Siegers, oder -1 falls noch niemand gewonnen hat.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    @Override
+    public void initializePlayer(int playerIdx, Player player) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void alignPlayer(int playerIdx, int position) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void movePlayer(int playerIdx, int start, int destination, Runnable afterMoveEvent) {
+        events.add(afterMoveEvent);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return false;
+    }
+
+    @Override
+    public void updateStats(int playerIdx, String username, int carrots, int salads) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void setOnTarget(List<Integer> onTarget) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void changeFieldBackgroundColor(int index, boolean reachable) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void highlightPlayer(int playerIdx) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void unhighlightPlayer(int playerIdx) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void gameStop() {
+        events.clear();
+    }
+
+    @Override
+    public void gameStart(int amountPlayers) {
+        winner = -1;
+        events.clear();
+    }
+
+    @Override
+    public void gameWin(int winnerIdx) {
+        winner = winnerIdx;
+    }
+
+    @Override
+    public void alertError(Error error) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void alertInfo(Token header, Token description, Object... args) {
+        // Keine Oberfläche vorhanden
+    }
+
+    @Override
+    public void alertEvent(Token msg, Player player, Runnable event) {
+        events.add(event);
+    }
+
+    @Override
+    public void alertConfirm(Token message, Consumer<Boolean> func, Object... args) {
+        // Entscheidung erfolgt über GameLogic.moveAgainChoice
+    }
+
+    @Override
+    public void alertMultipleChoice(Token msg, Consumer<Integer> func, Token... options) {
+        // Entscheidung erfolgt über GameLogic.carrotsChoice
+    }
+}
@@ -0,0 +1,299 @@
+package logic;
+
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GameResult;
+
+import java.util.List;
+
+/**
+ * Klasse zum Durchführen eines vollständigen Spiels ohne Oberfläche. Alle Entscheidungen der
+ * Spieler werden von austauschbaren Entscheidungsstrategien getroffen.
+ * <p>
+ * Die Spiellogik wird synchron in einer Schleife angetrieben: Nach jeder Entscheidung werden die
+ * ausstehenden Callbacks des HeadlessGUI abgearbeitet, bis wieder ein Spieler entscheiden muss.
+ *
+ * @author github.com/batscs
+ */
+public class HeadlessGame {
+
+    /**
+     * Standardwert für die maximale Anzahl an Entscheidungen, bevor ein Spiel abgebrochen wird.
+     */
+    public static final int DEFAULT_MAX_DECISIONS = 10_000;
+
+    /**
+     * Attribut für die Oberfläche ohne Darstellung.
+     */
+    private final HeadlessGUI gui;
+
+    /**
+     * Attribut für die Spiellogik.
+     */
+    private final GameLogic game;
+
+    /**
+     * Attribut für die Entscheidungsstrategien, Index entspricht dem Spieler-Index.
+     */
+    private final DecisionPolicy[] policies;
+
+    /**
+     * Wiederverwendeter Puffer für die kodierten Züge des Zuggenerators.
+     */
+    private final int[] moves = new int[Move.MAX_MOVES];
+
+    /**
+     * Attribut für die Anzahl der ausgeführten Spielzüge.
+     */
+    private int moveCount;
+
+    /**
+     * Attribut für die Anzahl aller getroffenen Entscheidungen.
+     */
+    private int decisions;
+
+    /**
+     * Konstruktor für ein neues Spiel.
+     *
+     * @param policies Entscheidungsstrategien, eine je Spieler
+     * @param names    Teilnehmende Spielernamen
+     */
+    public HeadlessGame(DecisionPolicy[] policies, String... names) {
+        this.gui = new HeadlessGUI();
+        this.game = new GameLogic(gui, names);
+        this.policies = policies;
+
+        gui.processEvents();
+    }
+
+    /**
+     * Konstruktor für ein reproduzierbares neues Spiel.
+     *
+     * @param policies Entscheidungsstrategien, eine je Spieler
+     * @param seed     Startwert des Kartendecks
+     * @param names    Teilnehmende Spielernamen
+     */
+    public HeadlessGame(DecisionPolicy[] policies, long seed, String... names) {
+        this.gui = new HeadlessGUI();
+        this.game = new GameLogic(gui, seed, names);
+        this.policies = policies;
+
+        gui.processEvents();
+    }
+
+    /**
+     * Konstruktor für ein Spiel ab einem geladenen Spielstand.
+     *
+     * @param policies Entscheidungsstrategien, eine je Spieler
+     * @param config   Der Spielstand
+     */
+    public HeadlessGame(DecisionPolicy[] policies, GameData config) {
+        this.gui = new HeadlessGUI();
+        this.game = new GameLogic(gui, config);
+        this.policies = policies;
+
+        gui.processEvents();
+    }
+
+    /**
+     * Konstruktor für eine exakte Kopie eines laufenden Spiels, z.B. für Suchverfahren.
+     *
+     * @param policies Entscheidungsstrategien, eine je Spieler
+     * @param source   Das zu kopierende Spiel
+     */
+    public HeadlessGame(DecisionPolicy[] policies, GameLogic source) {
+        this.gui = new HeadlessGUI();
+        this.game = source.copy(gui);
+        this.policies = policies;
+    }
+
+    /**
+     * Liefert die Spiellogik dieses Spiels.
+     *
+     * @return Die Spiellogik
+     */
+    public GameLogic getGame() {
+        return game;
+    }
+
+    /**
+     * Spielt das Spiel bis zum Ende oder bis zur maximalen Anzahl an Entscheidungen.
+     *
+     * @param maxDecisions Maximale Anzahl an Entscheidungen
+     * @return Das Ergebnis des Spiels
+     */
+    public GameResult play(int maxDecisions) {
+        while (decisions < maxDecisions && step()) {
+            // Entscheidungen werden in step() getroffen
+        }
+
+        return getResult();
+    }
+
+    /**
+     * Führt die nächste anstehende Entscheidung des aktuellen Spielers aus.
+     *
+     * @return False, falls das Spiel beendet ist oder keine Entscheidung möglich ist.
+     */
+    public boolean step() {
+        gui.processEvents();
+
+        if (game.isGameFinished()) {
+            return false;
+        }
+
+        int move = decide();
+
+        if (move < 0) {
+            return false;
+        }
+
+        if (Move.isCarrotsChoice(move)) {
+            game.carrotsChoice(Move.getCarrotsChoice(move));
+        } else if (Move.isMoveAgainChoice(move)) {
+            game.moveAgainChoice(Move.isMoveAgainConfirmed(move));
+        } else {
+            game.move(Move.getDestination(move));
+            moveCount++;
+        }
+
+        decisions++;
+        gui.processEvents();
+
+        return true;
+    }
+
+    /**
+     * Führt die nächste anstehende Entscheidung des aktuellen Spielers rückgängig machbar aus,
+     * z.B. für Playouts einer Suche. Jeder erfolgreiche Schritt wird mit unmake() zurückgenommen.
+     *
+     * @return False, falls das Spiel beendet ist oder keine Entscheidung möglich ist.
+     */
+    public boolean makeStep() {
+        if (game.isGameFinished()) {
+            return false;
+        }
+
+        int move = decide();
+
+        if (move < 0) {
+            return false;
+        }
+
+        make(move);
+
+        return true;
+    }
+
+    /**
+     * Lässt die Entscheidungsstrategie des aktuellen Spielers die anstehende Entscheidung treffen,
+     * ohne sie auszuführen.
+     *
+     * @return Die Entscheidung als kodierter Zug oder -1, falls keine Entscheidung möglich ist.
+     */
+    public int decide() {
+        Player curr = game.getProtagonist();
+        DecisionPolicy policy = policies[game.getProtagonistID()];
+
+        if (game.isChoosingCarrots()) {
+            return Move.carrotsChoice(policy.chooseCarrots(game, curr, getCarrotsOptions()));
+        } else if (game.isChoosingMoveAgain()) {
+            return Move.moveAgainChoice(policy.confirmMoveAgain(game, curr));
+        }
+
+        int count = game.generateMoves(moves);
+
+        return count == 0 ? -1 : Move.destination(policy.chooseMove(game, curr, moves, count));
+    }
+
+    /**
+     * Führt einen Spielzug rückgängig machbar aus, inklusive aller Feldinteraktionen, bis wieder
+     * ein Spieler entscheiden muss.
+     *
+     * @param position Die Position des Feldes
+     */
+    public void makeMove(int position) {
+        game.makeMove(position);
+        gui.processEvents();
+    }
+
+    /**
+     * Trifft eine Karottenauswahl rückgängig machbar.
+     *
+     * @param choice Die Auswahl
+     */
+    public void makeCarrotsChoice(KarotteChoice choice) {
+        game.makeCarrotsChoice(choice);
+        gui.processEvents();
+    }
+
+    /**
+     * Trifft die Entscheidung zu einer "Ziehe noch einmal!" Hasenkarte rückgängig machbar.
+     *
+     * @param confirmed True, falls der Spieler noch einmal ziehen möchte.
+     */
+    public void makeMoveAgainChoice(boolean confirmed) {
+        game.makeMoveAgainChoice(confirmed);
+        gui.processEvents();
+    }
+
+    /**
+     * Führt einen kodierten Zug (siehe Move) rückgängig machbar aus.
+     *
+     * @param move Der kodierte Zug
+     */
+    public void make(int move) {
+        game.make(move);
+        gui.processEvents();
+    }
+
+    /**
+     * Macht den letzten rückgängig machbaren Schritt rückgängig.
+     */
+    public void unmake() {
+        gui.clearEvents();
+        game.unmake();
+    }
+
+    /**
+     * Ermittelt die gültigen Karottenauswahlen des aktuellen Spielers über den Zuggenerator.
+     *
+     * @return Die gültigen Auswahlen
+     */
+    private KarotteChoice[] getCarrotsOptions() {
+        int count = game.generateMoves(moves);
+        KarotteChoice[] options = new KarotteChoice[count];
+
+        for (int i = 0; i < count; i++) {
+            options[i] = Move.getCarrotsChoice(moves[i]);
+        }
+
+        return options;
+    }
+
+    /**
+     * Liefert das Ergebnis des Spiels zum aktuellen Zeitpunkt.
+     *
+     * @return Das Ergebnis
+     */
+    public GameResult getResult() {
+        GameData config = game.getConfig();
+        Player[] players = config.getPlayers();
+        List<Integer> finished = config.getOnTarget();
+
+        int[] carrots = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            carrots[i] = players[i].getCarrots();
+        }
+
+        int[] onTarget = new int[finished.size()];
+        for (int i = 0; i < onTarget.length; i++) {
+            onTarget[i] = finished.get(i);
+        }
+
+        int winner = game.isGameFinished() ? gui.getWinner() : -1;
+
+        return new GameResult(winner, moveCount, decisions, carrots, onTarget);
+    }
+}
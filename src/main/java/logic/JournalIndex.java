@@ -0,0 +1,411 @@
+package logic;
+
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Index zu einem Spielprotokoll (siehe GameJournal), um schnell zu einem beliebigen Zwischenstand
+ * zu springen, ohne das Spiel von Beginn an nachzuspielen.
+ * <p>
+ * Neben dem Protokoll werden zwei Dateien abgelegt: Die Snapshots enthalten regelmäßig den
+ * vollständigen Spielstand im Binärformat des GameDataWriter, der Index ordnet jedem Snapshot
+ * die Anzahl der Entscheidungen bis dahin, seine Position in der Snapshot-Datei, die Position
+ * der nächsten Entscheidung im Protokoll und die Zustände der Hasenfelder zu, welche nicht Teil
+ * der GameData sind. Ein Sprung spielt so höchstens die Entscheidungen
+ * seit dem letzten Snapshot nach.
+ * <p>
+ * Der Index wird beim Öffnen neu erstellt, falls er fehlt oder das Protokoll seitdem gewachsen
+ * ist.
+ *
+ * @author github.com/batscs
+ */
+public class JournalIndex {
+
+    /**
+     * Konstante für die Kennung am Anfang eines Index ("HUGI").
+     */
+    public static final int MAGIC = 0x48554749;
+
+    /**
+     * Konstante für die aktuelle Version des Index.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Konstante für die Anzahl an Entscheidungen zwischen zwei Snapshots.
+     */
+    public static final int DEFAULT_INTERVAL = 16;
+
+    /**
+     * Konstanten für die Dateiendungen von Index und Snapshots, an den Namen des Protokolls
+     * angehängt.
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+    public static final String SNAPSHOT_SUFFIX = ".snap";
+
+    /**
+     * Attribut für die Protokolldatei.
+     */
+    private final File journal;
+
+    /**
+     * Attribut für die Snapshot-Datei.
+     */
+    private final File snapshots;
+
+    /**
+     * Attribut für die Gesamtanzahl der Entscheidungen im Protokoll.
+     */
+    private final int decisionCount;
+
+    /**
+     * Je Snapshot: Anzahl der Entscheidungen, Position im Protokoll und Position in der
+     * Snapshot-Datei, aufsteigend sortiert.
+     */
+    private final int[] decisions;
+    private final long[] journalOffsets;
+    private final long[] snapshotOffsets;
+
+    /**
+     * Zustände der Hasenfelder je Snapshot, hintereinander mit haseFields Einträgen je Snapshot.
+     */
+    private final byte[] haseStates;
+
+    /**
+     * Attribut für die Anzahl der Hasenfelder.
+     */
+    private final int haseFields;
+
+    /**
+     * Konstruktor für einen eingelesenen oder erstellten Index.
+     *
+     * @param journal         Die Protokolldatei
+     * @param decisionCount   Die Gesamtanzahl der Entscheidungen
+     * @param decisions       Die Anzahl der Entscheidungen je Snapshot
+     * @param journalOffsets  Die Position im Protokoll je Snapshot
+     * @param snapshotOffsets Die Position in der Snapshot-Datei je Snapshot
+     * @param haseStates      Die Zustände der Hasenfelder je Snapshot
+     * @param haseFields      Die Anzahl der Hasenfelder
+     */
+    private JournalIndex(File journal, int decisionCount, int[] decisions, long[] journalOffsets,
+                         long[] snapshotOffsets, byte[] haseStates, int haseFields) {
+        this.journal = journal;
+        this.snapshots = getSnapshotFile(journal);
+        this.decisionCount = decisionCount;
+        this.decisions = decisions;
+        this.journalOffsets = journalOffsets;
+        this.snapshotOffsets = snapshotOffsets;
+        this.haseStates = haseStates;
+        this.haseFields = haseFields;
+    }
+
+    /**
+     * Liefert die Gesamtanzahl der Entscheidungen im Protokoll.
+     *
+     * @return Die Anzahl
+     */
+    public int getDecisionCount() {
+        return decisionCount;
+    }
+
+    /**
+     * Liefert die Anzahl der Snapshots.
+     *
+     * @return Die Anzahl
+     */
+    public int getSnapshotCount() {
+        return decisions.length;
+    }
+
+    /**
+     * Erzeugt einen JournalReplayer, welcher bereits die gewünschte Anzahl an Entscheidungen
+     * nachgespielt hat und von dort weiterspielen kann. Der Aufrufer muss ihn schließen.
+     *
+     * @param decision Die Anzahl der Entscheidungen ab Beginn des Spiels, größere Werte liefern
+     *                 den letzten Stand
+     * @return Der JournalReplayer
+     * @throws IOException falls nicht gelesen werden kann oder das Protokoll beschädigt ist
+     */
+    public JournalReplayer replayer(int decision) throws IOException {
+        int slot = Arrays.binarySearch(decisions, Math.min(decision, decisionCount));
+
+        // Bei keinem exakten Treffer liefert binarySearch -(Einfügeposition) - 1
+        if (slot < 0) {
+            slot = -slot - 2;
+        }
+
+        JournalReplayer replayer;
+
+        if (slot < 0) {
+            replayer = new JournalReplayer(new BufferedInputStream(new FileInputStream(journal)));
+        } else {
+            FileInputStream stream = new FileInputStream(journal);
+
+            try {
+                stream.getChannel().position(journalOffsets[slot]);
+                int from = slot * haseFields;
+
+                replayer = new JournalReplayer(new BufferedInputStream(stream),
+                        journalOffsets[slot], readSnapshot(snapshotOffsets[slot]),
+                        Arrays.copyOfRange(haseStates, from, from + haseFields), decisions[slot]);
+            } catch (IOException e) {
+                stream.close();
+                throw e;
+            }
+        }
+
+        try {
+            replayer.seek(decision);
+        } catch (IOException e) {
+            replayer.close();
+            throw e;
+        }
+
+        return replayer;
+    }
+
+    /**
+     * Springt zu einem Zwischenstand.
+     *
+     * @param decision Die Anzahl der Entscheidungen ab Beginn des Spiels, größere Werte liefern
+     *                 den letzten Stand
+     * @return Der Spielstand
+     * @throws IOException falls nicht gelesen werden kann oder das Protokoll beschädigt ist
+     */
+    public GameData seek(int decision) throws IOException {
+        try (JournalReplayer replayer = replayer(decision)) {
+            return replayer.getConfig();
+        }
+    }
+
+    /**
+     * Öffnet den Index zu einem Spielprotokoll mit dem Standardabstand zwischen Snapshots.
+     *
+     * @param journal Die Protokolldatei
+     * @return Der Index, oder null falls das Protokoll nicht gelesen werden kann
+     */
+    public static JournalIndex open(File journal) {
+        return open(journal, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Öffnet den Index zu einem Spielprotokoll. Fehlt der Index, ist er beschädigt oder passt er
+     * nicht mehr zum Protokoll, wird er durch einmaliges Nachspielen neu erstellt.
+     *
+     * @param journal  Die Protokolldatei
+     * @param interval Die Mindestanzahl an Entscheidungen zwischen zwei Snapshots
+     * @return Der Index, oder null falls das Protokoll nicht gelesen werden kann
+     */
+    public static JournalIndex open(File journal, int interval) {
+        File index = getIndexFile(journal);
+
+        if (index.isFile()) {
+            try {
+                JournalIndex result = read(journal, index, interval);
+
+                if (result != null) {
+                    return result;
+                }
+            } catch (IOException e) {
+                Log.write(LogLevel.WARN, LogModule.APPLICATION,
+                        "Could not read game journal index, rebuilding: " + e.getMessage());
+            }
+        }
+
+        try {
+            return build(journal, interval);
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not index game journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Erstellt den Index und die Snapshots zu einem Spielprotokoll durch einmaliges Nachspielen.
+     * Snapshots werden nur an Stellen angelegt, deren Zustand vollständig durch die GameData
+     * beschrieben wird.
+     *
+     * @param journal  Die Protokolldatei
+     * @param interval Die Mindestanzahl an Entscheidungen zwischen zwei Snapshots
+     * @return Der Index
+     * @throws IOException falls nicht gelesen oder geschrieben werden kann
+     */
+    static JournalIndex build(File journal, int interval) throws IOException {
+        long journalLength = journal.length();
+
+        int[] decisions = new int[16];
+        long[] journalOffsets = new long[decisions.length];
+        long[] snapshotOffsets = new long[decisions.length];
+        byte[] haseStates = new byte[0];
+        int count = 0;
+        int decisionCount;
+        int haseFields;
+
+        try (JournalReplayer replayer = new JournalReplayer(
+                new BufferedInputStream(new FileInputStream(journal)));
+             FileOutputStream file = new FileOutputStream(getSnapshotFile(journal));
+             GameDataWriter writer = new GameDataWriter(new BufferedOutputStream(file))) {
+
+            int last = 0;
+            haseFields = replayer.getGame().getHaseFieldCount();
+            haseStates = new byte[decisions.length * haseFields];
+
+            while (replayer.step()) {
+                if (replayer.getDecisionCount() - last < interval || !replayer.isSnapshotSafe()
+                        || !replayer.hasNext()) {
+                    continue;
+                }
+
+                if (count == decisions.length) {
+                    decisions = Arrays.copyOf(decisions, count * 2);
+                    journalOffsets = Arrays.copyOf(journalOffsets, count * 2);
+                    snapshotOffsets = Arrays.copyOf(snapshotOffsets, count * 2);
+                    haseStates = Arrays.copyOf(haseStates, count * 2 * haseFields);
+                }
+
+                writer.flush();
+                last = replayer.getDecisionCount();
+
+                decisions[count] = last;
+                journalOffsets[count] = replayer.getOffset();
+                snapshotOffsets[count] = file.getChannel().position();
+
+                byte[] states = new byte[haseFields];
+                replayer.getGame().saveHaseStates(states);
+                System.arraycopy(states, 0, haseStates, count * haseFields, haseFields);
+                count++;
+
+                writer.write(replayer.getConfig());
+            }
+
+            decisionCount = replayer.getDecisionCount();
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(getIndexFile(journal))))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(interval);
+            out.writeLong(journalLength);
+            out.writeInt(decisionCount);
+            out.writeInt(count);
+            out.writeByte(haseFields);
+
+            for (int i = 0; i < count; i++) {
+                out.writeInt(decisions[i]);
+                out.writeLong(journalOffsets[i]);
+                out.writeLong(snapshotOffsets[i]);
+                out.write(haseStates, i * haseFields, haseFields);
+            }
+        }
+
+        Log.write(LogLevel.INFO, LogModule.APPLICATION, String.format(
+                "Indexed game journal with %d decisions and %d snapshots", decisionCount, count));
+
+        return new JournalIndex(journal, decisionCount, Arrays.copyOf(decisions, count),
+                Arrays.copyOf(journalOffsets, count), Arrays.copyOf(snapshotOffsets, count),
+                Arrays.copyOf(haseStates, count * haseFields), haseFields);
+    }
+
+    /**
+     * Liest einen Index ein.
+     *
+     * @param journal  Die Protokolldatei
+     * @param index    Die Indexdatei
+     * @param interval Der gewünschte Abstand zwischen Snapshots
+     * @return Der Index, oder null falls er nicht mehr zum Protokoll passt
+     * @throws IOException falls nicht gelesen werden kann oder das Format nicht passt
+     */
+    private static JournalIndex read(File journal, File index, int interval) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(index)))) {
+
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a game journal index");
+            }
+
+            if (in.readInt() != interval || in.readLong() != journal.length()
+                    || !getSnapshotFile(journal).isFile()) {
+                return null;
+            }
+
+            int decisionCount = in.readInt();
+            int count = in.readInt();
+            int haseFields = in.readUnsignedByte();
+
+            if (count < 0 || count > decisionCount) {
+                throw new IOException("Invalid snapshot count " + count);
+            }
+
+            int[] decisions = new int[count];
+            long[] journalOffsets = new long[count];
+            long[] snapshotOffsets = new long[count];
+            byte[] haseStates = new byte[count * haseFields];
+
+            for (int i = 0; i < count; i++) {
+                decisions[i] = in.readInt();
+                journalOffsets[i] = in.readLong();
+                snapshotOffsets[i] = in.readLong();
+                in.readFully(haseStates, i * haseFields, haseFields);
+            }
+
+            return new JournalIndex(journal, decisionCount, decisions, journalOffsets,
+                    snapshotOffsets, haseStates, haseFields);
+        }
+    }
+
+    /**
+     * Liest einen Snapshot aus der Snapshot-Datei.
+     *
+     * @param offset Die Position des Snapshots
+     * @return Der Spielstand
+     * @throws IOException falls nicht gelesen werden kann oder der Snapshot beschädigt ist
+     */
+    private GameData readSnapshot(long offset) throws IOException {
+        try (FileInputStream stream = new FileInputStream(snapshots)) {
+            // Der GameDataReader puffert nicht, daher kann nach dem Kopf direkt gesprungen werden
+            GameDataReader reader = new GameDataReader(stream);
+            stream.getChannel().position(offset);
+
+            GameData snapshot = reader.read();
+
+            if (snapshot == null) {
+                throw new IOException("Missing snapshot in game journal index");
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Liefert die Indexdatei zu einem Spielprotokoll.
+     *
+     * @param journal Die Protokolldatei
+     * @return Die Indexdatei
+     */
+    public static File getIndexFile(File journal) {
+        return new File(journal.getPath() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Liefert die Snapshot-Datei zu einem Spielprotokoll.
+     *
+     * @param journal Die Protokolldatei
+     * @return Die Snapshot-Datei
+     */
+    public static File getSnapshotFile(File journal) {
+        return new File(journal.getPath() + SNAPSHOT_SUFFIX);
+    }
+}
@@ -0,0 +1,474 @@
+package logic;
+
+import logic.data.CardDeck;
+import logic.data.CardEvent;
+import logic.data.JournalEvent;
+import logic.data.Move;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Spielt ein Spielprotokoll (siehe GameJournal) Entscheidung für Entscheidung nach und
+ * rekonstruiert so jeden Zwischenstand.
+ * <p>
+ * Die gezogenen Hasenkarten werden aus dem Protokoll erzwungen, sofern sie nicht ohnehin als
+ * nächstes gezogen würden. Alle anderen Folgen einer Entscheidung ergeben sich aus den
+ * Spielregeln und werden mit dem Protokoll verglichen. Weicht
+ * das Nachspielen vom Protokoll ab, ist dieses beschädigt oder stammt aus einer anderen
+ * Spielversion.
+ *
+ * @author github.com/batscs
+ */
+public class JournalReplayer implements Closeable {
+
+    /**
+     * Datenstrom, welcher die gelesenen Bytes zählt, um Positionen im Protokoll zu ermitteln.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        /**
+         * Position des Datenstroms in der Datei.
+         */
+        private long position;
+
+        /**
+         * Konstruktor für einen zählenden Datenstrom.
+         *
+         * @param in       Der Datenstrom
+         * @param position Die Position des Datenstroms in der Datei
+         */
+        CountingInputStream(InputStream in, long position) {
+            super(in);
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+
+            if (value >= 0) {
+                position++;
+            }
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+
+            if (count > 0) {
+                position += count;
+            }
+
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long count = super.skip(n);
+            position += count;
+
+            return count;
+        }
+    }
+
+    /**
+     * Alle Hasenkarten, zum Dekodieren.
+     */
+    private static final CardEvent[] CARDS = CardEvent.values();
+
+    /**
+     * Attribut für den zählenden Datenstrom.
+     */
+    private final CountingInputStream counter;
+
+    /**
+     * Attribut für den Datenstrom.
+     */
+    private final DataInputStream in;
+
+    /**
+     * Attribut für die Oberfläche des nachgespielten Spiels.
+     */
+    private final HeadlessGUI gui = new HeadlessGUI();
+
+    /**
+     * Attribut für das nachgespielte Spiel.
+     */
+    private final GameLogic game;
+
+    /**
+     * Ereignisse des aktuellen Spielzugs laut Protokoll und laut Nachspielen, gleich kodiert.
+     */
+    private final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+    /**
+     * Attribut zum Kodieren der Ereignisse laut Protokoll.
+     */
+    private final GameJournal expectedJournal = new GameJournal(expected);
+
+    /**
+     * Die im aktuellen Spielzug gezogenen Karten, in Reihenfolge.
+     */
+    private CardEvent[] cards = new CardEvent[4];
+
+    /**
+     * Kopfbyte des bereits gelesenen nächsten Ereignisses, -1 am Ende des Protokolls.
+     */
+    private int next;
+
+    /**
+     * Position des nächsten Ereignisses im Protokoll.
+     */
+    private long nextOffset;
+
+    /**
+     * Anzahl der nachgespielten Entscheidungen.
+     */
+    private int decisions;
+
+    /**
+     * Die zuletzt nachgespielte Entscheidung als kodierter Zug, -1 falls keine.
+     */
+    private int lastDecision = -1;
+
+    /**
+     * Konstruktor, welcher den Kopf des Protokolls liest und das Spiel im Spielstand zu Beginn
+     * erzeugt.
+     *
+     * @param in Der Datenstrom, wird beim Schließen mit geschlossen
+     * @throws IOException falls nicht gelesen werden kann oder das Format nicht passt
+     */
+    public JournalReplayer(InputStream in) throws IOException {
+        this.counter = new CountingInputStream(in, 0);
+        this.in = new DataInputStream(counter);
+
+        if (this.in.readInt() != GameJournal.MAGIC) {
+            throw new IOException("Not a game journal");
+        }
+
+        int version = this.in.readUnsignedByte();
+
+        if (version < 1 || version > GameJournal.VERSION) {
+            throw new IOException("Unsupported game journal version " + version);
+        }
+
+        GameData start = new GameDataReader(this.in).read();
+
+        if (start == null || GameData.validate(start) == null) {
+            throw new IOException("Invalid start position in game journal");
+        }
+
+        game = new GameLogic(gui, start);
+        game.setJournal(new GameJournal(actual));
+        gui.processEvents();
+
+        // Ereignisse vor der ersten Entscheidung stammen aus dem Laden des Spielstands, je nach
+        // Oberfläche wurden sie vor oder nach dem Setzen des Protokolls ausgelöst
+        readNext();
+        while (next >= 0 && GameJournal.getEvent(next) != JournalEvent.DECISION) {
+            readValue();
+            readNext();
+        }
+    }
+
+    /**
+     * Konstruktor, welcher ab einem Zwischenstand weiterspielt, z.B. aus einem JournalIndex.
+     *
+     * @param in         Der Datenstrom, positioniert auf einer Entscheidung im Protokoll
+     * @param offset     Die Position des Datenstroms im Protokoll
+     * @param snapshot   Der Zwischenstand vor dieser Entscheidung
+     * @param haseStates Die Zustände der Hasenfelder zum Zwischenstand
+     * @param decisions  Die Anzahl der Entscheidungen bis zum Zwischenstand
+     * @throws IOException falls nicht gelesen werden kann oder der Zwischenstand ungültig ist
+     */
+    JournalReplayer(InputStream in, long offset, GameData snapshot, byte[] haseStates,
+                    int decisions) throws IOException {
+        this.counter = new CountingInputStream(in, offset);
+        this.in = new DataInputStream(counter);
+        this.decisions = decisions;
+
+        if (GameData.validate(snapshot) == null) {
+            throw new IOException("Invalid snapshot in game journal index");
+        }
+
+        game = new GameLogic(gui, snapshot, false);
+        game.restoreHaseStates(haseStates);
+        game.setJournal(new GameJournal(actual));
+
+        readNext();
+    }
+
+    /**
+     * Liefert das nachgespielte Spiel. Es darf nur gelesen, nicht verändert werden.
+     *
+     * @return Das Spiel
+     */
+    public GameLogic getGame() {
+        return game;
+    }
+
+    /**
+     * Liefert den aktuellen Zwischenstand.
+     *
+     * @return Der Spielstand
+     */
+    public GameData getConfig() {
+        return game.getConfig();
+    }
+
+    /**
+     * Liefert die Anzahl der bisher nachgespielten Entscheidungen.
+     *
+     * @return Die Anzahl
+     */
+    public int getDecisionCount() {
+        return decisions;
+    }
+
+    /**
+     * Liefert die zuletzt nachgespielte Entscheidung, z.B. als Trainingsdaten zum vorherigen
+     * Zwischenstand.
+     *
+     * @return Die Entscheidung als kodierter Zug (siehe Move), -1 falls keine
+     */
+    public int getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * Ermittelt, ob das Protokoll weitere Entscheidungen enthält.
+     *
+     * @return True, falls weitere Entscheidungen folgen
+     */
+    public boolean hasNext() {
+        return next >= 0;
+    }
+
+    /**
+     * Liefert die Position der nächsten Entscheidung im Protokoll.
+     *
+     * @return Die Position in Bytes ab Dateianfang
+     */
+    long getOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Ermittelt, ob der aktuelle Zwischenstand vollständig durch seine GameData und die Zustände
+     * der Hasenfelder beschrieben wird, also keine Entscheidung über eine Karottenauswahl oder
+     * "Ziehe noch einmal!" offen ist, kein Spielerwechsel blockiert ist, das Spiel nicht beendet
+     * ist und der Spielstand wieder geladen werden kann.
+     *
+     * @return True, falls der Zwischenstand als Snapshot geeignet ist
+     */
+    boolean isSnapshotSafe() {
+        return !game.isGameFinished() && !game.isChoosingCarrots() && !game.isChoosingMoveAgain()
+                && !game.isNextTurnBlocked() && !gui.hasPendingEvents()
+                && GameData.validate(game.getConfig()) != null;
+    }
+
+    /**
+     * Spielt die nächste Entscheidung samt aller Folgen nach.
+     *
+     * @return False, falls das Protokoll keine weiteren Entscheidungen enthält
+     * @throws IOException falls nicht gelesen werden kann oder das Nachspielen vom Protokoll
+     *                     abweicht
+     */
+    public boolean step() throws IOException {
+        if (next < 0) {
+            return false;
+        }
+
+        if (GameJournal.getEvent(next) != JournalEvent.DECISION) {
+            throw new IOException("Game journal out of sync after decision " + decisions);
+        }
+
+        expected.reset();
+        actual.reset();
+
+        int decision = readValue();
+        expectedJournal.record(JournalEvent.DECISION, GameJournal.getPlayer(next), decision);
+
+        int cardCount = 0;
+        readNext();
+
+        while (next >= 0 && GameJournal.getEvent(next) != JournalEvent.DECISION) {
+            JournalEvent event = GameJournal.getEvent(next);
+
+            if (event == null) {
+                throw new IOException("Invalid event in game journal after decision " + decisions);
+            }
+
+            int value = readValue();
+            expectedJournal.record(event, GameJournal.getPlayer(next), value);
+
+            if (event == JournalEvent.CARD) {
+                if (value < 0 || value >= CARDS.length) {
+                    throw new IOException("Invalid card in game journal: " + value);
+                }
+
+                if (cardCount == cards.length) {
+                    cards = Arrays.copyOf(cards, cards.length * 2);
+                }
+
+                cards[cardCount++] = CARDS[value];
+            }
+
+            readNext();
+        }
+
+        // Stimmen die Karten mit dem Kartendeck überein, werden sie regulär gezogen, damit der
+        // Zeiger des Kartendecks wie im protokollierten Spiel weiterwandert
+        if (!isNextCards(cardCount)) {
+            // Das zuletzt eingesetzte Override wird zuerst gezogen
+            for (int i = cardCount - 1; i >= 0; i--) {
+                game.forceCard(cards[i]);
+            }
+        }
+
+        apply(decision);
+        gui.processEvents();
+
+        if (!Arrays.equals(expected.toByteArray(), actual.toByteArray())) {
+            throw new IOException("Game journal does not match replay at decision " + decisions);
+        }
+
+        decisions++;
+        lastDecision = decision;
+
+        return true;
+    }
+
+    /**
+     * Ermittelt, ob die protokollierten Karten einer Entscheidung die nächsten Karten des
+     * Kartendecks sind. Geschummelte Karten während des Spiels weichen davon ab.
+     *
+     * @param cardCount Anzahl der protokollierten Karten
+     * @return True, falls alle Karten in dieser Reihenfolge gezogen werden
+     */
+    private boolean isNextCards(int cardCount) {
+        CardDeck deck = game.getCardDeck();
+
+        for (int i = 0; i < cardCount; i++) {
+            if (deck.peek(i) != cards[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Spielt bis zu einer Anzahl an Entscheidungen oder bis zum Ende des Protokolls nach.
+     *
+     * @param decisions Die Anzahl der Entscheidungen ab Beginn des Spiels
+     * @return Die Anzahl der tatsächlich nachgespielten Entscheidungen
+     * @throws IOException falls nicht gelesen werden kann oder das Nachspielen vom Protokoll
+     *                     abweicht
+     */
+    public int seek(int decisions) throws IOException {
+        while (this.decisions < decisions && step()) {
+            // Nachspielen bis zum gewünschten Zwischenstand
+        }
+
+        return this.decisions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Rekonstruiert einen Zwischenstand aus einer Protokolldatei.
+     *
+     * @param file      Die Protokolldatei
+     * @param decisions Die Anzahl der Entscheidungen ab Beginn des Spiels, größere Werte liefern
+     *                  den letzten Stand
+     * @return Der Spielstand, oder null falls die Datei nicht gelesen werden kann oder beschädigt
+     * ist
+     */
+    public static GameData replay(File file, int decisions) {
+        try (JournalReplayer replayer = new JournalReplayer(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            replayer.seek(decisions);
+            return replayer.getConfig();
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not replay game journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Führt eine Entscheidung im nachgespielten Spiel aus.
+     *
+     * @param decision Die Entscheidung als kodierter Zug
+     * @throws IOException falls die Entscheidung ungültig ist
+     */
+    private void apply(int decision) throws IOException {
+        if (Move.isDestination(decision)) {
+            game.move(Move.getDestination(decision));
+        } else if (Move.isCarrotsChoice(decision)) {
+            game.carrotsChoice(Move.getCarrotsChoice(decision));
+        } else if (Move.isMoveAgainChoice(decision)) {
+            game.moveAgainChoice(Move.isMoveAgainConfirmed(decision));
+        } else {
+            throw new IOException("Invalid decision in game journal: " + decision);
+        }
+    }
+
+    /**
+     * Liest das Kopfbyte des nächsten Ereignisses und merkt sich dessen Position.
+     *
+     * @throws IOException falls nicht gelesen werden kann
+     */
+    private void readNext() throws IOException {
+        nextOffset = counter.position;
+        next = in.read();
+    }
+
+    /**
+     * Liest den ZigZag-kodierten Wert eines Ereignisses.
+     *
+     * @return Der Wert
+     * @throws IOException falls der Datenstrom vorzeitig endet oder der Varint zu lang ist
+     */
+    private int readValue() throws IOException {
+        int zigzag = 0;
+        int current;
+        int shift = 0;
+
+        do {
+            if (shift > 28) {
+                throw new IOException("Varint too long");
+            }
+
+            current = in.read();
+            if (current < 0) {
+                throw new EOFException();
+            }
+
+            zigzag |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,519 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Klasse zur kompakten, unveränderlichen Darstellung eines Spielstandes als long-Array, z.B. für
+ * Suchverfahren und Transpositionstabellen.
+ * <p>
+ * Das erste Element (Header) enthält die Anzahl der Spieler, den aktuellen Spieler, die
+ * Reihenfolge der Spieler im Ziel und den Zustand des Kartendecks. Jedes weitere Element enthält
+ * einen gepackten Spieler. Spielernamen sind nicht Teil des Spielstandes und werden beim
+ * Umwandeln in GameData separat übergeben.
+ * <p>
+ * Aufbau eines gepackten Spielers (Bit 0 = niederwertigstes Bit):
+ * <pre>
+ * Bit  0 -  6: Position
+ * Bit  7 -  9: Salate
+ * Bit 10     : Aussetzen
+ * Bit 11     : Isst Salat
+ * Bit 12 - 31: Karotten
+ * </pre>
+ * Aufbau des Headers:
+ * <pre>
+ * Bit  0 -  2: Anzahl der Spieler
+ * Bit  3 -  5: Aktueller Spieler
+ * Bit  6 -  8: Anzahl der Spieler im Ziel
+ * Bit  9 - 26: Spieler im Ziel, je 3 Bit in der Reihenfolge des Betretens
+ * Bit 27 - 34: Zeiger des Kartendecks
+ * Bit 35     : Kartendeck wurde bereits einmal vollständig gezogen
+ * </pre>
+ *
+ * @author github.com/batscs
+ */
+public final class PackedGameState {
+
+    /**
+     * Konstanten für den Aufbau eines gepackten Spielers.
+     */
+    private static final int POSITION_SHIFT = 0, POSITION_BITS = 7;
+    private static final int SALADS_SHIFT = 7, SALADS_BITS = 3;
+    private static final int SUSPENDED_SHIFT = 10;
+    private static final int EATS_SALAD_SHIFT = 11;
+    private static final int CARROTS_SHIFT = 12, CARROTS_BITS = 20;
+
+    /**
+     * Konstanten für den Aufbau des Headers.
+     */
+    private static final int INDEX_BITS = 3;
+    private static final int PARTICIPANTS_SHIFT = 0;
+    private static final int PROTAGONIST_SHIFT = 3;
+    private static final int ON_TARGET_COUNT_SHIFT = 6;
+    private static final int ON_TARGET_SHIFT = 9;
+    private static final int DECK_CURSOR_SHIFT = 27, DECK_CURSOR_BITS = 8;
+    private static final int DECK_CYCLED_SHIFT = 35;
+
+    /**
+     * Konstante für die höchste darstellbare Anzahl an Karotten eines Spielers.
+     */
+    public static final int MAX_CARROTS = (1 << CARROTS_BITS) - 1;
+
+    /**
+     * Konstante für die höchste darstellbare Anzahl an Salaten eines Spielers.
+     */
+    public static final int MAX_SALADS = (1 << SALADS_BITS) - 1;
+
+    /**
+     * Attribut für den gepackten Spielstand, Header gefolgt von den Spielern.
+     */
+    private final long[] data;
+
+    /**
+     * Konstruktor, übernimmt das Array ohne Kopie.
+     *
+     * @param data Der gepackte Spielstand
+     */
+    private PackedGameState(long[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Packt einen Spielstand. Hat der Spielstand einen Startwert, wird die gespeicherte Position
+     * des Kartendecks übernommen, ansonsten gilt das Kartendeck als ungezogen.
+     *
+     * @param config Der Spielstand
+     * @return Der gepackte Spielstand
+     */
+    public static PackedGameState of(GameData config) {
+        if (!config.hasSeed()) {
+            return of(config, 0);
+        }
+
+        return of(config.getPlayers(), config.getProtagonist(), config.getOnTarget(),
+                config.getDeckCursor(), config.isDeckCycled());
+    }
+
+    /**
+     * Packt einen Spielstand, das Kartendeck gilt als noch nicht vollständig durchlaufen.
+     *
+     * @param config     Der Spielstand
+     * @param deckCursor Zeiger des Kartendecks
+     * @return Der gepackte Spielstand
+     */
+    public static PackedGameState of(GameData config, int deckCursor) {
+        return of(config.getPlayers(), config.getProtagonist(), config.getOnTarget(), deckCursor,
+                false);
+    }
+
+    /**
+     * Packt einen Spielstand aus den einzelnen Bestandteilen, ohne Kopien der Spieler anzulegen.
+     *
+     * @param players     Die teilnehmenden Spieler
+     * @param protagonist Index des aktuellen Spielers
+     * @param onTarget    Spieler-Indizes im Ziel, in der Reihenfolge des Betretens
+     * @param deckCursor  Zeiger des Kartendecks
+     * @param deckCycled  Ob das Kartendeck bereits einmal vollständig gezogen wurde
+     * @return Der gepackte Spielstand
+     */
+    static PackedGameState of(Player[] players, int protagonist, List<Integer> onTarget,
+                              int deckCursor, boolean deckCycled) {
+        if (players.length > GameData.GAME_MAX_PLAYERS || onTarget.size() > players.length) {
+            throw new IllegalArgumentException("Too many players for packed state");
+        }
+
+        long[] data = new long[players.length + 1];
+        long header = packHeader(players.length, protagonist, onTarget.size(), deckCursor,
+                deckCycled);
+
+        int place = 0;
+        for (int idx : onTarget) {
+            header |= packOnTarget(place, idx);
+            place++;
+        }
+
+        data[0] = header;
+
+        for (int i = 0; i < players.length; i++) {
+            data[i + 1] = packPlayer(players[i]);
+        }
+
+        return new PackedGameState(data);
+    }
+
+    /**
+     * Packt den Header eines Spielstandes ohne die Spieler im Ziel, siehe packOnTarget().
+     *
+     * @param participants  Anzahl der Spieler
+     * @param protagonist   Index des aktuellen Spielers
+     * @param onTargetCount Anzahl der Spieler im Ziel
+     * @param deckCursor    Zeiger des Kartendecks
+     * @param deckCycled    Ob das Kartendeck bereits einmal vollständig gezogen wurde
+     * @return Der gepackte Header
+     */
+    static long packHeader(int participants, int protagonist, int onTargetCount, int deckCursor,
+                           boolean deckCycled) {
+        return participants
+                | (long) protagonist << PROTAGONIST_SHIFT
+                | (long) onTargetCount << ON_TARGET_COUNT_SHIFT
+                | (long) checkRange(deckCursor, DECK_CURSOR_BITS) << DECK_CURSOR_SHIFT
+                | (deckCycled ? 1L : 0L) << DECK_CYCLED_SHIFT;
+    }
+
+    /**
+     * Packt einen Spieler im Ziel für den Header, wird per Oder mit dem Header verknüpft.
+     *
+     * @param place Platzierung im Ziel, beginnend bei 0
+     * @param idx   Index des Spielers
+     * @return Der gepackte Anteil des Headers
+     */
+    static long packOnTarget(int place, int idx) {
+        return (long) idx << (ON_TARGET_SHIFT + place * INDEX_BITS);
+    }
+
+    /**
+     * Liefert die Anzahl der Spieler aus einem gepackten Header.
+     *
+     * @param header Der gepackte Header
+     * @return Anzahl der Spieler
+     */
+    public static int getParticipants(long header) {
+        return field(header, PARTICIPANTS_SHIFT, INDEX_BITS);
+    }
+
+    /**
+     * Liefert den Index des aktuellen Spielers aus einem gepackten Header.
+     *
+     * @param header Der gepackte Header
+     * @return Index des aktuellen Spielers
+     */
+    public static int getProtagonist(long header) {
+        return field(header, PROTAGONIST_SHIFT, INDEX_BITS);
+    }
+
+    /**
+     * Liefert die Anzahl der Spieler im Ziel aus einem gepackten Header.
+     *
+     * @param header Der gepackte Header
+     * @return Anzahl der Spieler im Ziel
+     */
+    public static int getOnTargetCount(long header) {
+        return field(header, ON_TARGET_COUNT_SHIFT, INDEX_BITS);
+    }
+
+    /**
+     * Liefert den Index des Spielers, welcher das Ziel als n-ter betreten hat, aus einem
+     * gepackten Header. Die Platzierung wird nicht überprüft.
+     *
+     * @param header Der gepackte Header
+     * @param place  Platzierung im Ziel, beginnend bei 0
+     * @return Index des Spielers
+     */
+    public static int getOnTarget(long header, int place) {
+        return field(header, ON_TARGET_SHIFT + place * INDEX_BITS, INDEX_BITS);
+    }
+
+    /**
+     * Erstellt einen Spielstand aus einem zuvor mit toArray() erzeugten Array.
+     *
+     * @param data Der gepackte Spielstand, wird kopiert
+     * @return Der Spielstand
+     */
+    public static PackedGameState fromArray(long[] data) {
+        if (data.length == 0 || data.length != field(data[0], PARTICIPANTS_SHIFT, INDEX_BITS) + 1) {
+            throw new IllegalArgumentException("Invalid packed state length");
+        }
+
+        return new PackedGameState(data.clone());
+    }
+
+    /**
+     * Packt die Werte eines Spielers in ein long.
+     *
+     * @param player Der Spieler
+     * @return Der gepackte Spieler
+     */
+    public static long packPlayer(Player player) {
+        return packPlayer(player.getPosition(), player.getCarrots(), player.getSalads(),
+                player.isSuspended(), player.eatsSalad());
+    }
+
+    /**
+     * Packt die Werte eines Spielers in ein long.
+     *
+     * @param position  Position des Spielers
+     * @param carrots   Anzahl an Karotten
+     * @param salads    Anzahl an Salaten
+     * @param suspended Ob der Spieler aussetzt
+     * @param eatsSalad Ob der Spieler einen Salat isst
+     * @return Der gepackte Spieler
+     */
+    public static long packPlayer(int position, int carrots, int salads, boolean suspended,
+                                  boolean eatsSalad) {
+        return (long) checkRange(position, POSITION_BITS) << POSITION_SHIFT
+                | (long) checkRange(salads, SALADS_BITS) << SALADS_SHIFT
+                | (suspended ? 1L : 0L) << SUSPENDED_SHIFT
+                | (eatsSalad ? 1L : 0L) << EATS_SALAD_SHIFT
+                | (long) checkRange(carrots, CARROTS_BITS) << CARROTS_SHIFT;
+    }
+
+    /**
+     * Liefert die Position eines gepackten Spielers.
+     *
+     * @param player Der gepackte Spieler
+     * @return Die Position
+     */
+    public static int getPosition(long player) {
+        return field(player, POSITION_SHIFT, POSITION_BITS);
+    }
+
+    /**
+     * Liefert die Anzahl an Karotten eines gepackten Spielers.
+     *
+     * @param player Der gepackte Spieler
+     * @return Die Anzahl an Karotten
+     */
+    public static int getCarrots(long player) {
+        return field(player, CARROTS_SHIFT, CARROTS_BITS);
+    }
+
+    /**
+     * Liefert die Anzahl an Salaten eines gepackten Spielers.
+     *
+     * @param player Der gepackte Spieler
+     * @return Die Anzahl an Salaten
+     */
+    public static int getSalads(long player) {
+        return field(player, SALADS_SHIFT, SALADS_BITS);
+    }
+
+    /**
+     * Ermittelt, ob ein gepackter Spieler aussetzt.
+     *
+     * @param player Der gepackte Spieler
+     * @return True, falls der Spieler aussetzt.
+     */
+    public static boolean isSuspended(long player) {
+        return (player >>> SUSPENDED_SHIFT & 1L) != 0;
+    }
+
+    /**
+     * Ermittelt, ob ein gepackter Spieler einen Salat isst.
+     *
+     * @param player Der gepackte Spieler
+     * @return True, falls der Spieler einen Salat isst.
+     */
+    public static boolean eatsSalad(long player) {
+        return (player >>> EATS_SALAD_SHIFT & 1L) != 0;
+    }
+
+    /**
+     * Erzeugt einen Spieler aus einem gepackten Spieler.
+     *
+     * @param player Der gepackte Spieler
+     * @param name   Name des Spielers
+     * @return Der Spieler
+     */
+    public static Player unpackPlayer(long player, String name) {
+        Player p = new Player(name);
+        p.setSuspended(isSuspended(player));
+        p.setEatsSalad(eatsSalad(player));
+        p.setCarrots(getCarrots(player));
+        p.setSalads(getSalads(player));
+        p.moveTo(getPosition(player));
+
+        return p;
+    }
+
+    /**
+     * Liefert die Anzahl der teilnehmenden Spieler.
+     *
+     * @return Anzahl der Spieler
+     */
+    public int getParticipants() {
+        return data.length - 1;
+    }
+
+    /**
+     * Liefert den Index des aktuellen Spielers.
+     *
+     * @return Index des aktuellen Spielers
+     */
+    public int getProtagonist() {
+        return getProtagonist(data[0]);
+    }
+
+    /**
+     * Liefert die Anzahl der Spieler im Ziel.
+     *
+     * @return Anzahl der Spieler im Ziel
+     */
+    public int getOnTargetCount() {
+        return getOnTargetCount(data[0]);
+    }
+
+    /**
+     * Liefert den Index des Spielers, welcher das Ziel als n-ter betreten hat.
+     *
+     * @param place Platzierung im Ziel, beginnend bei 0
+     * @return Index des Spielers
+     */
+    public int getOnTarget(int place) {
+        if (place < 0 || place >= getOnTargetCount()) {
+            throw new IndexOutOfBoundsException("No player on target at place " + place);
+        }
+
+        return getOnTarget(data[0], place);
+    }
+
+    /**
+     * Liefert den Zeiger des Kartendecks.
+     *
+     * @return Anzahl der gezogenen Karten modulo der Größe des Kartendecks
+     */
+    public int getDeckCursor() {
+        return field(data[0], DECK_CURSOR_SHIFT, DECK_CURSOR_BITS);
+    }
+
+    /**
+     * Ermittelt, ob das Kartendeck bereits einmal vollständig gezogen wurde.
+     *
+     * @return True, falls die Reihenfolge der Karten bekannt ist
+     */
+    public boolean isDeckCycled() {
+        return field(data[0], DECK_CYCLED_SHIFT, 1) != 0;
+    }
+
+    /**
+     * Liefert einen gepackten Spieler.
+     *
+     * @param idx Index des Spielers
+     * @return Der gepackte Spieler
+     */
+    public long getPlayer(int idx) {
+        return data[idx + 1];
+    }
+
+    /**
+     * Liefert den Header des Spielstandes.
+     *
+     * @return Der gepackte Header
+     */
+    public long getHeader() {
+        return data[0];
+    }
+
+    /**
+     * Liefert eine Kopie des gepackten Spielstandes.
+     *
+     * @return Header gefolgt von den gepackten Spielern
+     */
+    public long[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Kopiert den gepackten Spielstand in ein bestehendes Array, z.B. in einen großen Speicher
+     * vieler Spielstände.
+     *
+     * @param dest   Das Zielarray
+     * @param offset Startindex im Zielarray
+     */
+    public void copyTo(long[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, data.length);
+    }
+
+    /**
+     * Wandelt den gepackten Spielstand in einen GameData-Spielstand um.
+     *
+     * @param names Namen der Spieler, Index entspricht dem Spieler-Index
+     * @return Der Spielstand
+     */
+    public GameData toGameData(String[] names) {
+        if (names.length != getParticipants()) {
+            throw new IllegalArgumentException("Amount of names does not match participants");
+        }
+
+        Player[] players = new Player[names.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = unpackPlayer(getPlayer(i), names[i]);
+        }
+
+        List<Integer> onTarget = new LinkedList<>();
+        for (int i = 0; i < getOnTargetCount(); i++) {
+            onTarget.add(getOnTarget(i));
+        }
+
+        return new GameData(players, getProtagonist(), onTarget);
+    }
+
+    /**
+     * Wandelt den gepackten Spielstand in einen GameData-Spielstand inklusive Kartendeck um. Die
+     * Mischung ergibt sich aus dem Startwert, der Zeiger und ob das Kartendeck bereits einmal
+     * vollständig gezogen wurde aus dem Header.
+     *
+     * @param names Namen der Spieler, Index entspricht dem Spieler-Index
+     * @param seed  Startwert des Kartendecks
+     * @return Der Spielstand
+     */
+    public GameData toGameData(String[] names, long seed) {
+        GameData config = toGameData(names);
+
+        return new GameData(config.getPlayers(), config.getProtagonist(), config.getOnTarget(),
+                seed, getDeckCursor(), isDeckCycled(), new LinkedList<>());
+    }
+
+    /**
+     * Liest ein Bitfeld aus einem long.
+     *
+     * @param value Der Wert
+     * @param shift Position des niederwertigsten Bits
+     * @param bits  Anzahl der Bits
+     * @return Das Bitfeld
+     */
+    private static int field(long value, int shift, int bits) {
+        return (int) (value >>> shift & ((1L << bits) - 1));
+    }
+
+    /**
+     * Überprüft, ob ein Wert in einem Bitfeld dargestellt werden kann.
+     *
+     * @param value Der Wert
+     * @param bits  Anzahl der Bits
+     * @return Der Wert
+     * @throws IllegalArgumentException falls der Wert nicht darstellbar ist
+     */
+    private static int checkRange(int value, int bits) {
+        if (value < 0 || value >= 1 << bits) {
+            throw new IllegalArgumentException("Value " + value + " exceeds " + bits + " bits");
+        }
+
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof PackedGameState)) {
+            return false;
+        }
+
+        return Arrays.equals(data, ((PackedGameState) o).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PackedGameState = {participants: %d, protagonist: %d, onTarget: %d, "
+                + "deckCursor: %d, deckCycled: %b}", getParticipants(), getProtagonist(),
+                getOnTargetCount(), getDeckCursor(), isDeckCycled());
+    }
+}
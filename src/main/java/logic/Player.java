@@ -37,6 +37,19 @@ public class Player {
     @Expose
     private int salads;
 
+    /**
+     * Attribut für das Spielbrett, auf welchem sich der Spieler befindet. Wird bei jeder
+     * Bewegung über die neue Position informiert, um den Besetzungsindex aktuell zu halten,
+     * sowie bei jeder Änderung der Werte, um den Hash des Spielstandes aktuell zu halten.
+     * Nicht Teil des Spielstandes.
+     */
+    private GameBoard board;
+
+    /**
+     * Attribut für den Index des Spielers auf dem Spielbrett.
+     */
+    private int id;
+
     /**
      * Konstruktor zum Initialisieren eines Spielers mit einem vorgegebenen Spielernamen.
      *
@@ -54,7 +67,33 @@ public class Player {
      * @param position die übergebene Position
      */
     public void moveTo(int position) {
+        int previous = this.position;
         this.position = position;
+
+        if (board != null) {
+            board.onPlayerMove(id, previous, position);
+        }
+    }
+
+    /**
+     * Verknüpft den Spieler mit einem Spielbrett, welches ab sofort über Bewegungen und
+     * Änderungen des Spielers informiert wird.
+     *
+     * @param board Das Spielbrett
+     * @param id    Index des Spielers auf dem Spielbrett
+     */
+    void attachBoard(GameBoard board, int id) {
+        this.board = board;
+        this.id = id;
+    }
+
+    /**
+     * Liefert den Index des Spielers auf dem verknüpften Spielbrett.
+     *
+     * @return Index des Spielers
+     */
+    int getBoardId() {
+        return id;
     }
 
     /**
@@ -63,6 +102,10 @@ public class Player {
      * @param b True, falls Spieler Salat isst.
      */
     public void setEatsSalad(boolean b) {
+        if (board != null) {
+            board.onPlayerChange(ZobristHash.eatsSalad(id, eatsSalad) ^ ZobristHash.eatsSalad(id, b));
+        }
+
         this.eatsSalad = b;
     }
 
@@ -90,6 +133,10 @@ public class Player {
      * @param b True, falls Spieler aussetzt
      */
     public void setSuspended(boolean b) {
+        if (board != null) {
+            board.onPlayerChange(ZobristHash.suspended(id, suspended) ^ ZobristHash.suspended(id, b));
+        }
+
         this.suspended = b;
     }
 
@@ -126,6 +173,10 @@ public class Player {
      * @param i Der neue Wert an Karotten.
      */
     public void setCarrots(int i) {
+        if (board != null) {
+            board.onPlayerChange(ZobristHash.carrots(id, carrots) ^ ZobristHash.carrots(id, i));
+        }
+
         this.carrots = i;
     }
 
@@ -144,6 +195,10 @@ public class Player {
      * @param i Der neue Wert an Salaten.
      */
     public void setSalads(int i) {
+        if (board != null) {
+            board.onPlayerChange(ZobristHash.salads(id, salads) ^ ZobristHash.salads(id, i));
+        }
+
         this.salads = i;
     }
 
@@ -48,6 +48,7 @@ public enum Token {
     GUI_BUTTON_START,
     GUI_LABEL_PLAYERNAMES,
     GUI_LABEL_PLAYERCOUNT,
+    GUI_LABEL_REPLAY_TURN,
 
     // ******************************************** Menu Bar Related Tokens ************************************,
     GUI_MENU_HEADER_FILE,
@@ -55,6 +56,7 @@ public enum Token {
     GUI_MENU_ITEM_EXIT,
     GUI_MENU_ITEM_NEW,
     GUI_MENU_ITEM_LOAD,
+    GUI_MENU_ITEM_REPLAY,
     GUI_MENU_ITEM_START,
 
     GUI_MENU_HEADER_VIEW,
@@ -103,7 +105,8 @@ public enum Token {
 
     // ****************************************** FILE CHOOSER ****************************************************
     GUI_FILE_CHOOSER_EXTENSION_GAME_FILE,
-    GUI_FILE_CHOOSER_EXTENSION_LANGUAGE_FILE
+    GUI_FILE_CHOOSER_EXTENSION_LANGUAGE_FILE,
+    GUI_FILE_CHOOSER_EXTENSION_JOURNAL_FILE
 
     // ************************************************************************************************************
 
@@ -0,0 +1,305 @@
+package logic;
+
+import logic.data.CardDeck;
+
+import java.util.SplittableRandom;
+
+/**
+ * Klasse mit den Zufallsschlüsseln für das Zobrist-Hashing von Spielständen.
+ * <p>
+ * Der Hash eines Spielstandes ist die XOR-Verknüpfung der Schlüssel aller Bestandteile (Position,
+ * Karotten, Salate, Aussetzen und Salat essen je Spieler, aktueller Spieler, Spieler im Ziel je
+ * Platzierung, Zeiger des Kartendecks und ob ein Durchlauf gezogen wurde). Ändert sich ein Bestandteil, genügt es den alten und
+ * den neuen Schlüssel per XOR einzurechnen. Die Schlüssel werden aus einem festen Startwert
+ * erzeugt, Hashes sind daher zwischen Programmstarts vergleichbar.
+ *
+ * @author github.com/batscs
+ */
+public final class ZobristHash {
+
+    /**
+     * Konstante für den Startwert des Zufallsgenerators der Schlüssel.
+     */
+    private static final long SEED = 0x4861736549676C65L;
+
+    /**
+     * Anzahl der Karotten- bzw. Salatwerte, welche direkt über eine Tabelle abgebildet werden.
+     * Größere Werte werden zusätzlich gemischt.
+     */
+    private static final int CARROT_KEYS = 256, SALAD_KEYS = 8;
+
+    /**
+     * Konstante für die Anzahl an möglichen Werten des Kartendeck-Zeigers.
+     */
+    private static final int DECK_CURSOR_KEYS = 256;
+
+    /**
+     * Konstanten für die Anzahl an Schlüsseln der Suchschlüssel: Kombinationen offener
+     * Entscheidungen, Anzahl je Karte und Zustände je Hasenfeld.
+     */
+    private static final int DECISION_KEYS = 16, CARD_COUNT_KEYS = 16, HASE_FIELD_KEYS = 256;
+
+    private static final long[][] POSITION;
+    private static final long[][] CARROTS;
+    private static final long[][] SALADS;
+    private static final long[] SUSPENDED;
+    private static final long[] EATS_SALAD;
+    private static final long[] PROTAGONIST;
+    private static final long[][] ON_TARGET;
+    private static final long[] DECK_CURSOR;
+    private static final long DECK_CYCLED;
+    private static final long[] DECISION;
+    private static final long[][] REMAINING_CARDS;
+    private static final long[][] HASE_FIELD;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int players = GameData.GAME_MAX_PLAYERS;
+
+        POSITION = keys(random, players, GameLogic.FINAL_FIELD_POSITION + 1);
+        CARROTS = keys(random, players, CARROT_KEYS);
+        SALADS = keys(random, players, SALAD_KEYS);
+        SUSPENDED = keys(random, 1, players)[0];
+        EATS_SALAD = keys(random, 1, players)[0];
+        PROTAGONIST = keys(random, 1, players)[0];
+        ON_TARGET = keys(random, players, players);
+        DECK_CURSOR = keys(random, 1, DECK_CURSOR_KEYS)[0];
+        DECISION = keys(random, 1, DECISION_KEYS)[0];
+        REMAINING_CARDS = keys(random, CardDeck.CARD_TYPES, CARD_COUNT_KEYS);
+        HASE_FIELD = keys(random, GameLogic.FINAL_FIELD_POSITION, HASE_FIELD_KEYS);
+        DECK_CYCLED = random.nextLong();
+    }
+
+    /**
+     * Privater Konstruktor, Klasse enthält nur statische Methoden.
+     */
+    private ZobristHash() {
+    }
+
+    /**
+     * Erzeugt eine Tabelle an Zufallsschlüsseln.
+     *
+     * @param random Der Zufallsgenerator
+     * @param rows   Anzahl der Zeilen
+     * @param cols   Anzahl der Spalten
+     * @return Die Tabelle
+     */
+    private static long[][] keys(SplittableRandom random, int rows, int cols) {
+        long[][] table = new long[rows][cols];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                table[i][j] = random.nextLong();
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Liefert den Schlüssel für einen Wert über eine Tabelle. Werte außerhalb der Tabelle werden
+     * zusätzlich gemischt, damit auch diese eindeutig abgebildet werden.
+     *
+     * @param table Die Tabelle, Größe muss eine Zweierpotenz sein
+     * @param value Der Wert
+     * @return Der Schlüssel
+     */
+    private static long key(long[] table, int value) {
+        long key = table[value & (table.length - 1)];
+        int high = value >>> Integer.numberOfTrailingZeros(table.length);
+
+        return high == 0 ? key : key ^ mix(table[0] + high);
+    }
+
+    /**
+     * Mischfunktion (SplitMix64) für Werte außerhalb der Schlüsseltabellen.
+     *
+     * @param z Der Eingabewert
+     * @return Der gemischte Wert
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Liefert den Schlüssel für die Position eines Spielers.
+     *
+     * @param id       Index des Spielers
+     * @param position Die Position
+     * @return Der Schlüssel
+     */
+    public static long position(int id, int position) {
+        return POSITION[id][position];
+    }
+
+    /**
+     * Liefert den Schlüssel für die Anzahl an Karotten eines Spielers.
+     *
+     * @param id      Index des Spielers
+     * @param carrots Anzahl an Karotten
+     * @return Der Schlüssel
+     */
+    public static long carrots(int id, int carrots) {
+        return key(CARROTS[id], carrots);
+    }
+
+    /**
+     * Liefert den Schlüssel für die Anzahl an Salaten eines Spielers.
+     *
+     * @param id     Index des Spielers
+     * @param salads Anzahl an Salaten
+     * @return Der Schlüssel
+     */
+    public static long salads(int id, int salads) {
+        return key(SALADS[id], salads);
+    }
+
+    /**
+     * Liefert den Schlüssel dafür, dass ein Spieler aussetzt.
+     *
+     * @param id        Index des Spielers
+     * @param suspended Ob der Spieler aussetzt
+     * @return Der Schlüssel, oder 0 falls der Spieler nicht aussetzt.
+     */
+    public static long suspended(int id, boolean suspended) {
+        return suspended ? SUSPENDED[id] : 0L;
+    }
+
+    /**
+     * Liefert den Schlüssel dafür, dass ein Spieler einen Salat isst.
+     *
+     * @param id        Index des Spielers
+     * @param eatsSalad Ob der Spieler einen Salat isst
+     * @return Der Schlüssel, oder 0 falls der Spieler keinen Salat isst.
+     */
+    public static long eatsSalad(int id, boolean eatsSalad) {
+        return eatsSalad ? EATS_SALAD[id] : 0L;
+    }
+
+    /**
+     * Liefert den Schlüssel für den aktuellen Spieler.
+     *
+     * @param id Index des aktuellen Spielers
+     * @return Der Schlüssel
+     */
+    public static long protagonist(int id) {
+        return PROTAGONIST[id];
+    }
+
+    /**
+     * Liefert den Schlüssel für einen Spieler im Ziel.
+     *
+     * @param place Platzierung im Ziel, beginnend bei 0
+     * @param id    Index des Spielers
+     * @return Der Schlüssel
+     */
+    public static long onTarget(int place, int id) {
+        return ON_TARGET[place][id];
+    }
+
+    /**
+     * Liefert den Schlüssel für den Zeiger des Kartendecks.
+     *
+     * @param cursor Der Zeiger
+     * @return Der Schlüssel
+     */
+    public static long deckCursor(int cursor) {
+        return DECK_CURSOR[cursor];
+    }
+
+    /**
+     * Liefert den Schlüssel dafür, ob bereits ein vollständiger Durchlauf des Kartendecks gezogen
+     * wurde.
+     *
+     * @param cycled True, falls ein Durchlauf gezogen wurde
+     * @return Der Schlüssel, 0 falls nicht
+     */
+    public static long deckCycled(boolean cycled) {
+        return cycled ? DECK_CYCLED : 0L;
+    }
+
+    /**
+     * Liefert den Schlüssel für die offenen Entscheidungen und Sperren eines Spiels.
+     *
+     * @param flags Bitmaske der offenen Entscheidungen
+     * @return Der Schlüssel
+     */
+    public static long decision(int flags) {
+        return DECISION[flags];
+    }
+
+    /**
+     * Liefert den Schlüssel für die Anzahl einer Karte unter den im aktuellen Durchlauf
+     * verbleibenden Karten des Kartendecks.
+     *
+     * @param card  Ordinalzahl der Karte
+     * @param count Anzahl der Karte
+     * @return Der Schlüssel
+     */
+    public static long remainingCards(int card, int count) {
+        return REMAINING_CARDS[card][count];
+    }
+
+    /**
+     * Liefert den Schlüssel für den gespeicherten Zustand eines Hasenfeldes.
+     *
+     * @param idx   Index des Hasenfeldes
+     * @param state Der Zustand, siehe FieldHase.saveState()
+     * @return Der Schlüssel
+     */
+    public static long haseField(int idx, int state) {
+        return HASE_FIELD[idx][state];
+    }
+
+    /**
+     * Liefert den Schlüssel aller Werte eines Spielers.
+     *
+     * @param id     Index des Spielers
+     * @param player Der Spieler
+     * @return Der Schlüssel
+     */
+    public static long player(int id, Player player) {
+        return position(id, player.getPosition()) ^ carrots(id, player.getCarrots())
+                ^ salads(id, player.getSalads()) ^ suspended(id, player.isSuspended())
+                ^ eatsSalad(id, player.eatsSalad());
+    }
+
+    /**
+     * Liefert den Schlüssel aller Werte eines gepackten Spielers.
+     *
+     * @param id     Index des Spielers
+     * @param player Der gepackte Spieler
+     * @return Der Schlüssel
+     */
+    public static long player(int id, long player) {
+        return position(id, PackedGameState.getPosition(player))
+                ^ carrots(id, PackedGameState.getCarrots(player))
+                ^ salads(id, PackedGameState.getSalads(player))
+                ^ suspended(id, PackedGameState.isSuspended(player))
+                ^ eatsSalad(id, PackedGameState.eatsSalad(player));
+    }
+
+    /**
+     * Berechnet den Hash eines gepackten Spielstandes vollständig. Stimmt mit dem inkrementell
+     * aktualisierten Hash der GameLogic überein.
+     *
+     * @param state Der gepackte Spielstand
+     * @return Der Hash
+     */
+    public static long of(PackedGameState state) {
+        long hash = protagonist(state.getProtagonist()) ^ deckCursor(state.getDeckCursor())
+                ^ deckCycled(state.isDeckCycled());
+
+        for (int i = 0; i < state.getParticipants(); i++) {
+            hash ^= player(i, state.getPlayer(i));
+        }
+
+        for (int i = 0; i < state.getOnTargetCount(); i++) {
+            hash ^= onTarget(i, state.getOnTarget(i));
+        }
+
+        return hash;
+    }
+}
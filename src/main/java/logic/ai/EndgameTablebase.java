@@ -0,0 +1,357 @@
+package logic.ai;
+
+import logic.GameBoard;
+import logic.GameData;
+import logic.GameLogic;
+import logic.PackedGameState;
+import logic.fields.FieldType;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Endspieldatenbank für den letzten Abschnitt des Spielbretts (Positionen 43 bis 63).
+ * <p>
+ * Je Anzahl an Spielern im Ziel, Position und Karotten eines Spielers ohne Salate wird die
+ * kleinste Anzahl eigener Züge bis ins Ziel bei perfektem Spiel gespeichert. Betrachtet werden
+ * Vorwärtszüge, Rückzüge auf Igelfelder und Karottenfelder. Hasenfelder werden nicht betreten, da
+ * deren Ausgang vom Zufall abhängt, Mitspieler sowie Auszahlungen der Nummernfelder werden nicht
+ * berücksichtigt. Für 2 bis 3 verbleibende Spieler ergibt sich der Sieger daraus als Wettrennen
+ * in Zugreihenfolge.
+ * <p>
+ * Die Datenbank wird mit generate() berechnet und kann als Datei gespeichert und per
+ * Memory-Mapping ohne Kopieren geladen werden.
+ *
+ * @author github.com/batscs
+ */
+public class EndgameTablebase {
+
+    /**
+     * Erste Position, welche in der Datenbank enthalten ist.
+     */
+    public static final int FIRST_POSITION = 43;
+
+    /**
+     * Höchste Anzahl an Karotten, welche in der Datenbank enthalten ist.
+     */
+    public static final int MAX_CARROTS = 511;
+
+    /**
+     * Rückgabewert, falls ein Spielstand nicht in der Datenbank enthalten ist.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * Rückgabewert, falls das Ziel ohne Hasenfelder nicht erreichbar ist.
+     */
+    public static final int UNREACHABLE = 255;
+
+    /**
+     * Konstanten für den Aufbau der Datei: Kennung, Version und Größe des Headers.
+     */
+    private static final int MAGIC = 0x48554954;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    /**
+     * Konstanten für die Dimensionen der Datenbank.
+     */
+    private static final int POSITIONS = GameLogic.FINAL_FIELD_POSITION - FIRST_POSITION;
+    private static final int CARROTS = MAX_CARROTS + 1;
+    private static final int LAYERS = GameData.GAME_MAX_PLAYERS;
+
+    /**
+     * Konstante für die Veränderung der Karotten auf einem Karottenfeld bzw. je Feld beim Rückzug.
+     */
+    private static final int CARROTS_STEP = 10;
+
+    /**
+     * Züge bis ins Ziel je Eintrag, ab HEADER_BYTES, Index siehe index().
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Privater Konstruktor für eine Datenbank über einem Puffer inklusive Header.
+     *
+     * @param data Der Puffer
+     */
+    private EndgameTablebase(ByteBuffer data) {
+        this.data = data;
+    }
+
+    /**
+     * Berechnet die Datenbank vollständig per Wertiteration.
+     *
+     * @return Die Datenbank
+     */
+    public static EndgameTablebase generate() {
+        FieldType[] types = new FieldType[GameLogic.FINAL_FIELD_POSITION];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = GameBoard.getPresetFieldType(i);
+        }
+
+        byte[] turns = new byte[LAYERS * POSITIONS * CARROTS];
+        Arrays.fill(turns, (byte) UNREACHABLE);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int layer = 0; layer < LAYERS; layer++) {
+                for (int position = FIRST_POSITION; position < GameLogic.FINAL_FIELD_POSITION;
+                     position++) {
+                    for (int carrots = 0; carrots < CARROTS; carrots++) {
+                        int idx = index(layer, position, carrots);
+                        int best = bestTurns(turns, types, layer, position, carrots);
+
+                        if (best < (turns[idx] & 0xFF)) {
+                            turns[idx] = (byte) best;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + turns.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(FIRST_POSITION).putInt(POSITIONS)
+                .putInt(CARROTS).putInt(LAYERS).put(turns).flip();
+
+        return new EndgameTablebase(buffer);
+    }
+
+    /**
+     * Ermittelt die kleinste Anzahl an Zügen bis ins Ziel anhand der bisher berechneten Einträge.
+     *
+     * @param turns    Bisher berechnete Einträge ohne Header
+     * @param types    Feldtypen des Spielbretts
+     * @param layer    Anzahl der Spieler im Ziel
+     * @param position Position des Spielers
+     * @param carrots  Karotten des Spielers
+     * @return Anzahl der Züge oder UNREACHABLE
+     */
+    private static int bestTurns(byte[] turns, FieldType[] types, int layer, int position,
+                                 int carrots) {
+        int price = GameBoard.calculatePrice(GameLogic.FINAL_FIELD_POSITION - position);
+
+        if (carrots >= price && carrots - price <= GameLogic.FINISH_MAX_CARROTS * (layer + 1)) {
+            return 1;
+        }
+
+        int best = UNREACHABLE;
+
+        // Auf einem Karottenfeld darf man stehen bleiben und Karotten aufnehmen oder abgeben
+        if (types[position] == FieldType.KAROTTE) {
+            best = Math.min(best, next(turns, layer, position, carrots + CARROTS_STEP));
+            best = Math.min(best, next(turns, layer, position, carrots - CARROTS_STEP));
+        }
+
+        for (int target = position + 1; target < GameLogic.FINAL_FIELD_POSITION; target++) {
+            int cost = GameBoard.calculatePrice(target - position);
+            FieldType type = types[target];
+
+            if (cost > carrots) {
+                break;
+            }
+
+            if (type != FieldType.IGEL && type != FieldType.SALAT && type != FieldType.HASE) {
+                best = Math.min(best, next(turns, layer, target, carrots - cost));
+            }
+        }
+
+        for (int target = position - 1; target >= FIRST_POSITION; target--) {
+            if (types[target] == FieldType.IGEL) {
+                int gain = CARROTS_STEP * (position - target);
+                best = Math.min(best, next(turns, layer, target, carrots + gain));
+                break;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Liefert die Anzahl der Züge über einen Folgezustand, inklusive des Zuges dorthin.
+     *
+     * @param turns    Bisher berechnete Einträge ohne Header
+     * @param layer    Anzahl der Spieler im Ziel
+     * @param position Position des Folgezustandes
+     * @param carrots  Karotten des Folgezustandes
+     * @return Anzahl der Züge oder UNREACHABLE
+     */
+    private static int next(byte[] turns, int layer, int position, int carrots) {
+        if (carrots < 0 || carrots > MAX_CARROTS) {
+            return UNREACHABLE;
+        }
+
+        int value = turns[index(layer, position, carrots)] & 0xFF;
+
+        return value == UNREACHABLE ? UNREACHABLE : Math.min(value + 1, UNREACHABLE - 1);
+    }
+
+    /**
+     * Berechnet den Index eines Eintrags ohne Header.
+     *
+     * @param layer    Anzahl der Spieler im Ziel
+     * @param position Position des Spielers
+     * @param carrots  Karotten des Spielers
+     * @return Der Index
+     */
+    private static int index(int layer, int position, int carrots) {
+        return (layer * POSITIONS + position - FIRST_POSITION) * CARROTS + carrots;
+    }
+
+    /**
+     * Lädt eine zuvor gespeicherte Datenbank per Memory-Mapping.
+     *
+     * @param file Die Datei
+     * @return Die Datenbank, oder null falls die Datei nicht gelesen werden konnte oder ungültig
+     * ist.
+     */
+    public static EndgameTablebase load(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.limit() != HEADER_BYTES + LAYERS * POSITIONS * CARROTS
+                    || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != FIRST_POSITION || buffer.getInt(12) != POSITIONS
+                    || buffer.getInt(16) != CARROTS || buffer.getInt(20) != LAYERS) {
+                Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                        "Invalid endgame tablebase file " + file.getName());
+                return null;
+            }
+
+            return new EndgameTablebase(buffer);
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not read endgame tablebase file " + file.getName());
+            return null;
+        }
+    }
+
+    /**
+     * Speichert die Datenbank in einer Datei.
+     *
+     * @param file Die Datei
+     * @return True, falls erfolgreich gespeichert.
+     */
+    public boolean write(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = data.duplicate().clear();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            return true;
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not write endgame tablebase file " + file.getName());
+            return false;
+        }
+    }
+
+    /**
+     * Liefert die kleinste Anzahl eigener Züge eines Spielers ohne Salate bis ins Ziel.
+     *
+     * @param onTarget Anzahl der Spieler im Ziel
+     * @param position Position des Spielers
+     * @param carrots  Karotten des Spielers
+     * @return Anzahl der Züge, UNREACHABLE oder UNKNOWN falls nicht in der Datenbank enthalten
+     */
+    public int probeTurns(int onTarget, int position, int carrots) {
+        if (onTarget < 0 || onTarget >= LAYERS || position < FIRST_POSITION
+                || position >= GameLogic.FINAL_FIELD_POSITION || carrots < 0
+                || carrots > MAX_CARROTS) {
+            return UNKNOWN;
+        }
+
+        return data.get(HEADER_BYTES + index(onTarget, position, carrots)) & 0xFF;
+    }
+
+    /**
+     * Ermittelt den Sieger eines gepackten Spielstandes, siehe probeWinner(GameLogic).
+     *
+     * @param state Der gepackte Spielstand
+     * @return Index des Siegers oder UNKNOWN
+     */
+    public int probeWinner(PackedGameState state) {
+        if (state.getOnTargetCount() > 0) {
+            return state.getOnTarget(0);
+        }
+
+        return probeRace(state.getParticipants(), state.getProtagonist(), state::getPlayer);
+    }
+
+    /**
+     * Ermittelt den Sieger eines Spiels als Wettrennen in Zugreihenfolge, beginnend beim
+     * aktuellen Spieler. Aussetzende Spieler benötigen einen Zug mehr. Ist bereits ein Spieler im
+     * Ziel, ist dieser der Sieger.
+     *
+     * @param game Das Spiel
+     * @return Index des Siegers oder UNKNOWN, falls ein Spieler nicht in der Datenbank enthalten
+     * ist oder niemand das Ziel erreichen kann.
+     */
+    public int probeWinner(GameLogic game) {
+        if (game.getOnTargetCount() > 0) {
+            return game.getOnTarget(0);
+        }
+
+        return probeRace(game.getParticipants(), game.getProtagonistID(), game::getPackedPlayer);
+    }
+
+    /**
+     * Ermittelt den Sieger eines Wettrennens der Spieler, solange noch niemand im Ziel ist.
+     *
+     * @param participants Anzahl der Spieler
+     * @param protagonist  Index des aktuellen Spielers
+     * @param players      Liefert den gepackten Spieler je Index
+     * @return Index des Siegers oder UNKNOWN
+     */
+    private int probeRace(int participants, int protagonist, IntToLongFunction players) {
+        int winner = UNKNOWN;
+        long winnerStep = Long.MAX_VALUE;
+
+        for (int i = 0; i < participants; i++) {
+            long player = players.applyAsLong(i);
+
+            if (PackedGameState.getSalads(player) > 0) {
+                return UNKNOWN;
+            }
+
+            int turns = probeTurns(0, PackedGameState.getPosition(player),
+                    PackedGameState.getCarrots(player));
+
+            if (turns == UNKNOWN) {
+                return UNKNOWN;
+            }
+
+            if (turns == UNREACHABLE) {
+                continue;
+            }
+
+            if (PackedGameState.isSuspended(player) || PackedGameState.eatsSalad(player)) {
+                turns++;
+            }
+
+            int order = (i - protagonist + participants) % participants;
+            long step = (long) (turns - 1) * participants + order;
+
+            if (step < winnerStep) {
+                winnerStep = step;
+                winner = i;
+            }
+        }
+
+        return winner;
+    }
+}
@@ -0,0 +1,65 @@
+package logic.ai;
+
+/**
+ * Merkmale der heuristischen Bewertung eines Spielers, siehe Evaluator. Die Ordinalzahl ist der
+ * Index des Merkmals in Merkmalsvektoren und Gewichten.
+ *
+ * @author github.com/batscs
+ */
+public enum EvaluationFeature {
+
+    /**
+     * Fortschritt auf dem Spielbrett, Position geteilt durch die Position des Ziels.
+     */
+    PROGRESS(640),
+
+    /**
+     * Abweichung der Karotten vom Bereich, mit dem das Ziel direkt betreten werden kann, in
+     * Hundert Karotten, nie positiv.
+     */
+    CARROT_BUDGET(40),
+
+    /**
+     * Anzahl der verbleibenden Salate.
+     */
+    SALADS(-40),
+
+    /**
+     * Anzahl der Igelfelder vor dem Spieler, auf welche später zurückgezogen werden kann.
+     */
+    IGEL_AHEAD(5),
+
+    /**
+     * Auszahlung des Nummernfeldes, auf welchem der Spieler steht, zur aktuellen Platzierung in
+     * Hundert Karotten.
+     */
+    NUMBER_PAYOUT(50),
+
+    /**
+     * Platzierung im Ziel, 1 für den ersten Spieler im Ziel und 0 für Spieler außerhalb.
+     */
+    ON_TARGET(10_000);
+
+    /**
+     * Attribut für das Standardgewicht des Merkmals.
+     */
+    private final double defaultWeight;
+
+    /**
+     * Konstruktor für ein Merkmal.
+     *
+     * @param defaultWeight Standardgewicht des Merkmals
+     */
+    EvaluationFeature(double defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Liefert das Standardgewicht des Merkmals.
+     *
+     * @return Das Standardgewicht
+     */
+    public double getDefaultWeight() {
+        return defaultWeight;
+    }
+}
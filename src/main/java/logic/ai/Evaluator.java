@@ -0,0 +1,222 @@
+package logic.ai;
+
+import logic.GameBoard;
+import logic.GameLogic;
+import logic.PackedGameState;
+import logic.data.NummerFlag;
+import logic.fields.FieldType;
+
+import java.util.Arrays;
+
+/**
+ * Heuristische Bewertung von Spielständen als gewichtete Summe von Merkmalen (siehe
+ * EvaluationFeature).
+ * <p>
+ * Bewertet werden gepackte Spielstände in primitiven Arrays im Aufbau von
+ * PackedGameState.toArray(), mehrere Spielstände können hintereinander in einem Array liegen.
+ * Alle Merkmale eines Spielers werden in einem Durchlauf über den Spielstand berechnet,
+ * Informationen über das Spielbrett stammen aus vorberechneten Tabellen. Instanzen verwenden
+ * interne Puffer und sind nicht threadsicher.
+ *
+ * @author github.com/batscs
+ */
+public class Evaluator {
+
+    /**
+     * Konstante für die Anzahl an Merkmalen.
+     */
+    public static final int FEATURES = EvaluationFeature.values().length;
+
+    /**
+     * Konstante für die Skalierung von Karotten in Merkmalen.
+     */
+    private static final double CARROT_SCALE = 100.0;
+
+    /**
+     * Anzahl der Igelfelder hinter jeder Position bis vor das Ziel.
+     */
+    private static final int[] IGEL_AHEAD = new int[GameLogic.FINAL_FIELD_POSITION + 1];
+
+    /**
+     * Bitmaske der Platzierungen (ab 1), für welche ein Nummernfeld je Position auszahlt.
+     */
+    private static final int[] PAYOUT_PLACES = new int[GameLogic.FINAL_FIELD_POSITION + 1];
+
+    static {
+        for (int position = GameLogic.FINAL_FIELD_POSITION - 1; position >= 0; position--) {
+            boolean igel = position + 1 < GameLogic.FINAL_FIELD_POSITION
+                    && GameBoard.getPresetFieldType(position + 1) == FieldType.IGEL;
+            IGEL_AHEAD[position] = IGEL_AHEAD[position + 1] + (igel ? 1 : 0);
+
+            NummerFlag flag = GameBoard.getPresetNummerFlag(position);
+            if (flag != null) {
+                for (int place : flag.getDesiredPlace()) {
+                    PAYOUT_PLACES[position] |= 1 << place;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gewicht je Merkmal, Index ist die Ordinalzahl des Merkmals.
+     */
+    private final double[] weights = new double[FEATURES];
+
+    /**
+     * Puffer für die Merkmale eines Spielers.
+     */
+    private final double[] features = new double[FEATURES];
+
+    /**
+     * Konstruktor mit den Standardgewichten der Merkmale.
+     */
+    public Evaluator() {
+        for (EvaluationFeature feature : EvaluationFeature.values()) {
+            weights[feature.ordinal()] = feature.getDefaultWeight();
+        }
+    }
+
+    /**
+     * Konstruktor mit eigenen Gewichten, z.B. aus einem Training.
+     *
+     * @param weights Gewicht je Merkmal, Index ist die Ordinalzahl des Merkmals
+     */
+    public Evaluator(double[] weights) {
+        if (weights.length != FEATURES) {
+            throw new IllegalArgumentException("Expected " + FEATURES + " weights");
+        }
+
+        System.arraycopy(weights, 0, this.weights, 0, FEATURES);
+    }
+
+    /**
+     * Legt das Gewicht eines Merkmals fest.
+     *
+     * @param feature Das Merkmal
+     * @param weight  Das Gewicht
+     */
+    public void setWeight(EvaluationFeature feature, double weight) {
+        weights[feature.ordinal()] = weight;
+    }
+
+    /**
+     * Liefert das Gewicht eines Merkmals.
+     *
+     * @param feature Das Merkmal
+     * @return Das Gewicht
+     */
+    public double getWeight(EvaluationFeature feature) {
+        return weights[feature.ordinal()];
+    }
+
+    /**
+     * Berechnet alle Merkmale eines Spielers in einem Durchlauf über den Spielstand.
+     *
+     * @param states Array mit gepackten Spielständen
+     * @param offset Index des Headers des Spielstandes
+     * @param player Index des Spielers
+     * @param out    Merkmale, mindestens FEATURES groß, Index ist die Ordinalzahl des Merkmals
+     */
+    public void features(long[] states, int offset, int player, double[] out) {
+        long header = states[offset];
+        int participants = PackedGameState.getParticipants(header);
+        int onTargetCount = PackedGameState.getOnTargetCount(header);
+
+        long packed = states[offset + 1 + player];
+        int position = PackedGameState.getPosition(packed);
+        int carrots = PackedGameState.getCarrots(packed);
+
+        // Platzierung wie im GameBoard: absteigend nach Position, bei Gleichstand kleinerer Index
+        int rank = 0;
+        for (int i = 0; i < participants; i++) {
+            int other = PackedGameState.getPosition(states[offset + 1 + i]);
+            if (other > position || other == position && i < player) {
+                rank++;
+            }
+        }
+
+        for (int place = 0; place < onTargetCount; place++) {
+            if (PackedGameState.getOnTarget(header, place) == player) {
+                Arrays.fill(out, 0, FEATURES, 0);
+                out[EvaluationFeature.PROGRESS.ordinal()] = 1;
+                out[EvaluationFeature.ON_TARGET.ordinal()] =
+                        (double) (participants - place) / participants;
+                return;
+            }
+        }
+
+        int price = GameBoard.calculatePrice(GameLogic.FINAL_FIELD_POSITION - position);
+        int allowed = GameLogic.FINISH_MAX_CARROTS * (onTargetCount + 1);
+        int deviation = Math.max(0, price - carrots) + Math.max(0, carrots - price - allowed);
+        int payout = (PAYOUT_PLACES[position] >>> (rank + 1) & 1) * (rank + 1) * 10;
+
+        out[EvaluationFeature.PROGRESS.ordinal()] =
+                (double) position / GameLogic.FINAL_FIELD_POSITION;
+        out[EvaluationFeature.CARROT_BUDGET.ordinal()] = -deviation / CARROT_SCALE;
+        out[EvaluationFeature.SALADS.ordinal()] = PackedGameState.getSalads(packed);
+        out[EvaluationFeature.IGEL_AHEAD.ordinal()] = IGEL_AHEAD[position];
+        out[EvaluationFeature.NUMBER_PAYOUT.ordinal()] = payout / CARROT_SCALE;
+        out[EvaluationFeature.ON_TARGET.ordinal()] = 0;
+    }
+
+    /**
+     * Bewertet einen Spieler in einem gepackten Spielstand.
+     *
+     * @param states Array mit gepackten Spielständen
+     * @param offset Index des Headers des Spielstandes
+     * @param player Index des Spielers
+     * @return Die Bewertung, höher ist besser
+     */
+    public double evaluate(long[] states, int offset, int player) {
+        features(states, offset, player, features);
+
+        double score = 0;
+        for (int i = 0; i < FEATURES; i++) {
+            score += weights[i] * features[i];
+        }
+
+        return score;
+    }
+
+    /**
+     * Bewertet einen Spieler in einem gepackten Spielstand.
+     *
+     * @param state  Der gepackte Spielstand
+     * @param player Index des Spielers
+     * @return Die Bewertung, höher ist besser
+     */
+    public double evaluate(PackedGameState state, int player) {
+        return evaluate(state.toArray(), 0, player);
+    }
+
+    /**
+     * Bewertet alle Spieler eines gepackten Spielstandes.
+     *
+     * @param states Array mit gepackten Spielständen
+     * @param offset Index des Headers des Spielstandes
+     * @param out    Bewertung je Spieler
+     */
+    public void evaluateAll(long[] states, int offset, double[] out) {
+        int participants = PackedGameState.getParticipants(states[offset]);
+
+        for (int i = 0; i < participants; i++) {
+            out[i] = evaluate(states, offset, i);
+        }
+    }
+
+    /**
+     * Bewertet einen Spieler in vielen hintereinander liegenden Spielständen gleicher Größe, z.B.
+     * zum Erzeugen von Trainingsdaten.
+     *
+     * @param states Array mit gepackten Spielständen
+     * @param stride Abstand zweier Spielstände im Array, mindestens Spieleranzahl + 1
+     * @param count  Anzahl der Spielstände
+     * @param player Index des Spielers
+     * @param out    Bewertung je Spielstand
+     */
+    public void evaluateBatch(long[] states, int stride, int count, int player, double[] out) {
+        for (int i = 0, offset = 0; i < count; i++, offset += stride) {
+            out[i] = evaluate(states, offset, player);
+        }
+    }
+}
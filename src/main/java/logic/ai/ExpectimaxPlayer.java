@@ -0,0 +1,488 @@
+package logic.ai;
+
+import logic.GameLogic;
+import logic.HeadlessGame;
+import logic.Player;
+import logic.data.CardDeck;
+import logic.data.HaseUndIgelException;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.fields.FieldType;
+import logic.simulation.DecisionPolicy;
+
+import java.util.Arrays;
+
+/**
+ * Computergegner, welcher den Spielbaum per Expectimax durchsucht. Jeder Spieler maximiert dabei
+ * seine eigene Bewertung (max-n). Landet ein Spielzug auf einem Hasenfeld, entsteht ein
+ * Zufallsknoten, dessen Ausgänge anhand der im aktuellen Durchlauf verbleibenden Karten des
+ * Kartendecks gewichtet werden.
+ * <p>
+ * Die Suche erfolgt per iterativer Vertiefung auf einer Kopie des Spiels, bis das Zeitbudget
+ * aufgebraucht ist. Verwendet wird das Ergebnis der tiefsten vollständig durchsuchten Tiefe.
+ * Bereits bewertete Spielstände, z.B. nach Rückzügen auf ein Igelfeld, werden über eine
+ * Transpositionstabelle wiederverwendet.
+ * Instanzen sind nicht threadsicher, je Thread wird eine eigene Instanz benötigt.
+ *
+ * @author github.com/batscs
+ */
+public class ExpectimaxPlayer implements DecisionPolicy {
+
+    /**
+     * Standardwert für das Zeitbudget je Entscheidung in Millisekunden.
+     */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+    /**
+     * Standardwert für die maximale Suchtiefe in Entscheidungen.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * Anzahl an Knoten zwischen zwei Überprüfungen des Zeitbudgets.
+     */
+    private static final int NODES_PER_TIME_CHECK = 256;
+
+    /**
+     * Attribut für das Zeitbudget je Entscheidung in Nanosekunden.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Attribut für die maximale Suchtiefe.
+     */
+    private final int maxDepth;
+
+    /**
+     * Attribut für den maximalen Speicherbedarf der Transpositionstabelle, 0 ohne Tabelle.
+     */
+    private final long tableBytes;
+
+    /**
+     * Transpositionstabelle mit einer Bewertung je Spieler, bleibt zwischen Suchen erhalten.
+     */
+    private TranspositionTable table;
+
+    /**
+     * Attribut für die heuristische Bewertung von Blattknoten.
+     */
+    private Evaluator evaluator = new Evaluator();
+
+    /**
+     * Endspieldatenbank zur Bewertung von Blattknoten, null falls ohne Datenbank gesucht wird.
+     */
+    private EndgameTablebase tablebase;
+
+    /**
+     * Kopie des Spiels, auf welcher während einer Suche Züge ausgeführt werden.
+     */
+    private HeadlessGame search;
+
+    /**
+     * Spiellogik der Kopie.
+     */
+    private GameLogic state;
+
+    /**
+     * Puffer je Suchebene für Zuglisten, Bewertungen und Kartenzusammensetzungen.
+     */
+    private int[][] moves;
+    private double[][] childValues;
+    private double[][] chanceValues;
+    private int[][] cardCounts;
+
+    /**
+     * Puffer für die unbearbeiteten Bewertungen der Spieler.
+     */
+    private double[] scores;
+
+    /**
+     * Puffer für den gepackten Spielstand eines Blattknotens.
+     */
+    private long[] packed;
+
+    /**
+     * Zeitpunkt, an dem die Suche abgebrochen wird, in Nanosekunden.
+     */
+    private long deadline;
+
+    /**
+     * Attribut, ob die aktuelle Suchtiefe wegen des Zeitbudgets abgebrochen wurde.
+     */
+    private boolean aborted;
+
+    /**
+     * Anzahl der besuchten Knoten der letzten Suche.
+     */
+    private long nodes;
+
+    /**
+     * Tiefste vollständig durchsuchte Tiefe der letzten Suche.
+     */
+    private int completedDepth;
+
+    /**
+     * Konstruktor mit Standardwerten für Zeitbudget und Suchtiefe.
+     */
+    public ExpectimaxPlayer() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Konstruktor für einen Computergegner.
+     *
+     * @param timeBudgetMillis Zeitbudget je Entscheidung in Millisekunden
+     * @param maxDepth         Maximale Suchtiefe in Entscheidungen
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis, int maxDepth) {
+        this(timeBudgetMillis, maxDepth, TranspositionTable.DEFAULT_MEMORY_BYTES);
+    }
+
+    /**
+     * Konstruktor für einen Computergegner mit begrenztem Speicher der Transpositionstabelle.
+     *
+     * @param timeBudgetMillis Zeitbudget je Entscheidung in Millisekunden
+     * @param maxDepth         Maximale Suchtiefe in Entscheidungen
+     * @param tableBytes       Maximaler Speicherbedarf der Transpositionstabelle in Byte, 0 ohne
+     *                         Tabelle
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis, int maxDepth, long tableBytes) {
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+        this.tableBytes = tableBytes;
+    }
+
+    /**
+     * Sucht die beste Entscheidung des aktuellen Spielers. Das übergebene Spiel wird nicht
+     * verändert.
+     *
+     * @param game Das laufende Spiel
+     * @return Die beste Entscheidung als kodierter Zug (siehe Move)
+     * @throws HaseUndIgelException falls keine Entscheidung möglich ist
+     */
+    public int findBestMove(GameLogic game) {
+        prepare(game);
+
+        int[] rootMoves = moves[0];
+        int count = state.generateMoves(rootMoves);
+
+        if (count == 0) {
+            throw new HaseUndIgelException("No legal moves to search");
+        }
+
+        int best = rootMoves[0];
+
+        for (int depth = 1; depth <= maxDepth && count > 1 && !aborted; depth++) {
+            int candidate = searchRoot(depth, count);
+
+            if (!aborted) {
+                best = candidate;
+                completedDepth = depth;
+            }
+        }
+
+        search = null;
+        state = null;
+
+        return best;
+    }
+
+    /**
+     * Liefert die tiefste vollständig durchsuchte Tiefe der letzten Suche.
+     *
+     * @return Die Suchtiefe
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Legt die Endspieldatenbank fest, welche Blattknoten im letzten Abschnitt des Spielbretts
+     * bewertet.
+     *
+     * @param tablebase Die Datenbank oder null, um ohne Datenbank zu suchen
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Legt die heuristische Bewertung von Blattknoten fest, z.B. mit trainierten Gewichten.
+     *
+     * @param evaluator Die Bewertung, wird nur von dieser Instanz verwendet
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Liefert die Transpositionstabelle.
+     *
+     * @return Die Tabelle oder null, falls ohne Tabelle gesucht wird bzw. noch keine Suche
+     * stattfand.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Liefert die Anzahl der besuchten Knoten der letzten Suche.
+     *
+     * @return Anzahl der Knoten
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Bereitet eine neue Suche vor: Kopie des Spiels und Puffer je Suchebene.
+     *
+     * @param game Das laufende Spiel
+     */
+    private void prepare(GameLogic game) {
+        search = new HeadlessGame(null, game);
+        state = search.getGame();
+
+        int participants = state.getParticipants();
+        int plies = maxDepth + 1;
+
+        if (scores == null || scores.length != participants || moves.length != plies) {
+            moves = new int[plies][Move.MAX_MOVES];
+            childValues = new double[plies][participants];
+            chanceValues = new double[plies][participants];
+            cardCounts = new int[plies][CardDeck.CARD_TYPES];
+            scores = new double[participants];
+            packed = new long[participants + 1];
+        }
+
+        if (tableBytes > 0 && (table == null || table.getValuesPerEntry() != participants)) {
+            table = new TranspositionTable(tableBytes, participants);
+        }
+
+        if (table != null) {
+            table.newSearch();
+        }
+
+        deadline = System.nanoTime() + timeBudgetNanos;
+        aborted = false;
+        nodes = 0;
+        completedDepth = 0;
+    }
+
+    /**
+     * Durchsucht alle Entscheidungen an der Wurzel bis zu einer Tiefe.
+     *
+     * @param depth Die Suchtiefe
+     * @param count Anzahl der Entscheidungen an der Wurzel
+     * @return Die beste Entscheidung
+     */
+    private int searchRoot(int depth, int count) {
+        int[] rootMoves = moves[0];
+        double[] child = childValues[0];
+        int mover = state.getProtagonistID();
+
+        int best = rootMoves[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < count && !aborted; i++) {
+            moveValue(rootMoves[i], depth, 0, child);
+
+            if (child[mover] > bestValue) {
+                bestValue = child[mover];
+                best = rootMoves[i];
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Bewertet den aktuellen Zustand der Kopie, der Spieler am Zug wählt seine beste Entscheidung.
+     *
+     * @param depth Verbleibende Suchtiefe
+     * @param ply   Aktuelle Suchebene
+     * @param out   Bewertung je Spieler
+     */
+    private void nodeValue(int depth, int ply, double[] out) {
+        nodes++;
+
+        // Ein unterbrochener Thread bricht wie bei abgelaufener Zeit ab, z.B. beim Vorausdenken
+        if (nodes % NODES_PER_TIME_CHECK == 0
+                && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+
+        if (aborted) {
+            return;
+        }
+
+        int[] list = moves[ply];
+        int count = depth == 0 ? 0 : state.generateMoves(list);
+
+        if (count == 0) {
+            evaluate(out);
+            return;
+        }
+
+        long key = 0L;
+
+        if (table != null) {
+            key = state.getSearchKey();
+            int slot = table.probe(key);
+
+            if (slot >= 0 && table.getDepth(slot) >= depth
+                    && table.getBound(slot) == TranspositionTable.EXACT) {
+                table.getValues(slot, out);
+                return;
+            }
+        }
+
+        int mover = state.getProtagonistID();
+        double[] child = childValues[ply];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        int bestMove = list[0];
+
+        for (int i = 0; i < count && !aborted; i++) {
+            moveValue(list[i], depth, ply, child);
+
+            if (child[mover] > bestValue) {
+                bestValue = child[mover];
+                bestMove = list[i];
+                System.arraycopy(child, 0, out, 0, out.length);
+            }
+        }
+
+        // Abgebrochene Teilbäume sind unvollständig bewertet und werden nicht gespeichert
+        if (table != null && !aborted) {
+            table.store(key, depth, bestMove, TranspositionTable.EXACT, out);
+        }
+    }
+
+    /**
+     * Bewertet eine Entscheidung, bei Zügen auf ein Hasenfeld über einen Zufallsknoten.
+     *
+     * @param move  Die Entscheidung als kodierter Zug
+     * @param depth Verbleibende Suchtiefe
+     * @param ply   Aktuelle Suchebene
+     * @param out   Bewertung je Spieler
+     */
+    private void moveValue(int move, int depth, int ply, double[] out) {
+        if (isChanceMove(move)) {
+            chanceValue(move, depth, ply, out);
+            return;
+        }
+
+        search.make(move);
+        nodeValue(depth - 1, ply + 1, out);
+        search.unmake();
+    }
+
+    /**
+     * Bewertet einen Zug auf ein Hasenfeld als gewichteten Durchschnitt über alle Karten, welche
+     * im aktuellen Durchlauf des Kartendecks noch gezogen werden können.
+     *
+     * @param move  Der Zug als kodierter Zug
+     * @param depth Verbleibende Suchtiefe
+     * @param ply   Aktuelle Suchebene
+     * @param out   Bewertung je Spieler
+     */
+    private void chanceValue(int move, int depth, int ply, double[] out) {
+        CardDeck deck = state.getCardDeck();
+        int[] counts = cardCounts[ply];
+        double[] outcome = chanceValues[ply];
+
+        int total = deck.getRemainingComposition(counts);
+        long saved = deck.saveState();
+
+        Arrays.fill(out, 0);
+
+        for (int card = 0; card < counts.length && !aborted; card++) {
+            if (counts[card] == 0) {
+                continue;
+            }
+
+            deck.moveToTop(CardDeck.getCard(card));
+            search.make(move);
+            nodeValue(depth - 1, ply + 1, outcome);
+            search.unmake();
+            deck.restoreState(saved);
+
+            double probability = (double) counts[card] / total;
+            for (int i = 0; i < out.length; i++) {
+                out[i] += probability * outcome[i];
+            }
+        }
+    }
+
+    /**
+     * Ermittelt, ob eine Entscheidung eine zufällige Karte vom Kartendeck zieht. Nachdem das
+     * Kartendeck einmal vollständig gezogen wurde, ist die Reihenfolge bekannt und der Zug wird
+     * deterministisch bewertet.
+     *
+     * @param move Die Entscheidung als kodierter Zug
+     * @return True, falls Zug auf ein Hasenfeld mit unbekannter Karte
+     */
+    private boolean isChanceMove(int move) {
+        return !state.getCardDeck().isCycled()
+                && Move.isDestination(move)
+                && Move.getDestination(move) < GameLogic.FINAL_FIELD_POSITION
+                && state.getFieldType(Move.getDestination(move)) == FieldType.HASE;
+    }
+
+    /**
+     * Bewertet einen Blattknoten: Bewertung je Spieler abzüglich der besten Bewertung der
+     * anderen Spieler.
+     *
+     * @param out Bewertung je Spieler
+     */
+    private void evaluate(double[] out) {
+        int winner = tablebase == null ? EndgameTablebase.UNKNOWN : tablebase.probeWinner(state);
+
+        state.copyPackedState(packed, 0);
+        evaluator.evaluateAll(packed, 0, scores);
+
+        if (winner != EndgameTablebase.UNKNOWN && state.getOnTargetCount() == 0) {
+            // Ein Sieg laut Endspieldatenbank zählt weniger als ein bereits erreichtes Ziel
+            scores[winner] = evaluator.getWeight(EvaluationFeature.ON_TARGET) / 2;
+        }
+
+        for (int i = 0; i < scores.length; i++) {
+            double bestOther = Double.NEGATIVE_INFINITY;
+
+            for (int j = 0; j < scores.length; j++) {
+                if (j != i && scores[j] > bestOther) {
+                    bestOther = scores[j];
+                }
+            }
+
+            out[i] = scores[i] - bestOther;
+        }
+    }
+
+    @Override
+    public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+        int move = findBestMove(game);
+
+        return Move.isDestination(move) ? Move.getDestination(move) : destinations[0];
+    }
+
+    @Override
+    public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+        int move = findBestMove(game);
+
+        if (Move.isCarrotsChoice(move)) {
+            for (KarotteChoice option : options) {
+                if (option == Move.getCarrotsChoice(move)) {
+                    return option;
+                }
+            }
+        }
+
+        return options[0];
+    }
+
+    @Override
+    public boolean confirmMoveAgain(GameLogic game, Player self) {
+        return Move.isMoveAgainConfirmed(findBestMove(game));
+    }
+}
@@ -0,0 +1,621 @@
+package logic.ai;
+
+import logic.GameData;
+import logic.GameLogic;
+import logic.HeadlessGame;
+import logic.PackedGameState;
+import logic.Player;
+import logic.data.CardDeck;
+import logic.data.HaseUndIgelException;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.fields.FieldType;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Computergegner und Analysewerkzeug auf Basis einer Monte-Carlo-Baumsuche (UCT, max-n).
+ * <p>
+ * Die Suche ist wurzelparallel: Jeder Thread durchsucht einen eigenen Baum auf einer eigenen
+ * Kopie des Spiels, daher teilen sich Threads keinen veränderlichen Zustand und es werden keine
+ * Sperren benötigt. Nach Ablauf des Zeitbudgets werden die Statistiken der Wurzeln addiert.
+ * <p>
+ * Züge und Playouts laufen über make/unmake der Spiellogik ohne Darstellung. Die den Spielern
+ * unbekannte Reihenfolge der restlichen Hasenkarten wird je Iteration neu gemischt, Züge auf ein
+ * Hasenfeld verzweigen im Baum anhand der gezogenen Karte.
+ *
+ * @author github.com/batscs
+ */
+public class MctsPlayer implements DecisionPolicy {
+
+    /**
+     * Standardwert für das Zeitbudget je Entscheidung in Millisekunden.
+     */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+
+    /**
+     * Standardwert für die maximale Anzahl an Knoten je Baum, die Bäume belegen damit je nach
+     * Anzahl der Spieler wenige MB.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 1 << 17;
+
+    /**
+     * Standardwert für die maximale Anzahl an Entscheidungen je Playout.
+     */
+    public static final int DEFAULT_MAX_PLAYOUT_DECISIONS = 400;
+
+    /**
+     * Gewichtung der Exploration in der UCT-Formel, Bewertungen liegen zwischen 0 und 1.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * Index des Wurzelknotens.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * Attribut für den Pool, auf dem die Bäume durchsucht werden.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Attribut für das Zeitbudget je Entscheidung in Nanosekunden.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Attribut für die maximale Anzahl an Playouts je Entscheidung über alle Bäume.
+     */
+    private final long maxPlayouts;
+
+    /**
+     * Attribut zum Erzeugen der Entscheidungsstrategie für Playouts, eine je Baum.
+     */
+    private final Supplier<DecisionPolicy> playoutPolicy;
+
+    /**
+     * Attribut für die maximale Anzahl an Knoten je Baum.
+     */
+    private final int nodeCapacity;
+
+    /**
+     * Attribut für die Suchbäume, einer je Thread des Pools. Werden bei der ersten Suche
+     * angelegt und danach für jede Suche wiederverwendet.
+     */
+    private SearchTree[] trees;
+
+    /**
+     * Attribut für den Startwert der Zufallsgeneratoren der nächsten Suche.
+     */
+    private long seed;
+
+    /**
+     * Konstruktor mit Standardwerten auf dem gemeinsamen ForkJoinPool, Playouts mit GreedyPolicy.
+     */
+    public MctsPlayer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TIME_BUDGET_MILLIS, Long.MAX_VALUE,
+                GreedyPolicy::new);
+    }
+
+    /**
+     * Konstruktor für einen Computergegner.
+     *
+     * @param pool             Pool, dessen Parallelität die Anzahl der Bäume festlegt
+     * @param timeBudgetMillis Zeitbudget je Entscheidung in Millisekunden
+     * @param maxPlayouts      Maximale Anzahl an Playouts je Entscheidung über alle Bäume
+     * @param playoutPolicy    Erzeugt die Entscheidungsstrategie für Playouts, muss threadsicher
+     *                         sein
+     */
+    public MctsPlayer(ForkJoinPool pool, long timeBudgetMillis, long maxPlayouts,
+                      Supplier<DecisionPolicy> playoutPolicy) {
+        this(pool, timeBudgetMillis, maxPlayouts, playoutPolicy, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Konstruktor für einen Computergegner mit begrenzter Größe der Suchbäume.
+     *
+     * @param pool             Pool, dessen Parallelität die Anzahl der Bäume festlegt
+     * @param timeBudgetMillis Zeitbudget je Entscheidung in Millisekunden
+     * @param maxPlayouts      Maximale Anzahl an Playouts je Entscheidung über alle Bäume
+     * @param playoutPolicy    Erzeugt die Entscheidungsstrategie für Playouts, muss threadsicher
+     *                         sein
+     * @param nodeCapacity     Maximale Anzahl an Knoten je Baum, ist ein Baum voll, wird er
+     *                         nicht weiter expandiert
+     */
+    public MctsPlayer(ForkJoinPool pool, long timeBudgetMillis, long maxPlayouts,
+                      Supplier<DecisionPolicy> playoutPolicy, int nodeCapacity) {
+        if (nodeCapacity <= Move.MAX_MOVES) {
+            throw new IllegalArgumentException("Node capacity must hold the root and its children");
+        }
+
+        this.pool = pool;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxPlayouts = maxPlayouts;
+        this.playoutPolicy = playoutPolicy;
+        this.nodeCapacity = nodeCapacity;
+        this.seed = System.nanoTime();
+    }
+
+    /**
+     * Legt den Startwert der Zufallsgeneratoren fest, z.B. für reproduzierbare Analysen.
+     *
+     * @param seed Startwert
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Analysiert einen gespeicherten Spielstand.
+     *
+     * @param config Der Spielstand
+     * @return Das Suchergebnis
+     */
+    public MctsResult analyze(GameData config) {
+        return search(new HeadlessGame(null, config).getGame());
+    }
+
+    /**
+     * Durchsucht die anstehende Entscheidung des aktuellen Spielers. Das übergebene Spiel wird
+     * nicht verändert. Da die Suchbäume wiederverwendet werden, laufen gleichzeitige Suchen
+     * desselben Computergegners nacheinander.
+     *
+     * @param game Das laufende Spiel
+     * @return Das Suchergebnis
+     * @throws HaseUndIgelException falls keine Entscheidung möglich ist
+     */
+    public synchronized MctsResult search(GameLogic game) {
+        long start = System.nanoTime();
+
+        if (trees == null) {
+            trees = new SearchTree[Math.max(1, pool.getParallelism())];
+            for (int i = 0; i < trees.length; i++) {
+                trees[i] = new SearchTree(nodeCapacity);
+            }
+        }
+
+        long playoutsPerTree = Math.max(1, (maxPlayouts - 1) / trees.length + 1);
+
+        // Kopien werden vorab im aufrufenden Thread erstellt, das Spiel wird nur gelesen
+        for (SearchTree tree : trees) {
+            tree.reset(game, start + timeBudgetNanos, playoutsPerTree, seed++);
+        }
+
+        pool.invoke(new RootTask(trees));
+
+        long elapsed = System.nanoTime() - start;
+        SearchTree first = trees[0];
+        int moveCount = first.childCount[ROOT];
+
+        int[] moves = new int[moveCount];
+        long[] visits = new long[moveCount];
+        double[] values = new double[moveCount];
+        long playouts = 0;
+
+        for (int i = 0; i < moveCount; i++) {
+            moves[i] = first.move[first.firstChild[ROOT] + i];
+        }
+
+        for (SearchTree tree : trees) {
+            for (int i = 0; i < moveCount; i++) {
+                int child = tree.firstChild[ROOT] + i;
+                visits[i] += tree.visits[child];
+                values[i] += tree.values[child * tree.participants + tree.rootMover];
+            }
+            playouts += tree.playouts;
+        }
+
+        return new MctsResult(moves, visits, values, playouts, elapsed);
+    }
+
+    @Override
+    public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+        int move = search(game).getBestMove();
+
+        return Move.isDestination(move) ? Move.getDestination(move) : destinations[0];
+    }
+
+    @Override
+    public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+        int move = search(game).getBestMove();
+
+        if (Move.isCarrotsChoice(move)) {
+            for (KarotteChoice option : options) {
+                if (option == Move.getCarrotsChoice(move)) {
+                    return option;
+                }
+            }
+        }
+
+        return options[0];
+    }
+
+    @Override
+    public boolean confirmMoveAgain(GameLogic game, Player self) {
+        return Move.isMoveAgainConfirmed(search(game).getBestMove());
+    }
+
+    /**
+     * Teilauftrag, welcher alle Bäume parallel durchsucht.
+     */
+    private static class RootTask extends RecursiveAction {
+
+        /**
+         * Die zu durchsuchenden Bäume.
+         */
+        private final SearchTree[] trees;
+
+        /**
+         * Konstruktor für den Teilauftrag.
+         *
+         * @param trees Die zu durchsuchenden Bäume
+         */
+        RootTask(SearchTree[] trees) {
+            this.trees = trees;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(trees);
+        }
+    }
+
+    /**
+     * Suchbaum eines Threads. Knoten werden in primitiven Arrays gehalten, die Kinder eines Knotens
+     * liegen zusammenhängend ab firstChild. Kinder eines Zufallsknotens sind nach der Ordinalzahl
+     * der gezogenen Karte angeordnet. Die Arrays werden nur einmal angelegt, vor jeder Suche wird
+     * lediglich die Anzahl der belegten Knoten zurückgesetzt.
+     */
+    private class SearchTree extends RecursiveAction {
+
+        /**
+         * Kopie des Spiels, auf welcher Züge und Playouts ausgeführt werden.
+         */
+        private HeadlessGame search;
+
+        /**
+         * Spiellogik der Kopie.
+         */
+        private GameLogic state;
+
+        /**
+         * Zeitpunkt, an dem die Suche endet, in Nanosekunden.
+         */
+        private long deadline;
+
+        /**
+         * Maximale Anzahl an Playouts dieses Baums.
+         */
+        private long maxTreePlayouts;
+
+        /**
+         * Zufallsgenerator für die Reihenfolge der Hasenkarten.
+         */
+        private SplittableRandom random;
+
+        /**
+         * Anzahl der Spieler und Index des Spielers am Zug an der Wurzel.
+         */
+        private int participants;
+        private int rootMover;
+
+        /**
+         * Knotendaten: Zug zum Knoten, erstes Kind (-1 falls nicht expandiert), Anzahl der Kinder,
+         * ob der Zug eine Karte zieht, Besuche und summierte Bewertung je Spieler.
+         */
+        private final int[] move;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final boolean[] chance;
+        private final long[] visits;
+        private double[] values = new double[0];
+
+        /**
+         * Anzahl der belegten Knoten.
+         */
+        private int size;
+
+        /**
+         * Puffer für den Pfad einer Iteration, Zuglisten und Kartenzusammensetzungen.
+         */
+        private int[] path = new int[256];
+        private final int[] moves = new int[Move.MAX_MOVES];
+        private final int[] cards = new int[CardDeck.CARD_TYPES];
+        private final double[] reward = new double[GameData.GAME_MAX_PLAYERS];
+
+        /**
+         * Anzahl der durchgeführten Playouts.
+         */
+        private long playouts;
+
+        /**
+         * Konstruktor für einen leeren Suchbaum, vor der Suche muss reset() aufgerufen werden.
+         *
+         * @param capacity Maximale Anzahl an Knoten
+         */
+        SearchTree(int capacity) {
+            this.move = new int[capacity];
+            this.firstChild = new int[capacity];
+            this.childCount = new int[capacity];
+            this.chance = new boolean[capacity];
+            this.visits = new long[capacity];
+        }
+
+        /**
+         * Bereitet den Baum auf eine neue Suche vor, die Arrays der Knoten werden weiterverwendet.
+         *
+         * @param game            Das zu kopierende Spiel
+         * @param deadline        Zeitpunkt, an dem die Suche endet, in Nanosekunden
+         * @param maxTreePlayouts Maximale Anzahl an Playouts
+         * @param seed            Startwert des Zufallsgenerators
+         */
+        void reset(GameLogic game, long deadline, long maxTreePlayouts, long seed) {
+            DecisionPolicy[] policies = new DecisionPolicy[game.getParticipants()];
+            Arrays.fill(policies, playoutPolicy.get());
+
+            reinitialize();
+
+            this.search = new HeadlessGame(policies, game);
+            this.state = search.getGame();
+            this.deadline = deadline;
+            this.maxTreePlayouts = maxTreePlayouts;
+            this.random = new SplittableRandom(seed);
+            this.participants = state.getParticipants();
+            this.rootMover = state.getProtagonistID();
+
+            // Bewertungen je Spieler, nur bei mehr Spielern als bisher neu angelegt
+            if (values.length < move.length * participants) {
+                values = new double[move.length * participants];
+            }
+
+            clear(ROOT);
+            size = 1;
+            playouts = 0;
+
+            if (state.isGameFinished() || !expand(ROOT)) {
+                throw new HaseUndIgelException("No legal moves to search");
+            }
+        }
+
+        /**
+         * Setzt einen Knoten auf einen nicht expandierten, unbesuchten Knoten zurück.
+         *
+         * @param node Der Knoten
+         */
+        private void clear(int node) {
+            firstChild[node] = -1;
+            childCount[node] = 0;
+            chance[node] = false;
+            visits[node] = 0;
+            Arrays.fill(values, node * participants, (node + 1) * participants, 0);
+        }
+
+        @Override
+        protected void compute() {
+            while (playouts < maxTreePlayouts && System.nanoTime() < deadline) {
+                iterate();
+            }
+        }
+
+        /**
+         * Führt eine Iteration durch: Auswahl bis zu einem Blatt, Expansion, Playout und
+         * Rückführung der Bewertung. Danach ist die Kopie wieder im Ausgangszustand.
+         */
+        private void iterate() {
+            CardDeck deck = state.getCardDeck();
+            long savedDeck = deck.saveState();
+
+            // Nach einem vollständigen Durchlauf ist die Reihenfolge der Karten bekannt
+            if (!deck.isCycled()) {
+                deck.shuffleRemaining(random);
+            }
+
+            int made = 0;
+            int length = 0;
+            int node = ROOT;
+            path[length++] = node;
+
+            while (!state.isGameFinished()) {
+                if (firstChild[node] < 0 && (visits[node] == 0 || !expand(node))) {
+                    break;
+                }
+
+                int child = select(node);
+                int card = deck.peek().ordinal();
+                int cursor = deck.getCursor();
+
+                search.make(move[child]);
+                made++;
+                node = child;
+
+                if (chance[child]) {
+                    length = push(length, node);
+
+                    // Mehrere gezogene Karten in einem Zug werden nicht im Baum abgebildet
+                    int drawn = Math.floorMod(deck.getCursor() - cursor, deck.getSize());
+                    if (drawn > 1 || firstChild[node] < 0 && !expandChance(node)) {
+                        break;
+                    }
+
+                    node = firstChild[node] + card;
+                }
+
+                length = push(length, node);
+            }
+
+            for (int i = 0; i < DEFAULT_MAX_PLAYOUT_DECISIONS && search.makeStep(); i++) {
+                made++;
+            }
+
+            score();
+
+            for (int i = 0; i < length; i++) {
+                int n = path[i];
+                visits[n]++;
+
+                for (int p = 0; p < participants; p++) {
+                    values[n * participants + p] += reward[p];
+                }
+            }
+
+            while (made-- > 0) {
+                search.unmake();
+            }
+
+            deck.restoreState(savedDeck);
+            playouts++;
+        }
+
+        /**
+         * Hängt einen Knoten an den Pfad an und vergrößert diesen bei Bedarf.
+         *
+         * @param length Aktuelle Länge des Pfades
+         * @param node   Der Knoten
+         * @return Neue Länge des Pfades
+         */
+        private int push(int length, int node) {
+            if (length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+            }
+
+            path[length] = node;
+
+            return length + 1;
+        }
+
+        /**
+         * Wählt das Kind mit der höchsten UCT-Bewertung aus Sicht des Spielers am Zug, unbesuchte
+         * Kinder zuerst.
+         *
+         * @param node Der Knoten
+         * @return Das gewählte Kind
+         */
+        private int select(int node) {
+            int mover = state.getProtagonistID();
+            double logVisits = Math.log(visits[node]);
+
+            int best = firstChild[node];
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int child = best, end = best + childCount[node]; child < end; child++) {
+                if (visits[child] == 0) {
+                    return child;
+                }
+
+                double value = values[child * participants + mover] / visits[child]
+                        + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * Legt die Kinder eines Knotens anhand des Zuggenerators an. Züge auf ein Hasenfeld werden
+         * nur zu Zufallsknoten, solange die nächste Karte nicht bekannt ist.
+         *
+         * @param node Der Knoten
+         * @return False, falls keine Entscheidung möglich ist oder der Baum voll ist.
+         */
+        private boolean expand(int node) {
+            int count = state.generateMoves(moves);
+            boolean known = state.getCardDeck().isCycled();
+
+            if (count == 0 || !allocate(node, count)) {
+                return false;
+            }
+
+            for (int i = 0; i < count; i++) {
+                int child = firstChild[node] + i;
+                int destination = Move.getDestination(moves[i]);
+
+                move[child] = moves[i];
+                chance[child] = !known && Move.isDestination(moves[i])
+                        && destination < GameLogic.FINAL_FIELD_POSITION
+                        && state.getFieldType(destination) == FieldType.HASE;
+            }
+
+            return true;
+        }
+
+        /**
+         * Legt die Kinder eines Zufallsknotens an, eines je Karte.
+         *
+         * @param node Der Zufallsknoten
+         * @return False, falls der Baum voll ist.
+         */
+        private boolean expandChance(int node) {
+            if (!allocate(node, cards.length)) {
+                return false;
+            }
+
+            for (int i = 0; i < cards.length; i++) {
+                move[firstChild[node] + i] = i;
+            }
+
+            return true;
+        }
+
+        /**
+         * Reserviert zusammenhängende Knoten für die Kinder eines Knotens.
+         *
+         * @param node  Der Knoten
+         * @param count Anzahl der Kinder
+         * @return False, falls der Baum voll ist.
+         */
+        private boolean allocate(int node, int count) {
+            if (size + count > move.length) {
+                return false;
+            }
+
+            firstChild[node] = size;
+            childCount[node] = count;
+
+            for (int child = size; child < size + count; child++) {
+                clear(child);
+            }
+
+            size += count;
+
+            return true;
+        }
+
+        /**
+         * Bewertet das Ende eines Playouts: Der erste Spieler im Ziel erhält 1, bei abgebrochenen
+         * Playouts der Spieler mit der höchsten Position.
+         */
+        private void score() {
+            Arrays.fill(reward, 0, participants, 0);
+
+            if (state.getOnTargetCount() > 0) {
+                reward[state.getOnTarget(0)] = 1;
+                return;
+            }
+
+            int leader = 0;
+            int leaderPosition = -1;
+
+            for (int i = 0; i < participants; i++) {
+                int position = PackedGameState.getPosition(state.getPackedPlayer(i));
+
+                if (position > leaderPosition) {
+                    leaderPosition = position;
+                    leader = i;
+                }
+            }
+
+            reward[leader] = 1;
+        }
+    }
+}
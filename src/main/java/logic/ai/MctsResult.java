@@ -0,0 +1,142 @@
+package logic.ai;
+
+import logic.data.Move;
+
+/**
+ * Ergebnis einer Monte-Carlo-Baumsuche: Statistik je Entscheidung an der Wurzel sowie Kennzahlen
+ * der Suche. Kann sowohl zum Ziehen als auch zur Analyse eines Spielstands verwendet werden.
+ *
+ * @author github.com/batscs
+ */
+public class MctsResult {
+
+    /**
+     * Attribut für die Entscheidungen an der Wurzel als kodierte Züge.
+     */
+    private final int[] moves;
+
+    /**
+     * Attribut für die Anzahl der Besuche je Entscheidung.
+     */
+    private final long[] visits;
+
+    /**
+     * Attribut für die summierte Bewertung des Spielers am Zug je Entscheidung.
+     */
+    private final double[] values;
+
+    /**
+     * Attribut für die Anzahl aller Playouts.
+     */
+    private final long playouts;
+
+    /**
+     * Attribut für die Dauer der Suche in Nanosekunden.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Konstruktor für ein Suchergebnis.
+     *
+     * @param moves        Entscheidungen an der Wurzel als kodierte Züge
+     * @param visits       Anzahl der Besuche je Entscheidung
+     * @param values       Summierte Bewertung des Spielers am Zug je Entscheidung
+     * @param playouts     Anzahl aller Playouts
+     * @param elapsedNanos Dauer der Suche in Nanosekunden
+     */
+    MctsResult(int[] moves, long[] visits, double[] values, long playouts, long elapsedNanos) {
+        this.moves = moves;
+        this.visits = visits;
+        this.values = values;
+        this.playouts = playouts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Liefert die Entscheidung mit den meisten Besuchen.
+     *
+     * @return Die Entscheidung als kodierter Zug
+     */
+    public int getBestMove() {
+        int best = 0;
+
+        for (int i = 1; i < moves.length; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+
+        return moves[best];
+    }
+
+    /**
+     * Liefert die Anzahl der Entscheidungen an der Wurzel.
+     *
+     * @return Anzahl der Entscheidungen
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Liefert eine Entscheidung an der Wurzel.
+     *
+     * @param idx Index der Entscheidung
+     * @return Die Entscheidung als kodierter Zug
+     */
+    public int getMove(int idx) {
+        return moves[idx];
+    }
+
+    /**
+     * Liefert die Anzahl der Besuche einer Entscheidung.
+     *
+     * @param idx Index der Entscheidung
+     * @return Anzahl der Besuche
+     */
+    public long getVisits(int idx) {
+        return visits[idx];
+    }
+
+    /**
+     * Liefert die durchschnittliche Bewertung einer Entscheidung aus Sicht des Spielers am Zug,
+     * zwischen 0 (verloren) und 1 (gewonnen).
+     *
+     * @param idx Index der Entscheidung
+     * @return Die durchschnittliche Bewertung
+     */
+    public double getValue(int idx) {
+        return visits[idx] == 0 ? 0 : values[idx] / visits[idx];
+    }
+
+    /**
+     * Liefert die Anzahl aller Playouts.
+     *
+     * @return Anzahl der Playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Liefert die Anzahl an Playouts je Sekunde über alle Threads.
+     *
+     * @return Playouts je Sekunde
+     */
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("%d playouts (%.0f/s)", playouts, getPlayoutsPerSecond()));
+        for (int i = 0; i < moves.length; i++) {
+            sb.append(String.format("%n  %-20s visits=%d value=%.3f",
+                    Move.toString(moves[i]), visits[i], getValue(i)));
+        }
+
+        return sb.toString();
+    }
+}
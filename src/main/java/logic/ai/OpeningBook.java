@@ -0,0 +1,291 @@
+package logic.ai;
+
+import logic.GameLogic;
+import util.log.Log;
+import util.log.LogLevel;
+import util.log.LogModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Eröffnungsbuch mit Zugstatistiken je Spielstand, erstellt durch den OpeningBookBuilder.
+ * <p>
+ * Einträge sind aufsteigend nach dem Suchschlüssel des Spielstandes (GameLogic.getSearchKey())
+ * sortiert und werden per binärer Suche direkt im Puffer gefunden. Ein Eintrag belegt 16 Byte:
+ * Schlüssel sowie Zug, Anzahl der Spiele und Anzahl der Siege des ziehenden Spielers in einem
+ * long. Gespeicherte Bücher werden per Memory-Mapping ohne Kopieren geladen.
+ *
+ * @author github.com/batscs
+ */
+public class OpeningBook {
+
+    /**
+     * Standardwert für die Mindestanzahl an Spielen, damit ein Zug aus dem Buch gewählt wird.
+     */
+    public static final int DEFAULT_MIN_GAMES = 4;
+
+    /**
+     * Rückgabewert, falls das Buch keinen Zug für einen Spielstand enthält.
+     */
+    public static final int NO_MOVE = -1;
+
+    /**
+     * Konstanten für den Aufbau der Datei: Kennung, Version, Größe des Headers und je Eintrag.
+     */
+    private static final int MAGIC = 0x48554942;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    /**
+     * Konstanten für den Aufbau der Statistik eines Eintrags.
+     */
+    private static final int MOVE_BITS = 10, COUNT_BITS = 27;
+    private static final int GAMES_SHIFT = MOVE_BITS;
+    private static final int WINS_SHIFT = MOVE_BITS + COUNT_BITS;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    /**
+     * Puffer inklusive Header.
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Anzahl der Einträge.
+     */
+    private final int count;
+
+    /**
+     * Privater Konstruktor für ein Buch über einem Puffer inklusive Header.
+     *
+     * @param data Der Puffer
+     */
+    private OpeningBook(ByteBuffer data) {
+        this.data = data;
+        this.count = data.getInt(2 * Integer.BYTES);
+    }
+
+    /**
+     * Erstellt ein Buch aus gesammelten Statistiken.
+     *
+     * @param statistics Je Schlüssel und Zug die Anzahl an Spielen und Siegen, Schlüssel
+     *                   vorzeichenlos aufsteigend sortiert
+     * @param minGames   Mindestanzahl an Spielen, damit ein Zug aufgenommen wird
+     * @return Das Buch
+     */
+    static OpeningBook of(SortedMap<Long, SortedMap<Integer, int[]>> statistics, int minGames) {
+        int entries = 0;
+        for (SortedMap<Integer, int[]> moves : statistics.values()) {
+            for (int[] stats : moves.values()) {
+                entries += stats[0] >= minGames ? 1 : 0;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(entries);
+
+        for (Map.Entry<Long, SortedMap<Integer, int[]>> position : statistics.entrySet()) {
+            for (Map.Entry<Integer, int[]> move : position.getValue().entrySet()) {
+                int[] stats = move.getValue();
+
+                if (stats[0] >= minGames) {
+                    buffer.putLong(position.getKey());
+                    buffer.putLong(move.getKey()
+                            | Math.min(stats[0], COUNT_MASK) << GAMES_SHIFT
+                            | Math.min(stats[1], COUNT_MASK) << WINS_SHIFT);
+                }
+            }
+        }
+
+        return new OpeningBook(buffer.flip());
+    }
+
+    /**
+     * Lädt ein zuvor gespeichertes Buch per Memory-Mapping.
+     *
+     * @param file Die Datei
+     * @return Das Buch, oder null falls die Datei nicht gelesen werden konnte oder ungültig ist.
+     */
+    public static OpeningBook load(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(Integer.BYTES) != VERSION
+                    || buffer.limit() != HEADER_BYTES
+                    + (long) buffer.getInt(2 * Integer.BYTES) * ENTRY_BYTES) {
+                Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                        "Invalid opening book file " + file.getName());
+                return null;
+            }
+
+            return new OpeningBook(buffer);
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not read opening book file " + file.getName());
+            return null;
+        }
+    }
+
+    /**
+     * Speichert das Buch in einer Datei.
+     *
+     * @param file Die Datei
+     * @return True, falls erfolgreich gespeichert.
+     */
+    public boolean write(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = data.duplicate().clear();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            return true;
+        } catch (IOException e) {
+            Log.write(LogLevel.ERROR, LogModule.APPLICATION,
+                    "Could not write opening book file " + file.getName());
+            return false;
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge (Spielstand und Zug).
+     *
+     * @return Anzahl der Einträge
+     */
+    public int getEntryCount() {
+        return count;
+    }
+
+    /**
+     * Liefert den Zug mit der besten Siegquote für den aktuellen Spielstand eines Spiels.
+     *
+     * @param game Das Spiel
+     * @return Der Zug als kodierter Zug (siehe Move) oder NO_MOVE
+     */
+    public int probe(GameLogic game) {
+        return probe(game.getSearchKey(), DEFAULT_MIN_GAMES);
+    }
+
+    /**
+     * Liefert den Zug mit der besten geglätteten Siegquote (Siege + 1) / (Spiele + 2) für einen
+     * Spielstand, unter allen Zügen mit ausreichend vielen Spielen.
+     *
+     * @param key      Der Suchschlüssel des Spielstandes
+     * @param minGames Mindestanzahl an Spielen eines Zuges
+     * @return Der Zug als kodierter Zug (siehe Move) oder NO_MOVE
+     */
+    public int probe(long key, int minGames) {
+        int best = NO_MOVE;
+        double bestRate = -1;
+
+        for (int i = find(key); i < count && getKey(i) == key; i++) {
+            long stats = getStats(i);
+            int games = (int) (stats >>> GAMES_SHIFT & COUNT_MASK);
+            double rate = ((stats >>> WINS_SHIFT & COUNT_MASK) + 1.0) / (games + 2.0);
+
+            if (games >= minGames && rate > bestRate) {
+                bestRate = rate;
+                best = (int) (stats & ((1 << MOVE_BITS) - 1));
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Liefert die Anzahl der Spiele, in denen ein Zug in einem Spielstand gewählt wurde.
+     *
+     * @param key  Der Suchschlüssel des Spielstandes
+     * @param move Der Zug als kodierter Zug
+     * @return Anzahl der Spiele
+     */
+    public int getGames(long key, int move) {
+        long stats = findStats(key, move);
+
+        return (int) (stats >>> GAMES_SHIFT & COUNT_MASK);
+    }
+
+    /**
+     * Liefert die Anzahl der Siege des ziehenden Spielers nach einem Zug in einem Spielstand.
+     *
+     * @param key  Der Suchschlüssel des Spielstandes
+     * @param move Der Zug als kodierter Zug
+     * @return Anzahl der Siege
+     */
+    public int getWins(long key, int move) {
+        long stats = findStats(key, move);
+
+        return (int) (stats >>> WINS_SHIFT & COUNT_MASK);
+    }
+
+    /**
+     * Sucht die Statistik eines Zuges in einem Spielstand.
+     *
+     * @param key  Der Suchschlüssel des Spielstandes
+     * @param move Der Zug als kodierter Zug
+     * @return Die Statistik oder 0, falls nicht enthalten
+     */
+    private long findStats(long key, int move) {
+        for (int i = find(key); i < count && getKey(i) == key; i++) {
+            long stats = getStats(i);
+
+            if ((stats & ((1 << MOVE_BITS) - 1)) == move) {
+                return stats;
+            }
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Binäre Suche nach dem ersten Eintrag, dessen Schlüssel nicht kleiner ist.
+     *
+     * @param key Der Schlüssel
+     * @return Index des Eintrags, count falls alle Schlüssel kleiner sind
+     */
+    private int find(long key) {
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (Long.compareUnsigned(getKey(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Liefert den Schlüssel eines Eintrags.
+     *
+     * @param idx Index des Eintrags
+     * @return Der Schlüssel
+     */
+    private long getKey(int idx) {
+        return data.getLong(HEADER_BYTES + idx * ENTRY_BYTES);
+    }
+
+    /**
+     * Liefert die gepackte Statistik eines Eintrags.
+     *
+     * @param idx Index des Eintrags
+     * @return Die Statistik
+     */
+    private long getStats(int idx) {
+        return data.getLong(HEADER_BYTES + idx * ENTRY_BYTES + Long.BYTES);
+    }
+}
@@ -0,0 +1,325 @@
+package logic.ai;
+
+import logic.GameLogic;
+import logic.HeadlessGame;
+import logic.Player;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GameResult;
+import logic.simulation.RandomPolicy;
+
+import java.io.File;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Werkzeug zum Erstellen eines Eröffnungsbuches aus vielen parallel simulierten Spielen ab der
+ * Startaufstellung.
+ * <p>
+ * Je Spiel werden die ersten Entscheidungen mit dem Suchschlüssel des Spielstandes aufgezeichnet
+ * und nach Spielende mit dem Ergebnis des ziehenden Spielers gezählt. Wie beim BatchSimulator
+ * sammelt jeder Teilauftrag lokal, die Statistiken werden erst beim Zusammenführen kombiniert.
+ *
+ * @author github.com/batscs
+ */
+public class OpeningBookBuilder {
+
+    /**
+     * Standardwert für die Anzahl an Entscheidungen je Spiel, welche aufgezeichnet werden.
+     */
+    public static final int DEFAULT_PLIES = 12;
+
+    /**
+     * Anzahl an Spielen, welche ein Teilauftrag ohne weitere Aufteilung sequentiell simuliert.
+     */
+    private static final int GAMES_PER_TASK = 8;
+
+    /**
+     * Attribut für den Pool, auf dem die Spiele simuliert werden.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Attribut zum Erzeugen der Entscheidungsstrategien eines Spiels anhand seiner Nummer.
+     */
+    private final IntFunction<DecisionPolicy[]> policyFactory;
+
+    /**
+     * Attribut für die Anzahl an Entscheidungen je Spiel, welche aufgezeichnet werden.
+     */
+    private final int plies;
+
+    /**
+     * Attribut für die teilnehmenden Spielernamen.
+     */
+    private final String[] names;
+
+    /**
+     * Konstruktor für ein Werkzeug auf dem gemeinsamen ForkJoinPool.
+     *
+     * @param policyFactory Erzeugt die Entscheidungsstrategien für das Spiel mit der übergebenen
+     *                      Nummer, muss threadsicher sein
+     * @param names         Teilnehmende Spielernamen
+     */
+    public OpeningBookBuilder(IntFunction<DecisionPolicy[]> policyFactory, String... names) {
+        this(ForkJoinPool.commonPool(), policyFactory, DEFAULT_PLIES, names);
+    }
+
+    /**
+     * Konstruktor für ein Werkzeug.
+     *
+     * @param pool          Pool, auf dem die Spiele simuliert werden
+     * @param policyFactory Erzeugt die Entscheidungsstrategien für das Spiel mit der übergebenen
+     *                      Nummer, muss threadsicher sein
+     * @param plies         Anzahl an Entscheidungen je Spiel, welche aufgezeichnet werden
+     * @param names         Teilnehmende Spielernamen
+     */
+    public OpeningBookBuilder(ForkJoinPool pool, IntFunction<DecisionPolicy[]> policyFactory,
+                              int plies, String... names) {
+        this.pool = pool;
+        this.policyFactory = policyFactory;
+        this.plies = plies;
+        this.names = names.clone();
+    }
+
+    /**
+     * Simuliert eine Anzahl an Spielen parallel und erstellt daraus ein Eröffnungsbuch.
+     *
+     * @param games    Anzahl der Spiele
+     * @param minGames Mindestanzahl an Spielen, damit ein Zug in das Buch aufgenommen wird
+     * @return Das Eröffnungsbuch
+     */
+    public OpeningBook build(int games, int minGames) {
+        return OpeningBook.of(pool.invoke(new BuildTask(0, games)), minGames);
+    }
+
+    /**
+     * Erstellt eine leere Statistik, Schlüssel vorzeichenlos sortiert.
+     *
+     * @return Die leere Statistik
+     */
+    private static SortedMap<Long, SortedMap<Integer, int[]>> createStatistics() {
+        return new TreeMap<>(Long::compareUnsigned);
+    }
+
+    /**
+     * Zählt ein Spiel und ob es gewonnen wurde für einen Zug in einem Spielstand.
+     *
+     * @param statistics Die Statistik
+     * @param key        Der Suchschlüssel des Spielstandes
+     * @param move       Der Zug als kodierter Zug
+     * @param games      Anzahl der Spiele
+     * @param wins       Anzahl der Siege
+     */
+    private static void add(SortedMap<Long, SortedMap<Integer, int[]>> statistics, long key,
+                            int move, int games, int wins) {
+        int[] stats = statistics.computeIfAbsent(key, k -> new TreeMap<>())
+                .computeIfAbsent(move, m -> new int[2]);
+
+        stats[0] += games;
+        stats[1] += wins;
+    }
+
+    /**
+     * Teilauftrag, welcher einen Bereich von Spielnummern simuliert und bei Bedarf halbiert.
+     */
+    private class BuildTask extends RecursiveTask<SortedMap<Long, SortedMap<Integer, int[]>>> {
+
+        /**
+         * Erste Spielnummer des Bereichs (inklusiv).
+         */
+        private final int from;
+
+        /**
+         * Letzte Spielnummer des Bereichs (exklusiv).
+         */
+        private final int to;
+
+        /**
+         * Konstruktor für einen Teilauftrag.
+         *
+         * @param from Erste Spielnummer (inklusiv)
+         * @param to   Letzte Spielnummer (exklusiv)
+         */
+        BuildTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SortedMap<Long, SortedMap<Integer, int[]>> compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SortedMap<Long, SortedMap<Integer, int[]>> statistics = createStatistics();
+
+                for (int i = from; i < to; i++) {
+                    simulate(i, statistics);
+                }
+
+                return statistics;
+            }
+
+            int mid = (from + to) >>> 1;
+
+            BuildTask left = new BuildTask(from, mid);
+            BuildTask right = new BuildTask(mid, to);
+
+            left.fork();
+            SortedMap<Long, SortedMap<Integer, int[]>> statistics = right.compute();
+
+            for (Map.Entry<Long, SortedMap<Integer, int[]>> position : left.join().entrySet()) {
+                for (Map.Entry<Integer, int[]> move : position.getValue().entrySet()) {
+                    add(statistics, position.getKey(), move.getKey(), move.getValue()[0],
+                            move.getValue()[1]);
+                }
+            }
+
+            return statistics;
+        }
+
+        /**
+         * Simuliert ein Spiel und zählt die aufgezeichneten Entscheidungen.
+         *
+         * @param game       Nummer des Spiels
+         * @param statistics Die Statistik
+         */
+        private void simulate(int game, SortedMap<Long, SortedMap<Integer, int[]>> statistics) {
+            DecisionPolicy[] policies = policyFactory.apply(game);
+            Recorder recorder = new Recorder();
+
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = new RecordingPolicy(policies[i], recorder);
+            }
+
+            GameResult result = new HeadlessGame(policies, names)
+                    .play(HeadlessGame.DEFAULT_MAX_DECISIONS);
+
+            for (int i = 0; i < recorder.size; i++) {
+                int win = recorder.movers[i] == result.getWinner() ? 1 : 0;
+                add(statistics, recorder.keys[i], recorder.moves[i], 1, win);
+            }
+        }
+    }
+
+    /**
+     * Aufzeichnung der ersten Entscheidungen eines Spiels.
+     */
+    private class Recorder {
+
+        /**
+         * Suchschlüssel, Zug und ziehender Spieler je Entscheidung.
+         */
+        private final long[] keys = new long[plies];
+        private final int[] moves = new int[plies];
+        private final int[] movers = new int[plies];
+
+        /**
+         * Anzahl der aufgezeichneten Entscheidungen.
+         */
+        private int size;
+
+        /**
+         * Zeichnet eine Entscheidung auf, solange noch nicht genug aufgezeichnet wurden.
+         *
+         * @param game Das Spiel vor der Entscheidung
+         * @param move Die Entscheidung als kodierter Zug
+         */
+        void record(GameLogic game, int move) {
+            if (size < plies) {
+                keys[size] = game.getSearchKey();
+                moves[size] = move;
+                movers[size] = game.getProtagonistID();
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Entscheidungsstrategie, welche die Entscheidungen einer anderen Strategie aufzeichnet.
+     */
+    private static class RecordingPolicy implements DecisionPolicy {
+
+        /**
+         * Die eigentliche Strategie.
+         */
+        private final DecisionPolicy policy;
+
+        /**
+         * Die Aufzeichnung des Spiels.
+         */
+        private final Recorder recorder;
+
+        /**
+         * Konstruktor für eine aufzeichnende Strategie.
+         *
+         * @param policy   Die eigentliche Strategie
+         * @param recorder Die Aufzeichnung des Spiels
+         */
+        RecordingPolicy(DecisionPolicy policy, Recorder recorder) {
+            this.policy = policy;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+            int destination = policy.chooseMove(game, self, destinations, count);
+            recorder.record(game, Move.destination(destination));
+
+            return destination;
+        }
+
+        @Override
+        public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+            KarotteChoice choice = policy.chooseCarrots(game, self, options);
+            recorder.record(game, Move.carrotsChoice(choice));
+
+            return choice;
+        }
+
+        @Override
+        public boolean confirmMoveAgain(GameLogic game, Player self) {
+            boolean confirmed = policy.confirmMoveAgain(game, self);
+            recorder.record(game, Move.moveAgainChoice(confirmed));
+
+            return confirmed;
+        }
+    }
+
+    /**
+     * Erstellt ein Eröffnungsbuch aus zufälligen Spielen und speichert es.
+     * <p>
+     * Argumente: Anzahl der Spiele, Zieldatei, Spielernamen (mindestens zwei).
+     *
+     * @param args Die Argumente
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: OpeningBookBuilder <games> <file> <name> <name>...");
+            return;
+        }
+
+        int games = Integer.parseInt(args[0]);
+        String[] names = new String[args.length - 2];
+        System.arraycopy(args, 2, names, 0, names.length);
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(game -> {
+            DecisionPolicy[] policies = new DecisionPolicy[names.length];
+
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] = new RandomPolicy((long) game * names.length + i);
+            }
+
+            return policies;
+        }, names);
+
+        OpeningBook book = builder.build(games, OpeningBook.DEFAULT_MIN_GAMES);
+
+        if (book.write(new File(args[1]))) {
+            System.out.println("Wrote " + book.getEntryCount() + " entries to " + args[1]);
+        }
+    }
+}
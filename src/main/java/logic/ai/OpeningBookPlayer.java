@@ -0,0 +1,78 @@
+package logic.ai;
+
+import logic.GameLogic;
+import logic.Player;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.simulation.DecisionPolicy;
+
+/**
+ * Entscheidungsstrategie, welche zuerst das Eröffnungsbuch befragt und nur ohne passenden
+ * Eintrag eine andere Strategie, z.B. eine Suche, entscheiden lässt.
+ *
+ * @author github.com/batscs
+ */
+public class OpeningBookPlayer implements DecisionPolicy {
+
+    /**
+     * Attribut für das Eröffnungsbuch.
+     */
+    private final OpeningBook book;
+
+    /**
+     * Attribut für die Strategie außerhalb des Buches.
+     */
+    private final DecisionPolicy fallback;
+
+    /**
+     * Konstruktor für eine Strategie mit Eröffnungsbuch.
+     *
+     * @param book     Das Eröffnungsbuch
+     * @param fallback Strategie für Spielstände außerhalb des Buches
+     */
+    public OpeningBookPlayer(OpeningBook book, DecisionPolicy fallback) {
+        this.book = book;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+        int move = book.probe(game);
+
+        if (Move.isDestination(move)) {
+            for (int i = 0; i < count; i++) {
+                if (destinations[i] == Move.getDestination(move)) {
+                    return destinations[i];
+                }
+            }
+        }
+
+        return fallback.chooseMove(game, self, destinations, count);
+    }
+
+    @Override
+    public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+        int move = book.probe(game);
+
+        if (Move.isCarrotsChoice(move)) {
+            for (KarotteChoice option : options) {
+                if (option == Move.getCarrotsChoice(move)) {
+                    return option;
+                }
+            }
+        }
+
+        return fallback.chooseCarrots(game, self, options);
+    }
+
+    @Override
+    public boolean confirmMoveAgain(GameLogic game, Player self) {
+        int move = book.probe(game);
+
+        if (Move.isMoveAgainChoice(move)) {
+            return Move.isMoveAgainConfirmed(move);
+        }
+
+        return fallback.confirmMoveAgain(game, self);
+    }
+}
@@ -0,0 +1,271 @@
+package logic.ai;
+
+import java.util.Arrays;
+
+/**
+ * Transpositionstabelle fester Größe für Suchverfahren, adressiert über einen 64-Bit Schlüssel
+ * (siehe GameLogic.getSearchKey()).
+ * <p>
+ * Alle Einträge liegen in primitiven Arrays. Je Bucket gibt es zwei Einträge: Der erste wird nur
+ * durch gleich tiefe oder tiefere Ergebnisse bzw. Ergebnisse älterer Suchen ersetzt, der zweite
+ * wird immer ersetzt. Je Eintrag wird eine feste Anzahl an Bewertungen gespeichert, z.B. eine je
+ * Spieler für max-n Suchen.
+ *
+ * @author github.com/batscs
+ */
+public class TranspositionTable {
+
+    /**
+     * Konstanten für die Art der gespeicherten Bewertung.
+     */
+    public static final int EXACT = 0, LOWER_BOUND = 1, UPPER_BOUND = 2;
+
+    /**
+     * Standardwert für den Speicherbedarf einer Tabelle in Byte.
+     */
+    public static final long DEFAULT_MEMORY_BYTES = 16L << 20;
+
+    /**
+     * Konstante für die Anzahl an Einträgen je Bucket.
+     */
+    private static final int BUCKET_SIZE = 2;
+
+    /**
+     * Konstanten für den Aufbau der Metadaten eines Eintrags.
+     */
+    private static final int DEPTH_BITS = 8, BOUND_BITS = 2, MOVE_BITS = 10, GENERATION_BITS = 8;
+    private static final int BOUND_SHIFT = DEPTH_BITS;
+    private static final int MOVE_SHIFT = BOUND_SHIFT + BOUND_BITS;
+    private static final int GENERATION_SHIFT = MOVE_SHIFT + MOVE_BITS;
+    private static final long VALID_BIT = 1L << 63;
+
+    /**
+     * Schlüssel je Eintrag.
+     */
+    private final long[] keys;
+
+    /**
+     * Metadaten je Eintrag: Tiefe, Art der Bewertung, Zug, Generation und gültig.
+     */
+    private final long[] meta;
+
+    /**
+     * Bewertungen, valuesPerEntry je Eintrag.
+     */
+    private final float[] values;
+
+    /**
+     * Attribut für die Anzahl an Bewertungen je Eintrag.
+     */
+    private final int valuesPerEntry;
+
+    /**
+     * Maske für den Index eines Buckets.
+     */
+    private final int bucketMask;
+
+    /**
+     * Generation der aktuellen Suche, Einträge älterer Suchen werden bevorzugt ersetzt.
+     */
+    private int generation;
+
+    /**
+     * Anzahl der Abfragen und der Treffer, z.B. für Analysen.
+     */
+    private long probes;
+    private long hits;
+
+    /**
+     * Konstruktor für eine Tabelle, deren Größe die größte Zweierpotenz an Einträgen ist, welche
+     * den Speicherbedarf nicht überschreitet.
+     *
+     * @param memoryBytes    Maximaler Speicherbedarf in Byte
+     * @param valuesPerEntry Anzahl an Bewertungen je Eintrag
+     */
+    public TranspositionTable(long memoryBytes, int valuesPerEntry) {
+        long entryBytes = 2L * Long.BYTES + (long) valuesPerEntry * Float.BYTES;
+        long buckets = Math.max(1, memoryBytes / (entryBytes * BUCKET_SIZE));
+        int size = (int) Math.min(Long.highestOneBit(buckets), 1 << 28) * BUCKET_SIZE;
+
+        this.keys = new long[size];
+        this.meta = new long[size];
+        this.values = new float[size * valuesPerEntry];
+        this.valuesPerEntry = valuesPerEntry;
+        this.bucketMask = size / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * Sucht einen Eintrag.
+     *
+     * @param key Der Schlüssel
+     * @return Index des Eintrags oder -1, falls kein Eintrag vorhanden ist.
+     */
+    public int probe(long key) {
+        int slot = bucket(key);
+        probes++;
+
+        for (int i = slot; i < slot + BUCKET_SIZE; i++) {
+            if (keys[i] == key && (meta[i] & VALID_BIT) != 0) {
+                hits++;
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Speichert einen Eintrag im Eintrag für tiefe Ergebnisse, falls dieser nicht tiefer oder
+     * veraltet ist, ansonsten im immer ersetzten Eintrag des Buckets.
+     *
+     * @param key    Der Schlüssel
+     * @param depth  Die Suchtiefe des Ergebnisses
+     * @param move   Der beste Zug als kodierter Zug (siehe Move)
+     * @param bound  Die Art der Bewertung (EXACT, LOWER_BOUND, UPPER_BOUND)
+     * @param result Die Bewertungen, mindestens valuesPerEntry
+     */
+    public void store(long key, int depth, int move, int bound, double[] result) {
+        int slot = bucket(key);
+        long deep = meta[slot];
+
+        boolean replaceDeep = (deep & VALID_BIT) == 0 || keys[slot] == key
+                || depth >= getDepth(slot) || getGeneration(deep) != generation;
+
+        if (!replaceDeep) {
+            slot++;
+        } else if (keys[slot + 1] == key) {
+            meta[slot + 1] = 0L;
+        }
+
+        keys[slot] = key;
+        meta[slot] = VALID_BIT
+                | (long) generation << GENERATION_SHIFT
+                | (long) move << MOVE_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | Math.min(depth, (1 << DEPTH_BITS) - 1);
+
+        int offset = slot * valuesPerEntry;
+        for (int i = 0; i < valuesPerEntry; i++) {
+            values[offset + i] = (float) result[i];
+        }
+    }
+
+    /**
+     * Liefert die Suchtiefe eines Eintrags.
+     *
+     * @param slot Index des Eintrags
+     * @return Die Suchtiefe
+     */
+    public int getDepth(int slot) {
+        return (int) (meta[slot] & ((1 << DEPTH_BITS) - 1));
+    }
+
+    /**
+     * Liefert die Art der Bewertung eines Eintrags.
+     *
+     * @param slot Index des Eintrags
+     * @return EXACT, LOWER_BOUND oder UPPER_BOUND
+     */
+    public int getBound(int slot) {
+        return (int) (meta[slot] >>> BOUND_SHIFT & ((1 << BOUND_BITS) - 1));
+    }
+
+    /**
+     * Liefert den besten Zug eines Eintrags.
+     *
+     * @param slot Index des Eintrags
+     * @return Der Zug als kodierter Zug
+     */
+    public int getMove(int slot) {
+        return (int) (meta[slot] >>> MOVE_SHIFT & ((1 << MOVE_BITS) - 1));
+    }
+
+    /**
+     * Liefert eine Bewertung eines Eintrags.
+     *
+     * @param slot Index des Eintrags
+     * @param idx  Index der Bewertung
+     * @return Die Bewertung
+     */
+    public double getValue(int slot, int idx) {
+        return values[slot * valuesPerEntry + idx];
+    }
+
+    /**
+     * Kopiert alle Bewertungen eines Eintrags.
+     *
+     * @param slot Index des Eintrags
+     * @param out  Ziel, mindestens valuesPerEntry groß
+     */
+    public void getValues(int slot, double[] out) {
+        int offset = slot * valuesPerEntry;
+
+        for (int i = 0; i < valuesPerEntry; i++) {
+            out[i] = values[offset + i];
+        }
+    }
+
+    /**
+     * Beginnt eine neue Suche, Einträge vorheriger Suchen bleiben abrufbar, werden aber bevorzugt
+     * ersetzt.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & ((1 << GENERATION_BITS) - 1);
+    }
+
+    /**
+     * Entfernt alle Einträge.
+     */
+    public void clear() {
+        Arrays.fill(meta, 0L);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Liefert die Anzahl an Einträgen.
+     *
+     * @return Anzahl an Einträgen
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Liefert die Anzahl an Bewertungen je Eintrag.
+     *
+     * @return Anzahl an Bewertungen
+     */
+    public int getValuesPerEntry() {
+        return valuesPerEntry;
+    }
+
+    /**
+     * Liefert den Anteil der Abfragen, welche einen Eintrag gefunden haben.
+     *
+     * @return Trefferquote zwischen 0 und 1
+     */
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /**
+     * Liefert den ersten Eintrag des Buckets eines Schlüssels.
+     *
+     * @param key Der Schlüssel
+     * @return Index des ersten Eintrags
+     */
+    private int bucket(long key) {
+        return ((int) (key ^ key >>> 32) & bucketMask) * BUCKET_SIZE;
+    }
+
+    /**
+     * Liefert die Generation aus den Metadaten eines Eintrags.
+     *
+     * @param meta Die Metadaten
+     * @return Die Generation
+     */
+    private static int getGeneration(long meta) {
+        return (int) (meta >>> GENERATION_SHIFT & ((1 << GENERATION_BITS) - 1));
+    }
+}
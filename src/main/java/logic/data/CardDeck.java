@@ -1,44 +1,159 @@
 package logic.data;
 
+import logic.GameBoard;
 import util.ArrayUtils;
 
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Klasse zur Repräsentation eines Kartendecks.
+ * <p>
+ * Das Kartendeck ist ein Ringpuffer: Die Mischung bleibt beim Ziehen unverändert, nur der Zeiger
+ * auf die oberste Karte wandert weiter. Eine gezogene Karte liegt damit wie zuvor unter allen
+ * anderen Karten, ohne dass das Array verschoben wird.
  *
  * @author github.com/batscs
  */
 public class CardDeck {
 
     /**
-     * Attribut für das Kartendeck.
+     * Konstante für alle Karten in Reihenfolge ihrer Ordinalzahl, um values() nicht wiederholt
+     * aufzurufen.
+     */
+    private static final CardEvent[] CARDS = CardEvent.values();
+
+    /**
+     * Konstante für die Anzahl an verschiedenen Karten.
+     */
+    public static final int CARD_TYPES = CARDS.length;
+
+    /**
+     * Konstante für die Anzahl an Bits je Karte bzw. für den Zeiger in saveState().
+     */
+    private static final int STATE_BITS = 4;
+
+    /**
+     * Konstante für alle Karten eines vollständigen Kartendecks vor dem Mischen.
+     */
+    private static final CardEvent[] DECK = { CardEvent.REFUND, CardEvent.REFUND, CardEvent.TAKEORGIVE,
+            CardEvent.TAKEORGIVE, CardEvent.SUSPEND, CardEvent.BACKWARDS, CardEvent.BACKWARDS, CardEvent.EATSALAD,
+            CardEvent.FORWARDS, CardEvent.MOVEAGAIN, CardEvent.NEXTCARROT, CardEvent.PREVIOUSCARROT };
+
+    /**
+     * Konstante für die Anzahl der Karten eines vollständigen Kartendecks.
+     */
+    public static final int DECK_SIZE = DECK.length;
+
+    /**
+     * Konstante für die Anzahl je Karte in einem vollständigen Kartendeck, Index ist die
+     * Ordinalzahl.
+     */
+    private static final int[] DECK_COMPOSITION = new int[CARD_TYPES];
+
+    static {
+        for (CardEvent card : DECK) {
+            DECK_COMPOSITION[card.ordinal()]++;
+        }
+    }
+
+    /**
+     * Konstante für die Anzahl an Karotten, welche mit der Karte TAKEORGIVE genommen werden
+     * können.
+     */
+    private static final int TAKEORGIVE_CARROTS = 10;
+
+    /**
+     * Attribut für das Kartendeck in der Reihenfolge eines Durchlaufs.
      */
     private final CardEvent[] cardDeck;
 
     /**
      * Attribut für die künstlichen (geschummelten) Karten welche als nächsten gezogen werden,
-     * statt dem eigentlich Kartendeck.
+     * statt dem eigentlich Kartendeck. Zuletzt eingesetzte Karten werden zuerst gezogen.
+     */
+    private final ArrayDeque<CardEvent> cardFakeDeck;
+
+    /**
+     * Attribut für die Anzahl der bisher vom eigentlichen Kartendeck gezogenen Karten, modulo der
+     * Größe des Kartendecks, zugleich Index der obersten Karte. Beschreibt zusammen mit der
+     * Mischung den Zustand des Kartendecks.
      */
-    private final Stack<CardEvent> cardFakeDeck;
+    private int cursor;
 
     /**
-     * Default-Konstruktor für das Kartendeck.
+     * Attribut, ob bereits ein vollständiger Durchlauf gezogen wurde. Da pop() nie neu mischt,
+     * ist die Reihenfolge aller Karten ab dann jedem Spieler bekannt, der mitzählt.
+     */
+    private boolean cycled;
+
+    /**
+     * Attribut für den Startwert, mit dem das Kartendeck gemischt wurde.
+     */
+    private final long seed;
+
+    /**
+     * Default-Konstruktor für das Kartendeck mit einem zufälligen Startwert.
      */
     public CardDeck() {
-        cardFakeDeck = new Stack<>();
+        this(createSeed());
+    }
+
+    /**
+     * Konstruktor für ein reproduzierbar gemischtes Kartendeck. Gleiche Startwerte ergeben die
+     * gleiche Reihenfolge, z.B. für Simulationen oder das Wiederholen eines Spiels.
+     *
+     * @param seed Startwert des Zufallsgenerators
+     */
+    public CardDeck(long seed) {
+        this.seed = seed;
+        cardFakeDeck = new ArrayDeque<>();
 
-        cardDeck = new CardEvent[] { CardEvent.REFUND, CardEvent.REFUND, CardEvent.TAKEORGIVE, CardEvent.TAKEORGIVE,
-                CardEvent.SUSPEND, CardEvent.BACKWARDS, CardEvent.BACKWARDS, CardEvent.EATSALAD, CardEvent.FORWARDS,
-                CardEvent.MOVEAGAIN, CardEvent.NEXTCARROT, CardEvent.PREVIOUSCARROT };
+        cardDeck = DECK.clone();
 
-        ArrayUtils.shuffleArray(cardDeck);
+        shuffle(0, new SplittableRandom(seed));
     }
 
     /**
-     * Methode zum Erhalten der aktuellsten / obersten Karte im Kartendeck. Diese Karte wird anschließend
-     * an die letzte / hinterste Position des Decks verschoben. Falls das fakeDeck nicht leer ist, werden zuerst
-     * Karten aus diesem gezogen, jedoch NICHT nach hinten rotiert.
+     * Erzeugt einen zufälligen Startwert über den Zufallsgenerator des aktuellen Threads, damit
+     * parallel erstellte Kartendecks sich nicht blockieren.
+     *
+     * @return Der Startwert
+     */
+    public static long createSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Liefert den Startwert, mit dem das Kartendeck gemischt wurde.
+     *
+     * @return Der Startwert
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Mischt die Karten ab einem Index bis zum Ende des Durchlaufs (Fisher-Yates), jede
+     * Reihenfolge ist gleich wahrscheinlich.
+     *
+     * @param from   Index der ersten zu mischenden Karte
+     * @param random Zufallsgenerator
+     */
+    private void shuffle(int from, SplittableRandom random) {
+        for (int i = cardDeck.length - 1; i > from; i--) {
+            ArrayUtils.swapElementsInArray(cardDeck, i, from + random.nextInt(i - from + 1));
+        }
+    }
+
+    /**
+     * Methode zum Erhalten der aktuellsten / obersten Karte im Kartendeck. Diese Karte liegt
+     * anschließend an der letzten / hintersten Position des Decks, dafür wandert nur der Zeiger
+     * weiter. Falls das fakeDeck nicht leer ist, werden zuerst Karten aus diesem gezogen, jedoch
+     * NICHT nach hinten rotiert.
      *
      * @return die gezogene Karte.
      */
@@ -47,8 +162,12 @@ public class CardDeck {
         CardEvent card;
 
         if (cardFakeDeck.isEmpty()) {
-            card = cardDeck[0];
-            ArrayUtils.shiftArray(cardDeck);
+            card = cardDeck[cursor];
+
+            if (++cursor == cardDeck.length) {
+                cursor = 0;
+                cycled = true;
+            }
         } else {
             card = cardFakeDeck.pop();
         }
@@ -66,4 +185,343 @@ public class CardDeck {
         cardFakeDeck.push(card);
     }
 
+    /**
+     * Liefert die Anzahl der Karten im eigentlichen Kartendeck.
+     *
+     * @return Die Größe des Kartendecks
+     */
+    public int getSize() {
+        return cardDeck.length;
+    }
+
+    /**
+     * Liefert die Anzahl der bisher gezogenen Karten modulo der Größe des Kartendecks.
+     *
+     * @return Der Zeiger auf die nächste Karte, bezogen auf die ursprüngliche Mischung.
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Ermittelt, ob bereits ein vollständiger Durchlauf des Kartendecks gezogen wurde. Ab dann ist
+     * die nächste Karte stets bekannt, sie entspricht der vor einem Durchlauf gezogenen Karte.
+     *
+     * @return True, falls mindestens ein Durchlauf gezogen wurde
+     */
+    public boolean isCycled() {
+        return cycled;
+    }
+
+    /**
+     * Ermittelt die Zusammensetzung der Karten, welche im aktuellen Durchlauf des Kartendecks noch
+     * nicht gezogen wurden und deren Reihenfolge daher unbekannt ist. Nach einem vollständigen
+     * Durchlauf ist die Reihenfolge bekannt, gezählt wird dann nur die nächste Karte.
+     *
+     * @param counts Array der Größe CARD_TYPES, wird mit der Anzahl je Ordinalzahl befüllt
+     * @return Anzahl der Karten, über welche gezählt wurde
+     */
+    public int getRemainingComposition(int[] counts) {
+        for (int i = 0; i < CARD_TYPES; i++) {
+            counts[i] = 0;
+        }
+
+        if (cycled) {
+            counts[cardDeck[cursor].ordinal()] = 1;
+            return 1;
+        }
+
+        for (int i = cursor; i < cardDeck.length; i++) {
+            counts[cardDeck[i].ordinal()]++;
+        }
+
+        return cardDeck.length - cursor;
+    }
+
+    /**
+     * Legt eine der im aktuellen Durchlauf verbleibenden Karten nach oben, indem sie mit der
+     * obersten Karte getauscht wird. Die Zusammensetzung der verbleibenden Karten ändert sich
+     * dadurch nicht. Wird von Suchverfahren verwendet, um jeden möglichen Ausgang zu betrachten.
+     * Nach einem vollständigen Durchlauf ist die Reihenfolge bekannt und wird nicht verändert.
+     *
+     * @param card Die Karte
+     * @return True, falls die Karte unter den verbleibenden Karten war.
+     */
+    public boolean moveToTop(CardEvent card) {
+        if (cycled) {
+            return cardDeck[cursor] == card;
+        }
+
+        for (int i = cursor; i < cardDeck.length; i++) {
+            if (cardDeck[i] == card) {
+                ArrayUtils.swapElementsInArray(cardDeck, cursor, i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Liefert die Karte, welche als nächstes gezogen wird, ohne sie zu ziehen.
+     *
+     * @return Die nächste Karte
+     */
+    public CardEvent peek() {
+        return cardFakeDeck.isEmpty() ? cardDeck[cursor] : cardFakeDeck.peek();
+    }
+
+    /**
+     * Liefert eine der nächsten Karten, ohne Karten zu ziehen. Nach dem Ende des Durchlaufs folgt
+     * wieder die erste Karte der Mischung.
+     *
+     * @param ahead Anzahl der vorher gezogenen Karten, 0 entspricht peek()
+     * @return Die Karte
+     */
+    public CardEvent peek(int ahead) {
+        if (ahead < cardFakeDeck.size()) {
+            for (CardEvent card : cardFakeDeck) {
+                if (ahead-- == 0) {
+                    return card;
+                }
+            }
+        }
+
+        return cardDeck[(cursor + ahead - cardFakeDeck.size()) % cardDeck.length];
+    }
+
+    /**
+     * Mischt die im aktuellen Durchlauf verbleibenden Karten neu (Fisher-Yates). Bereits gezogene
+     * Karten behalten ihre Reihenfolge. Wird von Suchverfahren verwendet, um die den Spielern
+     * unbekannte Reihenfolge zufällig festzulegen. Nach einem vollständigen Durchlauf ist die
+     * Reihenfolge bekannt und bleibt unverändert.
+     *
+     * @param random Zufallsgenerator
+     */
+    public void shuffleRemaining(SplittableRandom random) {
+        if (!cycled) {
+            shuffle(cursor, random);
+        }
+    }
+
+    /**
+     * Liefert die Reihenfolge, in welcher die Karten ab jetzt gezogen werden: zuerst die
+     * geschummelten Karten, danach die im aktuellen Durchlauf verbleibenden Karten. Wird z.B. von
+     * Suchverfahren verwendet, um Zufallsknoten zu modellieren.
+     *
+     * @param order Array mit mindestens getForcedCount() + getSize() Plätzen
+     * @return Anzahl der eingetragenen Karten
+     */
+    public int getRemainingOrder(CardEvent[] order) {
+        int count = 0;
+
+        for (CardEvent card : cardFakeDeck) {
+            order[count++] = card;
+        }
+
+        for (int i = cursor; i < cardDeck.length; i++) {
+            order[count++] = cardDeck[i];
+        }
+
+        return count;
+    }
+
+    /**
+     * Liefert die Anzahl der geschummelten Karten, welche vor dem eigentlichen Kartendeck gezogen
+     * werden.
+     *
+     * @return Anzahl der geschummelten Karten
+     */
+    public int getForcedCount() {
+        return cardFakeDeck.size();
+    }
+
+    /**
+     * Liefert die geschummelten Karten, welche vor dem eigentlichen Kartendeck gezogen werden.
+     *
+     * @return Kopie der geschummelten Karten, die zuerst gezogene Karte vorne
+     */
+    public List<CardEvent> getForcedCards() {
+        return new ArrayList<>(cardFakeDeck);
+    }
+
+    /**
+     * Stellt die bereits gezogenen und die geschummelten Karten wieder her, z.B. beim Laden eines
+     * Spielstands. Die Mischung ergibt sich aus dem Startwert und bleibt unverändert.
+     *
+     * @param cursor      Anzahl der gezogenen Karten modulo der Größe des Kartendecks, siehe
+     *                    getCursor()
+     * @param cycled      Ob bereits ein vollständiger Durchlauf gezogen wurde, siehe isCycled()
+     * @param forcedCards Die geschummelten Karten, die zuerst gezogene Karte vorne, siehe
+     *                    getForcedCards()
+     */
+    public void restoreDraws(int cursor, boolean cycled, List<CardEvent> forcedCards) {
+        if (cursor < 0 || cursor >= cardDeck.length) {
+            throw new IllegalArgumentException("Invalid card deck cursor " + cursor);
+        }
+
+        this.cursor = cursor;
+        this.cycled = cycled;
+        cardFakeDeck.clear();
+
+        for (int i = forcedCards.size() - 1; i >= 0; i--) {
+            cardFakeDeck.push(forcedCards.get(i));
+        }
+    }
+
+    /**
+     * Ermittelt die Wahrscheinlichkeit jeder Karte, als nächstes gezogen zu werden. Gezählt werden
+     * die im ersten Durchlauf noch nicht gezogenen Karten. Liegt eine geschummelte Karte oben oder
+     * wurde bereits ein vollständiger Durchlauf gezogen, steht die nächste Karte sicher fest.
+     *
+     * @param distribution Array der Größe CARD_TYPES, wird mit der Wahrscheinlichkeit je
+     *                     Ordinalzahl befüllt
+     * @return Anzahl der Karten, über welche die Verteilung gebildet wurde
+     */
+    public int getNextCardDistribution(double[] distribution) {
+        if (!cardFakeDeck.isEmpty()) {
+            for (int i = 0; i < CARD_TYPES; i++) {
+                distribution[i] = 0;
+            }
+
+            distribution[cardFakeDeck.peek().ordinal()] = 1;
+            return 1;
+        }
+
+        int[] counts = new int[CARD_TYPES];
+        int remaining = getRemainingComposition(counts);
+
+        for (int i = 0; i < CARD_TYPES; i++) {
+            distribution[i] = (double) counts[i] / remaining;
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Ermittelt die Wahrscheinlichkeit jeder Karte, als nächstes gezogen zu werden, allein aus den
+     * bisher gezogenen Karten, z.B. für die Oberfläche oder einen Spieler, der mitzählt. Da das
+     * Kartendeck nie neu gemischt wird, wiederholt sich ab dem zweiten Durchlauf die Reihenfolge
+     * des ersten, die nächste Karte steht dann sicher fest.
+     *
+     * @param drawn        Alle seit Spielbeginn gezogenen Karten in Reihenfolge, ohne
+     *                     geschummelte Karten
+     * @param distribution Array der Größe CARD_TYPES, wird mit der Wahrscheinlichkeit je
+     *                     Ordinalzahl befüllt
+     * @return Anzahl der Karten, über welche die Verteilung gebildet wurde
+     * @throws HaseUndIgelException falls die gezogenen Karten nicht zum Kartendeck passen
+     */
+    public static int getNextCardDistribution(List<CardEvent> drawn, double[] distribution) {
+        int[] counts = DECK_COMPOSITION.clone();
+        int firstCycle = Math.min(drawn.size(), DECK.length);
+
+        for (int i = 0; i < drawn.size(); i++) {
+            CardEvent card = drawn.get(i);
+
+            if (i < firstCycle ? --counts[card.ordinal()] < 0 : card != drawn.get(i - DECK.length)) {
+                throw new HaseUndIgelException("Drawn cards do not match the card deck");
+            }
+        }
+
+        if (drawn.size() >= DECK.length) {
+            for (int i = 0; i < CARD_TYPES; i++) {
+                distribution[i] = 0;
+            }
+
+            distribution[drawn.get(drawn.size() - DECK.length).ordinal()] = 1;
+            return 1;
+        }
+
+        int remaining = DECK.length - firstCycle;
+
+        for (int i = 0; i < CARD_TYPES; i++) {
+            distribution[i] = (double) counts[i] / remaining;
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Ermittelt die unmittelbare Veränderung der Karotten durch eine Karte, wenn ein Spieler von
+     * einer Position auf ein Hasenfeld zieht. Bei TAKEORGIVE wird angenommen, dass der Spieler
+     * Karotten nimmt, Bewegungen durch Karten sind kostenlos und zählen nicht.
+     *
+     * @param card  Die Karte
+     * @param from  Position des Spielers vor dem Zug
+     * @param field Position des Hasenfeldes
+     * @return Veränderung der Karotten
+     */
+    public static int getCarrotDelta(CardEvent card, int from, int field) {
+        return switch (card) {
+            case REFUND -> GameBoard.calculatePrice(field - from);
+            case TAKEORGIVE -> TAKEORGIVE_CARROTS;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Ermittelt die erwartete Veränderung der Karotten durch die nächste Karte, wenn ein Spieler
+     * von einer Position auf ein Hasenfeld zieht.
+     *
+     * @param distribution Wahrscheinlichkeit je Ordinalzahl, siehe getNextCardDistribution()
+     * @param from         Position des Spielers vor dem Zug
+     * @param field        Position des Hasenfeldes
+     * @return Erwartete Veränderung der Karotten
+     */
+    public static double getExpectedCarrotDelta(double[] distribution, int from, int field) {
+        double expected = 0;
+
+        for (int i = 0; i < CARD_TYPES; i++) {
+            if (distribution[i] > 0) {
+                expected += distribution[i] * getCarrotDelta(CARDS[i], from, field);
+            }
+        }
+
+        return expected;
+    }
+
+    /**
+     * Liefert eine Karte anhand ihrer Ordinalzahl.
+     *
+     * @param ordinal Die Ordinalzahl
+     * @return Die Karte
+     */
+    public static CardEvent getCard(int ordinal) {
+        return CARDS[ordinal];
+    }
+
+    /**
+     * Speichert die aktuelle Reihenfolge des Kartendecks, den Zeiger und ob bereits ein Durchlauf
+     * gezogen wurde in einem long, z.B. um einen Spielzug rückgängig zu machen. Die geschummelten
+     * Karten sind nicht enthalten.
+     *
+     * @return Der gespeicherte Zustand
+     */
+    public long saveState() {
+        long state = 0L;
+
+        for (int i = 0; i < cardDeck.length; i++) {
+            state |= (long) cardDeck[i].ordinal() << (i * STATE_BITS);
+        }
+
+        return state | (long) cursor << (cardDeck.length * STATE_BITS)
+                | (cycled ? 1L : 0L) << ((cardDeck.length + 1) * STATE_BITS);
+    }
+
+    /**
+     * Stellt einen zuvor mit saveState() gespeicherten Zustand wieder her.
+     *
+     * @param state Der gespeicherte Zustand
+     */
+    public void restoreState(long state) {
+        long mask = (1L << STATE_BITS) - 1;
+
+        for (int i = 0; i < cardDeck.length; i++) {
+            cardDeck[i] = CARDS[(int) (state >>> (i * STATE_BITS) & mask)];
+        }
+
+        cursor = (int) (state >>> (cardDeck.length * STATE_BITS) & mask);
+        cycled = (state >>> ((cardDeck.length + 1) * STATE_BITS) & 1L) != 0;
+    }
+
 }
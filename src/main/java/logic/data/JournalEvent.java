@@ -0,0 +1,17 @@
+package logic.data;
+
+/**
+ * Klasse zur Repräsentation der Ereignisse im Spielprotokoll (siehe GameJournal).
+ * <p>
+ * DECISION ist die Entscheidung eines Spielers als kodierter Zug (siehe Move), alle anderen
+ * Ereignisse sind Folgen dieser Entscheidung und dienen beim Nachspielen zur Kontrolle.
+ * <p>
+ * Der Wert eines Ereignisses ist bei CARD die gezogene Karte (Ordinal von CardEvent), bei SALAD
+ * die verbleibenden Salate, bei RESET die Karotten nach dem Zurücksetzen und bei FINISH die
+ * Zielreihenfolge, beginnend bei 0 für den ersten Spieler im Ziel.
+ *
+ * @author github.com/batscs
+ */
+public enum JournalEvent {
+    DECISION, CARD, SALAD, RESET, FINISH
+}
@@ -0,0 +1,157 @@
+package logic.data;
+
+/**
+ * Klasse zur Kodierung von Spielzügen und Entscheidungen als int, damit Zuglisten ohne
+ * Objekterzeugung in wiederverwendbaren Arrays gehalten werden können.
+ * <p>
+ * Kodierung:
+ * <pre>
+ *   0 -  64: Spielzug auf das Feld mit dieser Position (64 = Ziel)
+ * 128 - 131: Karottenauswahl, 128 + KarotteChoice.ordinal()
+ * 256 - 257: "Ziehe noch einmal!", 256 = ablehnen, 257 = annehmen
+ * </pre>
+ *
+ * @author github.com/batscs
+ */
+public final class Move {
+
+    /**
+     * Konstante für den Beginn der Karottenauswahlen.
+     */
+    private static final int CARROTS_CHOICE = 128;
+
+    /**
+     * Konstante für den Beginn der Entscheidungen zu "Ziehe noch einmal!".
+     */
+    private static final int MOVE_AGAIN_CHOICE = 256;
+
+    /**
+     * Konstante für alle Karottenauswahlen, um values() nicht wiederholt aufzurufen.
+     */
+    private static final KarotteChoice[] CARROTS_CHOICES = KarotteChoice.values();
+
+    /**
+     * Konstante für die höchste Anzahl an Zügen in einer Position, passende Größe für Zuglisten.
+     */
+    public static final int MAX_MOVES = 65;
+
+    /**
+     * Konstanten für die Entscheidungen zu "Ziehe noch einmal!".
+     */
+    public static final int MOVE_AGAIN_DECLINE = MOVE_AGAIN_CHOICE;
+    public static final int MOVE_AGAIN_CONFIRM = MOVE_AGAIN_CHOICE + 1;
+
+    /**
+     * Privater Konstruktor, Klasse enthält nur statische Methoden.
+     */
+    private Move() {
+    }
+
+    /**
+     * Kodiert einen Spielzug auf eine Position.
+     *
+     * @param position Die Position
+     * @return Der kodierte Zug
+     */
+    public static int destination(int position) {
+        return position;
+    }
+
+    /**
+     * Kodiert eine Karottenauswahl.
+     *
+     * @param choice Die Auswahl
+     * @return Der kodierte Zug
+     */
+    public static int carrotsChoice(KarotteChoice choice) {
+        return CARROTS_CHOICE + choice.ordinal();
+    }
+
+    /**
+     * Kodiert eine Entscheidung zu "Ziehe noch einmal!".
+     *
+     * @param confirmed True, falls noch einmal gezogen wird
+     * @return Der kodierte Zug
+     */
+    public static int moveAgainChoice(boolean confirmed) {
+        return confirmed ? MOVE_AGAIN_CONFIRM : MOVE_AGAIN_DECLINE;
+    }
+
+    /**
+     * Ermittelt, ob ein kodierter Zug ein Spielzug auf eine Position ist.
+     *
+     * @param move Der kodierte Zug
+     * @return True, falls Spielzug auf eine Position
+     */
+    public static boolean isDestination(int move) {
+        return move >= 0 && move < CARROTS_CHOICE;
+    }
+
+    /**
+     * Ermittelt, ob ein kodierter Zug eine Karottenauswahl ist.
+     *
+     * @param move Der kodierte Zug
+     * @return True, falls Karottenauswahl
+     */
+    public static boolean isCarrotsChoice(int move) {
+        return move >= CARROTS_CHOICE && move < CARROTS_CHOICE + CARROTS_CHOICES.length;
+    }
+
+    /**
+     * Ermittelt, ob ein kodierter Zug eine Entscheidung zu "Ziehe noch einmal!" ist.
+     *
+     * @param move Der kodierte Zug
+     * @return True, falls Entscheidung zu "Ziehe noch einmal!"
+     */
+    public static boolean isMoveAgainChoice(int move) {
+        return move == MOVE_AGAIN_DECLINE || move == MOVE_AGAIN_CONFIRM;
+    }
+
+    /**
+     * Liefert die Position eines kodierten Spielzuges.
+     *
+     * @param move Der kodierte Zug
+     * @return Die Position
+     */
+    public static int getDestination(int move) {
+        return move;
+    }
+
+    /**
+     * Liefert die Auswahl eines kodierten Karottenzuges.
+     *
+     * @param move Der kodierte Zug
+     * @return Die Auswahl
+     */
+    public static KarotteChoice getCarrotsChoice(int move) {
+        return CARROTS_CHOICES[move - CARROTS_CHOICE];
+    }
+
+    /**
+     * Liefert die Entscheidung eines kodierten "Ziehe noch einmal!" Zuges.
+     *
+     * @param move Der kodierte Zug
+     * @return True, falls noch einmal gezogen wird
+     */
+    public static boolean isMoveAgainConfirmed(int move) {
+        return move == MOVE_AGAIN_CONFIRM;
+    }
+
+    /**
+     * Liefert eine lesbare Darstellung eines kodierten Zuges, z.B. für Logs.
+     *
+     * @param move Der kodierte Zug
+     * @return Die Darstellung
+     */
+    public static String toString(int move) {
+        if (isDestination(move)) {
+            return "MOVE " + getDestination(move);
+        } else if (isCarrotsChoice(move)) {
+            return "CARROTS " + getCarrotsChoice(move);
+        } else if (isMoveAgainChoice(move)) {
+            return "MOVEAGAIN " + isMoveAgainConfirmed(move);
+        }
+
+        return "INVALID " + move;
+    }
+}
@@ -24,6 +24,17 @@ public class FieldHase extends FieldEmpty {
      */
     private final CardDeck cardDeck;
 
+    /**
+     * Konstanten für alle Karten und Zielpositionen, um values() nicht wiederholt aufzurufen.
+     */
+    private static final CardEvent[] CARDS = CardEvent.values();
+    private static final GamePosition[] TARGET_POSITIONS = GamePosition.values();
+
+    /**
+     * Konstante für die Anzahl an Bits der Zielposition in saveState().
+     */
+    private static final int TARGET_POSITION_BITS = 3;
+
     /**
      * Attribut für die oberste Karte auf dem Deck
      */
@@ -36,12 +47,40 @@ public class FieldHase extends FieldEmpty {
      */
     private GamePosition targetPosition;
 
+    /**
+     * Attribute für die Verschiebung durch eine Hasenkarte, bis die Bewegung auf der Oberfläche
+     * abgeschlossen ist.
+     */
+    private Player movingPlayer;
+    private int movingPosition;
+
+    /**
+     * Wiederverwendeter Callback für die Verschiebung, wird beim ersten Gebrauch erzeugt, da ein
+     * Feld stets zu genau einem Spiel gehört.
+     */
+    private Runnable moveEvent;
+
+    /**
+     * Attribut, ob das Ziehen einer Karte ins Log geschrieben wird, siehe GameLogic.isLogging().
+     */
+    private boolean logging = true;
+
     public FieldHase(int position, CardDeck cardDeck) {
         super(position);
         targetPosition = GamePosition.DEFAULT;
         this.cardDeck = cardDeck;
     }
 
+    /**
+     * Setzt, ob das Ziehen einer Karte ins Log geschrieben wird. Wird vom Spiel gesetzt, zu dem
+     * dieses Feld gehört.
+     *
+     * @param logging True, falls ins Log geschrieben wird
+     */
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
     @Override
     public FieldType getType() {
         return FieldType.HASE;
@@ -66,38 +105,41 @@ public class FieldHase extends FieldEmpty {
 
         if (card == CardEvent.TAKEORGIVE) {
             game.enableCarrotsChoosing();
-            gui.alertMultipleChoice(Token.FIELD_HASE_TAKEORGIVE, choice -> {
-                // 1 = FIELD_HASE_TAKEORGIVE_TAKE
-                if (choice == 1) {
-                    Log.write(LogLevel.INFO, LogModule.GAME,
-                            "User chose to give away 10 Carrots, standing on Hasenfeld");
-                    game.carrotsChoice(KarotteChoice.REMOVE);
-                    // 2 = FIELD_HASE_TAKEORGIVE_GIVE
-                } else if (choice == 2) {
-                    Log.write(LogLevel.INFO, LogModule.GAME,
-                            "User chose to take additional 10 Carrots, standing on Hasenfeld");
-                    game.carrotsChoice(KarotteChoice.ADD);
-                    // else = 0 = FIELD_HASE_TAKEORGIVE_DO_NOTHING
-                } else {
-                    Log.write(LogLevel.INFO, LogModule.GAME,
-                            "User chose to do nothing for this turn, standing on Hasenfeld");
-                    game.carrotsChoice(KarotteChoice.CONTINUE_HASENFELD);
-                }
-                    }, Token.FIELD_HASE_TAKEORGIVE_DO_NOTHING, Token.FIELD_HASE_TAKEORGIVE_TAKE,
-                    Token.FIELD_HASE_TAKEORGIVE_GIVE);
-        } else if (card == CardEvent.MOVEAGAIN) {
-            gui.alertConfirm(card.getMessage(), confirmed -> {
 
-                if (!confirmed) {
-                    // Optional, dass der Spieler noch ein weiteres mal ziehen darf
-                    game.nextPlayerTurn();
-                }
+            // Ohne Darstellung erfolgt die Entscheidung direkt über GameLogic.carrotsChoice()
+            if (gui.isDisplayed()) {
+                gui.alertMultipleChoice(Token.FIELD_HASE_TAKEORGIVE, choice -> {
+                    // 1 = FIELD_HASE_TAKEORGIVE_TAKE
+                    if (choice == 1) {
+                        Log.write(LogLevel.INFO, LogModule.GAME,
+                                "User chose to give away 10 Carrots, standing on Hasenfeld");
+                        game.carrotsChoice(KarotteChoice.REMOVE);
+                        // 2 = FIELD_HASE_TAKEORGIVE_GIVE
+                    } else if (choice == 2) {
+                        Log.write(LogLevel.INFO, LogModule.GAME,
+                                "User chose to take additional 10 Carrots, standing on Hasenfeld");
+                        game.carrotsChoice(KarotteChoice.ADD);
+                        // else = 0 = FIELD_HASE_TAKEORGIVE_DO_NOTHING
+                    } else {
+                        Log.write(LogLevel.INFO, LogModule.GAME,
+                                "User chose to do nothing for this turn, standing on Hasenfeld");
+                        game.carrotsChoice(KarotteChoice.CONTINUE_HASENFELD);
+                    }
+                        }, Token.FIELD_HASE_TAKEORGIVE_DO_NOTHING, Token.FIELD_HASE_TAKEORGIVE_TAKE,
+                        Token.FIELD_HASE_TAKEORGIVE_GIVE);
+            }
+        } else if (card == CardEvent.MOVEAGAIN) {
+            // Optional, dass der Spieler noch ein weiteres mal ziehen darf
+            game.enableMoveAgainChoosing();
 
-            });
+            // Ohne Darstellung erfolgt die Entscheidung direkt über GameLogic.moveAgainChoice()
+            if (gui.isDisplayed()) {
+                gui.alertConfirm(card.getMessage(), game::moveAgainChoice);
+            }
         } else if (card != null) {
             gui.updateStats(game.getPlayerID(target), target.getName(), target.getCarrots(),
                     target.getSalads());
-            gui.alertEvent(card.getMessage(), target, game::nextPlayerTurn);
+            gui.alertEvent(card.getMessage(), target, game.getNextPlayerTurnEvent());
         }
 
     }
@@ -111,48 +153,52 @@ public class FieldHase extends FieldEmpty {
                 target.setEatsSalad(true);
                 target.setSuspended(false);
                 target.setSalads(target.getSalads() - 1);
-                Log.write(LogLevel.TRACE, LogModule.GAME, "Player has eaten a salad.");
+                game.onSaladEaten(target);
+                if (game.isLogging(LogLevel.TRACE)) {
+                    Log.write(LogLevel.TRACE, LogModule.GAME, "Player has eaten a salad.");
+                }
                 gui.updateStats(game.getPlayerID(target), target.getName(), target.getCarrots(),
                         target.getSalads());
-                gui.alertEvent(Token.FIELD_HASE_EATSALAD, target, game::nextPlayerTurn);
+                gui.alertEvent(Token.FIELD_HASE_EATSALAD, target, game.getNextPlayerTurnEvent());
             } else {
                 target.setSuspended(false);
                 target.setEatsSalad(false);
-                Log.write(LogLevel.TRACE, LogModule.GAME, "Player has no Salad left to eat.");
-                gui.alertEvent(Token.FIELD_HASE_IDLE_SUSPEND, target, game::nextPlayerTurn);
+                if (game.isLogging(LogLevel.TRACE)) {
+                    Log.write(LogLevel.TRACE, LogModule.GAME, "Player has no Salad left to eat.");
+                }
+                gui.alertEvent(Token.FIELD_HASE_IDLE_SUSPEND, target, game.getNextPlayerTurnEvent());
             }
         }
         // Im vorherigen Zug SUSPEND Karte (oder Spielstand geladen, wo Spieler suspended ist)
         else if (target.isSuspended() && (card == CardEvent.SUSPEND || card == null)) {
             target.setSuspended(false);
-            gui.alertEvent(Token.FIELD_HASE_IDLE_SUSPEND, target, game::nextPlayerTurn);
+            gui.alertEvent(Token.FIELD_HASE_IDLE_SUSPEND, target, game.getNextPlayerTurnEvent());
         }
         // Verarbeitung wohin der Spieler verschoben werden soll, falls überhaupt
         else if (targetPosition != GamePosition.DEFAULT) {
             int position = game.getAvailablePosition(targetPosition);
-            Log.write(LogLevel.TRACE, LogModule.GAME,
-                    "New Position from Hasenkarte for current Player: " + position);
+            if (game.isLogging(LogLevel.TRACE)) {
+                Log.write(LogLevel.TRACE, LogModule.GAME,
+                        "New Position from Hasenkarte for current Player: " + position);
+            }
 
             // Spieler soll nur Position ändern, wenn eine Verfügbar ist
             if (position != target.getPosition()) {
                 // Spieler wird gezwungen auf eine Position zu gehen
                 // ohne Beachtung von Spiellogik-Regeln wie Kosten des Weges
-                gui.movePlayer(game.getPlayerID(target), target.getPosition(), position, () -> {
-                    target.moveTo(position);
-                    if (position == GameLogic.FINAL_FIELD_POSITION) {
-                        game.onPlayerFinish(target);
-                        if (!game.checkForGameEnd()) {
-                            game.afterMove();
-                        }
-                    } else {
-                        game.afterMove();
-                    }
-                });
+                if (moveEvent == null) {
+                    moveEvent = () -> afterCardMove(game);
+                }
+
+                movingPlayer = target;
+                movingPosition = position;
+                gui.movePlayer(game.getPlayerID(target), target.getPosition(), position, moveEvent);
                 // Spielerwechsel wird hierbei bei dem neuen Feld,
                 // auf welches der Spieler bewegt wird bei field.gameEventAfterMove() ausgeführt
                 // durch das game::afterMove Objekt im gui.movePlayer
             } else {
-                gui.alertEvent(Token.FIELD_HASE_POSITION_UNCHANGED, target, game::nextPlayerTurn);
+                gui.alertEvent(Token.FIELD_HASE_POSITION_UNCHANGED, target,
+                        game.getNextPlayerTurnEvent());
             }
 
             targetPosition = GamePosition.DEFAULT;
@@ -160,6 +206,52 @@ public class FieldHase extends FieldEmpty {
 
     }
 
+    /**
+     * Methode nach der Verschiebung durch eine Hasenkarte, bewegt den Spieler und lässt das
+     * neue Feld mit ihm interagieren.
+     *
+     * @param game Das Spiel
+     */
+    private void afterCardMove(GameLogic game) {
+        Player target = movingPlayer;
+        int position = movingPosition;
+        movingPlayer = null;
+
+        target.moveTo(position);
+        if (position == GameLogic.FINAL_FIELD_POSITION) {
+            game.onPlayerFinish(target);
+            if (!game.checkForGameEnd()) {
+                game.afterMove();
+            }
+        } else {
+            game.afterMove();
+        }
+    }
+
+    /**
+     * Speichert die zuletzt gezogene Karte und die ausstehende Zielposition dieses Feldes, z.B. um
+     * einen Spielzug rückgängig zu machen.
+     *
+     * @return Der gespeicherte Zustand, belegt die unteren 8 Bit
+     */
+    public int saveState() {
+        int cardState = card == null ? 0 : card.ordinal() + 1;
+
+        return cardState << TARGET_POSITION_BITS | targetPosition.ordinal();
+    }
+
+    /**
+     * Stellt einen zuvor mit saveState() gespeicherten Zustand wieder her.
+     *
+     * @param state Der gespeicherte Zustand
+     */
+    public void restoreState(int state) {
+        int cardState = state >>> TARGET_POSITION_BITS;
+
+        card = cardState == 0 ? null : CARDS[cardState - 1];
+        targetPosition = TARGET_POSITIONS[state & ((1 << TARGET_POSITION_BITS) - 1)];
+    }
+
     /**
      * Methode, welche die erste Karte vom Kartendeck zieht und auf einen bestimmten Spieler eine
      * entsprechende Wirkung hat. Nach dem ziehen der Karte wird diese auf den hintersten Platz des
@@ -170,8 +262,10 @@ public class FieldHase extends FieldEmpty {
     private void drawCard(Player target) {
         card = cardDeck.pop();
 
-        Log.write(LogLevel.INFO, LogModule.GAME,
-                "Drawing card " + card.name() + " for player " + target.getName());
+        if (logging && Log.isEnabled(LogLevel.INFO)) {
+            Log.write(LogLevel.INFO, LogModule.GAME,
+                    "Drawing card " + card.name() + " for player " + target.getName());
+        }
 
         switch (card) {
             case REFUND -> {
@@ -31,6 +31,12 @@ public class FieldKarotte extends FieldEmpty {
     public void interactOnIdle(Player target, GameLogic game, GUIConnector gui) {
 
         game.enableCarrotsChoosing();
+
+        // Ohne Darstellung erfolgt die Entscheidung direkt über GameLogic.carrotsChoice()
+        if (!gui.isDisplayed()) {
+            return;
+        }
+
         gui.alertMultipleChoice(Token.FIELD_CARROT_CHOICE, choice -> {
             if (choice == 1) {
                 Log.write(LogLevel.INFO, LogModule.GAME, "User chose to give away 10 Carrots, standing on Karottenfeld");
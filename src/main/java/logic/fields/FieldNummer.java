@@ -35,6 +35,15 @@ public class FieldNummer extends FieldEmpty {
         this.desiredPlace = desiredPlace;
     }
 
+    /**
+     * Liefert die Zahl bzw. Flagge auf dem Feld.
+     *
+     * @return Die Zahl bzw. Flagge
+     */
+    public NummerFlag getDesiredPlace() {
+        return desiredPlace;
+    }
+
     @Override
     public FieldType getType() {
         return FieldType.NUMMER;
@@ -54,7 +63,7 @@ public class FieldNummer extends FieldEmpty {
             int gainedCarrots = placement * 10;
             target.setCarrots(target.getCarrots() + gainedCarrots);
             gui.updateStats(game.getPlayerID(target), target.getName(), target.getCarrots(), target.getSalads());
-            gui.alertEvent(Token.FIELD_NUMBER_GAINED_CARROTS, target, game::redraw);
+            gui.alertEvent(Token.FIELD_NUMBER_GAINED_CARROTS, target, game.getRedrawEvent());
         }
     }
 }
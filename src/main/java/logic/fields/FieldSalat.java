@@ -37,9 +37,10 @@ public class FieldSalat extends FieldEmpty {
             target.setEatsSalad(false);
             target.setSalads(target.getSalads() - 1);
             target.setCarrots(target.getCarrots() + (game.getPlaceOfProtagonist() + 1) * 10);
+            game.onSaladEaten(target);
 
             gui.updateStats(game.getPlayerID(target), target.getName(), target.getCarrots(), target.getSalads());
-            gui.alertEvent(Token.FIELD_SALAD_EAT, target, game::nextPlayerTurn);
+            gui.alertEvent(Token.FIELD_SALAD_EAT, target, game.getNextPlayerTurnEvent());
         }
     }
 
@@ -0,0 +1,214 @@
+package logic.simulation;
+
+import logic.GameArchiveWriter;
+import logic.GameLogic;
+import logic.HeadlessGame;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Klasse zum parallelen Simulieren vieler unabhängiger Spiele auf einem ForkJoinPool.
+ * <p>
+ * Jedes Spiel besitzt eine eigene GameLogic samt GameBoard und CardDeck, Spiele teilen sich
+ * keinen veränderlichen Zustand. Die Ergebnisse werden je Teilauftrag lokal gesammelt und erst
+ * beim Zusammenführen der Teilaufträge kombiniert, daher ist keine Synchronisation notwendig.
+ *
+ * @author github.com/batscs
+ */
+public class BatchSimulator {
+
+    /**
+     * Anzahl an Spielen, welche ein Teilauftrag ohne weitere Aufteilung sequentiell simuliert.
+     */
+    private static final int GAMES_PER_TASK = 8;
+
+    /**
+     * Attribut für den Pool, auf dem die Spiele simuliert werden.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Attribut zum Erzeugen der Entscheidungsstrategien eines Spiels anhand seiner Nummer.
+     */
+    private final IntFunction<DecisionPolicy[]> policyFactory;
+
+    /**
+     * Attribut für die teilnehmenden Spielernamen.
+     */
+    private final String[] names;
+
+    /**
+     * Attribut für die maximale Anzahl an Entscheidungen je Spiel.
+     */
+    private final int maxDecisions;
+
+    /**
+     * Attribut, ob die Kartendecks anhand eines Startwerts gemischt werden.
+     */
+    private boolean seeded;
+
+    /**
+     * Startwert der Kartendecks, das Spiel mit der Nummer i erhält seed + i.
+     */
+    private long seed;
+
+    /**
+     * Konstruktor für einen Simulator auf dem gemeinsamen ForkJoinPool.
+     *
+     * @param policyFactory Erzeugt die Entscheidungsstrategien für das Spiel mit der übergebenen
+     *                      Nummer, muss threadsicher sein
+     * @param names         Teilnehmende Spielernamen
+     */
+    public BatchSimulator(IntFunction<DecisionPolicy[]> policyFactory, String... names) {
+        this(ForkJoinPool.commonPool(), policyFactory, HeadlessGame.DEFAULT_MAX_DECISIONS, names);
+    }
+
+    /**
+     * Konstruktor für einen Simulator.
+     *
+     * @param pool          Pool, auf dem die Spiele simuliert werden
+     * @param policyFactory Erzeugt die Entscheidungsstrategien für das Spiel mit der übergebenen
+     *                      Nummer, muss threadsicher sein
+     * @param maxDecisions  Maximale Anzahl an Entscheidungen, bevor ein Spiel abgebrochen wird
+     * @param names         Teilnehmende Spielernamen
+     */
+    public BatchSimulator(ForkJoinPool pool, IntFunction<DecisionPolicy[]> policyFactory,
+                          int maxDecisions, String... names) {
+        this.pool = pool;
+        this.policyFactory = policyFactory;
+        this.maxDecisions = maxDecisions;
+        this.names = names.clone();
+    }
+
+    /**
+     * Legt einen Startwert fest, damit die Kartendecks reproduzierbar gemischt werden. Jedes
+     * Spiel erhält einen eigenen, von seiner Nummer abhängigen Zufallsstrom.
+     *
+     * @param seed Startwert
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    /**
+     * Simuliert eine Anzahl an Spielen parallel und wartet auf deren Ende.
+     *
+     * @param games Anzahl der Spiele
+     * @return Die zusammengeführte Statistik aller Spiele
+     */
+    public SimulationStatistics run(int games) {
+        return pool.invoke(new SimulationTask(0, games, null));
+    }
+
+    /**
+     * Simuliert eine Anzahl an Spielen parallel und schreibt den vollständigen Verlauf jedes
+     * Spiels in ein Archiv. Die Nummer eines Spiels im Archiv entspricht seiner Spielnummer, die
+     * Reihenfolge der Spiele im Archiv ist nicht festgelegt.
+     *
+     * @param games   Anzahl der Spiele
+     * @param archive Das Archiv, muss für die Spielernamen dieses Simulators angelegt sein
+     * @return Die zusammengeführte Statistik aller Spiele
+     */
+    public SimulationStatistics run(int games, GameArchiveWriter archive) {
+        return pool.invoke(new SimulationTask(0, games, archive));
+    }
+
+    /**
+     * Erstellt eine leere Statistik passend zu diesem Simulator.
+     *
+     * @return Die leere Statistik
+     */
+    private SimulationStatistics createStatistics() {
+        // Ein Sieger betritt das Ziel stets als Erster
+        return new SimulationStatistics(names.length, GameLogic.FINISH_MAX_CARROTS);
+    }
+
+    /**
+     * Teilauftrag, welcher einen Bereich von Spielnummern simuliert und bei Bedarf halbiert.
+     */
+    private class SimulationTask extends RecursiveTask<SimulationStatistics> {
+
+        /**
+         * Erste Spielnummer des Bereichs (inklusiv).
+         */
+        private final int from;
+
+        /**
+         * Letzte Spielnummer des Bereichs (exklusiv).
+         */
+        private final int to;
+
+        /**
+         * Archiv für die Verläufe der Spiele, oder null falls nicht archiviert wird.
+         */
+        private final GameArchiveWriter archive;
+
+        /**
+         * Konstruktor für einen Teilauftrag.
+         *
+         * @param from    Erste Spielnummer (inklusiv)
+         * @param to      Letzte Spielnummer (exklusiv)
+         * @param archive Archiv für die Verläufe, oder null
+         */
+        SimulationTask(int from, int to, GameArchiveWriter archive) {
+            this.from = from;
+            this.to = to;
+            this.archive = archive;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationStatistics statistics = createStatistics();
+                int stride = GameArchiveWriter.getStride(names.length);
+                long[] trajectory = archive == null ? null : new long[256 * stride];
+
+                for (int i = from; i < to; i++) {
+                    HeadlessGame game = seeded
+                            ? new HeadlessGame(policyFactory.apply(i), seed + i, names)
+                            : new HeadlessGame(policyFactory.apply(i), names);
+
+                    if (archive == null) {
+                        statistics.add(game.play(maxDecisions));
+                        continue;
+                    }
+
+                    // Verlauf je Teilauftrag sammeln und als Ganzes anhängen, damit die
+                    // Datensätze eines Spiels im Archiv zusammenhängend bleiben
+                    int count = 0;
+                    GameArchiveWriter.pack(game.getGame(), i, count, trajectory, 0);
+                    count++;
+
+                    while (count <= maxDecisions && game.step()) {
+                        if ((count + 1) * stride > trajectory.length) {
+                            trajectory = Arrays.copyOf(trajectory, trajectory.length * 2);
+                        }
+
+                        GameArchiveWriter.pack(game.getGame(), i, count, trajectory,
+                                count * stride);
+                        count++;
+                    }
+
+                    archive.write(trajectory, count);
+                    statistics.add(game.getResult());
+                }
+
+                return statistics;
+            }
+
+            int mid = (from + to) >>> 1;
+
+            SimulationTask left = new SimulationTask(from, mid, archive);
+            SimulationTask right = new SimulationTask(mid, to, archive);
+
+            left.fork();
+            SimulationStatistics statistics = right.compute();
+
+            return statistics.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package logic.simulation;
+
+import logic.GameLogic;
+import logic.Player;
+import logic.data.KarotteChoice;
+
+/**
+ * Interface für eine Entscheidungsstrategie eines Spielers in einem Spiel ohne Oberfläche.
+ * Die Strategie wird vom HeadlessGame immer dann gefragt, wenn der Spieler am Zug ist.
+ *
+ * @author github.com/batscs
+ */
+public interface DecisionPolicy {
+
+    /**
+     * Wählt das Zielfeld des nächsten Zuges.
+     *
+     * @param game         Das laufende Spiel
+     * @param self         Der Spieler, welcher am Zug ist
+     * @param destinations Alle erreichbaren Positionen
+     * @param count        Anzahl der gültigen Einträge in destinations
+     * @return Die gewählte Position, muss in destinations enthalten sein
+     */
+    int chooseMove(GameLogic game, Player self, int[] destinations, int count);
+
+    /**
+     * Trifft eine Karottenauswahl auf einem Karotten- oder Hasenfeld.
+     *
+     * @param game    Das laufende Spiel
+     * @param self    Der Spieler, welcher am Zug ist
+     * @param options Die gültigen Auswahlmöglichkeiten
+     * @return Die gewählte Auswahl, muss in options enthalten sein
+     */
+    KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options);
+
+    /**
+     * Entscheidet, ob nach einer "Ziehe noch einmal!" Hasenkarte ein weiterer Zug gemacht wird.
+     *
+     * @param game Das laufende Spiel
+     * @param self Der Spieler, welcher am Zug ist
+     * @return True, falls noch einmal gezogen werden soll
+     */
+    boolean confirmMoveAgain(GameLogic game, Player self);
+
+}
@@ -0,0 +1,121 @@
+package logic.simulation;
+
+/**
+ * Klasse zur Repräsentation des Ergebnisses eines simulierten Spiels.
+ *
+ * @author github.com/batscs
+ */
+public class GameResult {
+
+    /**
+     * Attribut für den Index des Siegers, oder -1 falls das Spiel abgebrochen wurde.
+     */
+    private final int winner;
+
+    /**
+     * Attribut für die Anzahl der ausgeführten Spielzüge.
+     */
+    private final int moves;
+
+    /**
+     * Attribut für die Anzahl aller getroffenen Entscheidungen (Spielzüge und Auswahlen).
+     */
+    private final int decisions;
+
+    /**
+     * Attribut für die Anzahl an Karotten je Spieler am Spielende.
+     */
+    private final int[] carrots;
+
+    /**
+     * Attribut für die Spieler-Indizes im Ziel, in der Reihenfolge des Betretens.
+     */
+    private final int[] onTarget;
+
+    /**
+     * Konstruktor zum Erstellen eines Ergebnisses.
+     *
+     * @param winner    Index des Siegers, oder -1
+     * @param moves     Anzahl der Spielzüge
+     * @param decisions Anzahl aller Entscheidungen
+     * @param carrots   Karotten je Spieler am Spielende
+     * @param onTarget  Spieler-Indizes im Ziel
+     */
+    public GameResult(int winner, int moves, int decisions, int[] carrots, int[] onTarget) {
+        this.winner = winner;
+        this.moves = moves;
+        this.decisions = decisions;
+        this.carrots = carrots;
+        this.onTarget = onTarget;
+    }
+
+    /**
+     * Ermittelt, ob das Spiel regulär beendet wurde.
+     *
+     * @return True, falls ein Sieger feststeht.
+     */
+    public boolean isFinished() {
+        return winner >= 0;
+    }
+
+    /**
+     * Liefert den Index des Siegers.
+     *
+     * @return Index des Siegers, oder -1 falls das Spiel abgebrochen wurde.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Liefert die Anzahl der ausgeführten Spielzüge.
+     *
+     * @return Anzahl der Spielzüge
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Liefert die Anzahl aller getroffenen Entscheidungen.
+     *
+     * @return Anzahl der Entscheidungen
+     */
+    public int getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Liefert die Anzahl an Karotten eines Spielers am Spielende.
+     *
+     * @param player Index des Spielers
+     * @return Anzahl an Karotten
+     */
+    public int getCarrots(int player) {
+        return carrots[player];
+    }
+
+    /**
+     * Liefert die Anzahl der teilnehmenden Spieler.
+     *
+     * @return Anzahl der Spieler
+     */
+    public int getParticipants() {
+        return carrots.length;
+    }
+
+    /**
+     * Liefert die Spieler-Indizes im Ziel, in der Reihenfolge des Betretens.
+     *
+     * @return Kopie der Reihenfolge
+     */
+    public int[] getOnTarget() {
+        return onTarget.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameResult = {winner: %d, moves: %d, decisions: %d}", winner, moves,
+                decisions);
+    }
+}
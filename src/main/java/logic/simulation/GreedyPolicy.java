@@ -0,0 +1,114 @@
+package logic.simulation;
+
+import logic.GameBoard;
+import logic.GameLogic;
+import logic.Player;
+import logic.data.KarotteChoice;
+import logic.fields.FieldType;
+
+/**
+ * Einfache Entscheidungsstrategie, welche zuerst alle Salate loswird und danach versucht,
+ * genau so viele Karotten zu behalten, wie für den restlichen Weg ins Ziel benötigt werden.
+ * Dient als Grundlage für Simulationen, bei denen Spiele regulär enden sollen.
+ *
+ * @author github.com/batscs
+ */
+public class GreedyPolicy implements DecisionPolicy {
+
+    @Override
+    public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+        int best = destinations[0];
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        // Erwartete Karotten der Hasenkarten, einmal je Entscheidung ermittelt
+        double[] haseCarrots = new double[GameLogic.FINAL_FIELD_POSITION];
+        game.getExpectedHaseCarrots(haseCarrots);
+
+        for (int i = 0; i < count; i++) {
+            int destination = destinations[i];
+
+            if (destination == GameLogic.FINAL_FIELD_POSITION) {
+                return destination;
+            }
+
+            double score = score(game, self, destination, haseCarrots[destination]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = destination;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Bewertet ein Zielfeld anhand des Fortschritts und der danach verbleibenden Karotten.
+     *
+     * @param game        Das laufende Spiel
+     * @param self        Der Spieler, welcher am Zug ist
+     * @param destination Das Zielfeld
+     * @param haseCarrots Erwartete Karotten durch eine Hasenkarte auf dem Zielfeld, sonst 0
+     * @return Die Bewertung, höher ist besser
+     */
+    private double score(GameLogic game, Player self, int destination, double haseCarrots) {
+        int position = self.getPosition();
+        int distance = destination - position;
+
+        double carrots = haseCarrots + (distance > 0
+                ? self.getCarrots() - GameBoard.calculatePrice(distance)
+                : self.getCarrots() - 10 * distance);
+
+        int needed = GameBoard.calculatePrice(GameLogic.FINAL_FIELD_POSITION - destination);
+        int allowed = GameLogic.FINISH_MAX_CARROTS * (game.getOnTargetCount() + 1);
+
+        double score = destination;
+
+        if (self.getSalads() > 0 && game.getFieldType(destination) == FieldType.SALAT) {
+            score += 40;
+        }
+
+        boolean carrotField = game.getFieldType(destination) == FieldType.KAROTTE;
+
+        if (carrots < needed) {
+            score -= 2.0 * (needed - carrots);
+        } else if (carrots > needed + allowed) {
+            score -= 0.5 * (carrots - needed - allowed);
+        }
+
+        // Auf Karottenfeldern lässt sich die Anzahl der Karotten korrigieren
+        if (carrotField && (carrots < needed || carrots > needed + allowed)) {
+            score += 30;
+        }
+
+        return score;
+    }
+
+    @Override
+    public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+        int needed = GameBoard.calculatePrice(GameLogic.FINAL_FIELD_POSITION - self.getPosition());
+        int allowed = GameLogic.FINISH_MAX_CARROTS * (game.getOnTargetCount() + 1);
+
+        KarotteChoice desired;
+        if (self.getCarrots() < needed) {
+            desired = KarotteChoice.ADD;
+        } else if (self.getSalads() == 0 && self.getCarrots() > needed + allowed) {
+            desired = KarotteChoice.REMOVE;
+        } else {
+            desired = game.getContinueChoice();
+        }
+
+        for (KarotteChoice option : options) {
+            if (option == desired) {
+                return option;
+            }
+        }
+
+        return options[0];
+    }
+
+    @Override
+    public boolean confirmMoveAgain(GameLogic game, Player self) {
+        return true;
+    }
+
+}
@@ -0,0 +1,50 @@
+package logic.simulation;
+
+import logic.GameLogic;
+import logic.Player;
+import logic.data.KarotteChoice;
+
+import java.util.Random;
+
+/**
+ * Entscheidungsstrategie, welche zufällig unter allen gültigen Möglichkeiten wählt. Das Zielfeld
+ * wird dabei immer gewählt, sobald es erreichbar ist, damit Spiele in absehbarer Zeit enden.
+ *
+ * @author github.com/batscs
+ */
+public class RandomPolicy implements DecisionPolicy {
+
+    /**
+     * Attribut für den Zufallsgenerator.
+     */
+    private final Random random;
+
+    /**
+     * Konstruktor mit festem Startwert, damit Simulationen reproduzierbar sind.
+     *
+     * @param seed Startwert des Zufallsgenerators
+     */
+    public RandomPolicy(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+        if (destinations[count - 1] == GameLogic.FINAL_FIELD_POSITION) {
+            return GameLogic.FINAL_FIELD_POSITION;
+        }
+
+        return destinations[random.nextInt(count)];
+    }
+
+    @Override
+    public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+        return options[random.nextInt(options.length)];
+    }
+
+    @Override
+    public boolean confirmMoveAgain(GameLogic game, Player self) {
+        return random.nextBoolean();
+    }
+
+}
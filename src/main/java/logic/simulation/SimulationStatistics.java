@@ -0,0 +1,214 @@
+package logic.simulation;
+
+/**
+ * Klasse zum Aggregieren der Ergebnisse vieler simulierter Spiele. Instanzen sind nicht
+ * threadsicher, jeder Teilauftrag einer Simulation sammelt in einer eigenen Instanz, welche
+ * anschließend mit merge() zusammengeführt werden.
+ *
+ * @author github.com/batscs
+ */
+public class SimulationStatistics {
+
+    /**
+     * Attribut für die Anzahl der teilnehmenden Spieler je Spiel.
+     */
+    private final int participants;
+
+    /**
+     * Attribut für die Anzahl an Siegen je Spieler-Index.
+     */
+    private final int[] wins;
+
+    /**
+     * Attribut für die Häufigkeit der Karottenanzahl des Siegers beim Betreten des Ziels.
+     */
+    private final int[] winnerCarrots;
+
+    /**
+     * Attribut für die Anzahl aller simulierten Spiele.
+     */
+    private int games;
+
+    /**
+     * Attribut für die Anzahl der regulär beendeten Spiele.
+     */
+    private int finished;
+
+    /**
+     * Attribut für die Summe der Spielzüge aller beendeten Spiele.
+     */
+    private long totalMoves;
+
+    /**
+     * Attribut für die geringste Anzahl an Spielzügen eines beendeten Spiels.
+     */
+    private int minMoves = Integer.MAX_VALUE;
+
+    /**
+     * Attribut für die höchste Anzahl an Spielzügen eines beendeten Spiels.
+     */
+    private int maxMoves;
+
+    /**
+     * Konstruktor für eine leere Statistik.
+     *
+     * @param participants Anzahl der teilnehmenden Spieler je Spiel
+     * @param maxCarrots   Höchste mögliche Karottenanzahl eines Siegers
+     */
+    public SimulationStatistics(int participants, int maxCarrots) {
+        this.participants = participants;
+        this.wins = new int[participants];
+        this.winnerCarrots = new int[maxCarrots + 1];
+    }
+
+    /**
+     * Nimmt das Ergebnis eines Spiels in die Statistik auf.
+     *
+     * @param result Das Ergebnis
+     */
+    public void add(GameResult result) {
+        games++;
+
+        if (!result.isFinished()) {
+            return;
+        }
+
+        int winner = result.getWinner();
+        int moves = result.getMoves();
+
+        finished++;
+        wins[winner]++;
+        winnerCarrots[Math.min(result.getCarrots(winner), winnerCarrots.length - 1)]++;
+
+        totalMoves += moves;
+        minMoves = Math.min(minMoves, moves);
+        maxMoves = Math.max(maxMoves, moves);
+    }
+
+    /**
+     * Führt eine andere Statistik mit dieser zusammen. Die andere Statistik bleibt unverändert.
+     *
+     * @param other Die andere Statistik mit gleicher Spieleranzahl
+     * @return Diese Statistik
+     */
+    public SimulationStatistics merge(SimulationStatistics other) {
+        for (int i = 0; i < participants; i++) {
+            wins[i] += other.wins[i];
+        }
+
+        for (int i = 0; i < winnerCarrots.length; i++) {
+            winnerCarrots[i] += other.winnerCarrots[i];
+        }
+
+        games += other.games;
+        finished += other.finished;
+        totalMoves += other.totalMoves;
+        minMoves = Math.min(minMoves, other.minMoves);
+        maxMoves = Math.max(maxMoves, other.maxMoves);
+
+        return this;
+    }
+
+    /**
+     * Liefert die Anzahl aller simulierten Spiele.
+     *
+     * @return Anzahl der Spiele
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Liefert die Anzahl der regulär beendeten Spiele.
+     *
+     * @return Anzahl der beendeten Spiele
+     */
+    public int getFinished() {
+        return finished;
+    }
+
+    /**
+     * Liefert die Anzahl an Siegen eines Spielers.
+     *
+     * @param player Index des Spielers
+     * @return Anzahl an Siegen
+     */
+    public int getWins(int player) {
+        return wins[player];
+    }
+
+    /**
+     * Liefert den Anteil der Siege eines Spielers an allen beendeten Spielen.
+     *
+     * @param player Index des Spielers
+     * @return Anteil zwischen 0 und 1
+     */
+    public double getWinRate(int player) {
+        return finished == 0 ? 0 : (double) wins[player] / finished;
+    }
+
+    /**
+     * Liefert die durchschnittliche Anzahl an Spielzügen der beendeten Spiele.
+     *
+     * @return Durchschnittliche Spiellänge
+     */
+    public double getAverageMoves() {
+        return finished == 0 ? 0 : (double) totalMoves / finished;
+    }
+
+    /**
+     * Liefert die geringste Anzahl an Spielzügen eines beendeten Spiels.
+     *
+     * @return Kürzeste Spiellänge, oder 0 falls kein Spiel beendet wurde.
+     */
+    public int getMinMoves() {
+        return finished == 0 ? 0 : minMoves;
+    }
+
+    /**
+     * Liefert die höchste Anzahl an Spielzügen eines beendeten Spiels.
+     *
+     * @return Längste Spiellänge
+     */
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Liefert, wie oft ein Sieger mit einer bestimmten Anzahl an Karotten das Ziel betreten hat.
+     *
+     * @param carrots Anzahl an Karotten
+     * @return Häufigkeit
+     */
+    public int getWinnerCarrotsCount(int carrots) {
+        return winnerCarrots[carrots];
+    }
+
+    /**
+     * Liefert die durchschnittliche Anzahl an Karotten der Sieger beim Betreten des Ziels.
+     *
+     * @return Durchschnittliche Karottenanzahl
+     */
+    public double getAverageWinnerCarrots() {
+        long sum = 0;
+
+        for (int i = 0; i < winnerCarrots.length; i++) {
+            sum += (long) i * winnerCarrots[i];
+        }
+
+        return finished == 0 ? 0 : (double) sum / finished;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rates = new StringBuilder();
+
+        for (int i = 0; i < participants; i++) {
+            rates.append(i == 0 ? "" : ", ").append(String.format("%.3f", getWinRate(i)));
+        }
+
+        return String.format("SimulationStatistics = {games: %d, finished: %d, winRates: [%s], "
+                        + "avgMoves: %.2f, avgWinnerCarrots: %.2f}", games, finished, rates,
+                getAverageMoves(), getAverageWinnerCarrots());
+    }
+}
@@ -1,6 +1,6 @@
 package util;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Klasse mit Methoden zur Verarbeitung von Arrays, um diese Logik von den Spielmechanismen zu
@@ -26,35 +26,28 @@ public class ArrayUtils {
     }
 
     /**
-     * Methode, welche eine zufällige Ganzzahl in einem bestimmten Bereich liefert.
+     * Methode, welche eine zufällige Ganzzahl in einem bestimmten Bereich liefert. Verwendet den
+     * Zufallsgenerator des aktuellen Threads, damit parallele Spiele sich nicht blockieren.
      *
      * @param min Untergrenze der Zahl
      * @param max Obergrenze der Zahl
      * @return Zufällig generierte Zahl, innerhalb der Grenzen.
      */
     public static int rand(int min, int max) {
-        return new Random().nextInt((max - min) + 1) + min;
+        return ThreadLocalRandom.current().nextInt(min, max + 1);
     }
 
     /**
-     * Methode, welche einen übergebenen Array in eine zufällige Abfolge bringt.
+     * Methode, welche einen übergebenen Array in eine zufällige Abfolge bringt (Fisher-Yates),
+     * jede Abfolge ist gleich wahrscheinlich.
      *
      * @param arr Der Array
      * @param <T> Datentyp des Arrays
      */
     public static <T> void shuffleArray(T[] arr) {
-
-        int shuffleTimes = arr.length * arr.length;
-        int min = 0;
-        int max = arr.length - 1;
-
-        for (int i = 0; i < shuffleTimes; i++) {
-            int posA = rand(min, max);
-            int posB = rand(min, max);
-
-            swapElementsInArray(arr, posA, posB);
+        for (int i = arr.length - 1; i > 0; i--) {
+            swapElementsInArray(arr, i, rand(0, i));
         }
-
     }
 
     /**
@@ -3,13 +3,14 @@ package util.log;
 import gui.data.Filepath;
 
 import java.io.*;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Klasse zum Aufzeichnen von Ereignissen in einer log.txt-Datei zur Laufzeit des Programmes. Für
  * Debug-Zwecke.
+ * <p>
+ * Threadsicher, da mehrere Spiele gleichzeitig (z.B. in Simulationen) protokollieren können.
  *
  * @author github.com/batscs
  */
@@ -18,26 +19,26 @@ public class Log {
     /**
      * Attribut, zur Umwandlung in das gewünschte Zeitformat als ISO8601-Standard.
      */
-    private static final DateFormat TIMESTAMP_ISO8601 =
-            new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    private static final DateTimeFormatter TIMESTAMP_ISO8601 =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
 
     /**
      * Attribut, dass die Datei initialisiert wurde und nun Ereignisse protokolliert (geloggt)
      * werden sollen.
      */
-    private static boolean started = false;
+    private static volatile boolean started = false;
 
     /**
      * Attribut, dass nicht in die Datei geschrieben werden kann. Falls true wird nicht weiter
      * versucht neue logs zu protokollieren.
      */
-    private static boolean denied = false;
+    private static volatile boolean denied = false;
 
     /**
      * Methode säubert dem vorherigen Log, falls vorhanden. Wird am Anfang des Programms, sowie beim
      * Starten eines neuen Spiels ausgeführt.
      */
-    public static void start() {
+    public static synchronized void start() {
 
         try {
             File f = new File(Filepath.FILE_APPLICATION_LOG.toString());
@@ -54,6 +55,18 @@ public class Log {
         }
     }
 
+    /**
+     * Ermittelt, ob Ereignisse eines Log-Levels aufgezeichnet werden. Aufwendig zusammengesetzte
+     * Meldungen, z.B. in häufig ausgeführten Spielzügen, werden nur dann erzeugt.
+     *
+     * @param level Das Log-Level
+     * @return True, falls Ereignisse dieses Log-Levels aufgezeichnet werden
+     */
+    public static boolean isEnabled(LogLevel level) {
+        // Alle Log-Level werden aufgezeichnet, sobald die Datei initialisiert wurde
+        return started && !denied;
+    }
+
     /**
      * Methode zum Aufzeichnen eines Ereignisses in einem festen Format.
      * <p>
@@ -67,11 +80,22 @@ public class Log {
             return;
         }
 
-        String timestamp = TIMESTAMP_ISO8601.format(new Date());
+        String timestamp = TIMESTAMP_ISO8601.format(LocalDateTime.now());
+        String content = String.format("%s %s - [%s] %s", timestamp, level, module, msg);
+
+        append(content);
+    }
+
+    /**
+     * Hängt eine Zeile an die Datei an. Synchronisiert, damit Zeilen verschiedener Threads nicht
+     * ineinander geschrieben werden.
+     *
+     * @param content Die Zeile
+     */
+    private static synchronized void append(String content) {
 
         try (Writer writer = new BufferedWriter(
                 new FileWriter(Filepath.FILE_APPLICATION_LOG.toString(), true))) {
-            String content = String.format("%s %s - [%s] %s", timestamp, level, module, msg);
             writer.append(content).append("\n");
         } catch (IOException e) {
             denied = true;
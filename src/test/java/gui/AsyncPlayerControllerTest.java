@@ -0,0 +1,115 @@
+package gui;
+
+import logic.GameLogic;
+import logic.HeadlessGUI;
+import logic.Player;
+import logic.data.KarotteChoice;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class AsyncPlayerControllerTest {
+
+    /**
+     * Strategie, welche bis zur Unterbrechung rechnet.
+     */
+    private static class SlowPolicy implements DecisionPolicy {
+
+        private static void sleep() {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+            sleep();
+            return destinations[0];
+        }
+
+        @Override
+        public KarotteChoice chooseCarrots(GameLogic game, Player self, KarotteChoice[] options) {
+            sleep();
+            return options[0];
+        }
+
+        @Override
+        public boolean confirmMoveAgain(GameLogic game, Player self) {
+            sleep();
+            return false;
+        }
+    }
+
+    private final BlockingQueue<Runnable> fxThread = new LinkedBlockingQueue<>();
+
+    private final HeadlessGUI gui = new HeadlessGUI();
+
+    private void runUntil(BooleanSupplier condition, long millis) throws InterruptedException {
+        long end = System.currentTimeMillis() + millis;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            gui.processEvents();
+            Runnable task = fxThread.poll(10, TimeUnit.MILLISECONDS);
+
+            if (task != null) {
+                task.run();
+            }
+        }
+    }
+
+    @Test
+    public void botsTest_spielEndet() throws InterruptedException {
+        AsyncPlayerController controller = new AsyncPlayerController(gui,
+                new DecisionPolicy[]{new GreedyPolicy(), new GreedyPolicy()}, 1000, fxThread::add);
+        GameLogic g = new GameLogic(controller, 1L, "Anton", "Berta");
+        controller.attach(g);
+
+        runUntil(g::isGameFinished, 30_000);
+        controller.close();
+
+        assertTrue(g.isGameFinished());
+        assertTrue(gui.getWinner() >= 0);
+    }
+
+    @Test
+    public void deadlineTest_ersatzstrategie() throws InterruptedException {
+        AsyncPlayerController controller = new AsyncPlayerController(gui,
+                new DecisionPolicy[]{new SlowPolicy(), null}, 50, fxThread::add);
+        GameLogic g = new GameLogic(controller, "Anton", "Berta");
+        controller.attach(g);
+
+        long start = System.currentTimeMillis();
+        runUntil(controller::isHumanTurn, 5_000);
+        long millis = System.currentTimeMillis() - start;
+        controller.close();
+
+        assertTrue(controller.isHumanTurn() || g.getProtagonistID() == 1);
+        assertTrue("Zug dauerte " + millis + "ms", millis < 5_000);
+    }
+
+    @Test
+    public void moveTest_eingabeWaehrendComputerzug() throws InterruptedException {
+        AsyncPlayerController controller = new AsyncPlayerController(gui,
+                new DecisionPolicy[]{new SlowPolicy(), null}, 60_000, fxThread::add);
+        GameLogic g = new GameLogic(controller, "Anton", "Berta");
+        controller.attach(g);
+
+        runUntil(controller::isComputing, 1_000);
+
+        assertTrue(controller.isComputing());
+        assertFalse(controller.move(1));
+        assertEquals(0, g.getProtagonistID());
+
+        controller.close();
+        assertFalse(controller.isComputing());
+    }
+}
@@ -0,0 +1,139 @@
+package logic;
+
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AutoSaverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static HeadlessGame createGame() {
+        return new HeadlessGame(new DecisionPolicy[] {new GreedyPolicy(), new GreedyPolicy()}, 3L,
+                "Anton", "Berta");
+    }
+
+    /**
+     * Wartet, bis alle zuvor übergebenen Aufträge geschrieben wurden, da der Hintergrundthread
+     * die Aufträge nacheinander ausführt.
+     */
+    private static void await(AutoSaver saver, GameData config, File file) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        saver.save(config, file, saved -> latch.countDown());
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void submitTest_rollierend() throws IOException, InterruptedException {
+        File directory = new File(folder.getRoot(), "autosave");
+        AutoSaver saver = new AutoSaver(directory, 3, 60_000, Runnable::run);
+        HeadlessGame game = createGame();
+        game.getGame().setAutoSaver(saver);
+
+        File manual = folder.newFile("manuell.hug");
+
+        // Nach jedem Schritt warten, sonst werden ausstehende Spielstände zusammengefasst
+        for (int i = 0; i < 20; i++) {
+            assertTrue(game.step());
+            await(saver, game.getGame().getConfig(), manual);
+        }
+
+        GameData last = game.getGame().getConfig();
+        saver.submit(last);
+        await(saver, last, manual);
+        saver.close();
+
+        File[] saves = AutoSaver.listAutosaves(directory);
+        assertEquals(3, saves.length);
+        assertArrayEquals(last.encode(GameDataFormat.BINARY),
+                Files.readAllBytes(saves[saves.length - 1].toPath()));
+
+        File[] temps = directory.listFiles((dir, name) -> name.endsWith(GameData.TEMP_SUFFIX));
+        assertNotNull(temps);
+        assertEquals(0, temps.length);
+    }
+
+    @Test
+    public void submitTest_unveraendert() throws IOException, InterruptedException {
+        File directory = new File(folder.getRoot(), "autosave");
+        AutoSaver saver = new AutoSaver(directory, 5, 60_000, Runnable::run);
+        GameData config = createGame().getGame().getConfig();
+
+        saver.submit(config);
+        await(saver, config, folder.newFile("a.hug"));
+        saver.submit(config);
+        await(saver, config, folder.newFile("b.hug"));
+        saver.close();
+
+        assertEquals(1, AutoSaver.listAutosaves(directory).length);
+    }
+
+    @Test
+    public void closeTest_schreibtAusstehende() throws IOException {
+        File directory = new File(folder.getRoot(), "autosave");
+        AutoSaver saver = new AutoSaver(directory, 5, 60_000, Runnable::run);
+        GameData config = createGame().getGame().getConfig();
+
+        // Ohne zu warten schließen, wie beim Schließen des Fensters
+        saver.submit(config);
+        saver.close();
+
+        File[] saves = AutoSaver.listAutosaves(directory);
+        assertEquals(1, saves.length);
+        assertArrayEquals(config.encode(GameDataFormat.BINARY), Files.readAllBytes(saves[0].toPath()));
+    }
+
+    @Test
+    public void sourceTest_regelmaessig() throws InterruptedException {
+        File directory = new File(folder.getRoot(), "autosave");
+        AutoSaver saver = new AutoSaver(directory, 5, 20, Runnable::run);
+        HeadlessGame game = createGame();
+        saver.setSource(game.getGame()::getConfig);
+
+        long end = System.currentTimeMillis() + 10_000;
+        while (AutoSaver.listAutosaves(directory).length == 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        saver.close();
+
+        assertEquals(1, AutoSaver.listAutosaves(directory).length);
+    }
+
+    @Test
+    public void saveTest_ersetztDatei() throws IOException {
+        File file = folder.newFile("spiel.json");
+        Files.write(file.toPath(), new byte[] {1, 2, 3});
+
+        HeadlessGame game = createGame();
+        game.step();
+        GameData config = game.getGame().getConfig();
+
+        assertTrue(config.save(file));
+        assertArrayEquals(config.encode(GameDataFormat.JSON), Files.readAllBytes(file.toPath()));
+        assertFalse(new File(file.getPath() + GameData.TEMP_SUFFIX).exists());
+    }
+
+    @Test
+    public void copyTest_unabhaengig() {
+        HeadlessGame game = createGame();
+        GameData copy = game.getGame().getConfig().copy();
+        byte[] before = copy.encode(GameDataFormat.BINARY);
+
+        for (int i = 0; i < 5; i++) {
+            game.step();
+        }
+
+        assertArrayEquals(before, copy.encode(GameDataFormat.BINARY));
+    }
+}
@@ -0,0 +1,153 @@
+package logic;
+
+import logic.simulation.BatchSimulator;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import logic.simulation.SimulationStatistics;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class GameArchiveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static DecisionPolicy[] policies(int game) {
+        return new DecisionPolicy[] {new GreedyPolicy(), new RandomPolicy(game), new GreedyPolicy()};
+    }
+
+    @Test
+    public void archiveTest_verlaufJedesSpiels() throws IOException {
+        File file = folder.newFile("batch." + GameArchiveWriter.EXTENSION);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SimulationStatistics statistics;
+
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, "Anton", "Berta", "Cäsar")) {
+            BatchSimulator simulator = new BatchSimulator(pool, GameArchiveTest::policies,
+                    HeadlessGame.DEFAULT_MAX_DECISIONS, "Anton", "Berta", "Cäsar");
+            simulator.setSeed(100L);
+            statistics = simulator.run(40, writer);
+            assertFalse(writer.hasFailed());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Kleine Abschnitte, damit Datensätze über mehrere Abbildungen verteilt sind
+        try (GameArchiveReader reader = new GameArchiveReader(file, 4096)) {
+            assertArrayEquals(new String[] {"Anton", "Berta", "Cäsar"}, reader.getNames());
+
+            boolean[] seen = new boolean[40];
+            long[] expected = new long[4];
+            long[] actual = new long[4];
+            int finished = 0;
+            HeadlessGame game = null;
+
+            GameArchiveReader.Cursor cursor = reader.cursor();
+            while (cursor.next()) {
+                if (cursor.getDecision() == 0) {
+                    assertFalse(seen[cursor.getGame()]);
+                    seen[cursor.getGame()] = true;
+                    game = new HeadlessGame(policies(cursor.getGame()), 100L + cursor.getGame(),
+                            "Anton", "Berta", "Cäsar");
+                } else {
+                    assertTrue(game.step());
+                }
+
+                game.getGame().copyPackedState(expected, 0);
+                cursor.copyPackedState(actual, 0);
+                assertArrayEquals("Datensatz " + cursor.getIndex(), expected, actual);
+                assertEquals(game.getGame().isGameFinished(), cursor.isFinished());
+
+                if (cursor.isFinished()) {
+                    finished++;
+                }
+            }
+
+            for (boolean s : seen) {
+                assertTrue(s);
+            }
+            assertEquals(statistics.getFinished(), finished);
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void archiveTest_spielstandLaden() throws IOException {
+        File file = folder.newFile("einzeln." + GameArchiveWriter.EXTENSION);
+        HeadlessGame game = new HeadlessGame(policies(1), 5L, "Anton", "Berta", "Cäsar");
+        long[] records = new long[GameArchiveWriter.getStride(3) * 31];
+
+        for (int i = 0; i <= 30; i++) {
+            if (i > 0) {
+                game.step();
+            }
+            GameArchiveWriter.pack(game.getGame(), 0, i, records, i * GameArchiveWriter.getStride(3));
+        }
+
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, "Anton", "Berta", "Cäsar")) {
+            writer.write(records, 31);
+            assertEquals(31, writer.getRecordCount());
+        }
+
+        try (GameArchiveReader reader = new GameArchiveReader(file)) {
+            assertEquals(31, reader.getRecordCount());
+
+            GameData config = reader.toGameData(30);
+            int stride = GameArchiveWriter.getStride(3);
+            GameData expected = PackedGameState.fromArray(Arrays.copyOfRange(records,
+                    30 * stride + 1, 30 * stride + 5)).toGameData(reader.getNames());
+
+            assertEquals(expected.getProtagonist(), config.getProtagonist());
+            assertEquals(5L, config.getSeed());
+            assertEquals(game.getGame().getCardDeck().getCursor(), config.getDeckCursor());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected.getPlayers()[i], config.getPlayers()[i]);
+            }
+        }
+    }
+
+    @Test
+    public void archiveTest_unvollstaendigerDatensatz() throws IOException {
+        File file = folder.newFile("abgebrochen." + GameArchiveWriter.EXTENSION);
+        HeadlessGame game = new HeadlessGame(policies(2), 6L, "Anton", "Berta", "Cäsar");
+        long[] records = new long[GameArchiveWriter.getStride(3) * 2];
+
+        GameArchiveWriter.pack(game.getGame(), 7, 0, records, 0);
+        game.step();
+        GameArchiveWriter.pack(game.getGame(), 7, 1, records, GameArchiveWriter.getStride(3));
+
+        try (GameArchiveWriter writer = new GameArchiveWriter(file, "Anton", "Berta", "Cäsar")) {
+            writer.write(records, 2);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (GameArchiveReader reader = new GameArchiveReader(file)) {
+            assertEquals(1, reader.getRecordCount());
+
+            GameArchiveReader.Cursor cursor = reader.cursor();
+            assertTrue(cursor.next());
+            assertEquals(7, cursor.getGame());
+            assertEquals(0, cursor.getDecision());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void archiveTest_keinArchiv() throws IOException {
+        File file = folder.newFile("leer." + GameArchiveWriter.EXTENSION);
+        new GameArchiveReader(file);
+    }
+}
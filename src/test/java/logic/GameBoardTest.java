@@ -1,8 +1,11 @@
 package logic;
 
+import logic.fields.FieldType;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class GameBoardTest {
 
@@ -68,6 +71,137 @@ public class GameBoardTest {
 
         assertEquals(0, GameBoard.calculatePrice(0));
         assertEquals(0, GameBoard.calculatePrice(-5));
+
+        assertEquals(2080, GameBoard.calculatePrice(64));
+        assertEquals(2145, GameBoard.calculatePrice(65));
+    }
+
+    @Test
+    public void getMaxDistanceTest() {
+        assertEquals(0, GameBoard.getMaxDistance(0));
+        assertEquals(1, GameBoard.getMaxDistance(2));
+        assertEquals(2, GameBoard.getMaxDistance(3));
+        assertEquals(11, GameBoard.getMaxDistance(68));
+        assertEquals(13, GameBoard.getMaxDistance(98));
+        assertEquals(64, GameBoard.getMaxDistance(5000));
+    }
+
+    @Test
+    public void getReachableFieldsTest_start() {
+        GameLogic game = provideTestGame();
+        GameBoard board = game.getBoard();
+        Player p = game.getProtagonist();
+
+        // 68 Karotten reichen für 11 Felder, davon sind 8 und 11 Igelfelder
+        assertEquals(9, board.getReachableFields(p));
+        assertTrue(board.isReachable(p, 7));
+        assertTrue(board.isReachable(p, 10));
+        assertFalse(board.isReachable(p, 8));
+        assertFalse(board.isReachable(p, 11));
+        assertFalse(board.isReachable(p, 12));
+        assertFalse(board.isReachable(p, 0));
+    }
+
+    @Test
+    public void getReachableFieldsTest_nurErstesIgelfeld() {
+        GameLogic game = provideTestGame();
+        GameBoard board = game.getBoard();
+        Player p = game.getProtagonist();
+
+        p.moveTo(20);
+        p.setCarrots(0);
+
+        // Ohne Karotten bleibt nur das nächste zurückliegende Igelfeld
+        assertEquals(1, board.getReachableFields(p));
+        assertTrue(board.isReachable(p, 19));
+        assertFalse(board.isReachable(p, 15));
+
+        // Ist das Igelfeld besetzt, darf man auf das nächste freie Igelfeld
+        game.getBoard().getPlayerOnPlace(1).moveTo(19);
+        assertTrue(board.isReachable(p, 15));
+        assertFalse(board.isReachable(p, 19));
+    }
+
+    @Test
+    public void getReachableFieldsTest_ohneSalate() {
+        GameLogic game = provideTestGame();
+        GameBoard board = game.getBoard();
+        Player p = game.getProtagonist();
+
+        p.setSalads(0);
+
+        assertFalse(board.isReachable(p, 7));
+        assertEquals(8, board.getReachableFields(p));
+    }
+
+    @Test
+    public void occupancyTest_moveTo() {
+        GameLogic game = provideTestGame();
+        GameBoard board = game.getBoard();
+        Player p = game.getProtagonist();
+        int id = game.getPlayerID(p);
+
+        assertTrue(board.isOccupied(0));
+        assertFalse(board.isOccupied(5));
+
+        p.moveTo(5);
+        assertEquals(id, board.getOccupant(5));
+        assertTrue(board.isOccupied(0)); // Die anderen Spieler stehen noch auf dem Start
+
+        p.moveTo(9);
+        assertFalse(board.isOccupied(5));
+        assertEquals(GameBoard.FREE, board.getOccupant(5));
+        assertEquals(id, board.getOccupant(9));
+    }
+
+    @Test
+    public void occupancyTest_startfeldWirdFrei() {
+        GameLogic game = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        GameBoard board = game.getBoard();
+
+        game.move(5);
+        assertTrue(board.isOccupied(0));
+
+        game.move(4);
+        assertFalse(board.isOccupied(0));
+    }
+
+    @Test
+    public void rankingTest_geladenerSpielstand() {
+        Player anton = new Player("Anton");
+        Player berta = new Player("Berta");
+        Player caesar = new Player("Cäsar");
+        anton.moveTo(3);
+        berta.moveTo(12);
+        caesar.moveTo(7);
+
+        GameBoard board = new GameBoard(new Player[] {anton, berta, caesar});
+
+        assertEquals(berta, board.getPlayerOnPlace(0));
+        assertEquals(caesar, board.getPlayerOnPlace(1));
+        assertEquals(anton, board.getPlayerOnPlace(2));
+
+        // Anton überholt beide
+        anton.moveTo(20);
+        assertEquals(0, board.getPlaceOfPlayer(anton));
+        assertEquals(1, board.getPlaceOfPlayer(berta));
+        assertEquals(2, board.getPlaceOfPlayer(caesar));
+    }
+
+    @Test
+    public void presetTest_wieSpielbrett() {
+        GameLogic game = provideTestGame();
+
+        for (int position = 0; position <= GameLogic.FINAL_FIELD_POSITION; position++) {
+            assertEquals(game.getFieldType(position), GameBoard.getPresetFieldType(position));
+            assertEquals(game.getNummerFlag(position), GameBoard.getPresetNummerFlag(position));
+
+            if (position < GameLogic.FINAL_FIELD_POSITION) {
+                long bit = 1L << position;
+                assertEquals(game.getFieldType(position) == FieldType.IGEL,
+                        (GameBoard.getFieldTypeMask(FieldType.IGEL) & bit) != 0);
+            }
+        }
     }
 
 }
@@ -0,0 +1,217 @@
+package logic;
+
+import logic.data.CardEvent;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+public class GameDataWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static GameData playedGame(long seed, int moves) {
+        DecisionPolicy[] policies = {new GreedyPolicy(), new GreedyPolicy(), new GreedyPolicy()};
+        HeadlessGame game = new HeadlessGame(policies, seed, "Anton", "Bärbel", "Carl");
+        for (int i = 0; i < moves && game.step(); i++) {
+            // Spiel voranschreiten lassen
+        }
+        return game.getGame().getConfig();
+    }
+
+    /**
+     * Kodiert einen einzelnen Datensatz mit gültiger Prüfsumme, die Daten sind kürzer als 128 Byte.
+     */
+    private static GameDataReader reader(int... record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        CRC32 crc = new CRC32();
+
+        out.writeInt(GameDataWriter.MAGIC);
+        out.writeByte(GameDataWriter.VERSION);
+        out.writeByte(record.length);
+        for (int value : record) {
+            out.writeByte(value);
+            crc.update(value);
+        }
+        out.writeInt((int) crc.getValue());
+
+        return new GameDataReader(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static void assertSameGame(GameData expected, GameData actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getProtagonist(), actual.getProtagonist());
+        assertEquals(expected.getOnTarget(), actual.getOnTarget());
+        assertEquals(expected.hasSeed(), actual.hasSeed());
+        if (expected.hasSeed()) {
+            assertEquals(expected.getSeed(), actual.getSeed());
+        }
+        assertEquals(expected.getDeckCursor(), actual.getDeckCursor());
+        assertEquals(expected.isDeckCycled(), actual.isDeckCycled());
+        assertEquals(expected.getForcedCards(), actual.getForcedCards());
+        assertEquals(expected.getParticipants(), actual.getParticipants());
+
+        for (int i = 0; i < expected.getParticipants(); i++) {
+            Player a = expected.getPlayers()[i];
+            Player b = actual.getPlayers()[i];
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getPosition(), b.getPosition());
+            assertEquals(a.getCarrots(), b.getCarrots());
+            assertEquals(a.getSalads(), b.getSalads());
+            assertEquals(a.isSuspended(), b.isSuspended());
+            assertEquals(a.eatsSalad(), b.eatsSalad());
+        }
+    }
+
+    @Test
+    public void saveTest_binaer() throws IOException {
+        GameData config = playedGame(-7L, 25);
+        File file = folder.newFile("spiel.hug");
+
+        assertTrue(config.save(file));
+        assertSameGame(config, GameData.validate(file));
+    }
+
+    @Test
+    public void saveTest_json() throws IOException {
+        GameData config = playedGame(42L, 25);
+        File file = folder.newFile("spiel.json");
+
+        assertTrue(config.save(file));
+        assertSameGame(config, GameData.validate(file));
+    }
+
+    @Test
+    public void saveTest_binaerKleinerAlsJson() throws IOException {
+        GameData config = playedGame(3L, 10);
+        File binary = folder.newFile("spiel.HUG");
+        File json = folder.newFile("spiel.json");
+
+        assertEquals(GameDataFormat.BINARY, GameDataFormat.of(binary));
+        assertTrue(config.save(binary));
+        assertTrue(config.save(json));
+        assertTrue(Files.size(binary.toPath()) * 4 < Files.size(json.toPath()));
+    }
+
+    @Test
+    public void readTest_mehrereDatensaetze() throws IOException {
+        GameData[] configs = new GameData[20];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GameDataWriter writer = new GameDataWriter(bytes)) {
+            for (int i = 0; i < configs.length; i++) {
+                configs[i] = playedGame(i, 3 * i);
+                writer.write(configs[i]);
+            }
+        }
+
+        try (GameDataReader reader = new GameDataReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(GameDataWriter.VERSION, reader.getVersion());
+
+            for (GameData config : configs) {
+                assertSameGame(config, reader.read());
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void saveTest_kartendeck() throws IOException {
+        GameData played = playedGame(11L, 15);
+        GameData config = new GameData(played.getPlayers(), played.getProtagonist(),
+                played.getOnTarget(), played.getSeed(), 7, true,
+                List.of(CardEvent.MOVEAGAIN, CardEvent.REFUND));
+
+        for (String name : new String[] {"spiel.hug", "spiel.json"}) {
+            File file = folder.newFile(name);
+
+            assertTrue(config.save(file));
+            assertSameGame(config, GameData.validate(file));
+        }
+    }
+
+    @Test
+    public void readTest_ohneStartwert() throws IOException {
+        GameData config = new GameData(new Player[]{new Player("Anton"), new Player(null)}, 1,
+                new ArrayList<>());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GameDataWriter writer = new GameDataWriter(bytes)) {
+            writer.write(config);
+        }
+
+        try (GameDataReader reader = new GameDataReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSameGame(config, reader.read());
+        }
+    }
+
+    @Test
+    public void readTest_beschaedigt() throws IOException {
+        File file = folder.newFile("spiel.hug");
+        assertTrue(playedGame(5L, 5).save(file));
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        content[content.length - 6] ^= 0x10;
+        Files.write(file.toPath(), content);
+
+        assertNull(GameData.validate(file));
+    }
+
+    private static void assertInvalid(String message, GameDataReader reader) throws IOException {
+        try (reader) {
+            reader.read();
+            fail();
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    @Test
+    public void readTest_zuVieleSpieler() throws IOException {
+        // Flags, 1000 Spieler als ZigZag-Varint
+        assertInvalid("Invalid amount of players 1000", reader(0, 0xD0, 0x0F));
+    }
+
+    @Test
+    public void readTest_zuVieleKarten() throws IOException {
+        int[] player = {4, 'A', 0, 0x88, 0x01, 6, 0};
+        int[] record = new int[1 + 1 + 2 * player.length + 2 + Long.BYTES + 3];
+        int i = 0;
+
+        record[i++] = GameDataWriter.FLAG_SEED | GameDataWriter.FLAG_DECK;
+        record[i++] = 4;
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(player, 0, record, i, player.length);
+            i += player.length;
+        }
+        // Protagonist, Spieler im Ziel und Startwert sind 0, danach Zeiger 0 und 1000 Karten
+        i += 2 + Long.BYTES + 1;
+        record[i++] = 0xD0;
+        record[i] = 0x0F;
+
+        assertInvalid("Invalid amount of forced cards 1000", reader(record));
+    }
+
+    @Test
+    public void readTest_keinBinaerformat() throws IOException {
+        File file = folder.newFile("spiel.hug");
+        Files.writeString(file.toPath(), "{\"players\": []}");
+
+        assertNull(GameData.validate(file));
+    }
+}
@@ -2,6 +2,8 @@ package logic;
 
 import logic.data.HaseUndIgelException;
 import org.junit.Test;
+import util.log.Log;
+import util.log.LogLevel;
 
 import static org.junit.Assert.*;
 
@@ -123,4 +125,15 @@ public class GameLogicTest {
         assertEquals(startwertKarotten - 10 + 30, anton.getCarrots());
     }
 
+    @Test
+    public void loggingTest_keineKopien() {
+        GameLogic game = provideTestGame();
+
+        for (LogLevel level : LogLevel.values()) {
+            assertEquals(Log.isEnabled(level), game.isLogging(level));
+            assertFalse(game.copy(new FakeGUI()).isLogging(level));
+            assertFalse(new HeadlessGame(null, game).getGame().isLogging(level));
+        }
+    }
+
 }
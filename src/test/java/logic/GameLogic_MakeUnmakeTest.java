@@ -0,0 +1,214 @@
+package logic;
+
+import logic.data.HaseUndIgelException;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import logic.fields.FieldHase;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class GameLogic_MakeUnmakeTest {
+
+    /**
+     * Hier wird der vollständige Zustand eines Spiels für Vergleiche gesammelt.
+     *
+     * @param g Das Spiel
+     * @return Spielstand, Kartendeck, Hasenfelder, Hash und offene Entscheidungen
+     */
+    private long[] fingerprint(GameLogic g) {
+        FieldHase[] haseFields = g.getBoard().getHaseFields();
+        long[] packed = g.getPackedState().toArray();
+        long[] result = new long[packed.length + haseFields.length + 5];
+
+        System.arraycopy(packed, 0, result, 0, packed.length);
+        for (int i = 0; i < haseFields.length; i++) {
+            result[packed.length + i] = haseFields[i].saveState();
+        }
+
+        int offset = packed.length + haseFields.length;
+        result[offset] = g.getBoard().getCardDeck().saveState();
+        result[offset + 1] = g.getPositionHash();
+        result[offset + 2] = g.isChoosingCarrots() ? 1 : 0;
+        result[offset + 3] = g.isChoosingMoveAgain() ? 1 : 0;
+        result[offset + 4] = g.isGameFinished() ? 1 : 0;
+
+        return result;
+    }
+
+    /**
+     * Hier wird eine zufällige, gültige Entscheidung rückgängig machbar ausgeführt.
+     *
+     * @param game   Das Spiel
+     * @param random Zufallsgenerator
+     * @return False, falls keine Entscheidung möglich war.
+     */
+    private boolean makeRandomDecision(HeadlessGame game, Random random) {
+        GameLogic g = game.getGame();
+        Player curr = g.getProtagonist();
+
+        if (g.isGameFinished()) {
+            return false;
+        }
+
+        if (g.isChoosingCarrots()) {
+            KarotteChoice choice = curr.getCarrots() >= 10 && random.nextBoolean()
+                    ? KarotteChoice.REMOVE : KarotteChoice.ADD;
+            game.makeCarrotsChoice(choice);
+        } else if (g.isChoosingMoveAgain()) {
+            game.makeMoveAgainChoice(random.nextBoolean());
+        } else {
+            List<Integer> destinations = new ArrayList<>();
+            long reachable = g.getBoard().getReachableMask(curr, false);
+
+            for (int i = 0; i < GameLogic.FINAL_FIELD_POSITION; i++) {
+                if (g.getBoard().isReachable(reachable, curr, i)) {
+                    destinations.add(i);
+                }
+            }
+
+            if (g.getBoard().canReachFinish(curr)) {
+                destinations.add(GameLogic.FINAL_FIELD_POSITION);
+            }
+
+            if (destinations.isEmpty()) {
+                return false;
+            }
+
+            game.makeMove(destinations.get(random.nextInt(destinations.size())));
+        }
+
+        return true;
+    }
+
+    @Test
+    public void makeUnmakeTest_zufaelligePartien() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            HeadlessGame game = new HeadlessGame(null, "Anton", "Berta", "Carla");
+            GameLogic g = game.getGame();
+
+            List<long[]> states = new ArrayList<>();
+            states.add(fingerprint(g));
+
+            while (states.size() < 200 && makeRandomDecision(game, random)) {
+                states.add(fingerprint(g));
+            }
+
+            assertEquals(states.size() - 1, g.getHistoryDepth());
+
+            for (int i = states.size() - 1; i > 0; i--) {
+                assertArrayEquals(states.get(i), fingerprint(g));
+                game.unmake();
+            }
+
+            assertArrayEquals(states.get(0), fingerprint(g));
+            assertEquals(0, g.getHistoryDepth());
+        }
+    }
+
+    @Test
+    public void makeUnmakeTest_wiederholtGleicheTiefe() {
+        HeadlessGame game = new HeadlessGame(null, "Anton", "Berta");
+        GameLogic g = game.getGame();
+        Player p = g.getProtagonist();
+        long[] before = fingerprint(g);
+
+        for (int i = 0; i < 100; i++) {
+            game.makeMove(2);
+            assertEquals(2, p.getPosition());
+            game.unmake();
+            assertArrayEquals(before, fingerprint(g));
+        }
+    }
+
+    @Test
+    public void makeUnmakeTest_ziel() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        Player p = g.getProtagonist();
+        p.setSalads(0);
+        p.moveTo(60);
+        p.setCarrots(10 + GameBoard.calculatePrice(4));
+        long hash = g.getPositionHash();
+
+        g.makeMove(GameLogic.FINAL_FIELD_POSITION);
+        assertTrue(g.isGameFinished());
+
+        g.unmake();
+        assertFalse(g.isGameFinished());
+        assertEquals(0, g.getOnTargetCount());
+        assertEquals(60, p.getPosition());
+        assertEquals(hash, g.getPositionHash());
+    }
+
+    /**
+     * Hier werden alle Entscheidungen des aktuellen Spielers rückgängig machbar ausgeführt.
+     *
+     * @param game  Das Spiel
+     * @param moves Wiederverwendetes Array für den Zuggenerator
+     */
+    private void makeAll(HeadlessGame game, int[] moves) {
+        int count = game.getGame().generateMoves(moves);
+
+        for (int i = 0; i < count; i++) {
+            game.make(moves[i]);
+            game.unmake();
+        }
+    }
+
+    /**
+     * Hier wird eine Partie gespielt und für jeden Zwischenstand gemessen, wie viel Speicher das
+     * Ausführen und Zurücknehmen aller Entscheidungen belegt.
+     *
+     * @param threads Zugriff auf den belegten Speicher des aktuellen Threads
+     * @return Belegter Speicher in Bytes
+     */
+    private long measureMakeAllocation(com.sun.management.ThreadMXBean threads) {
+        DecisionPolicy[] policies = {new GreedyPolicy(), new GreedyPolicy(), new GreedyPolicy()};
+        HeadlessGame game = new HeadlessGame(policies, 12L, "Anton", "Berta", "Carla");
+        int[] moves = new int[Move.MAX_MOVES];
+        long allocated = 0;
+
+        do {
+            // Erster Durchlauf lässt Puffer wie history auf ihre endgültige Größe wachsen
+            makeAll(game, moves);
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            makeAll(game, moves);
+            allocated += threads.getCurrentThreadAllocatedBytes() - before;
+        } while (game.step());
+
+        return allocated;
+    }
+
+    @Test
+    public void makeTest_ohneAllokation() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled());
+
+        // Während der JIT-Compiler arbeitet, kann eine Deoptimierung einzelne Objekte erzeugen,
+        // daher zählt die beste von mehreren Partien
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 10 && allocated > 0; i++) {
+            allocated = Math.min(allocated, measureMakeAllocation(threads));
+        }
+
+        assertEquals(0, allocated);
+    }
+
+    @Test(expected = HaseUndIgelException.class)
+    public void unmakeTest_ohneZug() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        g.unmake();
+    }
+}
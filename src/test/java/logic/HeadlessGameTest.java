@@ -0,0 +1,164 @@
+package logic;
+
+import logic.data.CardEvent;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GameResult;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HeadlessGameTest {
+
+    /**
+     * Hier werden Entscheidungsstrategien für Testzwecke erzeugt.
+     *
+     * @param amount Anzahl der Spieler
+     * @return Zufällige, aber reproduzierbare Strategien
+     */
+    private DecisionPolicy[] providePolicies(int amount) {
+        DecisionPolicy[] policies = new DecisionPolicy[amount];
+
+        for (int i = 0; i < amount; i++) {
+            policies[i] = new RandomPolicy(i);
+        }
+
+        return policies;
+    }
+
+    @Test
+    public void playTest_endetMitSieger() {
+        boolean anyFinished = false;
+
+        // Kartendeck ist zufällig gemischt, daher mehrere Spiele
+        for (int i = 0; i < 5; i++) {
+            DecisionPolicy[] policies = {new GreedyPolicy(), new GreedyPolicy()};
+            HeadlessGame game = new HeadlessGame(policies, "Anton", "Berta");
+
+            GameResult result = game.play(HeadlessGame.DEFAULT_MAX_DECISIONS);
+
+            if (result.isFinished()) {
+                anyFinished = true;
+                assertTrue(game.getGame().isGameFinished());
+                assertEquals(result.getWinner(), result.getOnTarget()[0]);
+                assertTrue(result.getCarrots(result.getWinner()) >= 0);
+                assertTrue(result.getCarrots(result.getWinner()) <= GameLogic.FINISH_MAX_CARROTS);
+            }
+        }
+
+        assertTrue(anyFinished);
+    }
+
+    @Test
+    public void playTest_zufaelligeStrategie() {
+        HeadlessGame game = new HeadlessGame(providePolicies(3), "Anton", "Berta", "Cäsar");
+
+        GameResult result = game.play(HeadlessGame.DEFAULT_MAX_DECISIONS);
+
+        assertTrue(result.getDecisions() <= HeadlessGame.DEFAULT_MAX_DECISIONS);
+        assertNotNull(game.getGame().getConfig());
+    }
+
+    @Test
+    public void playTest_abbruchNachMaximum() {
+        HeadlessGame game = new HeadlessGame(providePolicies(2), "Anton", "Berta");
+
+        GameResult result = game.play(5);
+
+        assertFalse(result.isFinished());
+        assertEquals(5, result.getDecisions());
+    }
+
+    @Test
+    public void headlessGUITest_callbacksErstNachProcessEvents() {
+        HeadlessGUI gui = new HeadlessGUI();
+        GameLogic game = new GameLogic(gui, "Anton", "Berta");
+
+        Player anton = game.getProtagonist();
+        game.move(5);
+
+        // Spielerwechsel geschieht erst nach der "Animation"
+        assertEquals(anton, game.getProtagonist());
+        assertTrue(gui.hasPendingEvents());
+
+        gui.processEvents();
+        assertNotEquals(anton, game.getProtagonist());
+        assertFalse(gui.hasPendingEvents());
+    }
+
+    @Test
+    public void moveAgainTest_ablehnen() {
+        GameLogic game = new GameLogic(new FakeGUI(), "Anton", "Berta");
+
+        Player anton = game.getProtagonist();
+        game.forceCard(CardEvent.MOVEAGAIN);
+        game.move(3);
+
+        assertTrue(game.isChoosingMoveAgain());
+        assertEquals(anton, game.getProtagonist());
+
+        game.moveAgainChoice(false);
+        assertFalse(game.isChoosingMoveAgain());
+        assertNotEquals(anton, game.getProtagonist());
+    }
+
+    @Test
+    public void moveAgainTest_annehmen() {
+        GameLogic game = new GameLogic(new FakeGUI(), "Anton", "Berta");
+
+        Player anton = game.getProtagonist();
+        game.forceCard(CardEvent.MOVEAGAIN);
+        game.move(3);
+
+        game.moveAgainChoice(true);
+        assertFalse(game.isChoosingMoveAgain());
+        assertEquals(anton, game.getProtagonist());
+
+        game.move(4);
+        assertEquals(4, anton.getPosition());
+    }
+
+    @Test
+    public void seedTest_reproduzierbar() {
+        GameResult first = new HeadlessGame(providePolicies(3), 42L, "Anton", "Berta", "Carla")
+                .play(HeadlessGame.DEFAULT_MAX_DECISIONS);
+        GameResult second = new HeadlessGame(providePolicies(3), 42L, "Anton", "Berta", "Carla")
+                .play(HeadlessGame.DEFAULT_MAX_DECISIONS);
+
+        assertEquals(first.toString(), second.toString());
+        assertEquals(first.getDecisions(), second.getDecisions());
+    }
+
+    @Test
+    public void seedTest_gespeichertImSpielstand() {
+        GameLogic game = new GameLogic(new FakeGUI(), 7L, "Anton", "Berta");
+        GameData config = game.getConfig();
+
+        assertTrue(config.hasSeed());
+        assertEquals(7L, config.getSeed());
+
+        GameLogic loaded = new GameLogic(new FakeGUI(), config);
+        assertEquals(game.getCardDeck().saveState(), loaded.getCardDeck().saveState());
+        assertEquals(7L, loaded.copy(new FakeGUI()).getSeed());
+    }
+
+    @Test
+    public void seedTest_kartendeckMittenImSpiel() {
+        HeadlessGame game = new HeadlessGame(providePolicies(2), 9L, "Anton", "Berta");
+        while (game.getGame().getCardDeck().getCursor() == 0 && game.step()) {
+            // Spielen, bis Karten gezogen wurden
+        }
+        game.getGame().forceCard(CardEvent.SUSPEND);
+
+        GameData config = game.getGame().getConfig();
+        GameLogic loaded = new GameLogic(new FakeGUI(), config, false);
+
+        assertNotEquals(0, config.getDeckCursor());
+        assertEquals(game.getGame().getCardDeck().saveState(), loaded.getCardDeck().saveState());
+        assertEquals(List.of(CardEvent.SUSPEND), loaded.getCardDeck().getForcedCards());
+        assertEquals(CardEvent.SUSPEND, loaded.getCardDeck().peek());
+    }
+}
@@ -0,0 +1,116 @@
+package logic;
+
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JournalIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] encode(GameData config) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameDataWriter writer = new GameDataWriter(bytes)) {
+            writer.write(config);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Spielt ein Spiel mit Protokoll in eine Datei und merkt sich den Spielstand nach jeder
+     * Entscheidung.
+     */
+    private static List<byte[]> playJournaled(File file, long seed, int maxDecisions,
+                                              String... names) throws IOException {
+        DecisionPolicy[] policies = new DecisionPolicy[names.length];
+        for (int i = 0; i < policies.length; i++) {
+            policies[i] = i % 2 == 0 ? new GreedyPolicy() : new RandomPolicy(seed + i);
+        }
+
+        HeadlessGame game = new HeadlessGame(policies, seed, names);
+        List<byte[]> states = new ArrayList<>();
+
+        try (GameJournal journal = new GameJournal(new FileOutputStream(file),
+                game.getGame().getConfig())) {
+            game.getGame().setJournal(journal);
+            states.add(encode(game.getGame().getConfig()));
+
+            for (int i = 0; i < maxDecisions && game.step(); i++) {
+                states.add(encode(game.getGame().getConfig()));
+            }
+        }
+
+        return states;
+    }
+
+    @Test
+    public void seekTest_jederZwischenstand() throws IOException {
+        File file = folder.newFile("spiel.hugj");
+        List<byte[]> states = playJournaled(file, 13L, 2_000, "A", "B", "C", "D", "E", "F");
+
+        JournalIndex index = JournalIndex.open(file, 8);
+
+        assertNotNull(index);
+        assertEquals(states.size() - 1, index.getDecisionCount());
+        assertTrue(index.getSnapshotCount() > 0);
+
+        for (int i = states.size() - 1; i >= 0; i--) {
+            assertArrayEquals("Zwischenstand " + i, states.get(i), encode(index.seek(i)));
+        }
+
+        try (JournalReplayer replayer = index.replayer(states.size() / 2)) {
+            assertEquals(states.size() / 2, replayer.getDecisionCount());
+            assertTrue(replayer.step());
+            assertArrayEquals(states.get(states.size() / 2 + 1), encode(replayer.getConfig()));
+        }
+    }
+
+    @Test
+    public void openTest_indexWiederverwenden() throws IOException {
+        File file = folder.newFile("spiel.hugj");
+        playJournaled(file, 5L, 100, "A", "B", "C");
+
+        assertNotNull(JournalIndex.open(file, 4));
+        File indexFile = JournalIndex.getIndexFile(file);
+        assertTrue(indexFile.setLastModified(0));
+
+        JournalIndex index = JournalIndex.open(file, 4);
+        assertNotNull(index);
+        assertEquals(0, indexFile.lastModified());
+        assertEquals(100, index.getDecisionCount());
+    }
+
+    @Test
+    public void openTest_protokollGewachsen() throws IOException {
+        File file = folder.newFile("spiel.hugj");
+        playJournaled(file, 5L, 40, "A", "B", "C");
+        assertEquals(40, JournalIndex.open(file).getDecisionCount());
+
+        List<byte[]> states = playJournaled(file, 5L, 120, "A", "B", "C");
+        JournalIndex index = JournalIndex.open(file);
+
+        assertEquals(states.size() - 1, index.getDecisionCount());
+        assertTrue(index.getDecisionCount() > 40);
+        assertArrayEquals(states.get(100), encode(index.seek(100)));
+    }
+
+    @Test
+    public void openTest_keinProtokoll() throws IOException {
+        File file = folder.newFile("spiel.hugj");
+
+        assertNull(JournalIndex.open(file));
+    }
+}
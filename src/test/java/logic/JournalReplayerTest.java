@@ -0,0 +1,201 @@
+package logic;
+
+import logic.data.JournalEvent;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JournalReplayerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] encode(GameData config) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameDataWriter writer = new GameDataWriter(bytes)) {
+            writer.write(config);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Spielt ein Spiel mit Protokoll und merkt sich den Spielstand nach jeder Entscheidung.
+     */
+    private static List<byte[]> playJournaled(DecisionPolicy[] policies, long seed,
+                                              ByteArrayOutputStream out) throws IOException {
+        String[] names = new String[policies.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Spieler" + i;
+        }
+
+        HeadlessGame game = new HeadlessGame(policies, seed, names);
+        GameJournal journal = new GameJournal(out, game.getGame().getConfig());
+        game.getGame().setJournal(journal);
+
+        List<byte[]> states = new ArrayList<>();
+        states.add(encode(game.getGame().getConfig()));
+
+        for (int i = 0; i < 2_000 && game.step(); i++) {
+            states.add(encode(game.getGame().getConfig()));
+        }
+
+        journal.close();
+        assertFalse(journal.hasFailed());
+
+        return states;
+    }
+
+    @Test
+    public void replayTest_jederZwischenstand() throws IOException {
+        DecisionPolicy[] policies = {new GreedyPolicy(), new RandomPolicy(7L), new GreedyPolicy(),
+                new RandomPolicy(8L), new GreedyPolicy(), new GreedyPolicy()};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<byte[]> states = playJournaled(policies, 21L, out);
+
+        try (JournalReplayer replayer = new JournalReplayer(new ByteArrayInputStream(out.toByteArray()))) {
+            assertArrayEquals(states.get(0), encode(replayer.getConfig()));
+
+            for (int i = 1; i < states.size(); i++) {
+                assertTrue(replayer.step());
+                assertEquals(i, replayer.getDecisionCount());
+                assertArrayEquals("Zwischenstand " + i, states.get(i), encode(replayer.getConfig()));
+            }
+
+            assertFalse(replayer.hasNext());
+            assertFalse(replayer.step());
+        }
+    }
+
+    @Test
+    public void replayTest_datei() throws IOException {
+        DecisionPolicy[] policies = {new GreedyPolicy(), new GreedyPolicy()};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<byte[]> states = playJournaled(policies, 4L, out);
+
+        File file = folder.newFile("spiel." + GameJournal.EXTENSION);
+        Files.write(file.toPath(), out.toByteArray());
+
+        assertArrayEquals(states.get(5), encode(JournalReplayer.replay(file, 5)));
+        assertArrayEquals(states.get(states.size() - 1),
+                encode(JournalReplayer.replay(file, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void journalTest_ohneSchliessenVollstaendig() throws IOException {
+        HeadlessGame game = new HeadlessGame(new DecisionPolicy[]{new GreedyPolicy(),
+                new GreedyPolicy()}, 4L, "A", "B");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Puffer größer als das gesamte Protokoll, es wird nur durch die GameLogic geschrieben
+        GameJournal journal = new GameJournal(new BufferedOutputStream(out, 1 << 20),
+                game.getGame().getConfig());
+        game.getGame().setJournal(journal);
+
+        int decisions = 0;
+        while (decisions < 2_000 && game.step()) {
+            decisions++;
+
+            // Nach einem Spielerwechsel ist der Zug bereits vollständig geschrieben
+            if (decisions == 10) {
+                try (JournalReplayer replayer = new JournalReplayer(
+                        new ByteArrayInputStream(out.toByteArray()))) {
+                    assertTrue(replayer.seek(Integer.MAX_VALUE) > 0);
+                }
+            }
+        }
+        assertTrue(game.getGame().isGameFinished());
+
+        // Das Spiel wurde nicht geschlossen, trotzdem ist das Spielende enthalten
+        try (JournalReplayer replayer = new JournalReplayer(new ByteArrayInputStream(out.toByteArray()))) {
+            replayer.seek(Integer.MAX_VALUE);
+            assertEquals(decisions, replayer.getDecisionCount());
+            assertArrayEquals(encode(game.getGame().getConfig()), encode(replayer.getConfig()));
+        }
+    }
+
+    @Test
+    public void journalTest_zielreihenfolge() throws IOException {
+        HeadlessGame game = new HeadlessGame(new DecisionPolicy[]{new GreedyPolicy(),
+                new GreedyPolicy(), new GreedyPolicy()}, 9L, "A", "B", "C");
+        List<Integer> finished = new ArrayList<>();
+        game.getGame().setJournal(new GameJournal(new ByteArrayOutputStream(),
+                game.getGame().getConfig()) {
+            @Override
+            public void record(JournalEvent event, int player, int value) {
+                if (event == JournalEvent.FINISH) {
+                    finished.add(value);
+                    assertEquals(game.getGame().getOnTarget(value), player);
+                }
+                super.record(event, player, value);
+            }
+        });
+
+        for (int i = 0; i < 2_000 && game.step(); i++) {
+            // Spiel bis zum Ende
+        }
+
+        assertTrue(game.getGame().isGameFinished());
+        assertEquals(List.of(0, 1), finished);
+    }
+
+    @Test
+    public void replayTest_geladenerSpielstand() throws IOException {
+        HeadlessGame prefix = new HeadlessGame(new DecisionPolicy[]{new GreedyPolicy(),
+                new GreedyPolicy(), new GreedyPolicy()}, 9L, "A", "B", "C");
+        for (int i = 0; i < 30; i++) {
+            prefix.step();
+        }
+        GameData start = prefix.getGame().getConfig();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameJournal journal = new GameJournal(out, start);
+        HeadlessGame game = new HeadlessGame(new DecisionPolicy[]{new GreedyPolicy(),
+                new GreedyPolicy(), new GreedyPolicy()}, start);
+        game.getGame().setJournal(journal);
+
+        for (int i = 0; i < 20; i++) {
+            game.step();
+        }
+        journal.close();
+
+        try (JournalReplayer replayer = new JournalReplayer(new ByteArrayInputStream(out.toByteArray()))) {
+            replayer.seek(Integer.MAX_VALUE);
+            assertArrayEquals(encode(game.getGame().getConfig()), encode(replayer.getConfig()));
+        }
+    }
+
+    @Test
+    public void replayTest_abweichung() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        playJournaled(new DecisionPolicy[]{new GreedyPolicy(), new GreedyPolicy()}, 2L, out);
+
+        byte[] content = out.toByteArray();
+        // Wert des letzten Ereignisses verfälschen
+        content[content.length - 1] = 0x7F;
+
+        try (JournalReplayer replayer = new JournalReplayer(new ByteArrayInputStream(content))) {
+            replayer.seek(Integer.MAX_VALUE);
+            fail("Abweichung wurde nicht erkannt");
+        } catch (IOException expected) {
+            // erwartet
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void replayTest_keinProtokoll() throws IOException {
+        new JournalReplayer(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
+    }
+}
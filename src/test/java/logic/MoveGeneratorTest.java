@@ -0,0 +1,87 @@
+package logic;
+
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoveGeneratorTest {
+
+    @Test
+    public void moveTest_kodierung() {
+        for (int i = 0; i <= GameLogic.FINAL_FIELD_POSITION; i++) {
+            assertTrue(Move.isDestination(Move.destination(i)));
+            assertEquals(i, Move.getDestination(Move.destination(i)));
+        }
+
+        for (KarotteChoice choice : KarotteChoice.values()) {
+            int move = Move.carrotsChoice(choice);
+
+            assertTrue(Move.isCarrotsChoice(move));
+            assertFalse(Move.isDestination(move));
+            assertEquals(choice, Move.getCarrotsChoice(move));
+        }
+
+        assertTrue(Move.isMoveAgainConfirmed(Move.moveAgainChoice(true)));
+        assertFalse(Move.isMoveAgainConfirmed(Move.moveAgainChoice(false)));
+        assertTrue(Move.isMoveAgainChoice(Move.moveAgainChoice(false)));
+        assertFalse(Move.isCarrotsChoice(Move.moveAgainChoice(true)));
+    }
+
+    @Test
+    public void generateMovesTest_start() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        int[] moves = new int[Move.MAX_MOVES];
+
+        int count = g.generateMoves(moves);
+
+        assertEquals(g.getBoard().getReachableFields(g.getProtagonist()), count);
+        for (int i = 0; i < count; i++) {
+            assertTrue(g.isReachable(Move.getDestination(moves[i])));
+            assertTrue(i == 0 || moves[i - 1] < moves[i]);
+        }
+    }
+
+    @Test
+    public void generateMovesTest_igelUndZiel() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        Player p = g.getProtagonist();
+        p.setSalads(0);
+        p.setCarrots(GameBoard.calculatePrice(2));
+        p.moveTo(62);
+
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = g.generateMoves(moves);
+
+        // Igelfeld 56 rückwärts, 63 und das Ziel vorwärts
+        assertEquals(3, count);
+        assertEquals(Move.destination(56), moves[0]);
+        assertEquals(Move.destination(63), moves[1]);
+        assertEquals(Move.destination(GameLogic.FINAL_FIELD_POSITION), moves[2]);
+    }
+
+    @Test
+    public void generateMovesTest_karottenfeld() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        int[] moves = new int[Move.MAX_MOVES];
+
+        g.move(2);
+        g.nextPlayerTurn();
+        g.move(5);
+        g.nextPlayerTurn();
+
+        assertTrue(g.isChoosingCarrots());
+        int count = g.generateMoves(moves);
+
+        assertEquals(3, count);
+        assertEquals(Move.carrotsChoice(KarotteChoice.CONTINUE_KAROTTENFELD), moves[0]);
+        assertEquals(Move.carrotsChoice(KarotteChoice.ADD), moves[1]);
+        assertEquals(Move.carrotsChoice(KarotteChoice.REMOVE), moves[2]);
+
+        g.make(moves[1]);
+        assertFalse(g.isChoosingCarrots());
+        g.unmake();
+        assertTrue(g.isChoosingCarrots());
+    }
+}
@@ -0,0 +1,104 @@
+package logic;
+
+import logic.data.CardEvent;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PackedGameStateTest {
+
+    @Test
+    public void packPlayerTest() {
+        long packed = PackedGameState.packPlayer(63, 1234, 2, true, false);
+
+        assertEquals(63, PackedGameState.getPosition(packed));
+        assertEquals(1234, PackedGameState.getCarrots(packed));
+        assertEquals(2, PackedGameState.getSalads(packed));
+        assertTrue(PackedGameState.isSuspended(packed));
+        assertFalse(PackedGameState.eatsSalad(packed));
+    }
+
+    @Test
+    public void packPlayerTest_maximalwerte() {
+        long packed = PackedGameState.packPlayer(GameLogic.FINAL_FIELD_POSITION,
+                PackedGameState.MAX_CARROTS, PackedGameState.MAX_SALADS, false, true);
+
+        assertEquals(GameLogic.FINAL_FIELD_POSITION, PackedGameState.getPosition(packed));
+        assertEquals(PackedGameState.MAX_CARROTS, PackedGameState.getCarrots(packed));
+        assertEquals(PackedGameState.MAX_SALADS, PackedGameState.getSalads(packed));
+        assertFalse(PackedGameState.isSuspended(packed));
+        assertTrue(PackedGameState.eatsSalad(packed));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packPlayerTest_zuVieleKarotten() {
+        PackedGameState.packPlayer(0, PackedGameState.MAX_CARROTS + 1, 0, false, false);
+    }
+
+    @Test
+    public void gameDataTest_hinUndZurueck() {
+        File file = new File(GameDataTest.PATH_DIRECTORY + File.separator
+                + "test_valid_standingOnCarrotField.json");
+        GameData config = GameData.validate(file);
+        assertNotNull(config);
+
+        Player[] players = config.getPlayers();
+        String[] names = new String[players.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = players[i].getName();
+        }
+
+        PackedGameState packed = PackedGameState.of(config, 5);
+        GameData restored = packed.toGameData(names);
+
+        assertEquals(5, packed.getDeckCursor());
+        assertEquals(config.getProtagonist(), restored.getProtagonist());
+        assertEquals(config.getOnTarget(), restored.getOnTarget());
+        assertArrayEquals(config.getPlayers(), restored.getPlayers());
+        assertEquals(packed, PackedGameState.of(restored, 5));
+    }
+
+    @Test
+    public void gameDataTest_kartendeckAusSpielstand() {
+        GameData config = new GameLogic(new FakeGUI(), "Anton", "Berta").getConfig();
+        GameLogic g = new GameLogic(new FakeGUI(), new GameData(config.getPlayers(),
+                config.getProtagonist(), config.getOnTarget(), config.getSeed(), 7, true,
+                new ArrayList<>()));
+
+        PackedGameState packed = PackedGameState.of(g.getConfig());
+
+        assertEquals(7, packed.getDeckCursor());
+        assertTrue(packed.isDeckCycled());
+        assertEquals(g.getPackedState(), packed);
+    }
+
+    @Test
+    public void gameLogicTest_zielUndKartendeck() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla");
+
+        // Hasenfeld 1 zieht eine Karte aus dem Kartendeck
+        g.move(1);
+        assertEquals(1, g.getPackedState().getDeckCursor());
+
+        // Geschummelte Karten verändern den Zeiger nicht
+        g.forceCard(CardEvent.REFUND);
+        g.getBoard().getCardDeck().pop();
+        assertEquals(1, g.getPackedState().getDeckCursor());
+
+        Player[] players = {new Player("Anton"), new Player("Berta"), new Player("Carla")};
+        players[2].moveTo(GameLogic.FINAL_FIELD_POSITION);
+        players[0].moveTo(GameLogic.FINAL_FIELD_POSITION);
+        PackedGameState packed = PackedGameState.of(players, 1, List.of(2, 0), 0, false);
+
+        assertEquals(3, packed.getParticipants());
+        assertEquals(1, packed.getProtagonist());
+        assertEquals(2, packed.getOnTargetCount());
+        assertEquals(2, packed.getOnTarget(0));
+        assertEquals(0, packed.getOnTarget(1));
+        assertEquals(packed, PackedGameState.fromArray(packed.toArray()));
+    }
+}
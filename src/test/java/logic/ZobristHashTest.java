@@ -0,0 +1,71 @@
+package logic;
+
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class ZobristHashTest {
+
+    @Test
+    public void hashTest_startposition() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla");
+
+        assertEquals(ZobristHash.of(g.getPackedState()), g.getPositionHash());
+    }
+
+    @Test
+    public void hashTest_geladenerSpielstand() {
+        File file = new File(GameDataTest.PATH_DIRECTORY + File.separator
+                + "test_valid_standingOnCarrotField.json");
+        GameLogic g = new GameLogic(new FakeGUI(), GameData.validate(file));
+
+        assertEquals(ZobristHash.of(g.getPackedState()), g.getPositionHash());
+    }
+
+    @Test
+    public void hashTest_inkrementellWieVollstaendig() {
+        DecisionPolicy[] policies = {new RandomPolicy(1), new GreedyPolicy(), new RandomPolicy(2)};
+        HeadlessGame game = new HeadlessGame(policies, "Anton", "Berta", "Carla");
+        GameLogic g = game.getGame();
+
+        for (int i = 0; i < 500 && game.step(); i++) {
+            assertEquals(ZobristHash.of(g.getPackedState()), g.getPositionHash());
+        }
+    }
+
+    @Test
+    public void hashTest_aenderungUndRuecknahme() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        Player p = g.getProtagonist();
+        long before = g.getPositionHash();
+
+        p.setCarrots(p.getCarrots() + 300);
+        assertNotEquals(before, g.getPositionHash());
+
+        p.setCarrots(p.getCarrots() - 300);
+        assertEquals(before, g.getPositionHash());
+
+        p.setSuspended(true);
+        p.moveTo(5);
+        assertNotEquals(before, g.getPositionHash());
+
+        p.moveTo(0);
+        p.setSuspended(false);
+        assertEquals(before, g.getPositionHash());
+    }
+
+    @Test
+    public void hashTest_spielerUnterscheidbar() {
+        long a = ZobristHash.player(0, PackedGameState.packPlayer(5, 60, 3, false, false));
+        long b = ZobristHash.player(1, PackedGameState.packPlayer(5, 60, 3, false, false));
+        long c = ZobristHash.player(0, PackedGameState.packPlayer(5, 60 + 256, 3, false, false));
+
+        assertNotEquals(a, b);
+        assertNotEquals(a, c);
+    }
+}
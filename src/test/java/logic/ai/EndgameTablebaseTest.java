@@ -0,0 +1,87 @@
+package logic.ai;
+
+import logic.GameBoard;
+import logic.GameData;
+import logic.PackedGameState;
+import logic.Player;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class EndgameTablebaseTest {
+
+    private static EndgameTablebase tablebase;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void generate() {
+        tablebase = EndgameTablebase.generate();
+    }
+
+    private static Player player(String name, int position, int carrots) {
+        return PackedGameState.unpackPlayer(
+                PackedGameState.packPlayer(position, carrots, 0, false, false), name);
+    }
+
+    @Test
+    public void probeTurnsTest_ziel() {
+        assertEquals(1, tablebase.probeTurns(0, 63, 1));
+        assertEquals(1, tablebase.probeTurns(0, 60, GameBoard.calculatePrice(4) + 10));
+        assertEquals(1, tablebase.probeTurns(1, 60, GameBoard.calculatePrice(4) + 20));
+
+        // Zu viele Karotten, das Ziel ist nicht direkt erreichbar
+        assertTrue(tablebase.probeTurns(0, 60, GameBoard.calculatePrice(4) + 20) > 1);
+
+        // Zu wenige Karotten: Rückzug auf das Igelfeld 56 bringt 40 Karotten, Ziel kostet 36
+        assertEquals(2, tablebase.probeTurns(0, 60, 0));
+    }
+
+    @Test
+    public void probeTurnsTest_unbekannt() {
+        assertEquals(EndgameTablebase.UNKNOWN, tablebase.probeTurns(0, 42, 10));
+        assertEquals(EndgameTablebase.UNKNOWN, tablebase.probeTurns(0, 50,
+                EndgameTablebase.MAX_CARROTS + 1));
+    }
+
+    @Test
+    public void probeWinnerTest_zugreihenfolge() {
+        Player[] players = {player("Anton", 63, 1), player("Berta", 63, 1)};
+        GameData config = new GameData(players, 1, new ArrayList<>());
+
+        assertEquals(1, tablebase.probeWinner(PackedGameState.of(config)));
+
+        players[1].setSalads(1);
+        assertEquals(EndgameTablebase.UNKNOWN, tablebase.probeWinner(PackedGameState.of(config)));
+    }
+
+    @Test
+    public void writeLoadTest() throws Exception {
+        File file = folder.newFile("endgame.tb");
+        assertTrue(tablebase.write(file));
+
+        EndgameTablebase loaded = EndgameTablebase.load(file);
+        assertNotNull(loaded);
+
+        for (int position = EndgameTablebase.FIRST_POSITION; position < 64; position++) {
+            for (int carrots = 0; carrots <= EndgameTablebase.MAX_CARROTS; carrots += 7) {
+                assertEquals(tablebase.probeTurns(2, position, carrots),
+                        loaded.probeTurns(2, position, carrots));
+            }
+        }
+    }
+
+    @Test
+    public void loadTest_ungueltig() throws Exception {
+        File file = folder.newFile("invalid.tb");
+
+        assertNull(EndgameTablebase.load(file));
+    }
+}
@@ -0,0 +1,88 @@
+package logic.ai;
+
+import logic.FakeGUI;
+import logic.GameData;
+import logic.GameLogic;
+import logic.PackedGameState;
+import logic.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class EvaluatorTest {
+
+    private static GameLogic create(long... players) {
+        Player[] unpacked = new Player[players.length];
+
+        for (int i = 0; i < players.length; i++) {
+            unpacked[i] = PackedGameState.unpackPlayer(players[i], "Spieler" + i);
+        }
+
+        return new GameLogic(new FakeGUI(), new GameData(unpacked, 0, new ArrayList<>()));
+    }
+
+    @Test
+    public void featuresTest_nummernfeld() {
+        // Berta steht auf dem Zweier-Nummernfeld 47 an zweiter Stelle
+        GameLogic g = create(PackedGameState.packPlayer(50, 60, 1, false, false),
+                PackedGameState.packPlayer(47, 60, 1, false, false));
+        long[] state = g.getPackedState().toArray();
+        double[] features = new double[Evaluator.FEATURES];
+
+        new Evaluator().features(state, 0, 1, features);
+
+        assertEquals(47.0 / 64, features[EvaluationFeature.PROGRESS.ordinal()], 1e-9);
+        assertEquals(0.2, features[EvaluationFeature.NUMBER_PAYOUT.ordinal()], 1e-9);
+        assertEquals(1, features[EvaluationFeature.SALADS.ordinal()], 1e-9);
+        assertEquals(2, features[EvaluationFeature.IGEL_AHEAD.ordinal()], 1e-9);
+        assertEquals(0, features[EvaluationFeature.ON_TARGET.ordinal()], 1e-9);
+
+        new Evaluator().features(state, 0, 0, features);
+
+        assertEquals(0, features[EvaluationFeature.NUMBER_PAYOUT.ordinal()], 1e-9);
+        assertEquals(1, features[EvaluationFeature.IGEL_AHEAD.ordinal()], 1e-9);
+    }
+
+    @Test
+    public void evaluateTest_gewichte() {
+        long[] ohneSalat = create(PackedGameState.packPlayer(30, 200, 0, false, false),
+                PackedGameState.packPlayer(20, 200, 2, false, false)).getPackedState().toArray();
+        long[] mitSalat = create(PackedGameState.packPlayer(30, 200, 2, false, false),
+                PackedGameState.packPlayer(20, 200, 2, false, false)).getPackedState().toArray();
+        Evaluator evaluator = new Evaluator();
+
+        assertTrue(evaluator.evaluate(ohneSalat, 0, 0) > evaluator.evaluate(mitSalat, 0, 0));
+
+        evaluator.setWeight(EvaluationFeature.SALADS, 0);
+
+        assertEquals(evaluator.evaluate(ohneSalat, 0, 0), evaluator.evaluate(mitSalat, 0, 0), 1e-9);
+    }
+
+    @Test
+    public void evaluateBatchTest_gleicheBewertung() {
+        int stride = 3;
+        long[] states = new long[stride * 3];
+
+        for (int i = 0; i < 3; i++) {
+            GameLogic g = create(PackedGameState.packPlayer(10 * i, 40 + i, 2, false, false),
+                    PackedGameState.packPlayer(5 + 20 * i, 80, 3 - i, false, false));
+            g.copyPackedState(states, i * stride);
+
+            assertArrayEquals(g.getPackedState().toArray(),
+                    Arrays.copyOfRange(states, i * stride, (i + 1) * stride));
+        }
+
+        Evaluator evaluator = new Evaluator();
+        double[] batch = new double[3];
+        evaluator.evaluateBatch(states, stride, 3, 1, batch);
+
+        for (int i = 0; i < 3; i++) {
+            PackedGameState state = PackedGameState.fromArray(
+                    Arrays.copyOfRange(states, i * stride, (i + 1) * stride));
+            assertEquals(evaluator.evaluate(state, 1), batch[i], 1e-9);
+        }
+    }
+}
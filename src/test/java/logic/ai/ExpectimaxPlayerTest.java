@@ -0,0 +1,92 @@
+package logic.ai;
+
+import logic.FakeGUI;
+import logic.GameBoard;
+import logic.GameData;
+import logic.GameLogic;
+import logic.PackedGameState;
+import logic.Player;
+import logic.data.Move;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class ExpectimaxPlayerTest {
+
+    @Test
+    public void findBestMoveTest_ziel() {
+        Player[] players = {
+                PackedGameState.unpackPlayer(PackedGameState.packPlayer(62,
+                        GameBoard.calculatePrice(2), 0, false, false), "Anton"),
+                new Player("Berta")
+        };
+        GameLogic g = new GameLogic(new FakeGUI(), new GameData(players, 0, new ArrayList<>()));
+
+        ExpectimaxPlayer ai = new ExpectimaxPlayer(200, 4);
+
+        assertEquals(Move.destination(GameLogic.FINAL_FIELD_POSITION), ai.findBestMove(g));
+    }
+
+    @Test
+    public void findBestMoveTest_spielUnveraendert() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla");
+        long[] packed = g.getPackedState().toArray();
+        long hash = g.getPositionHash();
+        long deck = g.getCardDeck().saveState();
+
+        int move = new ExpectimaxPlayer(50, 6).findBestMove(g);
+
+        assertTrue(g.isReachable(Move.getDestination(move)));
+        assertArrayEquals(packed, g.getPackedState().toArray());
+        assertEquals(hash, g.getPositionHash());
+        assertEquals(deck, g.getCardDeck().saveState());
+        assertEquals(0, g.getHistoryDepth());
+    }
+
+    @Test
+    public void findBestMoveTest_bekanntesKartendeck() {
+        GameData config = new GameLogic(new FakeGUI(), "Anton", "Berta").getConfig();
+        GameLogic g = new GameLogic(new FakeGUI(), new GameData(config.getPlayers(),
+                config.getProtagonist(), config.getOnTarget(), config.getSeed(), 0, true,
+                new ArrayList<>()));
+        long deck = g.getCardDeck().saveState();
+        long hash = g.getPositionHash();
+
+        int move = new ExpectimaxPlayer(50, 4).findBestMove(g);
+
+        assertTrue(g.getCardDeck().isCycled());
+        assertTrue(g.isReachable(Move.getDestination(move)));
+        assertEquals(deck, g.getCardDeck().saveState());
+        assertEquals(hash, g.getPositionHash());
+    }
+
+    @Test
+    public void findBestMoveTest_zeitbudget() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla", "Dora");
+        ExpectimaxPlayer ai = new ExpectimaxPlayer(50, 64);
+
+        long start = System.nanoTime();
+        ai.findBestMove(g);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(ai.getCompletedDepth() >= 1);
+        assertTrue(ai.getNodes() > 0);
+        assertTrue("Suche dauerte " + millis + "ms", millis < 1000);
+    }
+
+    @Test
+    public void copyTest_gleicherZustand() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        g.move(2);
+        g.nextPlayerTurn();
+
+        GameLogic copy = g.copy(new FakeGUI());
+
+        assertArrayEquals(g.getPackedState().toArray(), copy.getPackedState().toArray());
+        assertEquals(g.getPositionHash(), copy.getPositionHash());
+        assertEquals(g.getCardDeck().saveState(), copy.getCardDeck().saveState());
+        assertEquals(g.getProtagonistID(), copy.getProtagonistID());
+    }
+}
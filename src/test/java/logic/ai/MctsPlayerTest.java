@@ -0,0 +1,131 @@
+package logic.ai;
+
+import logic.FakeGUI;
+import logic.GameBoard;
+import logic.GameData;
+import logic.GameLogic;
+import logic.PackedGameState;
+import logic.Player;
+import logic.data.Move;
+import logic.simulation.RandomPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MctsPlayerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @Test
+    public void analyzeTest_ziel() {
+        Player[] players = {
+                PackedGameState.unpackPlayer(PackedGameState.packPlayer(62,
+                        GameBoard.calculatePrice(2), 0, false, false), "Anton"),
+                new Player("Berta")
+        };
+        GameData config = new GameData(players, 0, new ArrayList<>());
+
+        MctsPlayer ai = new MctsPlayer(pool, 5000, 300, () -> new RandomPolicy(1));
+        ai.setSeed(42);
+        MctsResult result = ai.analyze(config);
+
+        assertEquals(3, result.getMoveCount());
+        assertEquals(Move.destination(GameLogic.FINAL_FIELD_POSITION), result.getBestMove());
+        assertEquals(300, result.getPlayouts());
+        assertTrue(result.getPlayoutsPerSecond() > 0);
+    }
+
+    @Test
+    public void searchTest_spielUnveraendert() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla");
+        long[] packed = g.getPackedState().toArray();
+        long hash = g.getPositionHash();
+        long deck = g.getCardDeck().saveState();
+
+        MctsResult result = new MctsPlayer(pool, 5000, 100, () -> new RandomPolicy(1)).search(g);
+
+        long visits = 0;
+        for (int i = 0; i < result.getMoveCount(); i++) {
+            assertTrue(g.isReachable(Move.getDestination(result.getMove(i))));
+            visits += result.getVisits(i);
+        }
+
+        assertEquals(result.getPlayouts(), visits);
+        assertArrayEquals(packed, g.getPackedState().toArray());
+        assertEquals(hash, g.getPositionHash());
+        assertEquals(deck, g.getCardDeck().saveState());
+    }
+
+    @Test
+    public void searchTest_bekanntesKartendeck() {
+        GameData config = new GameLogic(new FakeGUI(), "Anton", "Berta").getConfig();
+        GameLogic g = new GameLogic(new FakeGUI(), new GameData(config.getPlayers(),
+                config.getProtagonist(), config.getOnTarget(), config.getSeed(), 5, true,
+                new ArrayList<>()));
+        long deck = g.getCardDeck().saveState();
+        long hash = g.getPositionHash();
+
+        MctsResult result = new MctsPlayer(pool, 5000, 200, () -> new RandomPolicy(1)).search(g);
+
+        assertEquals(200, result.getPlayouts());
+        assertTrue(g.getCardDeck().isCycled());
+        assertEquals(deck, g.getCardDeck().saveState());
+        assertEquals(hash, g.getPositionHash());
+    }
+
+    @Test
+    public void searchTest_wiederverwendeteBaeume() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta", "Carla");
+        GameLogic other = new GameLogic(new FakeGUI(), "Anton", "Berta");
+
+        MctsPlayer reused = new MctsPlayer(pool, 5000, 200, () -> new RandomPolicy(1));
+        reused.setSeed(7);
+        reused.search(g);
+        reused.search(other);
+        reused.setSeed(7);
+        MctsResult again = reused.search(g);
+
+        MctsPlayer fresh = new MctsPlayer(pool, 5000, 200, () -> new RandomPolicy(1));
+        fresh.setSeed(7);
+        MctsResult expected = fresh.search(g);
+
+        assertEquals(expected.getMoveCount(), again.getMoveCount());
+        for (int i = 0; i < expected.getMoveCount(); i++) {
+            assertEquals(expected.getMove(i), again.getMove(i));
+            assertEquals(expected.getVisits(i), again.getVisits(i));
+        }
+    }
+
+    @Test
+    public void searchTest_kleinerBaum() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        MctsPlayer ai = new MctsPlayer(pool, 5000, 500, () -> new RandomPolicy(1),
+                Move.MAX_MOVES + 1);
+
+        // Ist der Baum voll, werden weiter Playouts ab den Blättern durchgeführt
+        for (int i = 0; i < 3; i++) {
+            assertEquals(500, ai.search(g).getPlayouts());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorTest_zuKleinerBaum() {
+        new MctsPlayer(pool, 5000, 500, () -> new RandomPolicy(1), Move.MAX_MOVES);
+    }
+
+    @Test
+    public void searchTest_zeitbudget() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        MctsPlayer ai = new MctsPlayer(pool, 100, Long.MAX_VALUE, () -> new RandomPolicy(1));
+
+        long start = System.nanoTime();
+        MctsResult result = ai.search(g);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.getPlayouts() > 0);
+        assertTrue("Suche dauerte " + millis + "ms", millis < 2000);
+    }
+}
@@ -0,0 +1,86 @@
+package logic.ai;
+
+import logic.FakeGUI;
+import logic.GameLogic;
+import logic.Player;
+import logic.data.Move;
+import logic.simulation.DecisionPolicy;
+import logic.simulation.GreedyPolicy;
+import logic.simulation.RandomPolicy;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class OpeningBookTest {
+
+    private static OpeningBook book;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void build() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(new ForkJoinPool(2), game ->
+                new DecisionPolicy[]{new RandomPolicy(2L * game), new RandomPolicy(2L * game + 1)},
+                4, "Anton", "Berta");
+
+        book = builder.build(200, 2);
+    }
+
+    @Test
+    public void probeTest_startaufstellung() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        long key = g.getSearchKey();
+
+        int move = book.probe(key, 2);
+
+        assertTrue(book.getEntryCount() > 0);
+        assertTrue(g.isReachable(Move.getDestination(move)));
+        assertTrue(book.getGames(key, move) >= 2);
+        assertTrue(book.getWins(key, move) <= book.getGames(key, move));
+        assertEquals(OpeningBook.NO_MOVE, book.probe(key, Integer.MAX_VALUE));
+        assertEquals(OpeningBook.NO_MOVE, book.probe(key + 1, 1));
+    }
+
+    @Test
+    public void writeLoadTest() throws Exception {
+        File file = folder.newFile("opening.book");
+        assertTrue(book.write(file));
+
+        OpeningBook loaded = OpeningBook.load(file);
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+
+        assertNotNull(loaded);
+        assertEquals(book.getEntryCount(), loaded.getEntryCount());
+        assertEquals(book.probe(g.getSearchKey(), 2), loaded.probe(g.getSearchKey(), 2));
+        assertNull(OpeningBook.load(folder.newFile("invalid.book")));
+    }
+
+    @Test
+    public void openingBookPlayerTest_fallback() {
+        int[] calls = new int[1];
+        DecisionPolicy fallback = new GreedyPolicy() {
+            @Override
+            public int chooseMove(GameLogic game, Player self, int[] destinations, int count) {
+                calls[0]++;
+                return super.chooseMove(game, self, destinations, count);
+            }
+        };
+
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        OpeningBookPlayer player = new OpeningBookPlayer(book, fallback);
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = g.generateMoves(moves);
+
+        // Startaufstellung ist im Buch, kein Aufruf der Ersatzstrategie
+        int destination = player.chooseMove(g, null, moves, count);
+        assertEquals(0, calls[0]);
+        assertTrue(g.isReachable(destination));
+    }
+}
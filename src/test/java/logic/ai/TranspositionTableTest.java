@@ -0,0 +1,100 @@
+package logic.ai;
+
+import logic.FakeGUI;
+import logic.GameLogic;
+import logic.data.KarotteChoice;
+import logic.data.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void storeProbeTest() {
+        TranspositionTable table = new TranspositionTable(1 << 16, 3);
+        double[] values = {1.5, -2, 0.25};
+        double[] out = new double[3];
+
+        assertEquals(-1, table.probe(42L));
+
+        table.store(42L, 5, Move.MOVE_AGAIN_CONFIRM, TranspositionTable.LOWER_BOUND, values);
+        int slot = table.probe(42L);
+
+        assertTrue(slot >= 0);
+        assertEquals(5, table.getDepth(slot));
+        assertEquals(Move.MOVE_AGAIN_CONFIRM, table.getMove(slot));
+        assertEquals(TranspositionTable.LOWER_BOUND, table.getBound(slot));
+
+        table.getValues(slot, out);
+        assertArrayEquals(values, out, 1e-6);
+
+        table.clear();
+        assertEquals(-1, table.probe(42L));
+    }
+
+    @Test
+    public void speicherTest_obergrenze() {
+        long bytes = 1 << 20;
+        TranspositionTable table = new TranspositionTable(bytes, 4);
+        long entryBytes = 2 * Long.BYTES + 4 * Float.BYTES;
+
+        assertTrue(table.getCapacity() * entryBytes <= bytes);
+        assertTrue(table.getCapacity() * entryBytes * 2 > bytes);
+        assertEquals(0, Integer.bitCount(table.getCapacity()) - 1);
+    }
+
+    @Test
+    public void ersetzenTest_tiefeBevorzugt() {
+        // Ein Bucket, alle Schlüssel landen im selben Bucket
+        TranspositionTable table = new TranspositionTable(64, 1);
+        assertEquals(2, table.getCapacity());
+
+        table.store(1L, 8, 1, TranspositionTable.EXACT, new double[]{1});
+        table.store(2L, 2, 2, TranspositionTable.EXACT, new double[]{2});
+        table.store(3L, 3, 3, TranspositionTable.EXACT, new double[]{3});
+
+        // Der tiefe Eintrag bleibt erhalten, der immer ersetzte Eintrag wird überschrieben
+        assertTrue(table.probe(1L) >= 0);
+        assertEquals(-1, table.probe(2L));
+        assertEquals(3, table.getMove(table.probe(3L)));
+
+        // Einträge älterer Suchen werden im tiefen Eintrag ersetzt
+        table.newSearch();
+        table.store(4L, 1, 4, TranspositionTable.EXACT, new double[]{4});
+
+        assertEquals(-1, table.probe(1L));
+        assertEquals(4, table.getMove(table.probe(4L)));
+    }
+
+    @Test
+    public void searchKeyTest_entscheidungen() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        g.move(2);
+        g.nextPlayerTurn();
+        g.move(5);
+        g.nextPlayerTurn();
+
+        long hash = g.getPositionHash();
+        long key = g.getSearchKey();
+
+        assertTrue(g.isChoosingCarrots());
+        g.makeCarrotsChoice(KarotteChoice.CONTINUE_KAROTTENFELD);
+        g.unmake();
+
+        assertEquals(hash, g.getPositionHash());
+        assertEquals(key, g.getSearchKey());
+    }
+
+    @Test
+    public void expectimaxTest_tabelle() {
+        GameLogic g = new GameLogic(new FakeGUI(), "Anton", "Berta");
+        ExpectimaxPlayer ai = new ExpectimaxPlayer(5000, 3, 1 << 20);
+
+        int move = ai.findBestMove(g);
+
+        assertTrue(g.isReachable(Move.getDestination(move)));
+        assertEquals(3, ai.getCompletedDepth());
+        assertTrue(ai.getTable().getHitRate() > 0);
+    }
+}
@@ -0,0 +1,181 @@
+package logic.data;
+
+import logic.GameBoard;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class CardDeckTest {
+
+    @Test
+    public void popTest_ringpuffer() {
+        CardDeck deck = new CardDeck(3L);
+        CardEvent[] order = new CardEvent[deck.getSize()];
+
+        assertEquals(deck.getSize(), deck.getRemainingOrder(order));
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < deck.getSize(); i++) {
+                assertEquals(order[i], deck.peek());
+                assertEquals(order[i], deck.pop());
+                assertEquals((i + 1) % deck.getSize(), deck.getCursor());
+            }
+        }
+    }
+
+    @Test
+    public void forcePushTest_zuletztEingesetztZuerst() {
+        CardDeck deck = new CardDeck(5L);
+        CardEvent top = deck.peek();
+
+        deck.forcePush(CardEvent.SUSPEND);
+        deck.forcePush(CardEvent.FORWARDS);
+
+        CardEvent[] order = new CardEvent[deck.getForcedCount() + deck.getSize()];
+        assertEquals(deck.getSize() + 2, deck.getRemainingOrder(order));
+        assertEquals(CardEvent.FORWARDS, order[0]);
+        assertEquals(CardEvent.SUSPEND, order[1]);
+        assertEquals(top, order[2]);
+
+        assertEquals(CardEvent.FORWARDS, deck.pop());
+        assertEquals(CardEvent.SUSPEND, deck.pop());
+        assertEquals(0, deck.getCursor());
+        assertEquals(top, deck.pop());
+        assertEquals(1, deck.getCursor());
+    }
+
+    @Test
+    public void remainingTest_zusammensetzung() {
+        CardDeck deck = new CardDeck(11L);
+        CardEvent drawn = deck.pop();
+        int[] counts = new int[CardDeck.CARD_TYPES];
+        CardEvent[] order = new CardEvent[deck.getSize()];
+
+        assertEquals(deck.getSize() - 1, deck.getRemainingComposition(counts));
+        assertEquals(deck.getSize() - 1, deck.getRemainingOrder(order));
+
+        int sum = 0;
+        for (int count : counts) {
+            sum += count;
+        }
+        assertEquals(deck.getSize() - 1, sum);
+
+        long state = deck.saveState();
+        assertTrue(deck.moveToTop(order[order.length - 2]));
+        assertEquals(order[order.length - 2], deck.peek());
+
+        deck.restoreState(state);
+        assertEquals(order[0], deck.peek());
+        assertNotNull(drawn);
+    }
+
+    @Test
+    public void distributionTest_ausGezogenenKarten() {
+        CardDeck deck = new CardDeck(17L);
+        List<CardEvent> drawn = new ArrayList<>();
+        double[] expected = new double[CardDeck.CARD_TYPES];
+        double[] counted = new double[CardDeck.CARD_TYPES];
+
+        for (int i = 0; i < 2 * deck.getSize(); i++) {
+            int remaining = deck.getNextCardDistribution(expected);
+
+            assertEquals(remaining, CardDeck.getNextCardDistribution(drawn, counted));
+            assertArrayEquals(expected, counted, 1e-12);
+            assertEquals(1.0, Arrays.stream(expected).sum(), 1e-9);
+            assertTrue(expected[deck.peek().ordinal()] > 0);
+
+            if (i < deck.getSize()) {
+                assertEquals(deck.getSize() - i, remaining);
+            } else {
+                // Das Kartendeck wird nie neu gemischt, die Karte eines Durchlaufs zuvor folgt sicher
+                CardEvent known = drawn.get(i - deck.getSize());
+                assertEquals(known, deck.peek());
+                assertEquals(1, remaining);
+                assertEquals(1.0, expected[known.ordinal()], 0);
+            }
+
+            drawn.add(deck.pop());
+        }
+    }
+
+    @Test
+    public void cycleTest_reihenfolgeBekannt() {
+        CardDeck deck = new CardDeck(19L);
+        int[] counts = new int[CardDeck.CARD_TYPES];
+
+        for (int i = 0; i < deck.getSize(); i++) {
+            assertFalse(deck.isCycled());
+            deck.pop();
+        }
+
+        assertTrue(deck.isCycled());
+        assertEquals(0, deck.getCursor());
+        assertEquals(1, deck.getRemainingComposition(counts));
+        assertEquals(1, counts[deck.peek().ordinal()]);
+
+        // Eine bekannte Reihenfolge wird von Suchverfahren nicht mehr verändert
+        long state = deck.saveState();
+        deck.shuffleRemaining(new SplittableRandom(1L));
+        assertEquals(state, deck.saveState());
+
+        CardEvent other = deck.peek() == CardEvent.SUSPEND ? CardEvent.FORWARDS : CardEvent.SUSPEND;
+        assertFalse(deck.moveToTop(other));
+        assertTrue(deck.moveToTop(deck.peek()));
+        assertEquals(state, deck.saveState());
+
+        CardDeck restored = new CardDeck(19L);
+        restored.restoreState(state);
+        assertTrue(restored.isCycled());
+
+        restored = new CardDeck(19L);
+        restored.restoreDraws(0, true, new ArrayList<>());
+        assertEquals(state, restored.saveState());
+    }
+
+    @Test(expected = HaseUndIgelException.class)
+    public void distributionTest_abweichenderZweiterDurchlauf() {
+        CardDeck deck = new CardDeck(23L);
+        List<CardEvent> drawn = new ArrayList<>();
+
+        for (int i = 0; i < deck.getSize(); i++) {
+            drawn.add(deck.pop());
+        }
+        drawn.add(drawn.get(0) == CardEvent.SUSPEND ? CardEvent.FORWARDS : CardEvent.SUSPEND);
+
+        CardDeck.getNextCardDistribution(drawn, new double[CardDeck.CARD_TYPES]);
+    }
+
+    @Test
+    public void distributionTest_geschummelteKarte() {
+        CardDeck deck = new CardDeck(1L);
+        double[] distribution = new double[CardDeck.CARD_TYPES];
+
+        deck.forcePush(CardEvent.REFUND);
+
+        assertEquals(1, deck.getNextCardDistribution(distribution));
+        assertEquals(1.0, distribution[CardEvent.REFUND.ordinal()], 0);
+        assertEquals(GameBoard.calculatePrice(3),
+                CardDeck.getExpectedCarrotDelta(distribution, 0, 3), 1e-9);
+    }
+
+    @Test
+    public void expectedCarrotDeltaTest_vollesDeck() {
+        double[] distribution = new double[CardDeck.CARD_TYPES];
+        CardDeck.getNextCardDistribution(new ArrayList<>(), distribution);
+
+        // 2 von 12 Karten erstatten die Kosten, 2 von 12 erlauben 10 Karotten zu nehmen
+        double expected = (2.0 * GameBoard.calculatePrice(5) + 2.0 * 10) / 12;
+        assertEquals(expected, CardDeck.getExpectedCarrotDelta(distribution, 1, 6), 1e-9);
+    }
+
+    @Test(expected = HaseUndIgelException.class)
+    public void distributionTest_ungueltigeKarten() {
+        List<CardEvent> drawn = List.of(CardEvent.SUSPEND, CardEvent.SUSPEND);
+        CardDeck.getNextCardDistribution(drawn, new double[CardDeck.CARD_TYPES]);
+    }
+}
@@ -0,0 +1,66 @@
+package logic.simulation;
+
+import logic.GameLogic;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BatchSimulatorTest {
+
+    @Test
+    public void runTest_alleSpieleGezaehlt() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            BatchSimulator simulator = new BatchSimulator(pool,
+                    i -> new DecisionPolicy[] {new GreedyPolicy(), new GreedyPolicy()},
+                    10_000, "Anton", "Berta");
+
+            SimulationStatistics statistics = simulator.run(100);
+
+            assertEquals(100, statistics.getGames());
+            assertTrue(statistics.getFinished() > 0);
+            assertEquals(statistics.getFinished(), statistics.getWins(0) + statistics.getWins(1));
+            assertTrue(statistics.getMinMoves() <= statistics.getMaxMoves());
+            assertTrue(statistics.getAverageWinnerCarrots() <= GameLogic.FINISH_MAX_CARROTS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void runTest_keineSpiele() {
+        BatchSimulator simulator = new BatchSimulator(
+                i -> new DecisionPolicy[] {new RandomPolicy(i), new RandomPolicy(i + 1)},
+                "Anton", "Berta");
+
+        SimulationStatistics statistics = simulator.run(0);
+
+        assertEquals(0, statistics.getGames());
+        assertEquals(0, statistics.getMinMoves());
+        assertEquals(0, statistics.getAverageMoves(), 0);
+    }
+
+    @Test
+    public void mergeTest() {
+        SimulationStatistics a = new SimulationStatistics(2, GameLogic.FINISH_MAX_CARROTS);
+        SimulationStatistics b = new SimulationStatistics(2, GameLogic.FINISH_MAX_CARROTS);
+
+        a.add(new GameResult(0, 40, 45, new int[] {4, 30}, new int[] {0}));
+        b.add(new GameResult(1, 60, 70, new int[] {50, 8}, new int[] {1}));
+        b.add(new GameResult(-1, 10_000, 10_000, new int[] {50, 8}, new int[] {}));
+
+        a.merge(b);
+
+        assertEquals(3, a.getGames());
+        assertEquals(2, a.getFinished());
+        assertEquals(1, a.getWins(0));
+        assertEquals(1, a.getWins(1));
+        assertEquals(50, a.getAverageMoves(), 0);
+        assertEquals(40, a.getMinMoves());
+        assertEquals(60, a.getMaxMoves());
+        assertEquals(6, a.getAverageWinnerCarrots(), 0);
+    }
+}